@@ -0,0 +1,327 @@
+package core;
+
+import core.db.DBManager;
+import core.db.user.User;
+import core.db.user.UserManager;
+import core.file.hrf.HRFStringParser;
+import core.model.HOModel;
+import core.model.HOVerwaltung;
+import core.util.HODateTime;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Generated data of the benchmarks.
+ * <p>
+ * All data is generated from fixed seeds, so every run works on the same team, players and matches.
+ * The database is created in a temporary folder with an absolute path, the user's database is never touched.
+ * The benchmarks delete it in their tear down.
+ * </p>
+ */
+public final class BenchmarkFixture {
+
+	public static final int TEAM_ID = 123456;
+	public static final int NUMBER_OF_PLAYERS = 25;
+	public static final String HRF_DATE = "2022-10-03 08:00:00";
+	private static final int FIRST_PLAYER_ID = 400000000;
+	private static final long SEED = 4711;
+
+	private static Path folder;
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private BenchmarkFixture() {
+	}
+
+	/**
+	 * Creates an empty database in a temporary folder and an empty model
+	 */
+	public static synchronized void initDatabase() throws IOException {
+		if (folder != null) {
+			return;
+		}
+		folder = Files.createTempDirectory("ho-jmh").toAbsolutePath();
+		new BenchmarkUserManager(folder);
+		DBManager.instance();
+		HOVerwaltung.instance().setModel(new HOModel(HODateTime.now()));
+	}
+
+	/**
+	 * Closes the database and deletes the temporary folder
+	 */
+	public static synchronized void deleteDatabase() throws IOException {
+		if (folder == null) {
+			return;
+		}
+		DBManager.instance().disconnect();
+		BenchmarkUserManager.reset();
+		try (var files = Files.walk(folder)) {
+			for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+		folder = null;
+	}
+
+	/**
+	 * Imports the generated HRF into the database and loads it as current model
+	 *
+	 * @return id of the stored HRF
+	 */
+	public static synchronized int importHrf() throws IOException {
+		initDatabase();
+		var model = HRFStringParser.parse(createHrf());
+		if (model == null) {
+			throw new IllegalStateException("generated HRF can not be parsed");
+		}
+		model.saveHRF();
+		HOVerwaltung.instance().loadLatestHoModel();
+		return DBManager.instance().getLatestHRF().getHrfId();
+	}
+
+	/**
+	 * HRF of a team with {@link #NUMBER_OF_PLAYERS} players and a 4-4-2 lineup
+	 */
+	public static String createHrf() {
+		var random = new Random(SEED);
+		var hrf = new StringBuilder();
+		hrf.append("[basics]\n")
+				.append("application=HO\n")
+				.append("date=").append(HRF_DATE).append('\n')
+				.append("season=80\n")
+				.append("matchround=7\n")
+				.append("teamid=").append(TEAM_ID).append('\n')
+				.append("teamname=Benchmark FC\n")
+				.append("owner=benchmark\n")
+				.append("activationdate=2010-01-01 00:00:00\n")
+				.append("countryid=3\n")
+				.append("leagueid=3\n")
+				.append("regionid=123\n");
+		hrf.append("[league]\n")
+				.append("serie=IV.42\n")
+				.append("spelade=7\n")
+				.append("gjorda=14\n")
+				.append("inslappta=8\n")
+				.append("poang=15\n")
+				.append("placering=2\n");
+		hrf.append("[club]\n")
+				.append("hjtranare=5\n")
+				.append("psykolog=2\n")
+				.append("presstalesman=2\n")
+				.append("lakare=3\n")
+				.append("juniorverksamhet=3\n")
+				.append("fanclub=2500\n")
+				.append("undefeated=3\n")
+				.append("victories=2\n");
+		hrf.append("[team]\n")
+				.append("trlevel=100\n")
+				.append("staminatrainingpart=15\n")
+				.append("trtypevalue=8\n")
+				.append("stamningvalue=5\n")
+				.append("sjalvfortroendevalue=5\n")
+				.append("exper442=8\n")
+				.append("exper433=4\n");
+		hrf.append("[lineup]\n")
+				.append("trainer=").append(FIRST_PLAYER_ID + NUMBER_OF_PLAYERS).append('\n')
+				.append("installning=0\n")
+				.append("tactictype=0\n")
+				.append("keeper=").append(FIRST_PLAYER_ID).append('\n');
+		String[] positions = {"rightback", "rightcentraldefender", "leftcentraldefender", "leftback", "rightwinger",
+				"rightinnermidfield", "leftinnermidfield", "leftwinger", "rightforward", "leftforward"};
+		for (int i = 0; i < positions.length; i++) {
+			hrf.append(positions[i]).append('=').append(FIRST_PLAYER_ID + 2 + i).append('\n');
+		}
+		String[] substitutes = {"substgk1", "substcd1", "substwb1", "substim1", "substfw1", "substwi1", "substxt1"};
+		for (int i = 0; i < substitutes.length; i++) {
+			hrf.append(substitutes[i]).append('=').append(FIRST_PLAYER_ID + (i == 0 ? 1 : 11 + i)).append('\n');
+		}
+		hrf.append("kicker1=").append(FIRST_PLAYER_ID + 8).append('\n')
+				.append("captain=").append(FIRST_PLAYER_ID + 7).append('\n');
+		hrf.append("[economy]\n")
+				.append("cash=2500000\n")
+				.append("expectedcash=2600000\n")
+				.append("supporterspopularity=5\n")
+				.append("sponsorspopularity=5\n");
+		hrf.append("[arena]\n")
+				.append("arenaname=Benchmark Arena\n")
+				.append("arenaid=").append(TEAM_ID).append('\n')
+				.append("antalstaplats=15000\n")
+				.append("antalsitt=10000\n")
+				.append("antaltak=4000\n")
+				.append("antalvip=500\n");
+		for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+			boolean keeper = i < 2;
+			hrf.append("[player").append(FIRST_PLAYER_ID + i).append("]\n")
+					.append("name=Player ").append(i).append('\n')
+					.append("firstname=Player\n")
+					.append("lastname=").append(i).append('\n')
+					.append("ald=").append(18 + random.nextInt(13)).append('\n')
+					.append("agedays=").append(random.nextInt(112)).append('\n')
+					.append("uth=").append(5 + random.nextInt(5)).append('\n')
+					.append("for=").append(4 + random.nextInt(5)).append('\n')
+					.append("mlv=").append(keeper ? 12 + random.nextInt(4) : 1).append('\n')
+					.append("bac=").append(skill(random, keeper)).append('\n')
+					.append("spe=").append(skill(random, keeper)).append('\n')
+					.append("fra=").append(skill(random, keeper)).append('\n')
+					.append("ytt=").append(skill(random, keeper)).append('\n')
+					.append("mal=").append(skill(random, keeper)).append('\n')
+					.append("fas=").append(skill(random, keeper)).append('\n')
+					.append("speciality=").append(random.nextInt(7)).append('\n')
+					.append("rut=").append(2 + random.nextInt(8)).append('\n')
+					.append("led=").append(2 + random.nextInt(5)).append('\n')
+					.append("loy=").append(1 + random.nextInt(20)).append('\n')
+					.append("homegr=").append(random.nextInt(5) == 0 ? "True" : "False").append('\n')
+					.append("sal=").append(5000 + random.nextInt(30000)).append('\n')
+					.append("mkt=").append(5000 + random.nextInt(100000)).append('\n')
+					.append("countryid=3\n")
+					.append("playernumber=").append(i + 1).append('\n');
+		}
+		hrf.append("[xtra]\n")
+				.append("trainingdate=2022-10-06 23:00:00\n")
+				.append("economydate=2022-10-07 05:00:00\n")
+				.append("seriesmatchdate=2022-10-08 16:00:00\n")
+				.append("currencyrate=10.0\n")
+				.append("countryid=3\n")
+				.append("trainerid=").append(FIRST_PLAYER_ID + NUMBER_OF_PLAYERS).append('\n');
+		return hrf.toString();
+	}
+
+	/**
+	 * User manager with a single user, whose database is in the given folder
+	 */
+	private static final class BenchmarkUserManager extends UserManager {
+
+		private final String dbParentFolder;
+
+		private BenchmarkUserManager(Path folder) {
+			dbParentFolder = folder.toString();
+			m_clInstance = this;
+			addUser(new User("benchmark", "db", 0, false));
+		}
+
+		private static void reset() {
+			m_clInstance = null;
+		}
+
+		@Override
+		public String getDbParentFolder() {
+			return dbParentFolder;
+		}
+	}
+
+	private static int skill(Random random, boolean keeper) {
+		if (keeper) {
+			return 1 + random.nextInt(4);
+		}
+		return 4 + random.nextInt(12);
+	}
+
+	/**
+	 * CHPP players file of the generated team
+	 */
+	public static String createPlayers() {
+		var random = new Random(SEED);
+		var xml = new StringBuilder();
+		xml.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<HattrickData>")
+				.append("<FileName>players.xml</FileName><Version>2.4</Version><UserID>1</UserID>")
+				.append("<FetchedDate>").append(HRF_DATE).append("</FetchedDate>")
+				.append("<Team><TeamID>").append(TEAM_ID).append("</TeamID><TeamName>Benchmark FC</TeamName><PlayerList>");
+		for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+			xml.append("<Player>")
+					.append("<PlayerID>").append(FIRST_PLAYER_ID + i).append("</PlayerID>")
+					.append("<FirstName>Player</FirstName><NickName /><LastName>").append(i).append("</LastName>")
+					.append("<PlayerNumber>").append(i + 1).append("</PlayerNumber>")
+					.append("<Age>").append(18 + random.nextInt(13)).append("</Age>")
+					.append("<AgeDays>").append(random.nextInt(112)).append("</AgeDays>")
+					.append("<ArrivalDate>2020-01-01 12:00:00</ArrivalDate>")
+					.append("<OwnerNotes /><TSI>").append(5000 + random.nextInt(100000)).append("</TSI>")
+					.append("<PlayerForm>").append(4 + random.nextInt(5)).append("</PlayerForm>")
+					.append("<Statement /><Experience>").append(2 + random.nextInt(8)).append("</Experience>")
+					.append("<Loyalty>").append(1 + random.nextInt(20)).append("</Loyalty>")
+					.append("<MotherClubBonus>False</MotherClubBonus>")
+					.append("<Leadership>").append(2 + random.nextInt(5)).append("</Leadership>")
+					.append("<Salary>").append(50000 + random.nextInt(300000)).append("</Salary>")
+					.append("<IsAbroad>False</IsAbroad><Agreeability>3</Agreeability><Aggressiveness>2</Aggressiveness><Honesty>3</Honesty>")
+					.append("<LeagueGoals>0</LeagueGoals><CupGoals>0</CupGoals><FriendliesGoals>0</FriendliesGoals>")
+					.append("<CareerGoals>0</CareerGoals><CareerHattricks>0</CareerHattricks>")
+					.append("<Specialty>").append(random.nextInt(7)).append("</Specialty>")
+					.append("<TransferListed>False</TransferListed><NationalTeamID>0</NationalTeamID>")
+					.append("<CountryID>3</CountryID><Caps>0</Caps><CapsU20>0</CapsU20>")
+					.append("<Cards>0</Cards><InjuryLevel>-1</InjuryLevel>")
+					.append("<StaminaSkill>").append(5 + random.nextInt(5)).append("</StaminaSkill>")
+					.append("<KeeperSkill>").append(1 + random.nextInt(15)).append("</KeeperSkill>")
+					.append("<PlaymakerSkill>").append(4 + random.nextInt(12)).append("</PlaymakerSkill>")
+					.append("<ScorerSkill>").append(4 + random.nextInt(12)).append("</ScorerSkill>")
+					.append("<PassingSkill>").append(4 + random.nextInt(12)).append("</PassingSkill>")
+					.append("<WingerSkill>").append(4 + random.nextInt(12)).append("</WingerSkill>")
+					.append("<DefenderSkill>").append(4 + random.nextInt(12)).append("</DefenderSkill>")
+					.append("<SetPiecesSkill>").append(4 + random.nextInt(12)).append("</SetPiecesSkill>")
+					.append("<PlayerCategoryId>0</PlayerCategoryId>")
+					.append("<LastMatch><Date>2022-10-01 16:00:00</Date><MatchId>700000001</MatchId>")
+					.append("<PositionCode>").append(100 + (i % 14)).append("</PositionCode>")
+					.append("<PlayedMinutes>90</PlayedMinutes><Rating>3.5</Rating><RatingEndOfGame>3</RatingEndOfGame></LastMatch>")
+					.append("</Player>");
+		}
+		xml.append("</PlayerList></Team></HattrickData>");
+		return xml.toString();
+	}
+
+	/**
+	 * CHPP match details file with the given number of events
+	 */
+	public static String createMatchdetails(int matchId, int numberOfEvents) {
+		var random = new Random(SEED + matchId);
+		var xml = new StringBuilder();
+		xml.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<HattrickData>")
+				.append("<FileName>matchdetails.xml</FileName><Version>3.0</Version><UserID>1</UserID>")
+				.append("<FetchedDate>").append(HRF_DATE).append("</FetchedDate>")
+				.append("<Match><MatchID>").append(matchId).append("</MatchID>")
+				.append("<MatchType>1</MatchType><MatchContextId>0</MatchContextId>")
+				.append("<MatchDate>2022-10-01 16:00:00</MatchDate><FinishedDate>2022-10-01 17:50:00</FinishedDate>");
+		appendTeam(xml, "Home", TEAM_ID, "Benchmark FC", random);
+		appendTeam(xml, "Away", TEAM_ID + 1, "Opponent FC", random);
+		xml.append("<Arena><ArenaID>").append(TEAM_ID).append("</ArenaID><ArenaName>Benchmark Arena</ArenaName>")
+				.append("<WeatherID>").append(random.nextInt(4)).append("</WeatherID>")
+				.append("<SoldTotal>29500</SoldTotal><SoldTerraces>15000</SoldTerraces><SoldBasic>10000</SoldBasic>")
+				.append("<SoldRoof>4000</SoldRoof><SoldVIP>500</SoldVIP></Arena>");
+		xml.append("<Injuries><Injury><InjuryPlayerID>").append(FIRST_PLAYER_ID + 5)
+				.append("</InjuryPlayerID><InjuryTeamID>").append(TEAM_ID)
+				.append("</InjuryTeamID><InjuryType>1</InjuryType><InjuryMinute>33</InjuryMinute><MatchPart>1</MatchPart></Injury></Injuries>");
+		xml.append("<EventList>");
+		for (int i = 0; i < numberOfEvents; i++) {
+			int minute = i * 90 / Math.max(1, numberOfEvents);
+			boolean home = random.nextBoolean();
+			xml.append("<Event Index=\"").append(i + 1).append("\">")
+					.append("<Minute>").append(minute).append("</Minute>")
+					.append("<MatchPart>").append(minute < 45 ? 1 : 2).append("</MatchPart>")
+					.append("<SubjectTeamID>").append(home ? TEAM_ID : TEAM_ID + 1).append("</SubjectTeamID>")
+					.append("<SubjectPlayerID>").append(FIRST_PLAYER_ID + random.nextInt(NUMBER_OF_PLAYERS)).append("</SubjectPlayerID>")
+					.append("<ObjectPlayerID>0</ObjectPlayerID>")
+					.append("<EventTypeID>").append(100 + random.nextInt(50)).append("</EventTypeID>")
+					.append("<EventVariation>").append(random.nextInt(4)).append("</EventVariation>")
+					.append("<EventText>Event text of the benchmark match with &lt;b&gt;markup&lt;/b&gt;</EventText>")
+					.append("</Event>");
+		}
+		xml.append("</EventList></Match></HattrickData>");
+		return xml.toString();
+	}
+
+	private static void appendTeam(StringBuilder xml, String side, int teamId, String name, Random random) {
+		xml.append('<').append(side).append("Team>")
+				.append('<').append(side).append("TeamID>").append(teamId).append("</").append(side).append("TeamID>")
+				.append('<').append(side).append("TeamName>").append(name).append("</").append(side).append("TeamName>")
+				.append("<DressURI /><Formation>4-4-2</Formation>")
+				.append('<').append(side).append("Goals>").append(random.nextInt(4)).append("</").append(side).append("Goals>")
+				.append("<TacticType>0</TacticType><TacticSkill>0</TacticSkill>");
+		for (String rating : new String[]{"RatingMidfield", "RatingRightDef", "RatingMidDef", "RatingLeftDef",
+				"RatingRightAtt", "RatingMidAtt", "RatingLeftAtt", "RatingIndirectSetPiecesDef", "RatingIndirectSetPiecesAtt"}) {
+			xml.append('<').append(rating).append('>').append(20 + random.nextInt(40)).append("</").append(rating).append('>');
+		}
+		xml.append("<TeamAttitude>0</TeamAttitude></").append(side).append("Team>");
+	}
+}
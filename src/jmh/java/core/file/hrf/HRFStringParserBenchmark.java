@@ -0,0 +1,45 @@
+package core.file.hrf;
+
+import core.BenchmarkFixture;
+import core.model.HOModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a HRF file into a model
+ * <p>
+ * The current model stays empty, so the parser does not download the details of known players.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HRFStringParserBenchmark {
+
+	private String hrf;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkFixture.initDatabase();
+		hrf = BenchmarkFixture.createHrf();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixture.deleteDatabase();
+	}
+
+	@Benchmark
+	public HOModel parse() {
+		return HRFStringParser.parse(hrf);
+	}
+}
@@ -0,0 +1,59 @@
+package core.file.xml;
+
+import core.BenchmarkFixture;
+import core.model.enums.MatchType;
+import core.model.match.MatchLineup;
+import core.model.match.MatchLineupTeam;
+import core.model.match.Matchdetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the CHPP files match details and players
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XMLParserBenchmark {
+
+	private static final int MATCH_ID = 700000001;
+
+	private String matchdetails;
+	private String players;
+	private MatchLineup matchLineup;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkFixture.initDatabase();
+		matchdetails = BenchmarkFixture.createMatchdetails(MATCH_ID, 150);
+		players = BenchmarkFixture.createPlayers();
+		matchLineup = new MatchLineup();
+		matchLineup.setHomeTeam(new MatchLineupTeam(MatchType.LEAGUE, MATCH_ID, "Benchmark FC", BenchmarkFixture.TEAM_ID, 0));
+		matchLineup.setGuestTeam(new MatchLineupTeam(MatchType.LEAGUE, MATCH_ID, "Opponent FC", BenchmarkFixture.TEAM_ID + 1, 0));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixture.deleteDatabase();
+	}
+
+	@Benchmark
+	public Matchdetails parseMatchdetails() {
+		return XMLMatchdetailsParser.parseMatchdetailsFromString(matchdetails, matchLineup);
+	}
+
+	@Benchmark
+	public List<?> parsePlayers() {
+		return new XMLPlayersParser().parsePlayersFromString(players);
+	}
+}
@@ -0,0 +1,40 @@
+package core.model;
+
+import core.BenchmarkFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of a model from the database (generated HSQLDB in a temporary folder)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HOModelBenchmark {
+
+	private int hrfId;
+
+	@Setup
+	public void setup() throws IOException {
+		hrfId = BenchmarkFixture.importHrf();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixture.deleteDatabase();
+	}
+
+	@Benchmark
+	public HOModel load() {
+		return new HOModel(hrfId);
+	}
+}
@@ -0,0 +1,44 @@
+package core.prediction.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation of the match prediction (Monte-Carlo) of two teams
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatchPredictionBenchmark {
+
+	@Param({"1000", "10000"})
+	public int numberOfMatches;
+
+	private TeamData home;
+	private TeamData away;
+
+	@Setup
+	public void setup() {
+		var manager = MatchPredictionManager.instance();
+		home = manager.generateTeamData("Home", manager.generateTeamRatings(8.5, 10.25, 12.5, 10, 7.75, 9, 7.5), 0, 1);
+		away = manager.generateTeamData("Away", manager.generateTeamRatings(9.25, 9.5, 11, 9.75, 8.5, 8, 8.25), 1, 8);
+	}
+
+	@Benchmark
+	public MatchResult calculateNMatches() {
+		return MatchPredictionManager.instance().calculateNMatches(numberOfMatches, home, away);
+	}
+
+	@Benchmark
+	public MatchResult calculateNMatchesByMinute() {
+		return MatchPredictionManager.instance().calculateNMatchesByMinute(numberOfMatches, home, away);
+	}
+}
@@ -0,0 +1,45 @@
+package core.rating;
+
+import core.BenchmarkFixture;
+import core.model.HOVerwaltung;
+import core.model.Ratings;
+import module.lineup.Lineup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating prediction of all sectors of a full lineup (including the lineup evolution of the match)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RatingPredictionBenchmark {
+
+	private Lineup lineup;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkFixture.importHrf();
+		lineup = HOVerwaltung.instance().getModel().getLineupWithoutRatingRecalc();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixture.deleteDatabase();
+	}
+
+	@Benchmark
+	public Ratings calculateRatings() {
+		lineup.setRatings();
+		return lineup.getRatings();
+	}
+}
@@ -0,0 +1,57 @@
+package core.training;
+
+import core.BenchmarkFixture;
+import core.constants.TrainingType;
+import core.model.HOVerwaltung;
+import core.model.player.FuturePlayer;
+import core.model.player.Player;
+import core.util.HODateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training preview of a player
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FutureTrainingBenchmark {
+
+	@Param({"16"})
+	public int numberOfWeeks;
+
+	private FutureTrainingManager manager;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkFixture.importHrf();
+		Player player = HOVerwaltung.instance().getModel().getCurrentPlayers().get(5);
+		var trainings = new ArrayList<TrainingPerWeek>();
+		var date = HODateTime.now();
+		for (int i = 0; i < numberOfWeeks; i++) {
+			trainings.add(new TrainingPerWeek(date.plusDaysAtSameLocalTime(7 * i), TrainingType.PLAYMAKING, 100, 15, 5, 6));
+		}
+		manager = new FutureTrainingManager(player, trainings);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		BenchmarkFixture.deleteDatabase();
+	}
+
+	@Benchmark
+	public FuturePlayer previewPlayer() {
+		return manager.previewPlayer(numberOfWeeks);
+	}
+}
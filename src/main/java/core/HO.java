@@ -7,9 +7,11 @@ import core.db.user.UserManager;
 import core.gui.HOMainFrame;
 import core.gui.SplashFrame;
 import core.gui.model.UserColumnController;
+import core.gui.theme.ImageUtilities;
 import core.gui.theme.ThemeManager;
 import core.model.HOVerwaltung;
 import core.model.UserParameter;
+import core.net.MyConnector;
 import core.training.TrainingManager;
 import core.util.ExceptionHandler;
 import core.util.HOLogger;
@@ -96,6 +98,10 @@ public class HO {
 					case "DEBUG" -> HOLogger.instance().setLogLevel(HOLogger.DEBUG);
 					case "WARNING" -> HOLogger.instance().setLogLevel(HOLogger.WARNING);
 					case "ERROR" -> HOLogger.instance().setLogLevel(HOLogger.ERROR);
+					case "JSONLOG" -> HOLogger.instance().setJsonFormat(true);
+					case "OFFLINE" -> MyConnector.setOffline(true);
+					case "RECORD" -> MyConnector.setRecording(true);
+					default -> setCategoryLogLevel(arg);
 				}
 			}
 		}
@@ -139,85 +145,116 @@ public class HO {
 
 		// start display splash image
 		final SplashFrame interuptionsWindow = new SplashFrame();
-
-		// Backup
-		interuptionsWindow.setInfoText(1, "Backup Database");
-		BackupHelper.backup(new File(UserManager.instance().getCurrentUser().getDbFolder()));
-
+		final StartupScheduler startup = new StartupScheduler(interuptionsWindow);
 
 		// Load user parameters from the DB
-		interuptionsWindow.setInfoText(2, "Initialize Database");
-		DBManager.instance().loadUserParameter();
+		startup.run("Initialize Database", () -> {
+			DBManager.instance().loadUserParameter();
+			// create the singleton before the concurrent phases are using it
+			HOVerwaltung.instance();
+		});
+		final boolean firstStart = DBManager.instance().isFirstStart();
+
+		// Load the latest model while the user interface is prepared
+		var model = startup.submit("Load latest Data", () -> {
+			HOVerwaltung.instance().loadLatestHoModel();
+
+			// Set the currency from HRF
+			var hoModel = HOVerwaltung.instance().getModel();
+			if (hoModel != null) {
+				var xtra = hoModel.getXtraDaten();
+				if (xtra != null) {
+					float fxRate = (float) xtra.getCurrencyRate();
+					if (fxRate > -1) UserParameter.instance().FXrate = fxRate;
+				}
+			}
+		});
 
 		// init Theme
-		try {
-			ThemeManager.instance().setCurrentTheme();
-		} catch (Exception e) {
-			HOLogger.instance().log(HO.class, "Can´t load Theme:" + UserParameter.instance().theme);
-			JOptionPane.showMessageDialog(null, e.getMessage(), "Can´t load Theme: "
-					+ UserParameter.instance().theme, JOptionPane.WARNING_MESSAGE);
-		}
-		// Init!
-		interuptionsWindow.setInfoText(3, "Initialize Data-Administration");
+		startup.run("Initialize Theme", () -> {
+			try {
+				ThemeManager.instance().setCurrentTheme();
+			} catch (Exception e) {
+				HOLogger.instance().log(HO.class, "Can´t load Theme:" + UserParameter.instance().theme);
+				JOptionPane.showMessageDialog(null, e.getMessage(), "Can´t load Theme: "
+						+ UserParameter.instance().theme, JOptionPane.WARNING_MESSAGE);
+			}
+		});
 
 		// Ask for language at first start
-		if (DBManager.instance().isFirstStart()) {
+		if (firstStart) {
 			interuptionsWindow.setVisible(false);
 			new core.option.InitOptionsDialog();
 			interuptionsWindow.setVisible(true);
 		}
 
 		// Check if language file available
-		interuptionsWindow.setInfoText(4, "Check Languagefiles");
-		HOVerwaltung.checkLanguageFile(UserParameter.instance().sprachDatei);
-		HOVerwaltung.instance().setResource(UserParameter.instance().sprachDatei);
-
-		if (DBManager.instance().isFirstStart()) {
-			interuptionsWindow.setVisible(false);
-			JOptionPane.showMessageDialog(null,
-					HOVerwaltung.instance().getLanguageString("firststartup.infowinmessage"),
-					HOVerwaltung.instance().getLanguageString("firststartup.infowinmessage.title"), JOptionPane.INFORMATION_MESSAGE);
-			interuptionsWindow.setVisible(true);
-		}
-
-		interuptionsWindow.setInfoText(5, "Load latest Data");
-		HOVerwaltung.instance().loadLatestHoModel();
-		interuptionsWindow.setInfoText(6, "Load  XtraDaten");
+		var language = startup.submit("Check Languagefiles", () -> {
+			HOVerwaltung.checkLanguageFile(UserParameter.instance().sprachDatei);
+			HOVerwaltung.instance().setResource(UserParameter.instance().sprachDatei);
+		});
 
-		// Load table columns information
-		UserColumnController.instance().load();
+		// Load table columns information, after the model: both read through the shared statement of the JDBCAdapter
+		var columns = startup.submit("Load table columns", () -> UserColumnController.instance().load(), language, model);
 
-		// Set the currency from HRF
-		var model = HOVerwaltung.instance().getModel();
-		if ( model != null) {
-			var xtra = HOVerwaltung.instance().getModel().getXtraDaten();
-			if (xtra != null) {
-				float fxRate = (float) xtra.getCurrencyRate();
-				if (fxRate > -1) UserParameter.instance().FXrate = fxRate;
-			}
-		}
 		// Upgrade database configuration
-		if (!DBManager.instance().isFirstStart()) {
-			interuptionsWindow.setInfoText(7, "Upgrade DB configuration");
-			DBManager.instance().updateConfig();
+		var config = model;
+		if (!firstStart) {
+			config = startup.submit("Upgrade DB configuration", () -> DBManager.instance().updateConfig(), model);
 		}
 
-
-		// Training
-		interuptionsWindow.setInfoText(8, "Initialize Training");
-
 		// Training estimation calculated on DB manual entries
+		var training = startup.submit("Initialize Training", TrainingManager::instance, config);
 
-		TrainingManager.instance();
+		if (firstStart) {
+			startup.await(language);
+			interuptionsWindow.setVisible(false);
+			JOptionPane.showMessageDialog(null,
+					HOVerwaltung.instance().getLanguageString("firststartup.infowinmessage"),
+					HOVerwaltung.instance().getLanguageString("firststartup.infowinmessage.title"), JOptionPane.INFORMATION_MESSAGE);
+			interuptionsWindow.setVisible(true);
+		}
 
-		interuptionsWindow.setInfoText(9, "Prepare to show");
+		startup.await(model, language, columns, config, training);
 		SwingUtilities.invokeLater(() -> {
-			HOMainFrame.instance().setVisible(true);
+			// Icons of the player tables, Swing icons are created on the event dispatch thread
+			startup.run("Prepare icons", ImageUtilities::warmUpIconCache);
+			startup.run("Prepare to show", () -> HOMainFrame.instance().setVisible(true));
 
 			// stop display splash image
 			interuptionsWindow.setVisible(false);
 			interuptionsWindow.dispose();
+			startup.finish();
+
+			// create the remaining tabs while the user is looking at the first one
+			HOMainFrame.instance().getTabbedPane().warmUp();
+
+			// logos of the series and match tabs are downloaded in the background
+			ThemeManager.instance().startClubLogoPrefetch();
+
+			// Backup of the opened database
+			BackupHelper.backupInBackground(new File(UserManager.instance().getCurrentUser().getDbFolder()));
 		});
 	}
 
+	/**
+	 * Sets the log level of a package or class, argument format is LEVEL:category (e.g. DEBUG:module.training)
+	 */
+	private static void setCategoryLogLevel(String arg) {
+		int pos = arg.indexOf(':');
+		if (pos <= 0 || pos == arg.length() - 1) {
+			return;
+		}
+		int level = switch (arg.substring(0, pos)) {
+			case "DEBUG" -> HOLogger.DEBUG;
+			case "INFO" -> HOLogger.INFORMATION;
+			case "WARNING" -> HOLogger.WARNING;
+			case "ERROR" -> HOLogger.ERROR;
+			default -> -1;
+		};
+		if (level >= 0) {
+			HOLogger.instance().setLogLevel(arg.substring(pos + 1), level);
+		}
+	}
+
 }
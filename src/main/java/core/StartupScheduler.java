@@ -0,0 +1,102 @@
+package core;
+
+import core.gui.SplashFrame;
+import core.util.HOLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the phases of the application start.
+ * <p>
+ * Phases are either run in the calling thread or submitted to a small thread pool. A submitted phase
+ * starts as soon as the phases it depends on are finished, so independent phases run concurrently.
+ * The start and the duration of each phase are collected and logged as startup report.
+ * </p>
+ */
+final class StartupScheduler {
+
+	private final SplashFrame splash;
+	private final ExecutorService executor;
+	private final long start = System.nanoTime();
+	private final AtomicInteger step = new AtomicInteger();
+	private final List<String> report = new ArrayList<>();
+
+	StartupScheduler(SplashFrame splash) {
+		this.splash = splash;
+		int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		var threadNumber = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(threads, r -> {
+			var thread = new Thread(r, "HO-startup-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Runs a phase in the calling thread
+	 *
+	 * @param name name shown in the splash screen and in the report
+	 * @param phase work of the phase
+	 */
+	void run(String name, Runnable phase) {
+		splash.setInfoText(step.incrementAndGet(), name);
+		long begin = System.nanoTime();
+		try {
+			phase.run();
+		} finally {
+			record(name, begin);
+		}
+	}
+
+	/**
+	 * Runs a phase in the thread pool after the given phases are finished
+	 *
+	 * @param name name shown in the splash screen and in the report
+	 * @param phase work of the phase
+	 * @param dependencies phases which have to be finished before
+	 * @return the submitted phase
+	 */
+	CompletableFuture<Void> submit(String name, Runnable phase, CompletableFuture<?>... dependencies) {
+		return CompletableFuture.allOf(dependencies).thenRunAsync(() -> run(name, phase), executor);
+	}
+
+	/**
+	 * Waits for the given phases. Exceptions of the phases are rethrown.
+	 */
+	void await(CompletableFuture<?>... phases) {
+		CompletableFuture.allOf(phases).join();
+	}
+
+	/**
+	 * Stops the thread pool and logs the startup report
+	 */
+	void finish() {
+		executor.shutdown();
+		var ret = new StringBuilder("Startup report: main frame shown after ")
+				.append(millis(start, System.nanoTime())).append("ms");
+		synchronized (report) {
+			for (var line : report) {
+				ret.append("\n  ").append(line);
+			}
+		}
+		HOLogger.instance().info(HO.class, ret.toString());
+	}
+
+	private void record(String name, long begin) {
+		long end = System.nanoTime();
+		var line = String.format("%-28s start %6dms  duration %6dms  [%s]", name, millis(start, begin),
+				millis(begin, end), Thread.currentThread().getName());
+		synchronized (report) {
+			report.add(line);
+		}
+	}
+
+	private static long millis(long from, long to) {
+		return (to - from) / 1_000_000;
+	}
+}
@@ -0,0 +1,252 @@
+package core.db;
+
+import core.util.HOLogger;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of database connections used by the prepared statement layer of {@link JDBCAdapter}.
+ * <p>
+ * Each thread is bound to one pooled connection on its first use (round-robin), so background downloads
+ * and UI reads no longer serialize on a single statement. Every pooled connection keeps its own cache of
+ * {@link PreparedStatement}s keyed by the sql string, which avoids re-parsing the same statement in HSQLDB.
+ * </p>
+ * Note: the statements are cached per thread. A cached statement is re-used by the next call with the same sql
+ * of the same thread, which closes the result set of the previous call. Result sets of prepared queries must be
+ * consumed before the same query is executed again by the same thread.
+ * <p>
+ * The cache of each thread is limited to {@link #MAX_STATEMENTS} statements, the least recently used statement
+ * is closed. A statement is only cached when its sql is executed the second time. Statements of sql executed once
+ * (e.g. variable IN lists) are closed when their result set is closed, at the latest when more than
+ * {@link #MAX_ONE_OFF_STATEMENTS} of them are open. The statements of terminated threads are closed.
+ * </p>
+ */
+final class ConnectionPool {
+
+	/** Default number of connections */
+	static final int DEFAULT_SIZE = 4;
+	/** Max. number of cached statements per thread */
+	static final int MAX_STATEMENTS = 64;
+	/** Max. number of open statements per thread, that are not cached */
+	static final int MAX_ONE_OFF_STATEMENTS = 16;
+	/** Number of sql strings remembered per thread to recognize repeated statements */
+	private static final int MAX_KNOWN_SQL = 256;
+
+	private final String url;
+	private final String user;
+	private final String password;
+	private final PooledConnection[] connections;
+	private final PooledConnection transactionConnection = new PooledConnection();
+	private final AtomicInteger nextConnection = new AtomicInteger();
+	private final ThreadLocal<PooledConnection> threadConnection;
+
+	ConnectionPool(String url, String user, String password, int size) {
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.connections = new PooledConnection[Math.max(1, size)];
+		for (int i = 0; i < connections.length; i++) {
+			connections[i] = new PooledConnection();
+		}
+		this.threadConnection = ThreadLocal.withInitial(
+				() -> connections[Math.floorMod(nextConnection.getAndIncrement(), connections.length)]);
+	}
+
+	/**
+	 * Returns the cached prepared statement of the calling thread's connection.
+	 * The statement is created (forward only, read only) if it is not cached yet.
+	 *
+	 * @param sql statement with ? placeholders
+	 * @return PreparedStatement
+	 * @throws SQLException if the connection could not be opened or the statement is invalid
+	 */
+	PreparedStatement getPreparedStatement(String sql) throws SQLException {
+		return threadConnection.get().getPreparedStatement(sql);
+	}
+
+	/**
+	 * Returns the connection reserved for transactions. It is never bound to a thread,
+	 * the caller has to ensure that only one transaction uses it at a time.
+	 */
+	PooledConnection getTransactionConnection() {
+		return transactionConnection;
+	}
+
+	/**
+	 * Number of connections currently opened
+	 */
+	int getOpenConnectionCount() {
+		int ret = 0;
+		for (var connection : connections) {
+			if (connection.isOpen()) ret++;
+		}
+		return ret;
+	}
+
+	/**
+	 * Closes all cached statements and pooled connections
+	 */
+	void close() {
+		for (var connection : connections) {
+			connection.close();
+		}
+		transactionConnection.close();
+	}
+
+	final class PooledConnection {
+		private Connection connection;
+		private Statement scrollStatement;
+		/** Cached statements of each thread using the connection */
+		private final Map<Thread, ThreadStatements> statements = new HashMap<>();
+
+		synchronized Connection getConnection() throws SQLException {
+			if (connection == null || connection.isClosed()) {
+				statements.clear();
+				scrollStatement = null;
+				connection = DriverManager.getConnection(url, user, password);
+			}
+			return connection;
+		}
+
+		/**
+		 * Scroll insensitive statement, used for the legacy sql string calls of a transaction
+		 */
+		synchronized Statement getStatement() throws SQLException {
+			var connection = getConnection();
+			if (scrollStatement == null || scrollStatement.isClosed()) {
+				scrollStatement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+			}
+			return scrollStatement;
+		}
+
+		/**
+		 * Returns the cached statement of the calling thread. A statement which is not cached is closed
+		 * on completion, see {@link Statement#isCloseOnCompletion()}. Its caller has to close it after an update.
+		 */
+		synchronized PreparedStatement getPreparedStatement(String sql) throws SQLException {
+			var connection = getConnection();
+			var threadStatements = statements.get(Thread.currentThread());
+			if (threadStatements == null) {
+				closeStatementsOfTerminatedThreads();
+				threadStatements = new ThreadStatements();
+				statements.put(Thread.currentThread(), threadStatements);
+			}
+			var statement = threadStatements.get(sql);
+			if (statement == null || statement.isClosed()) {
+				statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				if (threadStatements.isRepeated(sql)) {
+					threadStatements.put(sql, statement);
+				} else {
+					statement.closeOnCompletion();
+					threadStatements.addOneOff(statement);
+				}
+			}
+			return statement;
+		}
+
+		private void closeStatementsOfTerminatedThreads() {
+			var iterator = statements.entrySet().iterator();
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				if (!entry.getKey().isAlive()) {
+					entry.getValue().close();
+					iterator.remove();
+				}
+			}
+		}
+
+		synchronized boolean isOpen() {
+			return connection != null;
+		}
+
+		synchronized void close() {
+			for (var threadStatements : statements.values()) {
+				threadStatements.close();
+			}
+			statements.clear();
+			scrollStatement = null;
+			if (connection != null) {
+				try {
+					connection.close();
+				} catch (SQLException e) {
+					HOLogger.instance().error(getClass(), "ConnectionPool.close : " + e);
+				}
+				connection = null;
+			}
+		}
+	}
+
+	/**
+	 * Statements of one thread, the cached statements in least recently used order
+	 */
+	private static final class ThreadStatements extends LinkedHashMap<String, PreparedStatement> {
+		private final Map<String, Boolean> knownSql = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > MAX_KNOWN_SQL;
+			}
+		};
+		private final ArrayDeque<PreparedStatement> oneOffStatements = new ArrayDeque<>();
+
+		ThreadStatements() {
+			super(16, 0.75f, true);
+		}
+
+		/**
+		 * @return true, if the sql was requested before
+		 */
+		boolean isRepeated(String sql) {
+			return knownSql.put(sql, Boolean.TRUE) != null;
+		}
+
+		void addOneOff(PreparedStatement statement) {
+			oneOffStatements.removeIf(ThreadStatements::isClosed);
+			oneOffStatements.add(statement);
+			while (oneOffStatements.size() > MAX_ONE_OFF_STATEMENTS) {
+				closeStatement(oneOffStatements.remove());
+			}
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+			if (size() > MAX_STATEMENTS) {
+				closeStatement(eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+
+		void close() {
+			values().forEach(ThreadStatements::closeStatement);
+			oneOffStatements.forEach(ThreadStatements::closeStatement);
+			clear();
+			oneOffStatements.clear();
+		}
+
+		private static boolean isClosed(PreparedStatement statement) {
+			try {
+				return statement.isClosed();
+			} catch (SQLException e) {
+				return true;
+			}
+		}
+
+		private static void closeStatement(PreparedStatement statement) {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				HOLogger.instance().error(ConnectionPool.class, "ConnectionPool.close : " + e);
+			}
+		}
+	}
+}
@@ -3,12 +3,14 @@ package core.db;
 import core.HO;
 import core.datatype.CBItem;
 import core.db.backup.BackupDialog;
+import core.db.backup.BackupHelper;
 import core.db.user.User;
 import core.db.user.UserManager;
 import core.file.hrf.HRF;
 import core.gui.comp.table.HOTableModel;
 import core.gui.model.ArenaStatistikTableModel;
 import core.gui.model.PlayerMatchCBItem;
+import core.gui.theme.TeamLogoInfo;
 import core.model.*;
 import core.model.Tournament.TournamentDetails;
 import core.model.enums.DBDataSource;
@@ -41,7 +43,6 @@ import org.jetbrains.annotations.Nullable;
 import tool.arenasizer.Stadium;
 import org.hsqldb.error.ErrorCode;
 import java.io.File;
-import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -81,6 +82,9 @@ public class DBManager {
 	/** Erster Start */
 	private boolean m_bFirstStart;
 
+	/** Time series of the statistics module */
+	private final StatisticsStore statisticsStore = new StatisticsStore();
+
 	// ~ Constructors
 	// -------------------------------------------------------------------------------
 
@@ -213,6 +217,14 @@ public class DBManager {
 				configTable.store(HOParameter.instance());
 			}
 			else {
+				if (tempInstance.isUpdatePending()) {
+					// Backup of the old version, before the database and its configuration are updated
+					try {
+						BackupHelper.backup(tempInstance, new File(UserManager.instance().getCurrentUser().getDbFolder()), true);
+					} catch (Exception e) {
+						HOLogger.instance().error(DBManager.class, "Backup before the database update failed: " + e);
+					}
+				}
 				// Check if there are any updates on the database to be done.
 				dbUpdater.updateDB(DBVersion);
 			}
@@ -233,6 +245,24 @@ public class DBManager {
 		return DBConfigVersion;
 	}
 
+	/**
+	 * Creates an online backup of the database. The database can be used during the backup.
+	 *
+	 * @param tarFile uncompressed tar file to create, must not exist
+	 */
+	public void backupDatabase(File tarFile) throws SQLException {
+		var path = tarFile.getAbsolutePath().replace("'", "''");
+		m_clJDBCAdapter.execute("BACKUP DATABASE TO '" + path + "' NOT BLOCKING NOT COMPRESSED");
+	}
+
+	/**
+	 * Checks if the database or its configuration is updated to a new version at this start
+	 */
+	private boolean isUpdatePending() {
+		var configTable = (UserConfigurationTable) getTable(UserConfigurationTable.TABLENAME);
+		return configTable.getDBVersion() != DBVersion || configTable.getLastConfUpdate() < DBConfigVersion;
+	}
+
 	/**
 	 This method is called
 	 */
@@ -265,6 +295,7 @@ public class DBManager {
 		tables.put(VereinTable.TABLENAME, new VereinTable(adapter));
 		tables.put(LigaTable.TABLENAME, new LigaTable(adapter));
 		tables.put(SpielerTable.TABLENAME, new SpielerTable(adapter));
+		tables.put(SpielerLatestTable.TABLENAME, new SpielerLatestTable(adapter));
 		tables.put(EconomyTable.TABLENAME, new EconomyTable(adapter));
 		tables.put(YouthPlayerTable.TABLENAME, new YouthPlayerTable(adapter));
 		tables.put(YouthScoutCommentTable.TABLENAME, new YouthScoutCommentTable(adapter));
@@ -321,6 +352,10 @@ public class DBManager {
 		return m_clJDBCAdapter;
 	}
 
+	StatisticsStore getStatisticsStore() {
+		return statisticsStore;
+	}
+
 	private void setFirstStart(boolean firststart) {
 		m_bFirstStart = firststart;
 	}
@@ -386,6 +421,19 @@ public class DBManager {
 				.getLastLevelUp(skill, spielerId);
 	}
 
+	/**
+	 * check if a level increase of the given skill is known for the player.
+	 * The skill ups are indexed in memory, so this is cheap to call from rating calculations.
+	 *
+	 * @param skill     integer code for the skill
+	 * @param spielerId player ID
+	 * @return true if a skill up is found
+	 */
+	public boolean hasLevelUp(int skill, int spielerId) {
+		return ((SpielerSkillupTable) getTable(SpielerSkillupTable.TABLENAME))
+				.hasLevelUp(skill, spielerId);
+	}
+
 	/**
 	 * liefert das Datum des letzen LevelAufstiegs für den angeforderten Skill
 	 * Vector filled with Skillup Objects
@@ -541,6 +589,17 @@ public class DBManager {
 				.getSpielerFirstHRF(spielerid);
 	}
 
+	/**
+	 * Gibt die Player aus ihrem ersten HRF zurück
+	 *
+	 * @param spielerIds the spieler ids
+	 * @return the spieler of the first hrf by spieler id
+	 */
+	public Map<Integer, Player> getSpielerFirstHRF(Collection<Integer> spielerIds) {
+		return ((SpielerTable) getTable(SpielerTable.TABLENAME))
+				.getSpielerFirstHRF(spielerIds);
+	}
+
 	/**
 	 * Returns the trainer code for the specified hrf. -99 if error
 	 *
@@ -552,6 +611,17 @@ public class DBManager {
 				.getTrainerType(hrfID);
 	}
 
+	/**
+	 * Returns the trainer codes of all hrf files since the given date
+	 *
+	 * @param from date of the first hrf file
+	 * @return trainer type by hrf id, hrf files without trainer are missing
+	 */
+	public Map<Integer, Integer> getTrainerTypesSince(Timestamp from) {
+		return ((SpielerTable) getTable(SpielerTable.TABLENAME))
+				.getTrainerTypesSince(from);
+	}
+
 	/**
 	 * speichert die Player
 	 *
@@ -562,6 +632,8 @@ public class DBManager {
 	public void saveSpieler(int hrfId, List<Player> player, HODateTime date) {
 		((SpielerTable) getTable(SpielerTable.TABLENAME)).saveSpieler(hrfId,
 				player, date.toDbTimestamp());
+		((SpielerLatestTable) getTable(SpielerLatestTable.TABLENAME)).update(hrfId, date.toDbTimestamp());
+		statisticsStore.playersSaved(hrfId);
 	}
 
 	/**
@@ -574,6 +646,8 @@ public class DBManager {
 	public void saveSpieler(int hrfId, Player player, Timestamp date) {
 		((SpielerTable) getTable(SpielerTable.TABLENAME)).saveSpieler(hrfId,
 				player, date);
+		((SpielerLatestTable) getTable(SpielerLatestTable.TABLENAME)).update(hrfId, date);
+		statisticsStore.playersSaved(hrfId);
 	}
 
 	// ------------------------------- LigaTable
@@ -888,6 +962,54 @@ public class DBManager {
 		((HRFTable) getTable(HRFTable.TABLENAME)).saveHRF(hrfId, datum);
 	}
 
+	/**
+	 * Stores the complete HRF snapshot of the model (hrf, basics, club, team, economy, stadium,
+	 * league, xtra data, players, youth players and staff) in one transaction.
+	 * The rows of the player and staff tables are sent in JDBC batches.
+	 * The time spent for each table is logged.
+	 *
+	 * @param model the model to store
+	 * @return true if the snapshot was committed, false if it was rolled back
+	 */
+	public boolean saveHOModel(HOModel model) {
+		var hrfId = model.getID();
+		var time = model.getBasics().getDatum();
+		var timings = new LinkedHashMap<String, Long>();
+		long start = System.currentTimeMillis();
+		try {
+			m_clJDBCAdapter.beginTransaction();
+			timed(timings, HRFTable.TABLENAME, () -> saveHRF(hrfId, time));
+			timed(timings, BasicsTable.TABLENAME, () -> saveBasics(hrfId, model.getBasics()));
+			timed(timings, VereinTable.TABLENAME, () -> saveVerein(hrfId, model.getClub()));
+			timed(timings, TeamTable.TABLENAME, () -> saveTeam(hrfId, model.getTeam()));
+			timed(timings, EconomyTable.TABLENAME, () -> saveEconomyInDB(hrfId, model.getEconomy(), time));
+			timed(timings, StadionTable.TABLENAME, () -> saveStadion(hrfId, model.getStadium()));
+			timed(timings, LigaTable.TABLENAME, () -> saveLiga(hrfId, model.getLeague()));
+			timed(timings, XtraDataTable.TABLENAME, () -> saveXtraDaten(hrfId, model.getXtraDaten()));
+			timed(timings, SpielerTable.TABLENAME, () -> saveSpieler(hrfId, model.getCurrentPlayers(), time));
+			timed(timings, YouthPlayerTable.TABLENAME, () -> storeYouthPlayers(hrfId, model.getCurrentYouthPlayers()));
+			timed(timings, StaffTable.TABLENAME, () -> saveStaff(hrfId, model.getStaff()));
+			long commitStart = System.currentTimeMillis();
+			var batchedRows = m_clJDBCAdapter.commitTransaction();
+			timings.put("commit", System.currentTimeMillis() - commitStart);
+			HOLogger.instance().info(getClass(), "saveHOModel " + hrfId + " took "
+					+ (System.currentTimeMillis() - start) + "ms, batched rows=" + batchedRows + ", " + timings);
+			statisticsStore.hrfSaved(hrfId);
+			return true;
+		} catch (Exception e) {
+			m_clJDBCAdapter.rollbackTransaction();
+			HOLogger.instance().error(getClass(), "saveHOModel " + hrfId + " rolled back: " + e
+					+ "\n" + ExceptionUtils.getStackTrace(e));
+			return false;
+		}
+	}
+
+	private static void timed(Map<String, Long> timings, String name, Runnable step) {
+		long start = System.currentTimeMillis();
+		step.run();
+		timings.put(name, System.currentTimeMillis() - start);
+	}
+
 	/**
 	 * Gets hrfid 4 date.
 	 *
@@ -1486,6 +1608,16 @@ public class DBManager {
 		return ((TeamTable) getTable(TeamTable.TABLENAME)).getTeam(hrfID);
 	}
 
+	/**
+	 * lädt die Teams aller HRF files seit dem angegebenen Datum
+	 *
+	 * @param from date of the first hrf file
+	 * @return teams by hrf id
+	 */
+	public Map<Integer, Team> getTeamsSince(Timestamp from) {
+		return ((TeamTable) getTable(TeamTable.TABLENAME)).getTeamsSince(from);
+	}
+
 	/**
 	 * speichert das Team
 	 *
@@ -2029,10 +2161,12 @@ public class DBManager {
 		getTable(TeamTable.TABLENAME).delete(where, value);
 		getTable(EconomyTable.TABLENAME).delete(where, value);
 		getTable(BasicsTable.TABLENAME).delete(where, value);
+		((SpielerLatestTable) getTable(SpielerLatestTable.TABLENAME)).remove(hrfid);
 		getTable(SpielerTable.TABLENAME).delete(where, value);
 		getTable(SpielerSkillupTable.TABLENAME).delete(where, value);
 		getTable(XtraDataTable.TABLENAME).delete(where, value);
 		((StaffTable) getTable(StaffTable.TABLENAME)).deleteAllStaffByHrfId(hrfid);
+		statisticsStore.reset();
 	}
 
 	/**
@@ -2582,15 +2716,31 @@ public class DBManager {
 
 
 	/**
-	 * Gets team logo file name BUT it will triggers download of the logo from internet if it is not yet available.
-	 * It will also update LAST_ACCESS field
+	 * Gets url and file name of the team logo. The logo is not downloaded.
+	 *
+	 * @param teamID the team id
+	 * @return the team logo info, null if the team has no logo
+	 */
+	public TeamLogoInfo getTeamLogoInfo(int teamID) {
+		return ((TeamsLogoTable)getTable(TeamsLogoTable.TABLENAME)).getTeamLogoInfo(teamID);
+	}
+
+	/**
+	 * Gets the logo file names of all teams, least recently accessed first.
+	 *
+	 * @return file name by team id
+	 */
+	public Map<Integer, String> getTeamLogoFileNamesByLastAccess() {
+		return ((TeamsLogoTable)getTable(TeamsLogoTable.TABLENAME)).getTeamLogoFileNamesByLastAccess();
+	}
+
+	/**
+	 * Sets the LAST_ACCESS field of the team logo to now.
 	 *
 	 * @param teamID the team id
-	 * @param teamLogoFolderPath the team logo root folder path
-	 * @return the team logo file name
 	 */
-	public String getTeamLogoFileName(Path teamLogoFolderPath, int teamID) {
-		return ((TeamsLogoTable)getTable(TeamsLogoTable.TABLENAME)).getTeamLogoFileName(teamLogoFolderPath, teamID);
+	public void updateTeamLogoLastAccess(int teamID) {
+		((TeamsLogoTable)getTable(TeamsLogoTable.TABLENAME)).updateLastAccessTime(teamID);
 	}
 
 	/**
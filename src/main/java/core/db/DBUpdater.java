@@ -91,6 +91,15 @@ final class DBUpdater {
 		var hrfTable = dbManager.getTable(HRFTable.TABLENAME);
 		hrfTable.tryDeleteColumn("NAME");
 
+		if (!tableExists(SpielerLatestTable.TABLENAME)) {
+			var latestTable = (SpielerLatestTable) dbManager.getTable(SpielerLatestTable.TABLENAME);
+			latestTable.createTable();
+			for (var index : latestTable.getCreateIndexStatement()) {
+				m_clJDBCAdapter.executeUpdate(index);
+			}
+			latestTable.rebuild();
+		}
+
 		updateDBVersion(dbVersion, 700);
 	}
 
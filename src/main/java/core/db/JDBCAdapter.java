@@ -6,9 +6,11 @@ import core.util.HOLogger;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Provides the connection functions to the database
@@ -17,6 +19,9 @@ public class JDBCAdapter {
 	private Connection m_clConnection;
 	private Statement m_clStatement;
 	private DBInfo m_clDBInfo;
+	private ConnectionPool m_clConnectionPool;
+	private final ThreadLocal<Transaction> m_clTransaction = new ThreadLocal<>();
+	private final ReentrantLock m_clTransactionLock = new ReentrantLock();
 
 	/**
 	 * Creates new JDBCApapter
@@ -29,6 +34,10 @@ public class JDBCAdapter {
 	 */
 	public final void disconnect() {
 		try {
+			if (m_clConnectionPool != null) {
+				m_clConnectionPool.close();
+				m_clConnectionPool = null;
+			}
 			m_clStatement.execute("SHUTDOWN");
 			m_clConnection.close();
 			m_clConnection = null;
@@ -54,11 +63,17 @@ public class JDBCAdapter {
 				return null;
 			}
 
+			var transaction = m_clTransaction.get();
+			if (transaction != null) {
+				return transaction.executeQuery(Sql);
+			}
+
 			// HOLogger.instance().log(getClass(), Sql );
 			resultat = m_clStatement.executeQuery(Sql);
 
 			return resultat;
 		} catch (Exception e) {
+			markTransactionForRollback(e);
 			HOLogger.instance().error(
 					getClass(),
 					"JDBCAdapter.executeQuery : " + e + "\nStatement: " + Sql + "\n"
@@ -86,10 +101,15 @@ public class JDBCAdapter {
 			if (m_clConnection.isClosed()) {
 				return 0;
 			}
+			var transaction = m_clTransaction.get();
+			if (transaction != null) {
+				return transaction.executeUpdate(Sql);
+			}
 			// HOLogger.instance().log(getClass(), Sql );
 			ret = m_clStatement.executeUpdate(Sql);
 			return ret;
 		} catch (Exception e) {
+			markTransactionForRollback(e);
 			HOLogger.instance().error(
 					getClass(),
 					"JDBCAdapter.executeUpdate : " + e + "\nStatement: " + Sql + "\n"
@@ -99,9 +119,188 @@ public class JDBCAdapter {
 	}
 
 	public int executeUpdate_(String sql) throws SQLException {
+		var transaction = m_clTransaction.get();
+		if (transaction != null) {
+			try {
+				return transaction.executeUpdate(sql);
+			} catch (SQLException e) {
+				transaction.setRollbackOnly(e);
+				throw e;
+			}
+		}
 		return m_clStatement.executeUpdate(sql);
 	}
 
+	/**
+	 * Executes the statement on its own statement object, e.g. a long running command of a background
+	 * thread. Errors are thrown to the caller.
+	 */
+	public void execute(String sql) throws SQLException {
+		try (var statement = m_clConnection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	/**
+	 * Marks the transaction of the calling thread for rollback, so the error of a statement,
+	 * which is only logged by the callers, prevents the commit of the transaction.
+	 */
+	private void markTransactionForRollback(Exception e) {
+		var transaction = m_clTransaction.get();
+		if (transaction != null) {
+			transaction.setRollbackOnly(e instanceof SQLException sqlException ? sqlException : new SQLException(e));
+		}
+	}
+
+	/**
+	 * Starts a transaction for the calling thread. Until {@link #commitTransaction()} or
+	 * {@link #rollbackTransaction()} all statements of this thread are executed on one connection
+	 * without auto commit, and repeated prepared updates are sent as JDBC batches.
+	 * Nested calls join the running transaction. Transactions of other threads wait until
+	 * the running one is finished.
+	 *
+	 * @throws SQLException if the transaction connection could not be opened
+	 */
+	public final void beginTransaction() throws SQLException {
+		var transaction = m_clTransaction.get();
+		if (transaction != null) {
+			transaction.enter();
+			return;
+		}
+		m_clTransactionLock.lock();
+		try {
+			m_clTransaction.set(new Transaction(m_clConnectionPool.getTransactionConnection()));
+		} catch (SQLException e) {
+			m_clTransactionLock.unlock();
+			throw e;
+		}
+	}
+
+	/**
+	 * Commits the transaction of the calling thread. Nested transactions are committed
+	 * when the outermost one is committed.
+	 *
+	 * @return number of statements sent as batch, when the transaction was committed, otherwise 0
+	 * @throws SQLException if a statement of the transaction or the commit failed.
+	 *             The transaction is rolled back and finished anyway.
+	 */
+	public final int commitTransaction() throws SQLException {
+		var transaction = m_clTransaction.get();
+		if (transaction == null || transaction.leave() > 0) {
+			return 0;
+		}
+		try {
+			transaction.commit();
+			return transaction.getBatchedRows();
+		} catch (SQLException e) {
+			try {
+				transaction.rollback();
+			} catch (SQLException rollbackError) {
+				e.addSuppressed(rollbackError);
+			}
+			throw e;
+		} finally {
+			m_clTransaction.remove();
+			m_clTransactionLock.unlock();
+		}
+	}
+
+	/**
+	 * Rolls back the transaction of the calling thread, including all nested transactions.
+	 */
+	public final void rollbackTransaction() {
+		var transaction = m_clTransaction.get();
+		if (transaction == null) {
+			return;
+		}
+		try {
+			transaction.rollback();
+		} catch (SQLException e) {
+			HOLogger.instance().error(getClass(), "JDBCAdapter.rollbackTransaction : " + e);
+		} finally {
+			m_clTransaction.remove();
+			m_clTransactionLock.unlock();
+		}
+	}
+
+	/**
+	 * Execute a SQL Select statement using a cached prepared statement of the pooled connection
+	 * bound to the calling thread. The returned ResultSet is forward only and read only.
+	 *
+	 * @param sql
+	 *            Sql query with ? placeholders
+	 * @param params
+	 *            values of the placeholders
+	 *
+	 * @return ResultSet of the query, null on error
+	 */
+	public final ResultSet executePreparedQuery(String sql, Object... params) {
+		try {
+			var transaction = m_clTransaction.get();
+			final PreparedStatement statement = transaction != null ? transaction.prepareQuery(sql)
+					: m_clConnectionPool.getPreparedStatement(sql);
+			synchronized (statement) {
+				setParameters(statement, params);
+				return statement.executeQuery();
+			}
+		} catch (Exception e) {
+			markTransactionForRollback(e);
+			HOLogger.instance().error(
+					getClass(),
+					"JDBCAdapter.executePreparedQuery : " + e + "\nStatement: " + sql + "\n"
+							+ ExceptionUtils.getStackTrace(e));
+			return null;
+		}
+	}
+
+	/**
+	 * Executes an SQL INSERT, UPDATE or DELETE statement using a cached prepared statement
+	 * of the pooled connection bound to the calling thread. Inside a transaction the statement
+	 * is added to a JDBC batch.
+	 *
+	 * @param sql
+	 *            INSERT, UPDATE or DELETE statement with ? placeholders
+	 * @param params
+	 *            values of the placeholders
+	 *
+	 * @return the row count, 0 on error or if the statement was added to the batch of a transaction
+	 */
+	public final int executePreparedUpdate(String sql, Object... params) {
+		try {
+			var transaction = m_clTransaction.get();
+			if (transaction != null) {
+				transaction.addBatch(sql, params);
+				return 0;
+			}
+			final PreparedStatement statement = m_clConnectionPool.getPreparedStatement(sql);
+			synchronized (statement) {
+				try {
+					setParameters(statement, params);
+					return statement.executeUpdate();
+				} finally {
+					// statement is not cached
+					if (statement.isCloseOnCompletion()) {
+						statement.close();
+					}
+				}
+			}
+		} catch (Exception e) {
+			markTransactionForRollback(e);
+			HOLogger.instance().error(
+					getClass(),
+					"JDBCAdapter.executePreparedUpdate : " + e + "\nStatement: " + sql + "\n"
+							+ ExceptionUtils.getStackTrace(e));
+			return 0;
+		}
+	}
+
+	private void setParameters(PreparedStatement statement, Object... params) throws SQLException {
+		statement.clearParameters();
+		for (int i = 0; i < params.length; i++) {
+			statement.setObject(i + 1, params[i]);
+		}
+	}
+
 	/**
 	 * Connects to the requested database
 	 * 
@@ -122,6 +321,7 @@ public class JDBCAdapter {
 			m_clConnection = DriverManager.getConnection(URL, User, PWD);
 			m_clStatement = m_clConnection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE,
 					ResultSet.CONCUR_READ_ONLY);
+			m_clConnectionPool = new ConnectionPool(URL, User, PWD, ConnectionPool.DEFAULT_SIZE);
 
 		} catch (Exception e) {
 			if (m_clConnection != null) {
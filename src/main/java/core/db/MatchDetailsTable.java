@@ -104,11 +104,11 @@ final class MatchDetailsTable extends AbstractTable {
 		final Matchdetails details = new Matchdetails();
 
 		try {
-			String sql = "SELECT * FROM "+getTableName()+" WHERE MATCHTYP=" + iMatchType + " AND MatchID=" + matchId;
-			ResultSet rs = adapter.executeQuery(sql);
+			String sql = "SELECT * FROM "+getTableName()+" WHERE MATCHTYP=? AND MatchID=?";
+			ResultSet rs = adapter.executePreparedQuery(sql, iMatchType, matchId);
 
 			assert rs != null;
-			if (rs.first()) {
+			if (rs.next()) {
 				details.setMatchType(MatchType.getById(rs.getInt("MATCHTYP")));
 				details.setArenaID(rs.getInt("ArenaId"));
 				details.setArenaName(core.db.DBManager.deleteEscapeSequences(rs.getString("ArenaName")));
@@ -300,10 +300,9 @@ final class MatchDetailsTable extends AbstractTable {
 
 	public boolean isMatchIFKRatingAvailable(int matchId){
 		try {
-			final String sql = "SELECT RatingIndirectSetPiecesDef FROM " + getTableName() + " WHERE MatchId=" + matchId;
-			final ResultSet rs = adapter.executeQuery(sql);
+			final String sql = "SELECT RatingIndirectSetPiecesDef FROM " + getTableName() + " WHERE MatchId=?";
+			final ResultSet rs = adapter.executePreparedQuery(sql, matchId);
 			assert rs != null;
-			rs.beforeFirst();
 			if (rs.next()) {
 				int rating = rs.getInt(1);
 				return !rs.wasNull();
@@ -216,11 +216,8 @@ public final class MatchLineupPlayerTable extends AbstractTable {
 
 	Vector<MatchLineupPosition> getMatchLineupPlayers(int matchID, MatchType matchType, int teamID) {
 		try {
-			var sql = "SELECT * FROM "+getTableName() +
-					" WHERE MatchID = "	+ matchID +
-					" AND MatchTyp = " + matchType.getId() +
-					" AND TeamID = " + teamID;
-			return createMatchLineups(sql);
+			var sql = "SELECT * FROM "+getTableName() + " WHERE MatchID = ? AND MatchTyp = ? AND TeamID = ?";
+			return createMatchLineups(adapter.executePreparedQuery(sql, matchID, matchType.getId(), teamID));
 		} catch (Exception e) {
 			HOLogger.instance().log(getClass(),"DB.getMatchLineupTeam Error" + e);
 		}
@@ -239,10 +236,15 @@ public final class MatchLineupPlayerTable extends AbstractTable {
 	}
 
 	private Vector<MatchLineupPosition> createMatchLineups(String sql) throws SQLException {
-		var vec = new Vector<MatchLineupPosition>();
 		var rs = adapter.executeQuery(sql);
 		assert rs != null;
 		rs.beforeFirst();
+		return createMatchLineups(rs);
+	}
+
+	private Vector<MatchLineupPosition> createMatchLineups(ResultSet rs) throws SQLException {
+		var vec = new Vector<MatchLineupPosition>();
+		assert rs != null;
 
 		while (rs.next()) {
 			var roleID = rs.getInt("RoleID");
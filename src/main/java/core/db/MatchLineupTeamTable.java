@@ -45,10 +45,10 @@ public final class MatchLineupTeamTable extends AbstractTable {
 
 	MatchLineupTeam getMatchLineupTeam(int iMatchType, int matchID, int teamID) {
 		try {
-			var sql = "SELECT * FROM " + getTableName() + " WHERE MatchTyp = " + iMatchType + " AND MatchID = " + matchID + " AND TeamID = " + teamID;
-			var rs = adapter.executeQuery(sql);
+			var sql = "SELECT * FROM " + getTableName() + " WHERE MatchTyp = ? AND MatchID = ? AND TeamID = ?";
+			var rs = adapter.executePreparedQuery(sql, iMatchType, matchID, teamID);
 			if (rs != null) {
-				if (rs.first()) {
+				if (rs.next()) {
 					var team = new MatchLineupTeam(MatchType.getById(iMatchType),
 							matchID,
 							DBManager.deleteEscapeSequences(rs.getString("TeamName")),
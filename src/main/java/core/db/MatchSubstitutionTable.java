@@ -7,6 +7,7 @@ import module.lineup.substitution.model.RedCardCriteria;
 import module.lineup.substitution.model.Substitution;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
@@ -62,10 +63,15 @@ public class MatchSubstitutionTable extends AbstractTable {
 	 * 
 	 */
 	java.util.List<Substitution> getMatchSubstitutionsByMatchTeam(int iMatchType, int teamId, int matchId) {
-		return getSubBySql("SELECT * FROM " + getTableName()
-				+ " WHERE MatchTyp = " + iMatchType
-				+ " AND MatchID = " + matchId
-				+ " AND TeamID = " + teamId);
+		List<Substitution> subst = new ArrayList<Substitution>();
+		try {
+			var rs = adapter.executePreparedQuery("SELECT * FROM " + getTableName()
+					+ " WHERE MatchTyp = ? AND MatchID = ? AND TeamID = ?", iMatchType, matchId, teamId);
+			addSubstitutions(rs, subst);
+		} catch (Exception e) {
+			HOLogger.instance().log(getClass(), "DB.getMatchSubstitutions Error" + e);
+		}
+		return subst;
 	}
 
 	/**
@@ -145,30 +151,34 @@ public class MatchSubstitutionTable extends AbstractTable {
 	}
 
 	private java.util.List<Substitution> getSubBySql(String sql) {
-		Substitution sub;
 		ResultSet rs;
 		List<Substitution> subst = new ArrayList<Substitution>();
 
 		try {
 			rs = adapter.executeQuery(sql);
 			rs.beforeFirst();
-			while (rs.next()) {
-				byte orderId = (byte) rs.getInt("OrderType");
-				int playerIn = rs.getInt("PlayerIn");
-				int playerOut = rs.getInt("PlayerOut");
-				sub = new Substitution(rs.getInt("PlayerOrderID"), playerIn, playerOut,
-						orderId, (byte) rs.getInt("MatchMinuteCriteria"),
-						(byte) rs.getInt("Pos"), (byte) rs.getInt("Behaviour"),
-						RedCardCriteria.getById((byte) rs.getInt("Card")),
-						GoalDiffCriteria.getById((byte) rs.getInt("Standing")));
-				subst.add(sub);
-			}
+			addSubstitutions(rs, subst);
 		} catch (Exception e) {
 			HOLogger.instance().log(getClass(), "DB.getMatchSubstitutions Error" + e);
 		}
 
 		return subst;
 	}
+
+	private void addSubstitutions(ResultSet rs, List<Substitution> subst) throws SQLException {
+		Substitution sub;
+		while (rs.next()) {
+			byte orderId = (byte) rs.getInt("OrderType");
+			int playerIn = rs.getInt("PlayerIn");
+			int playerOut = rs.getInt("PlayerOut");
+			sub = new Substitution(rs.getInt("PlayerOrderID"), playerIn, playerOut,
+					orderId, (byte) rs.getInt("MatchMinuteCriteria"),
+					(byte) rs.getInt("Pos"), (byte) rs.getInt("Behaviour"),
+					RedCardCriteria.getById((byte) rs.getInt("Card")),
+					GoalDiffCriteria.getById((byte) rs.getInt("Standing")));
+			subst.add(sub);
+		}
+	}
 	
 	protected void deleteAllMatchSubstitutionsByMatchId(int matchId) {
 		if (matchId <= 0) {
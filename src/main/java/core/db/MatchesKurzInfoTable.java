@@ -387,16 +387,15 @@ final class MatchesKurzInfoTable extends AbstractTable {
 		boolean vorhanden = false;
 
 		try {
-			String sql = "SELECT MatchId FROM " + getTableName()
-					+ " WHERE MatchId=" + matchid;
+			final ResultSet rs;
 			if ( matchType != null){
-				sql += " AND MatchTyp=" + matchType.getId();
+				rs = adapter.executePreparedQuery("SELECT MatchId FROM " + getTableName() + " WHERE MatchId=? AND MatchTyp=?", matchid, matchType.getId());
+			}
+			else {
+				rs = adapter.executePreparedQuery("SELECT MatchId FROM " + getTableName() + " WHERE MatchId=?", matchid);
 			}
-
-			final ResultSet rs = adapter.executeQuery(sql);
 
 			assert rs != null;
-			rs.beforeFirst();
 
 			if (rs.next()) {
 				vorhanden = true;
@@ -412,10 +411,9 @@ final class MatchesKurzInfoTable extends AbstractTable {
 	boolean hasUnsureWeatherForecast(int matchId)
 	{
 		try{
-			final String sql = "SELECT WeatherForecast FROM " + getTableName() + " WHERE MatchId=" + matchId;
-			final ResultSet rs = adapter.executeQuery(sql);
+			final String sql = "SELECT WeatherForecast FROM " + getTableName() + " WHERE MatchId=?";
+			final ResultSet rs = adapter.executePreparedQuery(sql, matchId);
 			assert rs != null;
-			rs.beforeFirst();
 			if (rs.next()) {
 				Weather.Forecast forecast = Weather.Forecast.getById(rs.getInt(1));
 				if (rs.wasNull()) return true;
@@ -0,0 +1,149 @@
+package core.db;
+
+import core.constants.player.PlayerSkill;
+import core.util.HODateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory index of the players' skill ups.
+ * <p>
+ * Player ids are kept in a sorted int array, the date of the last level up of each skill in a long array per player.
+ * So the lookups of the rating prediction do not need any database access nor object allocation.
+ * Updates copy the changed arrays (copy on write), readers work on a consistent state without locking.
+ * </p>
+ * Rows are stored in the format of {@link SpielerSkillupTable}: {hrfId, playerId, date, value, skill}, sorted
+ * by date, latest first.
+ */
+final class SkillupIndex {
+
+	private static final int SKILL_COUNT = PlayerSkill.LOYALTY + 1;
+	private static final long NONE = Long.MIN_VALUE;
+
+	private static final class State {
+		final int[] playerIds;
+		final long[][] lastLevelUp;
+		final List<Object[]>[] rows;
+
+		@SuppressWarnings("unchecked")
+		State(int size) {
+			playerIds = new int[size];
+			lastLevelUp = new long[size][];
+			rows = new List[size];
+		}
+	}
+
+	private volatile State state = new State(0);
+
+	/**
+	 * Creates the index from rows sorted by player id and date (latest first)
+	 */
+	static SkillupIndex create(List<Object[]> sortedRows) {
+		var ret = new SkillupIndex();
+		int count = 0;
+		Integer lastId = null;
+		for (var row : sortedRows) {
+			if (!row[1].equals(lastId)) {
+				lastId = (Integer) row[1];
+				count++;
+			}
+		}
+		var s = new State(count);
+		int i = -1;
+		lastId = null;
+		for (var row : sortedRows) {
+			if (!row[1].equals(lastId)) {
+				lastId = (Integer) row[1];
+				i++;
+				s.playerIds[i] = lastId;
+				s.lastLevelUp[i] = newLevelUps();
+				s.rows[i] = new ArrayList<>();
+			}
+			s.rows[i].add(row);
+			setLastLevelUp(s.lastLevelUp[i], row);
+		}
+		ret.state = s;
+		return ret;
+	}
+
+	/**
+	 * Returns true if a level up of the skill is known
+	 */
+	boolean hasLevelUp(int skill, int playerId) {
+		if (skill < 0 || skill >= SKILL_COUNT) return false;
+		var s = state;
+		int i = Arrays.binarySearch(s.playerIds, playerId);
+		return i >= 0 && s.lastLevelUp[i][skill] != NONE;
+	}
+
+	/**
+	 * Returns all rows of the player, latest first
+	 */
+	List<Object[]> getRows(int playerId) {
+		var s = state;
+		int i = Arrays.binarySearch(s.playerIds, playerId);
+		if (i < 0) return Collections.emptyList();
+		return s.rows[i];
+	}
+
+	/**
+	 * Adds a skill up. An existing skill up of the same download and skill is replaced.
+	 */
+	synchronized void add(int hrfId, int playerId, HODateTime date, int value, int skill) {
+		var s = state;
+		var row = new Object[]{hrfId, playerId, date, value, skill};
+		int i = Arrays.binarySearch(s.playerIds, playerId);
+		State n;
+		if (i >= 0) {
+			n = new State(s.playerIds.length);
+			System.arraycopy(s.playerIds, 0, n.playerIds, 0, s.playerIds.length);
+			System.arraycopy(s.lastLevelUp, 0, n.lastLevelUp, 0, s.lastLevelUp.length);
+			System.arraycopy(s.rows, 0, n.rows, 0, s.rows.length);
+		} else {
+			i = -i - 1;
+			n = new State(s.playerIds.length + 1);
+			System.arraycopy(s.playerIds, 0, n.playerIds, 0, i);
+			System.arraycopy(s.playerIds, i, n.playerIds, i + 1, s.playerIds.length - i);
+			System.arraycopy(s.lastLevelUp, 0, n.lastLevelUp, 0, i);
+			System.arraycopy(s.lastLevelUp, i, n.lastLevelUp, i + 1, s.lastLevelUp.length - i);
+			System.arraycopy(s.rows, 0, n.rows, 0, i);
+			System.arraycopy(s.rows, i, n.rows, i + 1, s.rows.length - i);
+			n.playerIds[i] = playerId;
+			n.rows[i] = new ArrayList<>();
+		}
+		var rows = new ArrayList<Object[]>(n.rows[i].size() + 1);
+		for (var r : n.rows[i]) {
+			if (!((Integer) r[0] == hrfId && (Integer) r[4] == skill)) {
+				rows.add(r);
+			}
+		}
+		rows.add(row);
+		rows.sort((a, b) -> ((HODateTime) b[2]).compareTo((HODateTime) a[2]));
+		var levelUps = newLevelUps();
+		for (var r : rows) {
+			setLastLevelUp(levelUps, r);
+		}
+		n.rows[i] = rows;
+		n.lastLevelUp[i] = levelUps;
+		state = n;
+	}
+
+	private static long[] newLevelUps() {
+		var ret = new long[SKILL_COUNT];
+		Arrays.fill(ret, NONE);
+		return ret;
+	}
+
+	private static void setLastLevelUp(long[] levelUps, Object[] row) {
+		int skill = (Integer) row[4];
+		if (skill >= 0 && skill < SKILL_COUNT) {
+			long time = ((HODateTime) row[2]).instant.toEpochMilli();
+			if (time > levelUps[skill]) {
+				levelUps[skill] = time;
+			}
+		}
+	}
+}
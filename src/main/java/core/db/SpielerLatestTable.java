@@ -0,0 +1,81 @@
+package core.db;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Latest HRF of each player, current and former ones.
+ * <p>
+ * The table is a projection of the {@link SpielerTable}, which is maintained when players are
+ * stored or HRF files are deleted. So the latest state of all players is read in one join
+ * instead of sorting the whole history of each player.
+ * </p>
+ */
+final class SpielerLatestTable extends AbstractTable {
+
+	/** tablename **/
+	final static String TABLENAME = "SPIELERLATEST";
+
+	SpielerLatestTable(JDBCAdapter adapter) {
+		super(TABLENAME, adapter);
+	}
+
+	@Override
+	protected void initColumns() {
+		columns = new ColumnDescriptor[]{
+				new ColumnDescriptor("SpielerID", Types.INTEGER, false, true),
+				new ColumnDescriptor("HRF_ID", Types.INTEGER, false),
+				new ColumnDescriptor("Datum", Types.TIMESTAMP, false)
+		};
+	}
+
+	@Override
+	protected String[] getCreateIndexStatement() {
+		return new String[]{
+				"CREATE INDEX iSpielerLatest_1 ON " + getTableName() + "(" + columns[1].getColumnName() + ")"};
+	}
+
+	/**
+	 * Sets the given HRF as latest one of its players, if there is no newer HRF of the player
+	 *
+	 * @param hrfId hrf id, the players have to be stored already
+	 * @param date  date of the hrf
+	 */
+	void update(int hrfId, Timestamp date) {
+		adapter.executePreparedUpdate("DELETE FROM " + getTableName() + " WHERE Datum <= ? AND SpielerID IN"
+				+ " (SELECT SpielerID FROM " + SpielerTable.TABLENAME + " WHERE HRF_ID = ?)", date, hrfId);
+		adapter.executePreparedUpdate("INSERT INTO " + getTableName() + " (SpielerID, HRF_ID, Datum)"
+				+ " SELECT SpielerID, HRF_ID, Datum FROM " + SpielerTable.TABLENAME + " WHERE HRF_ID = ?"
+				+ " AND SpielerID NOT IN (SELECT SpielerID FROM " + getTableName() + ")", hrfId);
+	}
+
+	/**
+	 * Replaces the given HRF by the newest other HRF of its players.
+	 * Only the players of the HRF are touched, which have to be still in the player table.
+	 *
+	 * @param hrfId id of the hrf, which is deleted
+	 */
+	void remove(int hrfId) {
+		adapter.executePreparedUpdate("DELETE FROM " + getTableName() + " WHERE HRF_ID = ?", hrfId);
+		adapter.executePreparedUpdate("INSERT INTO " + getTableName() + " (SpielerID, HRF_ID, Datum)"
+				+ " SELECT s.SpielerID, MAX(s.HRF_ID), s.Datum FROM " + SpielerTable.TABLENAME + " s"
+				+ " JOIN (SELECT SpielerID, MAX(Datum) AS LastDatum FROM " + SpielerTable.TABLENAME
+				+ " WHERE HRF_ID <> ? AND SpielerID IN (SELECT SpielerID FROM " + SpielerTable.TABLENAME + " WHERE HRF_ID = ?)"
+				+ " AND SpielerID NOT IN (SELECT SpielerID FROM " + getTableName() + ")"
+				+ " GROUP BY SpielerID) l ON s.SpielerID = l.SpielerID AND s.Datum = l.LastDatum"
+				+ " WHERE s.HRF_ID <> ? GROUP BY s.SpielerID, s.Datum", hrfId, hrfId, hrfId);
+	}
+
+	/**
+	 * Recreates all rows from the player table.
+	 * If a player has more than one HRF at the latest date, the highest HRF id is used.
+	 */
+	void rebuild() {
+		adapter.executePreparedUpdate("DELETE FROM " + getTableName());
+		adapter.executePreparedUpdate("INSERT INTO " + getTableName() + " (SpielerID, HRF_ID, Datum)"
+				+ " SELECT s.SpielerID, MAX(s.HRF_ID), s.Datum FROM " + SpielerTable.TABLENAME + " s"
+				+ " JOIN (SELECT SpielerID, MAX(Datum) AS LastDatum FROM " + SpielerTable.TABLENAME
+				+ " GROUP BY SpielerID) l ON s.SpielerID = l.SpielerID AND s.Datum = l.LastDatum"
+				+ " GROUP BY s.SpielerID, s.Datum");
+	}
+}
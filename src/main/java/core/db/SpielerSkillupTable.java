@@ -16,7 +16,7 @@ final class SpielerSkillupTable extends AbstractTable {
 
 	/** tablename **/						
 	final static String TABLENAME = "SPIELERSKILLUP";
-	private static Map<String,Vector<Object[]>> playerSkillup = null;
+	private static volatile SkillupIndex skillupIndex = null;
 
 	SpielerSkillupTable(JDBCAdapter adapter) {
 		super(TABLENAME, adapter);					
@@ -41,39 +41,26 @@ final class SpielerSkillupTable extends AbstractTable {
 	}
 
 	private void storeSkillup(int hrfId, int spielerId, Timestamp date, int skillValue, int skillCode, boolean reload) {
-		String statement;
-
 		//erst Vorhandene Aufstellung löschen
-		final String[] awhereS = { "HRF_ID", "SpielerID", "Skill" };
-		final String[] awhereV = { "" + hrfId, "" + spielerId, "" +skillCode};
+		adapter.executePreparedUpdate("DELETE FROM " + getTableName() + " WHERE HRF_ID = ? AND SpielerID = ? AND Skill = ?",
+				hrfId, spielerId, skillCode);
 
-		delete(awhereS, awhereV);
+		adapter.executePreparedUpdate("INSERT INTO " + getTableName() + " ( HRF_ID , Datum , SpielerID , Skill , Value ) VALUES( ?, ?, ?, ?, ? )",
+				hrfId, date, spielerId, skillCode, skillValue);
+		if (reload && skillupIndex != null) {
+			skillupIndex.add(hrfId, spielerId, HODateTime.fromDbTimestamp(date), skillValue, skillCode);
+		}
+	}
 
-		//insert vorbereiten
-		statement =
-			"INSERT INTO "+getTableName()+" ( HRF_ID , Datum , SpielerID , Skill , Value ) VALUES(";
-		statement
-			+= (""
-				+ hrfId
-				+ ",'"
-				+ date
-				+ "', "
-				+ spielerId
-				+ ","
-				+ skillCode
-				+ ","
-				+ skillValue
-				+ " )");
-		adapter.executeUpdate(statement);
-		if (reload) {
-			Vector<Object[]> data = getSpielerSkillUp(spielerId);
-			data.clear();
-			data.addAll(loadSpieler(spielerId));						
-		}				
+	@Override
+	protected int delete(String[] whereColumns, String[] whereValues) {
+		// index is reloaded on next access
+		skillupIndex = null;
+		return super.delete(whereColumns, whereValues);
 	}
 
 	Object[] getLastLevelUp(int skillCode, int spielerId) {
-		Vector<Object[]> data = getSpielerSkillUp(spielerId);
+		List<Object[]> data = getIndex().getRows(spielerId);
 		for (Object[] element : data) {
 			int code = (Integer) element[4];
 			if (code == skillCode) {
@@ -83,8 +70,16 @@ final class SpielerSkillupTable extends AbstractTable {
 		return new Object[] { HODateTime.now(), Boolean.FALSE};
 	}
 
+	/**
+	 * Returns true if a level up of the skill is known.
+	 * The lookup is served by the in-memory index without database access.
+	 */
+	boolean hasLevelUp(int skillCode, int spielerId) {
+		return getIndex().hasLevelUp(skillCode, spielerId);
+	}
+
 	Vector<Object[]> getAllLevelUp(int skillCode, int spielerId) {		
-		Vector<Object[]> data = getSpielerSkillUp(spielerId);
+		List<Object[]> data = getIndex().getRows(spielerId);
 		Vector<Object[]> v = new Vector<Object[]>();
 		for (Object[] element : data) {
 			int code = (Integer) element[4];
@@ -95,66 +90,47 @@ final class SpielerSkillupTable extends AbstractTable {
 		return v;
 	}
 
-	private Vector<Object[]> getSpielerSkillUp(int spielerId) {
-		if (playerSkillup==null) {
-			populate();
+	private SkillupIndex getIndex() {
+		var ret = skillupIndex;
+		if (ret == null) {
+			ret = populate();
+			skillupIndex = ret;
 		}
-		Vector<Object[]> v = playerSkillup.computeIfAbsent("" + spielerId, k -> new Vector<Object[]>());
-		return v;
+		return ret;
 	}
 	
-	private void populate() {
-
-		Vector<Integer> idVector = getPlayerList();
-		if (idVector.size()==0) {
+	private synchronized SkillupIndex populate() {
+		if (skillupIndex != null) return skillupIndex;
+		var rows = loadAll();
+		if (rows.isEmpty()) {
 			importFromSpieler();
-			idVector = getPlayerList();			
-		}  
-		playerSkillup = new HashMap<>();
-		for (Integer element : idVector) {
-			playerSkillup.put("" + element, loadSpieler(element));
+			rows = loadAll();
 		}
-		
+		return SkillupIndex.create(rows);
 	}
 
-	private Vector<Integer> getPlayerList() {
-		Vector<Integer> idVector = new Vector<>();
-		ResultSet rs;
-		String sql = "SELECT DISTINCT SpielerID FROM "+getTableName();
+	/**
+	 * Loads all skill ups in one scan, sorted by player and date (latest first)
+	 */
+	private List<Object[]> loadAll() {
+		var ret = new ArrayList<Object[]>();
 		try {
-			rs = adapter.executeQuery(sql);			
+			String sql = "SELECT HRF_ID, SpielerID, Datum, Value, Skill FROM " + getTableName() + " ORDER BY SpielerID, Datum DESC";
+			ResultSet rs = adapter.executePreparedQuery(sql);
 			if (rs != null) {
-				rs.beforeFirst();
 				while (rs.next()) {
-					idVector.add(rs.getInt("SpielerID"));
+					ret.add(new Object[]{
+							rs.getInt("HRF_ID"),
+							rs.getInt("SpielerID"),
+							HODateTime.fromDbTimestamp(rs.getTimestamp("Datum")),
+							rs.getInt("Value"),
+							rs.getInt("Skill")});
 				}
 			}
 		} catch (Exception e) {
 			HOLogger.instance().log(getClass(),e);
-			HOLogger.instance().log(getClass(),"DatenbankZugriff.getPlayer: " + e);
 		}
-		return idVector;
-	}
-
-	private Vector<Object[]> loadSpieler(int spielerId) {		
-		Vector<Object[]> v = new Vector<>();
-		try {
-			String sql = "SELECT * FROM "+getTableName()+" WHERE SpielerID=" + spielerId + " Order By Datum DESC";
-			ResultSet rs = adapter.executeQuery(sql);
-			assert rs != null;
-			rs.beforeFirst();
-			while (rs.next()) {
-				v.add(new Object[] {
-						rs.getInt("HRF_ID"),
-						spielerId,
-						HODateTime.fromDbTimestamp(rs.getTimestamp("datum")),
-						rs.getInt("Value"),
-						rs.getInt("Skill")});
-			}
-		} catch (Exception e) {
-			HOLogger.instance().log(getClass(),e);
-		}
-		return v;
+		return ret;
 	}
 
 	// -------------------------------- Importing PArt ----------------------------------------------
@@ -185,7 +161,7 @@ final class SpielerSkillupTable extends AbstractTable {
 	}
 
 	void importFromSpieler() {
-		playerSkillup = null;
+		skillupIndex = null;
 		ResultSet rs;
 		String sql = "SELECT DISTINCT SpielerID FROM SPIELER";
 		final Vector<Integer> idVector = new Vector<>();
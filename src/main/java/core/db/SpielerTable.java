@@ -12,7 +12,11 @@ import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 final class SpielerTable extends AbstractTable {
@@ -20,6 +24,9 @@ final class SpielerTable extends AbstractTable {
 	/** tablename **/
 	final static String TABLENAME = "SPIELER";
 
+	/** prepared insert statement, created on first use **/
+	private String insertStatement;
+
 	SpielerTable(JDBCAdapter adapter) {
 		super(TABLENAME, adapter);
 	}
@@ -120,122 +127,124 @@ final class SpielerTable extends AbstractTable {
 	 */
 
 	void saveSpieler(int hrfId, Player player, Timestamp date) {
-		final String[] awhereS = { "HRF_ID", "SpielerId" };
-		final String[] awhereV = { "" + hrfId, "" + player.getPlayerID()};
 		// Delete old values
-		delete(awhereS, awhereV);
-
-		//insert vorbereiten
-
-		String statement = "INSERT INTO " + getTableName() +
-				" ( GelbeKarten , SpielerID , ArrivalDate, FirstName , NickName, LastName , Age , AgeDays , " +
-				"Kondition , Form , Torwart , Verteidigung , Spielaufbau , Fluegel , " +
-				"Torschuss , Passpiel , Standards , SubTorwart , SubVerteidigung , " +
-				"SubSpielaufbau , SubFluegel , SubTorschuss , SubPasspiel , SubStandards , " +
-				"OffsetTorwart , OffsetVerteidigung , OffsetSpielaufbau , OffsetFluegel , " +
-				"OffsetTorschuss , OffsetPasspiel , OffsetStandards , iSpezialitaet , " +
-				"iCharakter , iAnsehen , iAgressivitaet , Fuehrung , Erfahrung , Gehalt , " +
-				"Bonus , Land , Marktwert , Verletzt , ToreFreund , ToreLiga , TorePokal , GoalsCurrentTeam , " +
-				"ToreGesamt , Hattrick , Bewertung , TrainerTyp, Trainer, HRF_ID, Datum, " +
-				"PlayerNumber, TransferListed,  Caps, CapsU20, TrainingBlock, Loyalty, HomeGrown, " +
-				"SubExperience, NationalTeamID, " +
-				"LastMatchDate, LastMatchRating, LastMatchId, LAST_MATCH_TYPE, LastMatch_PositionCode, LastMatch_PlayedMinutes, LastMatch_RatingEndOfGame, " +
-				"Statement, OwnerNotes, PlayerCategory, " +
-				"MotherclubId, MotherclubName, MatchesCurrentTeam" +
-		") VALUES(" +
-				player.getCards() + "," +
-				player.getPlayerID() + "," +
-				"'" + DBManager.insertEscapeSequences(player.getArrivalDate()) + "'," +
-				"'" + DBManager.insertEscapeSequences(player.getFirstName()) + "'," +
-				"'" + DBManager.insertEscapeSequences(player.getNickName()) + "'," +
-				"'" + DBManager.insertEscapeSequences(player.getLastName()) + "'," +
-				player.getAlter() + "," +
-				player.getAgeDays() + "," +
-				player.getStamina() + "," +
-				player.getForm() + "," +
-				player.getGKskill() + "," +
-				player.getDEFskill() + "," +
-				player.getPMskill() + "," +
-				player.getWIskill() + "," +
-				player.getSCskill() + "," +
-				player.getPSskill() + "," +
-				player.getSPskill() + "," +
-				player.getSub4SkillAccurate(PlayerSkill.KEEPER) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.DEFENDING) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.PLAYMAKING) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.WINGER) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.SCORING) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.PASSING) + "," +
-				player.getSub4SkillAccurate(PlayerSkill.SET_PIECES) + "," +
+		adapter.executePreparedUpdate("DELETE FROM " + getTableName() + " WHERE HRF_ID = ? AND SpielerId = ?", hrfId, player.getPlayerID());
+
+		adapter.executePreparedUpdate(createInsertStatement(), getInsertValues(hrfId, player, date));
+	}
+
+	private String createInsertStatement() {
+		if (insertStatement == null) {
+			var columnNames = new String[]{
+					"GelbeKarten", "SpielerID", "ArrivalDate", "FirstName", "NickName", "LastName", "Age", "AgeDays",
+					"Kondition", "Form", "Torwart", "Verteidigung", "Spielaufbau", "Fluegel",
+					"Torschuss", "Passpiel", "Standards", "SubTorwart", "SubVerteidigung",
+					"SubSpielaufbau", "SubFluegel", "SubTorschuss", "SubPasspiel", "SubStandards",
+					"OffsetTorwart", "OffsetVerteidigung", "OffsetSpielaufbau", "OffsetFluegel",
+					"OffsetTorschuss", "OffsetPasspiel", "OffsetStandards", "iSpezialitaet",
+					"iCharakter", "iAnsehen", "iAgressivitaet", "Fuehrung", "Erfahrung", "Gehalt",
+					"Bonus", "Land", "Marktwert", "Verletzt", "ToreFreund", "ToreLiga", "TorePokal", "GoalsCurrentTeam",
+					"ToreGesamt", "Hattrick", "Bewertung", "TrainerTyp", "Trainer", "HRF_ID", "Datum",
+					"PlayerNumber", "TransferListed", "Caps", "CapsU20", "TrainingBlock", "Loyalty", "HomeGrown",
+					"SubExperience", "NationalTeamID",
+					"LastMatchDate", "LastMatchRating", "LastMatchId", "LAST_MATCH_TYPE", "LastMatch_PositionCode", "LastMatch_PlayedMinutes", "LastMatch_RatingEndOfGame",
+					"Statement", "OwnerNotes", "PlayerCategory",
+					"MotherclubId", "MotherclubName", "MatchesCurrentTeam"
+			};
+			insertStatement = "INSERT INTO " + getTableName() +
+					" ( " + String.join(", ", columnNames) + " ) VALUES ( " +
+					String.join(", ", Collections.nCopies(columnNames.length, "?")) + " )";
+		}
+		return insertStatement;
+	}
+
+	private Object[] getInsertValues(int hrfId, Player player, Timestamp date) {
+		return new Object[]{
+				player.getCards(),
+				player.getPlayerID(),
+				DBManager.insertEscapeSequences(player.getArrivalDate()),
+				DBManager.insertEscapeSequences(player.getFirstName()),
+				DBManager.insertEscapeSequences(player.getNickName()),
+				DBManager.insertEscapeSequences(player.getLastName()),
+				player.getAlter(),
+				player.getAgeDays(),
+				player.getStamina(),
+				player.getForm(),
+				player.getGKskill(),
+				player.getDEFskill(),
+				player.getPMskill(),
+				player.getWIskill(),
+				player.getSCskill(),
+				player.getPSskill(),
+				player.getSPskill(),
+				player.getSub4SkillAccurate(PlayerSkill.KEEPER),
+				player.getSub4SkillAccurate(PlayerSkill.DEFENDING),
+				player.getSub4SkillAccurate(PlayerSkill.PLAYMAKING),
+				player.getSub4SkillAccurate(PlayerSkill.WINGER),
+				player.getSub4SkillAccurate(PlayerSkill.SCORING),
+				player.getSub4SkillAccurate(PlayerSkill.PASSING),
+				player.getSub4SkillAccurate(PlayerSkill.SET_PIECES),
 				// Training offsets below
-				"0," +
-				"0," +
-				"0," +
-				"0," +
-				"0," +
-				"0," +
-				"0," +
-				player.getPlayerSpecialty() + "," +
-				player.getCharakter() + "," +
-				player.getAnsehen() + "," +
-				player.getAgressivitaet() + "," +
-				player.getLeadership() + "," +
-				player.getExperience() + "," +
-				player.getSalary() + "," +
-				player.getBonus() + "," +
-				player.getNationalityAsInt() + "," +
-				player.getSaveMarktwert() + "," +
-				player.getInjuryWeeks() + "," +
-				player.getToreFreund() + "," +
-				player.getSeasonSeriesGoal() + "," +
-				player.getSeasonCupGoal() + "," +
-				player.getGoalsCurrentTeam() + "," +
-				player.getAllOfficialGoals() + "," +
-				player.getHattrick() + "," +
-				player.getRating() + "," +
-				TrainerType.toInt(player.getTrainerTyp()) + "," +
-				player.getTrainerSkill() + "," +
-				hrfId + "," +
-				"'" + date.toString() + "'," +
-				player.getTrikotnummer() + "," +
-				player.getTransferlisted() + "," +
-				player.getLaenderspiele() + "," +
-				player.getU20Laenderspiele() + "," +
-				player.hasTrainingBlock() + "," +
-				player.getLoyalty() + "," +
-				player.isHomeGrown() + "," +
-				player.getSubExperience() + "," +
-				player.getNationalTeamID() + "," +
-				"'" + player.getLastMatchDate() + "'," +
-				player.getLastMatchRating() + "," +
-				player.getLastMatchId() + "," +
-				player.getLastMatchType().getId()  + "," +
-				player.getLastMatchPosition() + "," +
-				player.getLastMatchMinutes() + "," +
-				player.getLastMatchRatingEndOfGame() + ",'"
-				+ player.getPlayerStatement() + "', '"
-				+ player.getOwnerNotes() + "', "
-				+ (player.getPlayerCategory()!=null?player.getPlayerCategory().getId():null) + ", "
-				+ player.getMotherclubId() + ", '"
-				+ DBManager.insertEscapeSequences(player.getMotherclubName() ) + "', "
-				+ player.getMatchesCurrentTeam()
-				+ ")";
-		adapter.executeUpdate(statement);
+				0, 0, 0, 0, 0, 0, 0,
+				player.getPlayerSpecialty(),
+				player.getCharakter(),
+				player.getAnsehen(),
+				player.getAgressivitaet(),
+				player.getLeadership(),
+				player.getExperience(),
+				player.getSalary(),
+				player.getBonus(),
+				player.getNationalityAsInt(),
+				player.getSaveMarktwert(),
+				player.getInjuryWeeks(),
+				player.getToreFreund(),
+				player.getSeasonSeriesGoal(),
+				player.getSeasonCupGoal(),
+				player.getGoalsCurrentTeam(),
+				player.getAllOfficialGoals(),
+				player.getHattrick(),
+				player.getRating(),
+				TrainerType.toInt(player.getTrainerTyp()),
+				player.getTrainerSkill(),
+				hrfId,
+				date,
+				player.getTrikotnummer(),
+				player.getTransferlisted(),
+				player.getLaenderspiele(),
+				player.getU20Laenderspiele(),
+				player.hasTrainingBlock(),
+				player.getLoyalty(),
+				player.isHomeGrown(),
+				player.getSubExperience(),
+				player.getNationalTeamID(),
+				player.getLastMatchDate(),
+				player.getLastMatchRating(),
+				player.getLastMatchId(),
+				player.getLastMatchType().getId(),
+				player.getLastMatchPosition(),
+				player.getLastMatchMinutes(),
+				player.getLastMatchRatingEndOfGame(),
+				player.getPlayerStatement(),
+				player.getOwnerNotes(),
+				(player.getPlayerCategory() != null ? player.getPlayerCategory().getId() : null),
+				player.getMotherclubId(),
+				DBManager.insertEscapeSequences(player.getMotherclubName()),
+				player.getMatchesCurrentTeam()
+		};
 	}
 
 	/**
 	 * Saves the players in the <code>spieler</code> list.
 	 */
 	void saveSpieler(int hrfId, List<Player> spieler, Timestamp date) {
-		final String[] awhereS = { "HRF_ID" };
-		final String[] awhereV = { "" + hrfId };
-
 		if (spieler != null) {
 			// Delete old values
-			delete(awhereS, awhereV);
+			adapter.executePreparedUpdate("DELETE FROM " + getTableName() + " WHERE HRF_ID = ?", hrfId);
 
+			// all rows of the hrf are deleted, so the inserts can be sent as one batch
+			var sql = createInsertStatement();
 			for (Player p: spieler) {
-				saveSpieler(hrfId, p, date);
+				adapter.executePreparedUpdate(sql, getInsertValues(hrfId, p, date));
 			}
 		}
 	}
@@ -254,13 +263,11 @@ final class SpielerTable extends AbstractTable {
 		Player player;
 		String sql;
 
-		sql = "SELECT * from "+getTableName()+" WHERE HRF_ID = " + hrfID + " AND SpielerId="+playerId;
-		rs = adapter.executeQuery(sql);
+		sql = "SELECT * from "+getTableName()+" WHERE HRF_ID = ? AND SpielerId = ?";
+		rs = adapter.executePreparedQuery(sql, hrfID, playerId);
 
 		try {
 			if (rs != null) {
-				rs.beforeFirst();
-
 				if (rs.next()) {
 					player = createObject(rs);
 					return player;
@@ -283,13 +290,11 @@ final class SpielerTable extends AbstractTable {
 		final ArrayList<Player> ret = new ArrayList<>();
 		if ( hrfID > -1) {
 
-			sql = "SELECT * from " + getTableName() + " WHERE HRF_ID = " + hrfID;
-			rs = adapter.executeQuery(sql);
+			sql = "SELECT * from " + getTableName() + " WHERE HRF_ID = ?";
+			rs = adapter.executePreparedQuery(sql, hrfID);
 
 			try {
 				if (rs != null) {
-					rs.beforeFirst();
-
 					while (rs.next()) {
 						player = createObject(rs);
 
@@ -306,35 +311,19 @@ final class SpielerTable extends AbstractTable {
 
 	/**
 	 * gibt alle Player zurück, auch ehemalige
+	 * The players are loaded from their latest HRF, which is found in the {@link SpielerLatestTable}.
 	 */
 	Vector<Player> getAllSpieler() {
-		ResultSet rs;
-		Player player;
-		String sql;
 		final Vector<Player> ret = new Vector<>();
 
-		sql = "SELECT DISTINCT SpielerID from "+getTableName()+"";
-		rs = adapter.executeQuery(sql);
+		var sql = "SELECT s.* FROM " + getTableName() + " s JOIN " + SpielerLatestTable.TABLENAME
+				+ " l ON s.HRF_ID = l.HRF_ID AND s.SpielerID = l.SpielerID";
+		var rs = adapter.executePreparedQuery(sql);
 
 		try {
 			if (rs != null) {
-				final Vector<Integer> idVector = new Vector<>();
-				rs.beforeFirst();
-
 				while (rs.next()) {
-					idVector.add(rs.getInt("SpielerID"));
-				}
-
-				for (Integer integer : idVector) {
-					sql = "SELECT * from " + getTableName() + " WHERE SpielerID=" + integer + " ORDER BY Datum DESC";
-					rs = adapter.executeQuery(sql);
-
-					if (rs != null && rs.first()) {
-						player = createObject(rs);
-
-						//HOLogger.instance().log(getClass(), player.getSpielerID () );
-						ret.add(player);
-					}
+					ret.add(createObject(rs));
 				}
 			}
 		} catch (Exception e) {
@@ -352,10 +341,10 @@ final class SpielerTable extends AbstractTable {
 		int bewertung = 0;
 
 		try {
-			final String sql = "SELECT Bewertung from "+getTableName()+" WHERE SpielerID=" + spielerid + " AND Bewertung>0 ORDER BY Datum DESC";
-			final ResultSet rs = adapter.executeQuery(sql);
+			final String sql = "SELECT Bewertung from "+getTableName()+" WHERE SpielerID = ? AND Bewertung>0 ORDER BY Datum DESC LIMIT 1";
+			final ResultSet rs = adapter.executePreparedQuery(sql, spielerid);
 
-			if ((rs != null) && rs.first()) {
+			if ((rs != null) && rs.next()) {
 				bewertung = rs.getInt("Bewertung");
 			}
 		} catch (Exception e) {
@@ -385,12 +374,12 @@ final class SpielerTable extends AbstractTable {
 		final Timestamp time2 = new Timestamp(time.getTime() - spanne);
 
 		//HOLogger.instance().log(getClass(),"Time : " + time + " : vor 14 Tage : " + time2 );
-		sql = "SELECT * from "+getTableName()+" WHERE Datum<='" + time + "' AND Datum>='" + time2 + "' AND SpielerID=" + spielerid + " ORDER BY Datum DESC";
-		rs = adapter.executeQuery(sql);
+		sql = "SELECT * from "+getTableName()+" WHERE Datum<=? AND Datum>=? AND SpielerID=? ORDER BY Datum DESC LIMIT 1";
+		rs = adapter.executePreparedQuery(sql, time, time2, spielerid);
 
 		try {
 			if (rs != null) {
-				if (rs.first()) {
+				if (rs.next()) {
 					player = createObject(rs);
 
 					//HOLogger.instance().log(getClass(), "Player " + player.getName () + " vom " + rs.getTimestamp ( "Datum" ) );
@@ -402,12 +391,12 @@ final class SpielerTable extends AbstractTable {
 
 		//--- Dann ein HRF später versuchen, Dort muss er dann eigenlich vorhanden sein! ---
 		if (player == null) {
-			sql = "SELECT * from "+getTableName()+" WHERE Datum>'" + time + "' AND SpielerID=" + spielerid + " ORDER BY Datum";
-			rs = adapter.executeQuery(sql);
+			sql = "SELECT * from "+getTableName()+" WHERE Datum>? AND SpielerID=? ORDER BY Datum LIMIT 1";
+			rs = adapter.executePreparedQuery(sql, time, spielerid);
 
 			try {
 				if (rs != null) {
-					if (rs.first()) {
+					if (rs.next()) {
 						player = createObject(rs);
 
 						//HOLogger.instance().log(getClass(), "Player " + player.getName () + " vom " + rs.getTimestamp ( "Datum" ) );
@@ -424,12 +413,12 @@ final class SpielerTable extends AbstractTable {
 			final Timestamp time3 = new Timestamp(time2.getTime() - (spanne * 2));
 
 			//HOLogger.instance().log(getClass(),"Time : " + time + " : vor 14 Tage : " + time2 );
-			sql = "SELECT * from "+getTableName()+" WHERE Datum<='" + time2 + "' AND Datum>='" + time3 + "' AND SpielerID=" + spielerid + " ORDER BY Datum DESC";
-			rs = adapter.executeQuery(sql);
+			sql = "SELECT * from "+getTableName()+" WHERE Datum<=? AND Datum>=? AND SpielerID=? ORDER BY Datum DESC LIMIT 1";
+			rs = adapter.executePreparedQuery(sql, time2, time3, spielerid);
 
 			try {
 				if (rs != null) {
-					if (rs.first()) {
+					if (rs.next()) {
 						player = createObject(rs);
 
 						//HOLogger.instance().log(getClass(), "Player " + player.getName () + " vom " + rs.getTimestamp ( "Datum" ) );
@@ -453,12 +442,12 @@ final class SpielerTable extends AbstractTable {
 		Player player = null;
 		String sql;
 
-		sql = "SELECT * from "+getTableName()+" WHERE SpielerID=" + spielerid + " ORDER BY Datum ASC";
-		rs = adapter.executeQuery(sql);
+		sql = "SELECT * from "+getTableName()+" WHERE SpielerID=? ORDER BY Datum ASC LIMIT 1";
+		rs = adapter.executePreparedQuery(sql, spielerid);
 
 		try {
 			if (rs != null) {
-				if (rs.first()) {
+				if (rs.next()) {
 					player = createObject(rs);
 
 					//Info, da der Player für den Vergleich in der Spielerübersicht benutzt wird
@@ -473,6 +462,38 @@ final class SpielerTable extends AbstractTable {
 		return player;
 	}
 
+	/**
+	 * Loads the players of the first HRF in which they appear in one query
+	 *
+	 * @param spielerIds ids of the players
+	 * @return player of the first HRF by player id, players without HRF are missing
+	 */
+	Map<Integer, Player> getSpielerFirstHRF(Collection<Integer> spielerIds) {
+		var ret = new HashMap<Integer, Player>();
+		if (spielerIds.isEmpty()) {
+			return ret;
+		}
+		var sql = "SELECT s.* FROM " + getTableName() + " s JOIN (SELECT SpielerID, MIN(Datum) AS FirstDatum FROM "
+				+ getTableName() + " WHERE SpielerID IN (" + String.join(",", Collections.nCopies(spielerIds.size(), "?"))
+				+ ") GROUP BY SpielerID) f ON s.SpielerID = f.SpielerID AND s.Datum = f.FirstDatum";
+		var rs = adapter.executePreparedQuery(sql, spielerIds.toArray());
+		try {
+			if (rs != null) {
+				while (rs.next()) {
+					if (!ret.containsKey(rs.getInt("SpielerID"))) {
+						var player = createObject(rs);
+						//Info, da der Player für den Vergleich in der Spielerübersicht benutzt wird
+						player.setOld(true);
+						ret.put(player.getPlayerID(), player);
+					}
+				}
+			}
+		} catch (Exception e) {
+			HOLogger.instance().log(getClass(), "DatenbankZugriff.getSpielerFirstHRF : " + e);
+		}
+		return ret;
+	}
+
 	/**
 	 * Gibt das Datum des ersten HRFs zurück, in dem der Player aufgetaucht ist
 	 */
@@ -480,10 +501,10 @@ final class SpielerTable extends AbstractTable {
 		Timestamp time = null;
 
 		try {
-			final String sql = "SELECT Datum from "+getTableName()+" WHERE SpielerID=" + spielerid + " ORDER BY Datum";
-			final ResultSet rs = adapter.executeQuery(sql);
+			final String sql = "SELECT MIN(Datum) AS Datum from "+getTableName()+" WHERE SpielerID=?";
+			final ResultSet rs = adapter.executePreparedQuery(sql, spielerid);
 
-			if ((rs != null) && rs.first()) {
+			if ((rs != null) && rs.next()) {
 				time = rs.getTimestamp("Datum");
 			}
 		} catch (Exception e) {
@@ -500,12 +521,12 @@ final class SpielerTable extends AbstractTable {
 		ResultSet rs;
 		String sql;
 
-		sql = "SELECT TrainerTyp FROM "+getTableName()+" WHERE HRF_ID=" + hrfID + " AND TrainerTyp >=0 AND Trainer >0 order by Trainer desc";
-		rs = adapter.executeQuery(sql);
+		sql = "SELECT TrainerTyp FROM "+getTableName()+" WHERE HRF_ID=? AND TrainerTyp >=0 AND Trainer >0 order by Trainer desc LIMIT 1";
+		rs = adapter.executePreparedQuery(sql, hrfID);
 
 		try {
 			if (rs != null) {
-				if (rs.first()) {
+				if (rs.next()) {
 					return rs.getInt("TrainerTyp");
 				}
 			}
@@ -515,6 +536,31 @@ final class SpielerTable extends AbstractTable {
 		return -99;
 	}
 
+	/**
+	 * Loads the trainer types of all HRF files since the given date in one query
+	 *
+	 * @param from date of the first HRF file
+	 * @return trainer type by HRF id, HRF files without trainer are missing
+	 */
+	Map<Integer, Integer> getTrainerTypesSince(Timestamp from) {
+		var ret = new HashMap<Integer, Integer>();
+		var sql = "SELECT s.HRF_ID, s.TrainerTyp FROM " + getTableName() + " s JOIN " + HRFTable.TABLENAME
+				+ " h ON s.HRF_ID = h.HRF_ID WHERE h.Datum >= ? AND s.TrainerTyp >= 0 AND s.Trainer > 0"
+				+ " ORDER BY s.HRF_ID, s.Trainer DESC";
+		var rs = adapter.executePreparedQuery(sql, from);
+		try {
+			if (rs != null) {
+				while (rs.next()) {
+					// the first row of each HRF is the trainer with the highest skill
+					ret.putIfAbsent(rs.getInt("HRF_ID"), rs.getInt("TrainerTyp"));
+				}
+			}
+		} catch (Exception e) {
+			HOLogger.instance().log(getClass(), "DatenbankZugriff.getTrainerTypesSince : " + e);
+		}
+		return ret;
+	}
+
     /**
      * Creates a {@link Player} instance populated with values from the db.
      */
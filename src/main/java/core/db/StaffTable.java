@@ -66,23 +66,19 @@ public class StaffTable extends AbstractTable{
 	
 	protected void storeStaff(int hrfId, List<StaffMember> list) {
 		
-		String sql;
-		
 		if ( list==null || hrfId < 0) {
 			return;
 		}
 		
+		final String sql = "INSERT INTO " + getTableName()
+				+ " ( HrfID, index, id, stafftype, level, cost, name ) VALUES( ?, ?, ?, ?, ?, ?, ? )";
 		int index = 0;
 		
 		for (StaffMember staff : list) {
 			
 			try {
-				sql = "INSERT INTO "
-						+ getTableName()
-						+ " ( HrfID, index, id, stafftype, level, cost, name ) VALUES(";
-				sql += hrfId + "," + index + "," + staff.getId() + "," + staff.getStaffType().getId() + "," +
-						staff.getLevel() + "," + staff.getCost() + ",'" + staff.getName() + "')";
-				adapter.executeUpdate(sql);
+				adapter.executePreparedUpdate(sql, hrfId, index, staff.getId(), staff.getStaffType().getId(),
+						staff.getLevel(), staff.getCost(), DBManager.insertEscapeSequences(staff.getName()));
 			} catch (Exception e) {
 				HOLogger.instance().log(getClass(), "DB.storeStaff Error " + e);
 			}
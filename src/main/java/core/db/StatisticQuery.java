@@ -9,9 +9,9 @@ import core.util.HODateTime;
 import core.util.HOLogger;
 
 import java.sql.ResultSet;
-import java.sql.Timestamp;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.IntStream;
 
 
 public class StatisticQuery {
@@ -19,84 +19,53 @@ public class StatisticQuery {
 	public static double[][] getSpielerDaten4Statistik(int spielerId, int anzahlHRF) {
 		final int anzahlSpalten = 16;
 		final float faktor = core.model.UserParameter.instance().FXrate;
-
-		double[][] returnWerte = new double[0][0];
-		final Vector<double[]> vWerte = new Vector<>();
-
-		ResultSet rs =
-			DBManager.instance().getAdapter().executeQuery("SELECT * FROM SPIELER WHERE SpielerID=" + spielerId + " AND HRF_ID IN (" + getHrfIdPerWeekList(anzahlHRF) + ") ORDER BY Datum DESC");
-
-		if (rs != null) {
-			try {
-				rs.beforeFirst();
-
-				while (rs.next()) {
-					final double[] tempwerte = new double[anzahlSpalten];
-
-					//faktor;
-					tempwerte[0] = rs.getDouble("Marktwert");
-					tempwerte[1] = rs.getDouble("Gehalt") / faktor;
-					tempwerte[2] = rs.getDouble("Fuehrung");
-					tempwerte[3] = rs.getDouble("Erfahrung") + rs.getDouble("SubExperience");
-					tempwerte[4] = rs.getDouble("Form");
-					tempwerte[5] = rs.getDouble("Kondition");
-					tempwerte[6] = rs.getDouble("Torwart") + rs.getDouble("SubTorwart");
-					tempwerte[7] = rs.getDouble("Verteidigung") + rs.getDouble("SubVerteidigung");
-					tempwerte[8] = rs.getDouble("Spielaufbau") + rs.getDouble("SubSpielaufbau");
-					tempwerte[9] = rs.getDouble("Passpiel") + rs.getDouble("SubPasspiel");
-					tempwerte[10] = rs.getDouble("Fluegel") + rs.getDouble("SubFluegel");
-					tempwerte[11] = rs.getDouble("Torschuss") + rs.getDouble("SubTorschuss");
-					tempwerte[12] = rs.getDouble("Standards") + rs.getDouble("SubStandards");
-					tempwerte[13] = rs.getDouble("Bewertung") / 2d;
-					tempwerte[14] = rs.getDouble("Loyalty");
-					tempwerte[15] = rs.getTimestamp("Datum").getTime();
-					
-					//TSI, alle Marktwerte / 1000 teilen
-					if (rs.getTimestamp("Datum").before(DBManager.TSIDATE)) {
-						tempwerte[0] /= 1000d;
-					}
-
-					vWerte.add(tempwerte);
-				}
-
-				returnWerte = new double[anzahlSpalten][vWerte.size()];
-
-				for (int i = 0; i < vWerte.size(); i++) {
-					final double[] werte = vWerte.get(i);
-
-					//Alle Ratings, die == 0 sind -> bis zu 6 Tage vorher nach Rating suchen
-					if (werte[13] == 0) {
-						final Timestamp hrftime = new Timestamp((long) werte[15]);
-
-						//6 Tage vorher
-						final Timestamp beforetime = new Timestamp((long) werte[15] - 518400000);
-						rs =
-							DBManager.instance().getAdapter().executeQuery(
-								"SELECT Bewertung FROM SPIELER WHERE Bewertung>0 AND Datum>='"
-									+ beforetime
-									+ "' AND Datum<='"
-									+ hrftime
-									+ "' AND SpielerID="
-									+ spielerId
-									+ " ORDER BY Datum");
-
-						//Wert gefunden
-						assert rs != null;
-						if (rs.first()) {
-							werte[13] = rs.getDouble("Bewertung") / 2d;
-						}
-					}
-
-					for (int j = 0; j < werte.length; j++) {
-						returnWerte[j][i] = werte[j];
-					}
-				}
-			} catch (Exception e) {
-				HOLogger.instance().log(StatisticQuery.class, "DatenbankZugriff.getSpielerDaten4Statistik " + e);
+		final StatisticsStore store = DBManager.instance().getStatisticsStore();
+
+		synchronized (store) {
+			final int[] rows = getPlayerRowsPerWeek(store, spielerId, anzahlHRF);
+			final double[][] returnWerte = new double[anzahlSpalten][rows.length];
+			for (int i = 0; i < rows.length; i++) {
+				final int row = rows[i];
+				returnWerte[0][i] = store.getPlayerValue(row, StatisticsStore.TSI);
+				returnWerte[1][i] = store.getPlayerValue(row, StatisticsStore.WAGE) / faktor;
+				returnWerte[2][i] = store.getPlayerValue(row, StatisticsStore.LEADERSHIP);
+				returnWerte[3][i] = store.getPlayerValue(row, StatisticsStore.EXPERIENCE) + store.getPlayerValue(row, StatisticsStore.SUB_EXPERIENCE);
+				returnWerte[4][i] = store.getPlayerValue(row, StatisticsStore.FORM);
+				returnWerte[5][i] = store.getPlayerValue(row, StatisticsStore.STAMINA);
+				returnWerte[6][i] = store.getPlayerValue(row, StatisticsStore.KEEPER);
+				returnWerte[7][i] = store.getPlayerValue(row, StatisticsStore.DEFENDING);
+				returnWerte[8][i] = store.getPlayerValue(row, StatisticsStore.PLAYMAKING);
+				returnWerte[9][i] = store.getPlayerValue(row, StatisticsStore.PASSING);
+				returnWerte[10][i] = store.getPlayerValue(row, StatisticsStore.WINGER);
+				returnWerte[11][i] = store.getPlayerValue(row, StatisticsStore.SCORING);
+				returnWerte[12][i] = store.getPlayerValue(row, StatisticsStore.SET_PIECES);
+				//Alle Ratings, die == 0 sind -> bis zu 6 Tage vorher nach Rating suchen
+				returnWerte[13][i] = store.getPlayerRating(row);
+				returnWerte[14][i] = store.getPlayerValue(row, StatisticsStore.LOYALTY);
+				returnWerte[15][i] = store.getPlayerDate(row);
 			}
+			return returnWerte;
 		}
+	}
 
-		return returnWerte;
+	/**
+	 * Rows of the player in the HRFs of the last weeks (one HRF per week)
+	 *
+	 * @return row indices of the statistics store, the latest first
+	 */
+	private static int[] getPlayerRowsPerWeek(StatisticsStore store, int spielerId, int nWeeks) {
+		final Set<Integer> hrfIds = new HashSet<>();
+		for (int hrfId : store.getHrfIdPerWeek(nWeeks)) {
+			hrfIds.add(hrfId);
+		}
+		final StatisticsStore.IntList rows = store.getPlayerRows(spielerId);
+		return IntStream.range(0, rows.size())
+				.map(rows::get)
+				.filter(row -> hrfIds.contains(store.getPlayerHrfId(row)))
+				.boxed()
+				.sorted((r1, r2) -> Long.compare(store.getPlayerDate(r2), store.getPlayerDate(r1)))
+				.mapToInt(Integer::intValue)
+				.toArray();
 	}
 
 	/**
@@ -236,175 +205,114 @@ public class StatisticQuery {
 
 	public static double[][] getDataForTeamStatisticsPanel(int nbHRF, String group) {
 		final float factor = core.model.UserParameter.instance().FXrate;
-		double[][] returnValues = new double[0][0];
-		final Vector<double[]> values = new Vector<>();
 		final int nbColumns = 29;
 		final int nbColumnsHRF = (nbColumns-1)/2;
+		final StatisticsStore store = DBManager.instance().getStatisticsStore();
 
-		String statement = "SELECT * FROM SPIELER";
-
-		//One group selected
-		if (!group.equals("")) {
-			statement += (", SPIELERNOTIZ WHERE (SPIELERID IN (SELECT SPIELERID FROM SPIELER WHERE (HRF_ID = (SELECT MAX(HRF_ID) FROM HRF)))) AND (SPIELERNOTIZ.TeamInfoSmilie='" + group + "') AND (SPIELERNOTIZ.SpielerID=SPIELER.SpielerID) AND");
-		} else {
-			statement += " WHERE ";
-		}
-
-
-		statement += (" Trainer=0 AND SPIELER.HRF_ID IN (" + getHrfIdPerWeekList(nbHRF) + ") ORDER BY Datum DESC");
-
-		final ResultSet rs = Objects.requireNonNull(DBManager.instance().getAdapter()).executeQuery(statement);
-
-		if (rs != null) {
-			try {
-				rs.beforeFirst();
+		synchronized (store) {
+			//One group selected: players of the latest HRF in the group
+			Set<Integer> groupPlayers = null;
+			if (!group.equals("")) {
+				groupPlayers = getGroupPlayers(store, group);
+			}
 
-				int lastHRFID = -1;
+			final List<double[]> values = new ArrayList<>();
+			final int[] hrfIds = store.getHrfIdPerWeek(nbHRF);
+			final Integer[] sortedHrfIds = Arrays.stream(hrfIds).boxed()
+					.sorted((h1, h2) -> Long.compare(store.getHrfDate(h2), store.getHrfDate(h1)))
+					.toArray(Integer[]::new);
+			for (int hrfId : sortedHrfIds) {
+				final StatisticsStore.IntList rows = store.getHrfRows(hrfId);
+				final double[] allValues = new double[nbColumns];
 				int nbPlayersInHRF = 0;
-				double[] allValues = new double[nbColumns];
-
-				while (rs.next()) {
-					final double[] thisHRFvalues = new double[nbColumnsHRF];
-					thisHRFvalues[0] = rs.getDouble("Fuehrung");  //Leadership
-					thisHRFvalues[1] = rs.getDouble("Erfahrung"); //Experience
-					thisHRFvalues[2] = rs.getDouble("Form");
-					thisHRFvalues[3] = rs.getDouble("Kondition"); //Stamina
-					thisHRFvalues[4] = rs.getDouble("Torwart") + rs.getDouble("SubTorwart");  //Goalkeeper
-					thisHRFvalues[5] = rs.getDouble("Verteidigung") + rs.getDouble("SubVerteidigung"); //Defence
-					thisHRFvalues[6] = rs.getDouble("Spielaufbau") + rs.getDouble("SubSpielaufbau"); //Playmaking
-					thisHRFvalues[7] = rs.getDouble("Passpiel") + rs.getDouble("SubPasspiel"); // Passing
-					thisHRFvalues[8] = rs.getDouble("Fluegel") + rs.getDouble("SubFluegel"); // Winger
-					thisHRFvalues[9] = rs.getDouble("Torschuss") + rs.getDouble("SubTorschuss"); //Scoring
-					thisHRFvalues[10] = rs.getDouble("Standards") + rs.getDouble("SubStandards"); //SetPieces
-					thisHRFvalues[11] = rs.getDouble("Loyalty");
-					thisHRFvalues[12] = rs.getDouble("Marktwert"); //TSI
-					if (rs.getTimestamp("Datum").before(DBManager.TSIDATE)) {
-						thisHRFvalues[12] /= 1000d;
-					}
-					thisHRFvalues[13] = rs.getDouble("Gehalt") / factor; // Wage
-					//Initialisation
-					if (lastHRFID == -1) {
-						//Reset HRFID, necessary, if last record was -1
-						lastHRFID = rs.getInt("HRF_ID");
-
-						//initialze sum values
-						Arrays.fill(allValues, 0.0d);
-					}
-
-					//New HRF begins
-					if (lastHRFID != rs.getInt("HRF_ID")) {
-						//sum values divided by number of players per HRF
-						for (int i = nbColumnsHRF; i < (nbColumns - 1); i++) {
-							allValues[i] = allValues[i-nbColumnsHRF] / nbPlayersInHRF;
-						}
-
-						//save sum values
-						values.add(allValues);
-
-						//---Prepared for new HRF----
-						lastHRFID = rs.getInt("HRF_ID");
-
-						allValues = new double[nbColumns];
-
-						//initialze sum values
-						Arrays.fill(allValues, 0.0d);
-
-						nbPlayersInHRF = 0;
-					}
-
-					//Add all temp values to the total values
-					for (int i = 0; i < nbColumnsHRF; i++) {
-						allValues[i] += thisHRFvalues[i];
+				for (int i = 0; i < rows.size(); i++) {
+					final int row = rows.get(i);
+					if (store.getPlayerValue(row, StatisticsStore.TRAINER) != 0
+							|| (groupPlayers != null && !groupPlayers.contains(store.getPlayerId(row)))) {
+						continue;
 					}
-
-					//Datum
-					allValues[nbColumns-1] = rs.getTimestamp("Datum").getTime();
-
-					// Increase number of players per HRF
+					allValues[0] += store.getPlayerValue(row, StatisticsStore.LEADERSHIP);
+					allValues[1] += store.getPlayerValue(row, StatisticsStore.EXPERIENCE);
+					allValues[2] += store.getPlayerValue(row, StatisticsStore.FORM);
+					allValues[3] += store.getPlayerValue(row, StatisticsStore.STAMINA);
+					allValues[4] += store.getPlayerValue(row, StatisticsStore.KEEPER);
+					allValues[5] += store.getPlayerValue(row, StatisticsStore.DEFENDING);
+					allValues[6] += store.getPlayerValue(row, StatisticsStore.PLAYMAKING);
+					allValues[7] += store.getPlayerValue(row, StatisticsStore.PASSING);
+					allValues[8] += store.getPlayerValue(row, StatisticsStore.WINGER);
+					allValues[9] += store.getPlayerValue(row, StatisticsStore.SCORING);
+					allValues[10] += store.getPlayerValue(row, StatisticsStore.SET_PIECES);
+					allValues[11] += store.getPlayerValue(row, StatisticsStore.LOYALTY);
+					allValues[12] += store.getPlayerValue(row, StatisticsStore.TSI);
+					allValues[13] += store.getPlayerValue(row, StatisticsStore.WAGE) / factor;
+					allValues[nbColumns-1] = store.getPlayerDate(row);
 					nbPlayersInHRF++;
 				}
-
-				//take over the last values
-				//sum values divided by number of players per HRF
-				for (int i = 0; i < (allValues.length - 1); i++) {
-					allValues[i] = allValues[i] / nbPlayersInHRF;
+				if (nbPlayersInHRF > 0) {
+					//sum values divided by number of players per HRF
+					for (int i = nbColumnsHRF; i < (nbColumns - 1); i++) {
+						allValues[i] = allValues[i-nbColumnsHRF] / nbPlayersInHRF;
+					}
+					values.add(allValues);
 				}
+			}
+			return toColumns(values, nbColumns);
+		}
+	}
 
-				//summenwerte speichern
-				values.add(allValues);
-
-				returnValues = new double[nbColumns][values.size()-1];
-
-				for (int i = 0; i < values.size()-1; i++) {
-					final double[] werte = values.get(i);
-
-					for (int j = 0; j < werte.length; j++) {
-						returnValues[j][i] = werte[j];
-					}
+	/**
+	 * Players of the latest HRF, which are members of the group
+	 *
+	 * @param group team info smilie of the players
+	 */
+	private static Set<Integer> getGroupPlayers(StatisticsStore store, String group) {
+		final Set<Integer> ret = new HashSet<>();
+		final ResultSet rs = DBManager.instance().getAdapter().executePreparedQuery("SELECT SpielerID FROM "
+				+ SpielerNotizenTable.TABLENAME + " WHERE TeamInfoSmilie=?", group);
+		if (rs != null) {
+			try {
+				while (rs.next()) {
+					ret.add(rs.getInt("SpielerID"));
 				}
+				rs.close();
 			} catch (Exception e) {
-				HOLogger.instance().log(StatisticQuery.class, "DatenbankZugriff.getSpielerDaten4Statistik " + e);
+				HOLogger.instance().log(StatisticQuery.class, e);
 			}
 		}
-
-		return returnValues;
+		final Set<Integer> latestPlayers = new HashSet<>();
+		final StatisticsStore.IntList rows = store.getHrfRows(store.getLatestHrfId());
+		for (int i = 0; i < rows.size(); i++) {
+			latestPlayers.add(store.getPlayerId(rows.get(i)));
+		}
+		ret.retainAll(latestPlayers);
+		return ret;
 	}
 
 
 	// The data returned by this function are displayed in the Club tab of the statistics module
 	public static double[][] getDataForClubStatisticsPanel(int iNumberHRF) {
 		final int iNumberColumns = 12;
-		double[][] returnValues;
-		Vector<double[]> values = new Vector<>();
+		final StatisticsStore store = DBManager.instance().getStatisticsStore();
 
-		try {
+		synchronized (store) {
 			//TODO: filter one 1 HRF per HTweek only and change filter iNumberHRF to HTSeason
-			ResultSet rs = Objects.requireNonNull(DBManager.instance().getAdapter()).executeQuery(
-					"SELECT * FROM VEREIN INNER JOIN HRF on VEREIN.HRF_ID = HRF.HRF_ID WHERE HRF.HRF_ID IN (" +
-							getHrfIdPerWeekList(iNumberHRF) +
-							") ORDER BY HRF.DATUM ASC");
-
-			if (rs == null) return new double[0][0];
-
-			rs.beforeFirst();
-
-			double[] tempValues;
-
-			while (rs.next()) {
-				tempValues = new double[iNumberColumns];
-				tempValues[0] = rs.getDouble("COTrainer");  // AssistantTrainerLevels
-				tempValues[1] = rs.getDouble("Finanzberater"); // FinancialDirectorLevels
-				tempValues[2] = rs.getDouble("FormAssist"); // FormCoachLevels
-				tempValues[3] = rs.getDouble("Aerzte");  // DoctorLevel
-				tempValues[4] = rs.getDouble("PRManager"); // SpokespersonLevel
-				tempValues[5] = rs.getDouble("Pschyologen"); // SportPsychologistLevel
-				tempValues[6] = rs.getDouble("TacticAssist");  // TacticalAssistantLevel
-				tempValues[7] = rs.getDouble("Fans");  // FanClubSize
-				tempValues[8] = rs.getDouble("globalranking"); // GlobalRanking
-				tempValues[9] = rs.getDouble("leagueranking"); // LeagueRanking
-				tempValues[10] = rs.getDouble("powerrating"); // PowerRating
-				tempValues[11] = rs.getTimestamp("DATUM").getTime();
-
-				//save values
-				values.add(tempValues);
-			}
-
-			// copy values into returnValues
-			returnValues = new double[iNumberColumns][values.size()];
-			for (int i = 0; i < values.size(); i++) {
-				final double[] werte = values.get(i);
-
-				for (int j = 0; j < werte.length; j++) {
-					returnValues[j][i] = werte[j];
+			final List<double[]> values = new ArrayList<>();
+			final int[] hrfIds = store.getHrfIdPerWeek(iNumberHRF);
+			final Integer[] sortedHrfIds = Arrays.stream(hrfIds).boxed()
+					.sorted(Comparator.comparingLong(store::getHrfDate))
+					.toArray(Integer[]::new);
+			for (int hrfId : sortedHrfIds) {
+				final double[] club = store.getClubValues(hrfId);
+				if (club != null) {
+					// AssistantTrainerLevels, FinancialDirectorLevels, FormCoachLevels, DoctorLevel, SpokespersonLevel,
+					// SportPsychologistLevel, TacticalAssistantLevel, FanClubSize, GlobalRanking, LeagueRanking, PowerRating
+					final double[] tempValues = Arrays.copyOf(club, iNumberColumns);
+					tempValues[11] = store.getHrfDate(hrfId);
+					values.add(tempValues);
 				}
 			}
+			return toColumns(values, iNumberColumns);
 		}
-		catch (Exception e) {
-			HOLogger.instance().log(StatisticQuery.class, e);
-			return new double[0][0];
-		}
-
-		return returnValues;
 	}
 
 
@@ -414,121 +322,71 @@ public class StatisticQuery {
 
 		final int iNumberColumns = 18;
 		final float fxRate = core.model.UserParameter.instance().FXrate;
-		double[][] returnValues;
-		Vector<double[]> values = new Vector<>();
+		final StatisticsStore store = DBManager.instance().getStatisticsStore();
 
-		try {
+		synchronized (store) {
+			final List<double[]> values = new ArrayList<>();
 			var from = HODateTime.now().minus(iNumberWeeks*7, ChronoUnit.DAYS);
-			ResultSet rs = Objects.requireNonNull(DBManager.instance().getAdapter()).executeQuery(
-					"SELECT * FROM ECONOMY WHERE FetchedDate >= '" + from.toDbTimestamp() +
-							"' ORDER BY FetchedDate DESC");
-
-			if (rs == null) return new double[0][0];
-
-			rs.beforeFirst();
-
-			double[] tempValues;
-
-			while (rs.next()) {
-				tempValues = new double[iNumberColumns];
-				tempValues[0] = rs.getDouble("Cash") / fxRate;
-				tempValues[1] = rs.getDouble("IncomeSponsors") / fxRate;
-				tempValues[2] = rs.getDouble("CostsPlayers") / fxRate;
-				tempValues[3] = rs.getDouble("IncomeSum") / fxRate;
-				tempValues[4] = rs.getDouble("CostsSum") / fxRate;
+			for (int row : store.getEconomyRows(from.toDbTimestamp().getTime())) {
+				final double[] economy = store.getEconomyValues(row);
+				final double[] tempValues = new double[iNumberColumns];
+				final double cash = economy[0], incomeSponsors = economy[1], costsPlayers = economy[2],
+						incomeSum = economy[3], costsSum = economy[4], incomeSoldPlayers = economy[5],
+						incomeSoldPlayersCommission = economy[6], costsBoughtPlayers = economy[7],
+						incomeSpectators = economy[8], costsArena = economy[9], costsStaff = economy[10];
+				tempValues[0] = cash / fxRate;
+				tempValues[1] = incomeSponsors / fxRate;
+				tempValues[2] = costsPlayers / fxRate;
+				tempValues[3] = incomeSum / fxRate;
+				tempValues[4] = costsSum / fxRate;
 				tempValues[5] = tempValues[4] - tempValues[3];
-				tempValues[6] = tempValues[3] - ((rs.getDouble("IncomeSoldPlayers")+rs.getDouble("IncomeSoldPlayersCommission")) / fxRate);
-				tempValues[7] = tempValues[4] - (rs.getDouble("CostsBoughtPlayers") / fxRate);
+				tempValues[6] = tempValues[3] - ((incomeSoldPlayers + incomeSoldPlayersCommission) / fxRate);
+				tempValues[7] = tempValues[4] - (costsBoughtPlayers / fxRate);
 				tempValues[8] = tempValues[7] - tempValues[6];
-				tempValues[9] = rs.getDouble("IncomeSpectators") / fxRate;
-				tempValues[10] = rs.getDouble("IncomeSoldPlayers") / fxRate;
-				tempValues[11] = rs.getDouble("IncomeSoldPlayersCommission") / fxRate;
-				tempValues[12] = rs.getDouble("IncomeSum") / fxRate - (tempValues[10] + tempValues[11] + tempValues[1] + tempValues[9]); // Income Other
-				tempValues[13] = rs.getDouble("CostsArena") / fxRate;
-				tempValues[14] = rs.getDouble("CostsBoughtPlayers") / fxRate;
-				tempValues[15] = rs.getDouble("CostsStaff") / fxRate;
-				tempValues[16] = rs.getDouble("CostsSum") / fxRate - (tempValues[2] + tempValues[13] + tempValues[14] + tempValues[15]); // Costs Other
-				tempValues[17] = rs.getTimestamp("FetchedDate").getTime(); // TODO: convert to String: HT Season - HTWeek
-
-				//save values
+				tempValues[9] = incomeSpectators / fxRate;
+				tempValues[10] = incomeSoldPlayers / fxRate;
+				tempValues[11] = incomeSoldPlayersCommission / fxRate;
+				tempValues[12] = incomeSum / fxRate - (tempValues[10] + tempValues[11] + tempValues[1] + tempValues[9]); // Income Other
+				tempValues[13] = costsArena / fxRate;
+				tempValues[14] = costsBoughtPlayers / fxRate;
+				tempValues[15] = costsStaff / fxRate;
+				tempValues[16] = costsSum / fxRate - (tempValues[2] + tempValues[13] + tempValues[14] + tempValues[15]); // Costs Other
+				tempValues[17] = store.getEconomyDate(row); // TODO: convert to String: HT Season - HTWeek
 				values.add(tempValues);
 			}
-
-			// copy values into returnValues
-			returnValues = new double[iNumberColumns][values.size()];
-			for (int i = 0; i < values.size(); i++) {
-				final double[] werte = values.get(i);
-
-				for (int j = 0; j < werte.length; j++) {
-					returnValues[j][i] = werte[j];
-				}
-			}
-		}
-		catch (Exception e) {
-			HOLogger.instance().log(StatisticQuery.class, e);
-			return new double[0][0];
+			return toColumns(values, iNumberColumns);
 		}
-
-		return returnValues;
 	}
 
 	public static double[][] getSpielerFinanzDaten4Statistik(int spielerId, int anzahlHRF) {
 		final int anzahlSpalten = 3;
 		final float faktor = core.model.UserParameter.instance().FXrate;
-
-		double[][] returnWerte = new double[0][0];
-		final Vector<double[]> vWerte = new Vector<>();
-
-		ResultSet rs =
-			DBManager.instance().getAdapter().executeQuery("SELECT * FROM SPIELER WHERE SpielerID=" + spielerId + " AND HRF_ID IN (" + getHrfIdPerWeekList(anzahlHRF) + ") ORDER BY Datum DESC");
-
-		if (rs != null) {
-			try {
-				rs.beforeFirst();
-
-				while (rs.next()) {
-					final double[] tempwerte = new double[anzahlSpalten];
-
-					//faktor;
-					tempwerte[0] = rs.getDouble("Marktwert");
-					tempwerte[1] = rs.getDouble("Gehalt") / faktor;
-					tempwerte[2] = rs.getTimestamp("Datum").getTime();
-
-					//TSI, alle Marktwerte / 1000 teilen
-					if (rs.getTimestamp("Datum").before(DBManager.TSIDATE)) {
-						tempwerte[0] /= 1000d;
-					}
-
-					vWerte.add(tempwerte);
-				}
-
-				returnWerte = new double[anzahlSpalten][vWerte.size()];
-
-				for (int i = 0; i < vWerte.size(); i++) {
-					final double[] werte = vWerte.get(i);
-
-					for (int j = 0; j < werte.length; j++) {
-						returnWerte[j][i] = werte[j];
-					}
-				}
-			} catch (Exception e) {
-				HOLogger.instance().log(StatisticQuery.class, e);
+		final StatisticsStore store = DBManager.instance().getStatisticsStore();
+
+		synchronized (store) {
+			final int[] rows = getPlayerRowsPerWeek(store, spielerId, anzahlHRF);
+			final double[][] returnWerte = new double[anzahlSpalten][rows.length];
+			for (int i = 0; i < rows.length; i++) {
+				returnWerte[0][i] = store.getPlayerValue(rows[i], StatisticsStore.TSI);
+				returnWerte[1][i] = store.getPlayerValue(rows[i], StatisticsStore.WAGE) / faktor;
+				returnWerte[2][i] = store.getPlayerDate(rows[i]);
 			}
+			return returnWerte;
 		}
-
-		return returnWerte;
 	}
 
-
 	/**
-	 * Get a list of HRF Ids of the last weeks
-	 * only one id per week is returned
-	 *
-	 * @param nWeeks number of weeks
-	 * @return comma separated list of hrf ids
+	 * Transposes the rows into columns
 	 */
-	private static String getHrfIdPerWeekList(int nWeeks) {
-		return DBManager.instance().getHrfIdPerWeekList(nWeeks);
+	private static double[][] toColumns(List<double[]> values, int nbColumns) {
+		final double[][] ret = new double[nbColumns][values.size()];
+		for (int i = 0; i < values.size(); i++) {
+			final double[] werte = values.get(i);
+			for (int j = 0; j < werte.length; j++) {
+				ret[j][i] = werte[j];
+			}
+		}
+		return ret;
 	}
 
 }
@@ -0,0 +1,429 @@
+package core.db;
+
+import core.util.HOLogger;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Time series of the statistics module.
+ * <p>
+ * The values of the tables SPIELER, VEREIN and ECONOMY are kept in primitive arrays (one array per column),
+ * indexed by player and by HRF. The store is loaded on first use and the HRFs stored later are appended,
+ * so the statistics panels read their points from memory without scanning the tables again.
+ * </p>
+ * Changes of already loaded HRFs (deleted HRF, recalculated subskills) reset the store, it is reloaded
+ * with the next request.
+ */
+final class StatisticsStore {
+
+	// player columns
+	static final int TSI = 0;
+	static final int WAGE = 1;
+	static final int LEADERSHIP = 2;
+	static final int EXPERIENCE = 3;
+	static final int SUB_EXPERIENCE = 4;
+	static final int FORM = 5;
+	static final int STAMINA = 6;
+	static final int KEEPER = 7;
+	static final int DEFENDING = 8;
+	static final int PLAYMAKING = 9;
+	static final int PASSING = 10;
+	static final int WINGER = 11;
+	static final int SCORING = 12;
+	static final int SET_PIECES = 13;
+	static final int RATING = 14;
+	static final int LOYALTY = 15;
+	static final int TRAINER = 16;
+	private static final int PLAYER_COLUMNS = 17;
+
+	// club columns
+	static final String[] CLUB_COLUMNS = {"COTrainer", "Finanzberater", "FormAssist", "Aerzte", "PRManager",
+			"Pschyologen", "TacticAssist", "Fans", "globalranking", "leagueranking", "powerrating"};
+
+	// economy columns
+	static final String[] ECONOMY_COLUMNS = {"Cash", "IncomeSponsors", "CostsPlayers", "IncomeSum", "CostsSum",
+			"IncomeSoldPlayers", "IncomeSoldPlayersCommission", "CostsBoughtPlayers", "IncomeSpectators",
+			"CostsArena", "CostsStaff"};
+
+	private final Series hrfs = new Series(0);
+	private final Series players = new Series(PLAYER_COLUMNS);
+	private final Series club = new Series(CLUB_COLUMNS.length);
+	private final Series economy = new Series(ECONOMY_COLUMNS.length);
+	/** player id of the rows of players */
+	private int[] playerIds = new int[0];
+	private final Map<Integer, IntList> rowsByPlayer = new HashMap<>();
+	private final Map<Integer, IntList> rowsByHrf = new HashMap<>();
+
+	private boolean loaded;
+	private int maxHrfId = -1;
+
+	/**
+	 * Rows of the player in the given HRFs
+	 *
+	 * @param playerId player id
+	 * @return row indices, empty if the player is unknown
+	 */
+	synchronized IntList getPlayerRows(int playerId) {
+		load();
+		return rowsByPlayer.getOrDefault(playerId, IntList.EMPTY);
+	}
+
+	/**
+	 * Rows of all players of the HRF
+	 */
+	synchronized IntList getHrfRows(int hrfId) {
+		load();
+		return rowsByHrf.getOrDefault(hrfId, IntList.EMPTY);
+	}
+
+	synchronized int getPlayerId(int row) {
+		return playerIds[row];
+	}
+
+	/**
+	 * Player values of a row
+	 *
+	 * @param column one of the player column constants
+	 */
+	synchronized double getPlayerValue(int row, int column) {
+		return players.values[column][row];
+	}
+
+	synchronized int getPlayerHrfId(int row) {
+		return players.hrfIds[row];
+	}
+
+	synchronized long getPlayerDate(int row) {
+		return players.dates[row];
+	}
+
+	/**
+	 * Rating of the player at the row, if the player has no rating in the HRF the first rating
+	 * of the six days before is returned
+	 */
+	synchronized double getPlayerRating(int row) {
+		double rating = players.values[RATING][row];
+		if (rating == 0) {
+			final long date = players.dates[row];
+			final long before = date - 518400000;	// 6 days
+			long first = Long.MAX_VALUE;
+			final IntList rows = rowsByPlayer.get(playerIds[row]);
+			for (int i = 0; i < rows.size(); i++) {
+				final int r = rows.get(i);
+				final long d = players.dates[r];
+				if (players.values[RATING][r] > 0 && d >= before && d <= date && d < first) {
+					first = d;
+					rating = players.values[RATING][r];
+				}
+			}
+		}
+		return rating;
+	}
+
+	/**
+	 * Ids of one HRF per week of the last weeks (the first HRF of each week)
+	 *
+	 * @param nWeeks number of weeks
+	 * @return HRF ids, the latest first
+	 */
+	synchronized int[] getHrfIdPerWeek(int nWeeks) {
+		load();
+		final Map<Long, Integer> firstOfWeek = new HashMap<>();
+		for (int i = 0; i < hrfs.size; i++) {
+			final long week = hrfs.dates[i] / 1000 / 7 / 86400;
+			firstOfWeek.merge(week, hrfs.hrfIds[i], Math::min);
+		}
+		return firstOfWeek.values().stream()
+				.sorted((a, b) -> Integer.compare(b, a))
+				.limit(Math.max(0, nWeeks))
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	/**
+	 * Id of the latest HRF
+	 *
+	 * @return -1 if the database contains no HRF
+	 */
+	synchronized int getLatestHrfId() {
+		load();
+		return maxHrfId;
+	}
+
+	/**
+	 * Date of the HRF
+	 *
+	 * @return milliseconds, -1 if the HRF is unknown
+	 */
+	synchronized long getHrfDate(int hrfId) {
+		load();
+		final int i = hrfs.indexOf(hrfId);
+		return i < 0 ? -1 : hrfs.dates[i];
+	}
+
+	/**
+	 * Club values of the HRF (the date of the club values is the HRF date)
+	 *
+	 * @return values in order of {@link #CLUB_COLUMNS}, null if the HRF has no club data
+	 */
+	synchronized double[] getClubValues(int hrfId) {
+		load();
+		return club.getRow(club.indexOf(hrfId));
+	}
+
+	/**
+	 * Economy rows fetched since the date
+	 *
+	 * @param from milliseconds
+	 * @return row indices, ordered by fetched date, the latest first
+	 */
+	synchronized int[] getEconomyRows(long from) {
+		load();
+		final long[] dates = economy.dates;
+		return IntStream.range(0, economy.size)
+				.filter(i -> dates[i] >= from)
+				.boxed()
+				.sorted((a, b) -> Long.compare(dates[b], dates[a]))
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	synchronized long getEconomyDate(int row) {
+		return economy.dates[row];
+	}
+
+	/**
+	 * Economy values of the row
+	 *
+	 * @return values in order of {@link #ECONOMY_COLUMNS}
+	 */
+	synchronized double[] getEconomyValues(int row) {
+		return economy.getRow(row);
+	}
+
+	/**
+	 * Appends the data of a newly stored HRF
+	 *
+	 * @param hrfId id of the stored HRF
+	 */
+	synchronized void hrfSaved(int hrfId) {
+		if (!loaded) {
+			return;
+		}
+		if (hrfId <= maxHrfId) {
+			// existing HRF is overwritten
+			reset();
+		} else {
+			loadSince(maxHrfId);
+		}
+	}
+
+	/**
+	 * Players of a HRF are stored
+	 *
+	 * @param hrfId id of the HRF
+	 */
+	synchronized void playersSaved(int hrfId) {
+		if (loaded && hrfId <= maxHrfId) {
+			reset();
+		}
+	}
+
+	/**
+	 * Drops all data, the store is reloaded with the next request
+	 */
+	synchronized void reset() {
+		loaded = false;
+		maxHrfId = -1;
+		hrfs.clear();
+		players.clear();
+		club.clear();
+		economy.clear();
+		playerIds = new int[0];
+		rowsByPlayer.clear();
+		rowsByHrf.clear();
+	}
+
+	private void load() {
+		if (!loaded) {
+			long start = System.currentTimeMillis();
+			loaded = loadSince(-1);
+			HOLogger.instance().debug(getClass(), "statistics store loaded " + players.size + " player rows of "
+					+ hrfs.size + " HRFs in " + (System.currentTimeMillis() - start) + "ms");
+		}
+	}
+
+	/**
+	 * Appends the data of the HRFs after the given one
+	 *
+	 * @return false if the data could not be read, the store is reset in this case
+	 */
+	private boolean loadSince(int hrfId) {
+		final JDBCAdapter adapter = DBManager.instance().getAdapter();
+		try {
+			var rs = adapter.executePreparedQuery("SELECT HRF_ID, Datum FROM " + HRFTable.TABLENAME
+					+ " WHERE HRF_ID > ? ORDER BY HRF_ID", hrfId);
+			if (rs != null) {
+				while (rs.next()) {
+					hrfs.add(rs.getInt("HRF_ID"), rs.getTimestamp("Datum").getTime(), null);
+					maxHrfId = Math.max(maxHrfId, rs.getInt("HRF_ID"));
+				}
+				rs.close();
+			}
+			loadPlayers(adapter.executePreparedQuery("SELECT * FROM " + SpielerTable.TABLENAME
+					+ " WHERE HRF_ID > ? ORDER BY HRF_ID", hrfId));
+			loadValues(club, CLUB_COLUMNS, null, adapter.executePreparedQuery("SELECT * FROM "
+					+ VereinTable.TABLENAME + " WHERE HRF_ID > ? ORDER BY HRF_ID", hrfId));
+			loadValues(economy, ECONOMY_COLUMNS, "FetchedDate", adapter.executePreparedQuery("SELECT * FROM "
+					+ EconomyTable.TABLENAME + " WHERE HRF_ID > ? ORDER BY HRF_ID", hrfId));
+			return true;
+		} catch (SQLException e) {
+			HOLogger.instance().log(getClass(), e);
+			reset();
+			return false;
+		}
+	}
+
+	private void loadPlayers(ResultSet rs) throws SQLException {
+		if (rs == null) {
+			return;
+		}
+		final double[] row = new double[PLAYER_COLUMNS];
+		while (rs.next()) {
+			final int hrfId = rs.getInt("HRF_ID");
+			final int playerId = rs.getInt("SpielerID");
+			final var date = rs.getTimestamp("Datum");
+			row[TSI] = rs.getDouble("Marktwert");
+			if (date.before(DBManager.TSIDATE)) {
+				row[TSI] /= 1000d;
+			}
+			row[WAGE] = rs.getDouble("Gehalt");
+			row[LEADERSHIP] = rs.getDouble("Fuehrung");
+			row[EXPERIENCE] = rs.getDouble("Erfahrung");
+			row[SUB_EXPERIENCE] = rs.getDouble("SubExperience");
+			row[FORM] = rs.getDouble("Form");
+			row[STAMINA] = rs.getDouble("Kondition");
+			row[KEEPER] = rs.getDouble("Torwart") + rs.getDouble("SubTorwart");
+			row[DEFENDING] = rs.getDouble("Verteidigung") + rs.getDouble("SubVerteidigung");
+			row[PLAYMAKING] = rs.getDouble("Spielaufbau") + rs.getDouble("SubSpielaufbau");
+			row[PASSING] = rs.getDouble("Passpiel") + rs.getDouble("SubPasspiel");
+			row[WINGER] = rs.getDouble("Fluegel") + rs.getDouble("SubFluegel");
+			row[SCORING] = rs.getDouble("Torschuss") + rs.getDouble("SubTorschuss");
+			row[SET_PIECES] = rs.getDouble("Standards") + rs.getDouble("SubStandards");
+			row[RATING] = rs.getDouble("Bewertung") / 2d;
+			row[LOYALTY] = rs.getDouble("Loyalty");
+			row[TRAINER] = rs.getDouble("Trainer");
+
+			final int index = players.add(hrfId, date.getTime(), row);
+			if (index >= playerIds.length) {
+				playerIds = Arrays.copyOf(playerIds, players.hrfIds.length);
+			}
+			playerIds[index] = playerId;
+			rowsByPlayer.computeIfAbsent(playerId, k -> new IntList()).add(index);
+			rowsByHrf.computeIfAbsent(hrfId, k -> new IntList()).add(index);
+		}
+		rs.close();
+	}
+
+	private static void loadValues(Series series, String[] columns, String dateColumn, ResultSet rs) throws SQLException {
+		if (rs == null) {
+			return;
+		}
+		final double[] row = new double[columns.length];
+		while (rs.next()) {
+			for (int i = 0; i < columns.length; i++) {
+				row[i] = rs.getDouble(columns[i]);
+			}
+			final var date = dateColumn != null ? rs.getTimestamp(dateColumn) : null;
+			series.add(rs.getInt("HRF_ID"), date != null ? date.getTime() : 0, row);
+		}
+		rs.close();
+	}
+
+	/**
+	 * Append-only table of columns
+	 */
+	private static final class Series {
+		private int size;
+		private int[] hrfIds = new int[0];
+		private long[] dates = new long[0];
+		private final double[][] values;
+
+		private Series(int columns) {
+			values = new double[columns][0];
+		}
+
+		private int add(int hrfId, long date, double[] row) {
+			if (size == hrfIds.length) {
+				final int capacity = Math.max(16, size * 2);
+				hrfIds = Arrays.copyOf(hrfIds, capacity);
+				dates = Arrays.copyOf(dates, capacity);
+				for (int i = 0; i < values.length; i++) {
+					values[i] = Arrays.copyOf(values[i], capacity);
+				}
+			}
+			hrfIds[size] = hrfId;
+			dates[size] = date;
+			for (int i = 0; i < values.length; i++) {
+				values[i][size] = row[i];
+			}
+			return size++;
+		}
+
+		/**
+		 * Rows are appended in order of the HRF id
+		 */
+		private int indexOf(int hrfId) {
+			final int i = Arrays.binarySearch(hrfIds, 0, size, hrfId);
+			return i < 0 ? -1 : i;
+		}
+
+		private double[] getRow(int index) {
+			if (index < 0) {
+				return null;
+			}
+			final double[] ret = new double[values.length];
+			for (int i = 0; i < values.length; i++) {
+				ret[i] = values[i][index];
+			}
+			return ret;
+		}
+
+		private void clear() {
+			size = 0;
+			hrfIds = new int[0];
+			dates = new long[0];
+			Arrays.fill(values, new double[0]);
+		}
+	}
+
+	/**
+	 * Growable list of primitive ints
+	 */
+	static final class IntList {
+		private static final IntList EMPTY = new IntList();
+
+		private int size;
+		private int[] values = new int[0];
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, Math.max(8, size * 2));
+			}
+			values[size++] = value;
+		}
+
+		int get(int index) {
+			return values[index];
+		}
+
+		int size() {
+			return size;
+		}
+	}
+}
@@ -84,10 +84,10 @@ final class TAPlayerTable extends AbstractTable {
 	}
 
 	PlayerInfo getPlayerInfo(int playerId, int week, int season) {
-		String query = "select * from " + TABLENAME + " where PLAYERID=" + playerId + " and week="
-				+ calcWeekNumber(season, week);
+		String query = "select * from " + TABLENAME + " where PLAYERID=? and week=?";
 
-		ResultSet rs = DBManager.instance().getAdapter().executeQuery(query);
+		ResultSet rs = DBManager.instance().getAdapter().executePreparedQuery(query, playerId,
+				calcWeekNumber(season, week));
 
 		try {
 			if (rs.next()) {
@@ -126,10 +126,9 @@ final class TAPlayerTable extends AbstractTable {
 		ResultSet rs = DBManager
 				.instance()
 				.getAdapter()
-				.executeQuery(
-						"SELECT max(WEEK) FROM " + TABLENAME +
-								" WHERE" + " PLAYERID=" + playerId +
-								" AND WEEK<=" + calcCurrentWeekNumber()); // because of an error corrupt numbers may be in the database
+				.executePreparedQuery(
+						"SELECT max(WEEK) FROM " + TABLENAME + " WHERE PLAYERID=? AND WEEK<=?",
+						playerId, calcCurrentWeekNumber()); // because of an error corrupt numbers may be in the database
 
 		try {
 			if (rs.next()) {
@@ -6,7 +6,10 @@ import core.model.Team;
 import core.util.HOLogger;
 
 import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
 
 
 
@@ -157,4 +160,27 @@ final class TeamTable extends AbstractTable {
 		}
 		return team;
 	}
+
+	/**
+	 * Loads the team data of all HRF files since the given date in one query
+	 *
+	 * @param from date of the first HRF file
+	 * @return team data by HRF id
+	 */
+	Map<Integer, Team> getTeamsSince(Timestamp from) {
+		var ret = new HashMap<Integer, Team>();
+		var sql = "SELECT t.* FROM " + getTableName() + " t JOIN " + HRFTable.TABLENAME
+				+ " h ON t.HRF_ID = h.HRF_ID WHERE h.Datum >= ?";
+		var rs = adapter.executePreparedQuery(sql, from);
+		try {
+			if (rs != null) {
+				while (rs.next()) {
+					ret.put(rs.getInt("HRF_ID"), new Team(rs));
+				}
+			}
+		} catch (Exception e) {
+			HOLogger.instance().error(getClass(), "Error while loading Team models: " + e);
+		}
+		return ret;
+	}
 }
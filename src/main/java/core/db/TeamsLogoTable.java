@@ -1,22 +1,15 @@
 package core.db;
 
-import core.gui.HOMainFrame;
-import core.net.MyConnector;
+import core.gui.theme.TeamLogoInfo;
+import core.util.HODateTime;
 import core.util.HOLogger;
-import module.youth.YouthTraining;
-import module.youth.YouthTrainingType;
 import okhttp3.HttpUrl;
-import tool.updater.UpdateController;
-import tool.updater.UpdateHelper;
 
-import java.io.File;
-import java.nio.file.Path;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class TeamsLogoTable extends AbstractTable {
     /**
@@ -39,19 +32,14 @@ public class TeamsLogoTable extends AbstractTable {
     }
 
     /**
-     * Gets team logo file name BUT it will triggers download of the logo from internet if it is not yet available.
-     * It will also update LAST_ACCESS field
+     * Gets the logo information of the team. The logo is not downloaded.
      *
-     * @param teamID             the team id
-     * @param teamLogoFolderPath the team logo root folder path
-     * @return the team logo file name
+     * @param teamID the team id
+     * @return url and file name of the logo, null if the team has no logo or no logo information is stored
      */
-    public String getTeamLogoFileName(Path teamLogoFolderPath, int teamID) {
+    public TeamLogoInfo getTeamLogoInfo(int teamID) {
 
-        String logoURL, logoFileName;
-
-        // 1. Get logoFileName from the database
-        var rs = adapter.executeQuery("SELECT * from " + getTableName() + " WHERE TEAM_ID=" + teamID);
+        var rs = adapter.executePreparedQuery("SELECT * from " + getTableName() + " WHERE TEAM_ID=?", teamID);
         if (rs == null) {
             HOLogger.instance().error(this.getClass(), "error with table " + getTableName());
             return null;
@@ -61,38 +49,43 @@ public class TeamsLogoTable extends AbstractTable {
             if (!rs.next()) {
                 HOLogger.instance().info(this.getClass(), "logo information not available in database for team ID=" + teamID);
                 return null;
-            } else {
-                logoURL = rs.getString("URL");
-                if (logoURL.equals("null")) {
-                    HOLogger.instance().debug(this.getClass(), "team with no logo team ID=" + teamID);
-                    return null;
-                }
-
-                logoFileName = teamLogoFolderPath.resolve(rs.getString("FILENAME")).toString();
             }
+            var logoURL = rs.getString("URL");
+            if (logoURL == null || logoURL.equals("null")) {
+                HOLogger.instance().debug(this.getClass(), "team with no logo team ID=" + teamID);
+                return null;
+            }
+            var info = new TeamLogoInfo();
+            info.setTeamId(teamID);
+            info.setUrl(logoURL);
+            info.setFilename(rs.getString("FILENAME"));
+            info.setLastAccess(HODateTime.fromDbTimestamp(rs.getTimestamp("LAST_ACCESS")));
+            return info;
         } catch (SQLException throwables) {
             HOLogger.instance().error(this.getClass(), "error with table " + getTableName());
             return null;
         }
+    }
 
-        // 2. Check if the logo has already been downloaded
-
-        File logo = new File(logoFileName);
-        if (logo.exists()) {
-            return logoFileName;
-        } else {
-            // we try to download the logo from HT servers
-            boolean bSuccess = UpdateHelper.download(logoURL, logo);
-            if (!bSuccess) {
-                HOLogger.instance().error(this.getClass(), "error when trying to download logo of team ID: " + teamID + "\n" + logoURL);
-                return null;
+    /**
+     * Gets the logo file names of all teams, least recently accessed first
+     *
+     * @return file name by team id
+     */
+    public Map<Integer, String> getTeamLogoFileNamesByLastAccess() {
+        var ret = new LinkedHashMap<Integer, String>();
+        var rs = adapter.executePreparedQuery("SELECT TEAM_ID, FILENAME from " + getTableName()
+                + " WHERE FILENAME IS NOT NULL AND FILENAME <> 'null' ORDER BY LAST_ACCESS ASC NULLS FIRST");
+        if (rs != null) {
+            try {
+                while (rs.next()) {
+                    ret.put(rs.getInt("TEAM_ID"), rs.getString("FILENAME"));
+                }
+            } catch (SQLException throwables) {
+                HOLogger.instance().error(this.getClass(), "error with table " + getTableName());
             }
         }
-
-        //we update LAST_ACCESS value
-        updateLastAccessTime(teamID);
-
-        return logoFileName;
+        return ret;
     }
 
     public void storeTeamLogoInfo(int teamID, String logoURI, Timestamp lastAccess) {
@@ -132,8 +125,7 @@ public class TeamsLogoTable extends AbstractTable {
 
     public void updateLastAccessTime(int teamID) {
         Timestamp now = new Timestamp(System.currentTimeMillis());
-        String sql = "UPDATE CLUBS_LOGO SET LAST_ACCESS = '" + now + "' WHERE TEAM_ID = " + teamID;
-        adapter.executeUpdate(sql);
+        adapter.executePreparedUpdate("UPDATE " + getTableName() + " SET LAST_ACCESS = ? WHERE TEAM_ID = ?", now, teamID);
 //        HOLogger.instance().debug(this.getClass(), "Update access time info of teamID : " +  teamID);
     }
 
@@ -0,0 +1,150 @@
+package core.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * State of a database transaction started by {@link JDBCAdapter#beginTransaction()}.
+ * <p>
+ * All statements of the owning thread are executed on the dedicated transaction connection.
+ * Consecutive executions of the same prepared update are collected in a JDBC batch, which is
+ * sent to the database as soon as any other statement is executed or the transaction ends.
+ * So the order of the statements is kept.
+ * </p>
+ * A failed statement marks the transaction for rollback. Following statements fail immediately
+ * and the commit throws an {@link SQLException}, so a partly written transaction is never committed.
+ */
+final class Transaction {
+
+	private final ConnectionPool.PooledConnection connection;
+	private PreparedStatement pendingBatch;
+	private int pendingBatchSize;
+	private int depth = 1;
+	private int batchedRows;
+	/** first failure of the transaction, null if no statement failed */
+	private SQLException failure;
+
+	Transaction(ConnectionPool.PooledConnection connection) throws SQLException {
+		this.connection = connection;
+		connection.getConnection().setAutoCommit(false);
+	}
+
+	/**
+	 * Marks the transaction for rollback
+	 */
+	void setRollbackOnly(SQLException e) {
+		if (failure == null) {
+			failure = e;
+		}
+	}
+
+	private void checkNotFailed() throws SQLException {
+		if (failure != null) {
+			throw new SQLException("Transaction is marked for rollback", failure);
+		}
+	}
+
+	ResultSet executeQuery(String sql) throws SQLException {
+		flush();
+		return connection.getStatement().executeQuery(sql);
+	}
+
+	int executeUpdate(String sql) throws SQLException {
+		flush();
+		return connection.getStatement().executeUpdate(sql);
+	}
+
+	PreparedStatement prepareQuery(String sql) throws SQLException {
+		flush();
+		return connection.getPreparedStatement(sql);
+	}
+
+	/**
+	 * Adds the update to the batch of the given statement.
+	 * The pending batch of another statement is executed first.
+	 */
+	void addBatch(String sql, Object... params) throws SQLException {
+		checkNotFailed();
+		var statement = connection.getPreparedStatement(sql);
+		if (statement != pendingBatch) {
+			flush();
+			pendingBatch = statement;
+		}
+		statement.clearParameters();
+		for (int i = 0; i < params.length; i++) {
+			statement.setObject(i + 1, params[i]);
+		}
+		statement.addBatch();
+		pendingBatchSize++;
+	}
+
+	/**
+	 * Executes the pending batch. The batch stays pending if it fails, it is discarded by the rollback.
+	 *
+	 * @throws SQLException if the transaction is marked for rollback or a statement of the batch failed
+	 */
+	void flush() throws SQLException {
+		checkNotFailed();
+		if (pendingBatch != null) {
+			var statement = pendingBatch;
+			if (pendingBatchSize > 0) {
+				for (var count : statement.executeBatch()) {
+					if (count == Statement.EXECUTE_FAILED) {
+						throw new SQLException("Statement of batch failed: " + statement);
+					}
+				}
+				batchedRows += pendingBatchSize;
+			}
+			pendingBatch = null;
+			pendingBatchSize = 0;
+			// statement is not cached
+			if (statement.isCloseOnCompletion()) {
+				statement.close();
+			}
+		}
+	}
+
+	/**
+	 * Commits the transaction. If the commit fails, the transaction is still open and has to be rolled back.
+	 */
+	void commit() throws SQLException {
+		flush();
+		getConnection().commit();
+		getConnection().setAutoCommit(true);
+	}
+
+	void rollback() throws SQLException {
+		try {
+			if (pendingBatch != null) {
+				pendingBatch.clearBatch();
+				pendingBatch = null;
+				pendingBatchSize = 0;
+			}
+			getConnection().rollback();
+		} finally {
+			getConnection().setAutoCommit(true);
+		}
+	}
+
+	/**
+	 * Number of statements sent to the database in batches
+	 */
+	int getBatchedRows() {
+		return batchedRows;
+	}
+
+	int enter() {
+		return ++depth;
+	}
+
+	int leave() {
+		return --depth;
+	}
+
+	private Connection getConnection() throws SQLException {
+		return connection.getConnection();
+	}
+}
@@ -2,7 +2,6 @@ package core.db.backup;
 
 import core.db.user.User;
 import core.db.user.UserManager;
-import core.file.ExampleFileFilter;
 import core.file.ZipHelper;
 import core.gui.comp.panel.ImagePanel;
 import core.util.HOLogger;
@@ -22,6 +21,8 @@ import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 
+import org.hsqldb.lib.tar.TarReader;
+
 /**
  * Backupmanagement dialog
  * 
@@ -62,7 +63,7 @@ public final class BackupDialog extends JDialog implements ActionListener {
 
 	private JPanel getTopPanel() {
 		JPanel panel = new ImagePanel();
-		panel.add(new JLabel("Select a database (ZIP-file) to restore from:"));
+		panel.add(new JLabel("Select a database backup to restore from:"));
 		return panel;
 	}
 
@@ -82,9 +83,7 @@ public final class BackupDialog extends JDialog implements ActionListener {
 	private JScrollPane getList() {
 
 		File dbDirectory = new File(UserManager.instance().getCurrentUser().getDbFolder());
-		ExampleFileFilter filter = new ExampleFileFilter("zip");
-		filter.setIgnoreDirectories(true);
-		File[] files = dbDirectory.listFiles(filter);
+		File[] files = BackupHelper.getBackups(dbDirectory);
 		list = new JList(files);
 
 		JScrollPane scroll = new JScrollPane(list);
@@ -95,7 +94,14 @@ public final class BackupDialog extends JDialog implements ActionListener {
 	public void actionPerformed(ActionEvent e) {
 		if (e.getSource() == okButton) {
 			try {
-				ZipHelper.unzip((File) list.getSelectedValue(), new File(UserManager.instance().getCurrentUser().getDbFolder()));
+				File backup = (File) list.getSelectedValue();
+				String dbFolder = UserManager.instance().getCurrentUser().getDbFolder();
+				if (backup.getName().endsWith(BackupHelper.TAR_GZ)) {
+					// online backup of HSQLDB
+					new TarReader(backup, TarReader.OVERWRITE_MODE, null, null, new File(dbFolder)).read();
+				} else {
+					ZipHelper.unzip(backup, new File(dbFolder));
+				}
 			} catch (Exception e1) {
 				HOLogger.instance().log(getClass(), e1);
 			}
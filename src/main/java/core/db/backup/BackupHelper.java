@@ -1,77 +1,119 @@
 package core.db.backup;
 
-import core.db.user.User;
+import core.db.DBManager;
 import core.db.user.UserManager;
-import core.file.ExampleFileFilter;
 import core.util.HOLogger;
+
 import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 
 /**
- * HSQL DB zipper
+ * Backup of the HSQL database.
+ * <p>
+ * The backup is created by HSQLDB while the database is in use (online backup, not blocking),
+ * so it runs in the background after the start of HO. The tar file of HSQLDB is compressed on all processors.
+ * One backup is created per day, further starts of the day do not read the database again.
+ * Before the database is updated to a new version, a backup is always created.
+ * The newest backups are kept according to the backup level of the user, older ones are deleted.
+ * </p>
+ * Backups of older HO versions are zip files, they are still listed by the restore dialog.
  * @author Thorsten Dietz
  */
 public class BackupHelper {
 
-	// zip and delete db
-	public static void backup(File dbDirectory) {
-		Calendar now = Calendar.getInstance();
+	static final String TAR_GZ = ".tar.gz";
+	private static final String TAR = ".tar";
+
+	/**
+	 * Starts the daily backup in a background thread
+	 *
+	 * @param dbDirectory folder of the database
+	 */
+	public static void backupInBackground(File dbDirectory) {
+		var thread = new Thread(() -> {
+			try {
+				backup(DBManager.instance(), dbDirectory, false);
+			} catch (Exception e) {
+				HOLogger.instance().error(BackupHelper.class, "Backup of " + dbDirectory + " failed: " + e);
+				HOLogger.instance().log(BackupHelper.class, e);
+			}
+		}, "HO-backup");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
 
+	/**
+	 * Creates a backup of the opened database
+	 *
+	 * @param dbManager manager of the opened database
+	 * @param dbDirectory folder of the database
+	 * @param force true, to replace the backup of the day, if it already exists
+	 */
+	public static void backup(DBManager dbManager, File dbDirectory, boolean force) throws IOException, SQLException {
 		if (!dbDirectory.exists()) {return;}
 
-		File[] filesToBackup = getFilesToBackup(dbDirectory);
-		if (filesToBackup.length == 0) {return;}
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+		String name = "db_" + UserManager.instance().getCurrentUser().getTeamName() + "-" + sdf.format(new Date());
+		File tar = new File(dbDirectory, name + TAR);
+		File archive = new File(dbDirectory, name + TAR_GZ);
+		if (archive.exists() && !force) {
+			HOLogger.instance().info(BackupHelper.class, "Backup of today exists: " + archive);
+			return;
+		}
 
-		HOZip zOut;
+		long start = System.currentTimeMillis();
 		try {
-			SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-
-			zOut = new HOZip(dbDirectory + File.separator + "db_" + UserManager.instance().getCurrentUser().getTeamName()
-					+ "-" + sdf.format(new Date()) + ".zip");
-
-			for (File file : filesToBackup) {
-				zOut.addFile(file);
-			}
-
-			zOut.closeArchive();
-		} catch (Exception e) {
-			HOLogger.instance().log(BackupHelper.class, e);
+			// HSQLDB refuses to overwrite an existing file
+			deleteFile(tar);
+			dbManager.backupDatabase(tar);
+			HOLogger.instance().info(BackupHelper.class, "Create Backup: " + archive);
+			ParallelGzip.compress(tar, archive);
+		} catch (IOException | SQLException | RuntimeException e) {
+			deleteFile(archive);
+			throw e;
+		} finally {
+			deleteFile(tar);
 		}
 
 		deleteOldFiles(dbDirectory);
+		HOLogger.instance().info(BackupHelper.class, "Backup took " + (System.currentTimeMillis() - start) + "ms");
 	}
 
 	/**
-	 * delete old zip files, which are out of backuplevel
+	 * Lists the backups of the database folder (zip files of older HO versions and tar.gz files)
+	 *
+	 * @return backups, the newest first
 	 */
-	private static void deleteOldFiles(File dbDirectory) {
-		File toDelete = null;
-		ExampleFileFilter filter = new ExampleFileFilter("zip");
-		filter.setIgnoreDirectories(true);
-		File[] files = dbDirectory.listFiles(filter);
-		if (files.length > UserManager.instance().getCurrentUser().getBackupLevel()) {
-			for (int i = 0; i < files.length; i++) {
-				if (i == 0
-						|| (toDelete != null && toDelete.lastModified() > files[i].lastModified())) {
-					toDelete = files[i];
-				}
-			}
-			if (toDelete != null)
-				toDelete.delete();
+	public static File[] getBackups(File dbDirectory) {
+		File[] files = dbDirectory.listFiles(file -> file.isFile()
+				&& (file.getName().endsWith(".zip") || file.getName().endsWith(TAR_GZ)));
+		if (files == null) {
+			return new File[0];
 		}
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+		return files;
 	}
 
-	private static File[] getFilesToBackup(File dbDirectory) {
-		return dbDirectory.listFiles(file -> {
-			String name = file.getName();
-			return (name.endsWith(".script") ||
-					name.endsWith(".data") ||
-					name.endsWith(".backup") ||
-					name.endsWith(".log") ||
-					name.endsWith(".properties"));
-		});
+	/**
+	 * delete old backup files, which are out of backuplevel
+	 */
+	private static void deleteOldFiles(File dbDirectory) {
+		File[] files = getBackups(dbDirectory);
+		int backupLevel = Math.max(1, UserManager.instance().getCurrentUser().getBackupLevel());
+		for (int i = backupLevel; i < files.length; i++) {
+			deleteFile(files[i]);
+		}
 	}
 
+	private static void deleteFile(File file) {
+		if (file.exists() && !file.delete()) {
+			HOLogger.instance().warning(BackupHelper.class, "Could not delete " + file);
+		}
+	}
 }
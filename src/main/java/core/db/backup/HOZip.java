@@ -5,6 +5,8 @@ import core.util.HOLogger;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -80,6 +82,19 @@ public class HOZip extends File {
         }
     }
 
+	/**
+	 * Starts a new entry. The data of the entry is written to the returned stream, which must not be closed.
+	 * The entry is finished by the next entry or by closing the archive.
+	 *
+	 * @param filename name of the entry
+	 * @return stream of the entry
+	 */
+	public OutputStream startEntry(String filename) throws IOException {
+		zOut.putNextEntry(new ZipEntry(filename));
+		fileCount++;
+		return zOut;
+	}
+
 	public void addStringEntry(String filename, String data) throws Exception {
 
 		// Set next Entry
@@ -0,0 +1,92 @@
+package core.db.backup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compression on all processors.
+ * <p>
+ * The file is split into blocks, which are compressed in parallel. Each block is written as gzip member,
+ * the members are concatenated in the order of the blocks. A file of concatenated members is a valid gzip
+ * file (RFC 1952), which is read by {@link java.util.zip.GZIPInputStream} and all gzip tools.
+ * </p>
+ */
+final class ParallelGzip {
+
+	private static final int BLOCK_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private ParallelGzip() {
+	}
+
+	/**
+	 * Compresses the file
+	 *
+	 * @param source file to compress
+	 * @param target gzip file
+	 */
+	static void compress(File source, File target) throws IOException {
+		try (var in = new FileInputStream(source); var out = new FileOutputStream(target)) {
+			compress(in, out);
+		}
+	}
+
+	static void compress(InputStream in, OutputStream out) throws IOException {
+		final int window = 2 * ForkJoinPool.commonPool().getParallelism() + 1;
+		final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+		byte[] block = readBlock(in);
+		if (block == null) {
+			// a gzip file has at least one member
+			block = new byte[0];
+		}
+		for (; block != null; block = readBlock(in)) {
+			final byte[] data = block;
+			pending.add(CompletableFuture.supplyAsync(() -> deflate(data)));
+			if (pending.size() >= window) {
+				write(pending.poll(), out);
+			}
+		}
+		while (!pending.isEmpty()) {
+			write(pending.poll(), out);
+		}
+	}
+
+	private static byte[] readBlock(InputStream in) throws IOException {
+		final byte[] block = in.readNBytes(BLOCK_SIZE);
+		if (block.length == 0) {
+			return null;
+		}
+		return block;
+	}
+
+	private static byte[] deflate(byte[] data) {
+		final var ret = new ByteArrayOutputStream(data.length / 4 + 64);
+		try (var gzip = new GZIPOutputStream(ret, 64 * 1024)) {
+			gzip.write(data);
+		} catch (IOException e) {
+			// not thrown by ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return ret.toByteArray();
+	}
+
+	private static void write(CompletableFuture<byte[]> member, OutputStream out) throws IOException {
+		try {
+			out.write(member.join());
+		} catch (RuntimeException e) {
+			throw new IOException("compression failed", e);
+		}
+	}
+}
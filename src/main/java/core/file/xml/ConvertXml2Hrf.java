@@ -132,7 +132,7 @@ public class ConvertXml2Hrf {
 			worldDataMap.put("CountryId", ModuleConfig.instance().getString("CountryId"));
 		} else {
 			// We need to get hold of the currency info for the primary team, no matter which team we download.
-			usersPremierTeamInfo = XMLWorldDetailsParser.updateTeamInfoWithCurrency(usersPremierTeamInfo, mc.getWorldDetails(usersPremierTeamInfo.getLeagueId()));
+			usersPremierTeamInfo = XMLWorldDetailsParser.updateTeamInfoWithCurrency(usersPremierTeamInfo, mc.fetchWorldDetails(usersPremierTeamInfo.getLeagueId()));
 			ModuleConfig.instance().setString("CurrencyRate", usersPremierTeamInfo.getCurrencyRate().trim());
 			ModuleConfig.instance().setString("CountryId", usersPremierTeamInfo.getCountryId());
 			ModuleConfig.instance().setInteger("UsersPremierTeamId", usersPremierTeamInfo.getTeamId());
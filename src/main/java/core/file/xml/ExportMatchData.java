@@ -1,6 +1,7 @@
 package core.file.xml;
 
 import core.model.match.MatchKurzInfo;
+import core.model.match.MatchLineupTeam;
 import core.model.match.Matchdetails;
 import core.model.player.Player;
 
@@ -12,6 +13,8 @@ public class ExportMatchData {
 	private Map<Integer, Player> players;
 	private Matchdetails details;
 	private MatchKurzInfo info;
+	private MatchLineupTeam lineupTeam;
+	private int hrfId = -1;
 
 	public Matchdetails getDetails() {
 		return details;
@@ -37,4 +40,26 @@ public class ExportMatchData {
 		players = map;
 	}
 
+	/**
+	 * Lineup of the own team in the match
+	 */
+	public MatchLineupTeam getLineupTeam() {
+		return lineupTeam;
+	}
+
+	public void setLineupTeam(MatchLineupTeam lineupTeam) {
+		this.lineupTeam = lineupTeam;
+	}
+
+	/**
+	 * HRF of the same training as the match
+	 */
+	public int getHrfId() {
+		return hrfId;
+	}
+
+	public void setHrfId(int hrfId) {
+		this.hrfId = hrfId;
+	}
+
 }
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Vector;
+import java.util.function.Consumer;
 
 public class MatchExporter {
 	//~ Static fields/initializers -----------------------------------------------------------------
@@ -51,20 +52,52 @@ public class MatchExporter {
 	 * @return List of ExportMatchData objects
 	 */
 	public static List<ExportMatchData> getDataUsefullMatches(HODateTime startingDate, HODateTime startingDateForFriendlies, boolean strict, boolean skipPullBack) {
-		HOLogger.instance().log(MatchExporter.class, "Collecting MatchData");		
 		List<ExportMatchData> export = new ArrayList<>();
+		forEachUsefullMatch(startingDate, startingDateForFriendlies, strict, skipPullBack, export::add);
+		return export;
+	}
+
+	/**
+	 * Passes the useful data for export match by match to the consumer, so the data of all matches are
+	 * never kept in memory at the same time.
+	 *
+	 * @param startingDate starting data to export from (for non friendlies)
+	 * @param startingDateForFriendlies starting data to export from (for friendlies)
+	 * @param strict is true, export only matches *without* cards, injuries, tactical problems / overconfidence / weather SE...
+	 * @param skipPullBack is true, skip matches with pull back event
+	 * @param consumer receives the ExportMatchData of each useful match
+	 *
+	 * @return number of useful matches
+	 */
+	public static int forEachUsefullMatch(HODateTime startingDate, HODateTime startingDateForFriendlies, boolean strict, boolean skipPullBack,
+										  Consumer<ExportMatchData> consumer) {
+		HOLogger.instance().log(MatchExporter.class, "Collecting MatchData");
+		int ret = 0;
 		int teamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
 		MatchKurzInfo[] matches = DBManager.instance().getMatchesKurzInfo(teamId);
 
 		//check all matches
 		for (var match: matches) {
+			var matchStartingDate = match.getMatchType().isFriendly() ? startingDateForFriendlies : startingDate;
+			if (match.getMatchSchedule().isBefore(matchStartingDate)) { //Zu alt !!!
+				// skip without loading the details
+				continue;
+			}
 			Matchdetails details = DBManager.instance().loadMatchDetails(match.getMatchType().getId(), match.getMatchID());
-			boolean isFriendly = match.getMatchType().isFriendly();
-			if (isValidMatch(match, details, startingDateForFriendlies, strict, skipPullBack) && isFriendly
-					|| isValidMatch(match, details, startingDate, strict, skipPullBack) && !isFriendly ) {
+			if (isValidMatch(match, details, strict, skipPullBack)) {
+				int hrfId = DBManager.instance().getHrfIDSameTraining(match.getMatchSchedule().toDbTimestamp());
+				if (hrfId == -1) { //Kein HRF gefunden
+					HOLogger.instance().debug(MatchExporter.class, "Ignoring match " + match.getMatchID() + ": No matching HRF found");
+					continue;
+				}
 
 				//Nun lineup durchlaufen und Spielerdaten holen
-				Vector<MatchLineupPosition> aufstellung = DBManager.instance().getMatchLineupPlayers(details.getMatchID(), details.getMatchType(), teamId);
+				MatchLineupTeam lineupTeam = DBManager.instance().loadMatchLineupTeam(details.getMatchType().getId(), details.getMatchID(), teamId);
+				if (lineupTeam == null) {
+					HOLogger.instance().debug(MatchExporter.class, "Ignoring match " + match.getMatchID() + ": No lineup found");
+					continue;
+				}
+				Vector<MatchLineupPosition> aufstellung = lineupTeam.getLineup().getAllPositions();
 				Hashtable<Integer, Player> lineUpISpieler = new Hashtable<>();
 
 				boolean dataOK = true;
@@ -76,8 +109,8 @@ public class MatchExporter {
 					//Alte Werte zum Player holen fï¿½r das Matchdate
 					Player formerPlayerData;
 
-					//Bankl + verlketzte ï¿½berspringen
-					if (player.getRoleId() >= IMatchRoleID.startReserves) {
+					//Bankl + verlketzte ï¿½berspringen, leere Positionen der Aufstellung auch
+					if (player.getRoleId() >= IMatchRoleID.startReserves || player.getPlayerId() <= 0) {
 						continue;
 					}
 
@@ -101,14 +134,17 @@ public class MatchExporter {
 					data.setDetails(details);
 					data.setInfo(match);
 					data.setPlayers(lineUpISpieler);
-					export.add(data);					
+					data.setLineupTeam(lineupTeam);
+					data.setHrfId(hrfId);
+					consumer.accept(data);
+					ret++;
 				}
 			} //end For usefull Matches        
 		}
-		return export;
+		return ret;
 	}
 
-	private static boolean isValidMatch(MatchKurzInfo info, Matchdetails details, HODateTime startingDate, boolean strict, boolean skipPullBack) {
+	private static boolean isValidMatch(MatchKurzInfo info, Matchdetails details, boolean strict, boolean skipPullBack) {
 		int teamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
 		if ((info.getMatchStatus() != MatchKurzInfo.FINISHED) ||  details == null || (details.getMatchID() == -1)) {
 			HOLogger.instance().debug(MatchExporter.class, "Ignoring match " + info.getMatchID() + ": not finished");
@@ -122,13 +158,7 @@ public class MatchExporter {
 		}
 		ArrayList<MatchEvent> highlights = details.downloadHighlightsIfMissing();
 		//Aussortieren starten...
-		if (info.getMatchSchedule().isBefore(startingDate)) { //Zu alt !!!
-			return false;
-		} else if (DBManager.instance().getHrfIDSameTraining(info.getMatchSchedule().toDbTimestamp()) == -1) //Kein HRF gefunden
-		{
-			HOLogger.instance().debug(MatchExporter.class, "Ignoring match " + info.getMatchID() + ": No matching HRF found");
-			return false;
-		} else if (strict)//Datum i.O. weitere checks fahren
+		if (strict)//Datum i.O. weitere checks fahren
 		{
 			//Highlights prüfen auf Verletzung, Rote Karte, Verwirrung, Unterschätzung
 			// Check Highlights for our team only
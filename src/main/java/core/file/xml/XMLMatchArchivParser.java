@@ -17,10 +17,9 @@ import core.util.HOLogger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLStreamConstants;
 
 import static core.net.OnlineWorker.getTournamentDetails;
 
@@ -36,99 +35,77 @@ public class XMLMatchArchivParser {
 	}
 
 	public static List<MatchKurzInfo> parseMatchesFromString(String input) {
-		return createMatches(XMLManager.parseString(input));
-	}
-
-	private static List<MatchKurzInfo> createMatches(Document doc) {
 		List<MatchKurzInfo> matches = new ArrayList<>();
-
-		if (doc == null) {
+		var reader = XMLStreamParser.createReader(input);
+		if (reader == null) {
 			return matches;
 		}
+		try {
+			boolean isYouth = false;
+			while (reader.hasNext()) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+					continue;
+				}
+				switch (reader.getLocalName()) {
+					case "IsYouth" -> isYouth = Boolean.parseBoolean(reader.getElementText());
+					case "Match" -> matches.add(createMatch(XMLStreamParser.readRecord(reader), isYouth));
+				}
+			}
+		} catch (Exception e) {
+			matches.clear();
+			HOLogger.instance().log(XMLMatchArchivParser.class, e);
+		} finally {
+			XMLStreamParser.close(reader);
+		}
+		return matches;
+	}
 
-		Element root = doc.getDocumentElement();
-		Element ele;
-		Element tmp;
-		MatchKurzInfo match;
+	private static MatchKurzInfo createMatch(Map<String, String> ele, boolean isYouth) {
+		MatchKurzInfo match = new MatchKurzInfo();
 		int iMatchType;
 		int iCupLevel;
 		int iCupLevelIndex;
-		try {
 
-			var isYouth = Boolean.parseBoolean(root.getElementsByTagName("IsYouth").item(0).getFirstChild().getNodeValue());
-			NodeList  nodeList = root.getElementsByTagName("Match");
-
-			for (int i = 0; (nodeList != null) && (i < nodeList.getLength()); i++) {
-				match = new MatchKurzInfo();
-				ele = (Element) nodeList.item(i);
-
-				// Daten füllen
-				tmp = (Element) ele.getElementsByTagName("MatchDate").item(0);
-				match.setMatchSchedule(HODateTime.fromHT(tmp.getFirstChild().getNodeValue()));
-				tmp = (Element) ele.getElementsByTagName("MatchID").item(0);
-				match.setMatchID(Integer.parseInt(tmp.getFirstChild()
-						.getNodeValue()));
-				tmp = (Element) ele.getElementsByTagName("MatchType").item(0);
-				if( tmp!=null || !isYouth)
-				{
-					iMatchType = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-				}
-				else
-				{
-					// workaround for isyouth=true (MatchType is missing if isYouth==true)
-					iMatchType = MatchType.YOUTHLEAGUE.getId();
-				}
+		// Daten füllen
+		match.setMatchSchedule(HODateTime.fromHT(ele.get("MatchDate")));
+		match.setMatchID(Integer.parseInt(ele.get("MatchID")));
+		var matchType = ele.get("MatchType");
+		if (matchType != null || !isYouth) {
+			iMatchType = Integer.parseInt(matchType);
+		} else {
+			// workaround for isyouth=true (MatchType is missing if isYouth==true)
+			iMatchType = MatchType.YOUTHLEAGUE.getId();
+		}
 
-				match.setMatchType(MatchType.getById(iMatchType));
+		match.setMatchType(MatchType.getById(iMatchType));
 
-				tmp = (Element) ele.getElementsByTagName("MatchContextId").item(0);
-				int tournamentId = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-				match.setMatchContextId(tournamentId);
+		int tournamentId = Integer.parseInt(ele.get("MatchContextId"));
+		match.setMatchContextId(tournamentId);
 
-				if (iMatchType == 3) {
-					tmp = (Element) ele.getElementsByTagName("CupLevel").item(0);
-					iCupLevel = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-					match.setCupLevel(CupLevel.fromInt(iCupLevel));
-					tmp = (Element) ele.getElementsByTagName("CupLevelIndex").item(0);
-					iCupLevelIndex = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-					match.setCupLevelIndex(CupLevelIndex.fromInt(iCupLevelIndex));
-				}
-				else if (iMatchType == 50) {
-					TournamentDetails oTournamentDetails = DBManager.instance().getTournamentDetailsFromDB(tournamentId);
-					if (oTournamentDetails == null)
-					{
-						oTournamentDetails = getTournamentDetails(tournamentId); // download info about tournament from HT
-						DBManager.instance().storeTournamentDetailsIntoDB(oTournamentDetails); // store tournament details into DB
-					}
-					match.setTournamentTypeID(oTournamentDetails.getTournamentType());
-				}
-
-				tmp = (Element) ele.getElementsByTagName("HomeTeam").item(0);
-				match.setHomeTeamID(Integer.parseInt(tmp
-						.getElementsByTagName("HomeTeamID").item(0)
-						.getFirstChild().getNodeValue()));
-				match.setHomeTeamName(tmp.getElementsByTagName(
-						"HomeTeamName").item(0).getFirstChild().getNodeValue());
-				tmp = (Element) ele.getElementsByTagName("AwayTeam").item(0);
-				match.setGuestTeamID(Integer.parseInt(tmp
-						.getElementsByTagName("AwayTeamID").item(0)
-						.getFirstChild().getNodeValue()));
-				match.setGuestTeamName(tmp.getElementsByTagName(
-						"AwayTeamName").item(0).getFirstChild().getNodeValue());
-				tmp = (Element) ele.getElementsByTagName("HomeGoals").item(0);
-				match.setHomeTeamGoals(Integer.parseInt(tmp.getFirstChild()
-						.getNodeValue()));
-				tmp = (Element) ele.getElementsByTagName("AwayGoals").item(0);
-				match.setGuestTeamGoals(Integer.parseInt(tmp.getFirstChild()
-						.getNodeValue()));
-				match.setOrdersGiven(true);
-				match.setMatchStatus(MatchKurzInfo.FINISHED);
-				matches.add(match);
+		if (iMatchType == 3) {
+			iCupLevel = Integer.parseInt(ele.get("CupLevel"));
+			match.setCupLevel(CupLevel.fromInt(iCupLevel));
+			iCupLevelIndex = Integer.parseInt(ele.get("CupLevelIndex"));
+			match.setCupLevelIndex(CupLevelIndex.fromInt(iCupLevelIndex));
+		}
+		else if (iMatchType == 50) {
+			TournamentDetails oTournamentDetails = DBManager.instance().getTournamentDetailsFromDB(tournamentId);
+			if (oTournamentDetails == null)
+			{
+				oTournamentDetails = getTournamentDetails(tournamentId); // download info about tournament from HT
+				DBManager.instance().storeTournamentDetailsIntoDB(oTournamentDetails); // store tournament details into DB
 			}
-		} catch (Exception e) {
-			matches.clear();
-			HOLogger.instance().log(XMLMatchArchivParser.class, e);			
+			match.setTournamentTypeID(oTournamentDetails.getTournamentType());
 		}
-		return matches;
+
+		match.setHomeTeamID(Integer.parseInt(ele.get("HomeTeamID")));
+		match.setHomeTeamName(ele.get("HomeTeamName"));
+		match.setGuestTeamID(Integer.parseInt(ele.get("AwayTeamID")));
+		match.setGuestTeamName(ele.get("AwayTeamName"));
+		match.setHomeTeamGoals(Integer.parseInt(ele.get("HomeGoals")));
+		match.setGuestTeamGoals(Integer.parseInt(ele.get("AwayGoals")));
+		match.setOrdersGiven(true);
+		match.setMatchStatus(MatchKurzInfo.FINISHED);
+		return match;
 	}
 }
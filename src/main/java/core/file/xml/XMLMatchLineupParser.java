@@ -10,10 +10,12 @@ import module.lineup.substitution.model.MatchOrderType;
 import module.lineup.substitution.model.RedCardCriteria;
 import module.lineup.substitution.model.Substitution;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 
 /**
@@ -29,41 +31,53 @@ public class XMLMatchLineupParser {
 	}
 
 	public static MatchLineup parseMatchLineupFromString(String inputStream) {
-		return createLineup(XMLManager.parseString(inputStream));
+		var reader = XMLStreamParser.createReader(inputStream);
+		if (reader == null) {
+			return new MatchLineup();
+		}
+		try {
+			return createLineup(reader);
+		} finally {
+			XMLStreamParser.close(reader);
+		}
 	}
 
-	private static MatchLineup createLineup(Document doc) {
+	private static MatchLineup createLineup(XMLStreamReader reader) {
 		MatchLineup ml = new MatchLineup();
-		if (doc == null) {
-			return ml;
-		}
 
 		try {
-			Element root = doc.getDocumentElement();
-
-			Element ele = (Element) root.getElementsByTagName("MatchID").item(0);
-			ml.setMatchID(Integer.parseInt(ele.getFirstChild().getNodeValue()));
-
-			ele = (Element) root.getElementsByTagName("MatchType").item(0);
-			ml.setMatchTyp(MatchType.getById(Integer.parseInt(ele.getFirstChild().getNodeValue())));
-
-			ele = (Element) root.getElementsByTagName("HomeTeam").item(0);
-			ml.setHomeTeamId(Integer.parseInt(ele.getElementsByTagName("HomeTeamID").item(0)
-					.getFirstChild().getNodeValue()));
-			ml.setHomeTeamName(ele.getElementsByTagName("HomeTeamName").item(0).getFirstChild()
-					.getNodeValue());
-			ele = (Element) root.getElementsByTagName("AwayTeam").item(0);
-			ml.setGuestTeamId(Integer.parseInt(ele.getElementsByTagName("AwayTeamID").item(0)
-					.getFirstChild().getNodeValue()));
-			ml.setGuestTeamName(ele.getElementsByTagName("AwayTeamName").item(0).getFirstChild()
-					.getNodeValue());
-
-			MatchLineupTeam team = createTeam(ml.getMatchType(), ml.getMatchID(), (Element) root.getElementsByTagName("Team").item(0));
-
-			if (team.getTeamID() == ml.getHomeTeamId()) {
-				ml.setHomeTeam(team);
-			} else {
-				ml.setGuestTeam(team);
+			boolean teamRead = false;
+			while (reader.hasNext()) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+					continue;
+				}
+				switch (reader.getLocalName()) {
+					case "MatchID" -> ml.setMatchID(Integer.parseInt(reader.getElementText()));
+					case "MatchType" -> ml.setMatchTyp(MatchType.getById(Integer.parseInt(reader.getElementText())));
+					case "HomeTeam" -> {
+						var ele = XMLStreamParser.readRecord(reader);
+						ml.setHomeTeamId(Integer.parseInt(ele.get("HomeTeamID")));
+						ml.setHomeTeamName(ele.get("HomeTeamName"));
+					}
+					case "AwayTeam" -> {
+						var ele = XMLStreamParser.readRecord(reader);
+						ml.setGuestTeamId(Integer.parseInt(ele.get("AwayTeamID")));
+						ml.setGuestTeamName(ele.get("AwayTeamName"));
+					}
+					case "Team" -> {
+						if (!teamRead) {
+							teamRead = true;
+							MatchLineupTeam team = createTeam(ml.getMatchType(), ml.getMatchID(), reader);
+							if (team.getTeamID() == ml.getHomeTeamId()) {
+								ml.setHomeTeam(team);
+							} else {
+								ml.setGuestTeam(team);
+							}
+						} else {
+							XMLStreamParser.skipElement(reader);
+						}
+					}
+				}
 			}
 		} catch (Exception e) {
 			HOLogger.instance().log(XMLMatchLineupParser.class, e);
@@ -73,19 +87,15 @@ public class XMLMatchLineupParser {
 		return ml;
 	}
 
-	private static MatchLineupPosition createPlayer(MatchType matchType, Element ele) {
+	private static MatchLineupPosition createPlayer(MatchType matchType, Map<String, String> ele) {
 		int roleID = -1;
 		int behavior = 0;
 		double rating = -1.0d;
 		double ratingStarsEndOfMatch = -1.0d;
 		String name = "";
 
-		Element tmp = (Element) ele.getElementsByTagName("PlayerID").item(0);
-		int spielerID = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-		tmp = (Element) ele.getElementsByTagName("RoleID").item(0);
-		if (tmp != null) {
-			roleID = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-		}
+		int spielerID = Integer.parseInt(ele.get("PlayerID"));
+		roleID = XMLStreamParser.getInt(ele, "RoleID", roleID);
 
 		// This is the right spot to wash the old role IDs if arrived by xml.
 		// Position code is not include in 1.6 xml. It is not needed from the
@@ -95,17 +105,11 @@ public class XMLMatchLineupParser {
 		// if we find more than one repositioning to the same position 
 		// (old setup where more than 3 forwards was possible)
 
-		// if (roleID == 17 || roleID == 14) {
-		// System.out.println("Give me somewhere to put a breakpoint");
-		// }
-
-		// HOLogger.instance().debug(getClass(),"RoleID in: " + roleID);
-
 		// nur wenn Player existiert
 		if (spielerID > 0) {
 			// First- and LastName can be empty
-			name = getStringValue((Element)ele.getElementsByTagName("FirstName").item(0));
-			var lastName = getStringValue((Element)ele.getElementsByTagName("LastName").item(0));
+			name = ele.getOrDefault("FirstName", "");
+			var lastName = ele.getOrDefault("LastName", "");
 			if ( name.length()>0 && lastName.length()>0) name = name + " ";
 			name = name + lastName;
 
@@ -123,11 +127,7 @@ public class XMLMatchLineupParser {
 			} else if ((roleID >= 0)
 					&& (roleID < IMatchRoleID.setPieces)
 					|| ((roleID < IMatchRoleID.startReserves) && (roleID > IMatchRoleID.keeper))) {
-				tmp = (Element) ele.getElementsByTagName("Behaviour").item(0);
-				behavior = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-
-				// HOLogger.instance().debug(getClass(),"Behavior found: " +
-				// behavior);
+				behavior = Integer.parseInt(ele.get("Behaviour"));
 
 				switch (behavior) {
 					case IMatchRoleID.OLD_EXTRA_DEFENDER -> {
@@ -158,14 +158,12 @@ public class XMLMatchLineupParser {
 			if ((roleID >= IMatchRoleID.startLineup)
 					&& (roleID < IMatchRoleID.startReserves)
 					|| ((roleID >= IMatchRoleID.FirstPlayerReplaced) && (roleID <= IMatchRoleID.ThirdPlayerReplaced))) {
-				tmp = (Element) ele.getElementsByTagName("RatingStars").item(0);
-				if ( tmp != null) {
-					rating = Double
-							.parseDouble(tmp.getFirstChild().getNodeValue().replaceAll(",", "."));
-					tmp = (Element) ele.getElementsByTagName("RatingStarsEndOfMatch").item(0);
-					if ( tmp != null){ // info is not available for youth players
-						ratingStarsEndOfMatch = Double.parseDouble(tmp.getFirstChild().getNodeValue()
-								.replaceAll(",", "."));
+				var value = ele.get("RatingStars");
+				if ( value != null) {
+					rating = Double.parseDouble(value.replaceAll(",", "."));
+					value = ele.get("RatingStarsEndOfMatch");
+					if ( value != null){ // info is not available for youth players
+						ratingStarsEndOfMatch = Double.parseDouble(value.replaceAll(",", "."));
 					}
 				}
 			}
@@ -177,34 +175,60 @@ public class XMLMatchLineupParser {
 	}
 
 	/**
-	 * Get string content of ELement. If content is empty an empty string is returned.
+	 * Read the team element.
+	 * The players of the starting lineup and the substitutions are listed before the lineup at the end of match.
+	 * Only those are kept until the end of the team element, the lineup players are created while reading.
 	 */
-	private static String getStringValue(Element tmp) {
-		if ( tmp.getFirstChild()!=null) return tmp.getFirstChild().getNodeValue();
-		return "";
-	}
+	private static MatchLineupTeam createTeam(MatchType matchType, int matchID, XMLStreamReader reader) throws XMLStreamException {
+		final Map<String, String> header = new HashMap<>();
+		final List<MatchLineupPosition> lineup = new ArrayList<>();
+		final List<MatchLineupPosition> starting = new ArrayList<>();
+		final List<Substitution> substitutions = new ArrayList<>();
+		String list = null;
+		int depth = 1;
+
+		while (depth > 0 && reader.hasNext()) {
+			int type = reader.next();
+			if (type == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+				if (depth == 1) list = null;
+				continue;
+			} else if (type != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+			depth++;
+			var name = reader.getLocalName();
+			if (depth == 2) {
+				switch (name) {
+					case "TeamID", "ExperienceLevel", "StyleOfPlay", "TeamName" -> {
+						header.put(name, reader.getElementText());
+						depth--;
+					}
+					default -> list = name;
+				}
+			} else if ("Player".equals(name)) {
+				var player = createPlayer(matchType, XMLStreamParser.readRecord(reader));
+				depth--;
+				if ("Lineup".equals(list)) {
+					lineup.add(player);
+				} else if ("StartingLineup".equals(list)) {
+					starting.add(player);
+				}
+			} else if ("Substitution".equals(name) && "Substitutions".equals(list)) {
+				substitutions.add(createSubstitution(XMLStreamParser.readRecord(reader), substitutions.size()));
+				depth--;
+			}
+		}
 
-	private static MatchLineupTeam createTeam(MatchType matchType, int matchID, Element ele) {
-		Element tmp = (Element) ele.getElementsByTagName("TeamID").item(0);
-		int teamId = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-		tmp = (Element) ele.getElementsByTagName("ExperienceLevel").item(0);
-		int erfahrung = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-		tmp = (Element) ele.getElementsByTagName("StyleOfPlay").item(0);
-		int styleOfPlay = Integer.parseInt(tmp.getFirstChild().getNodeValue());
-		tmp = (Element) ele.getElementsByTagName("TeamName").item(0);
-		String teamName = tmp.getFirstChild().getNodeValue();
+		int teamId = Integer.parseInt(header.get("TeamID"));
+		int erfahrung = Integer.parseInt(header.get("ExperienceLevel"));
+		int styleOfPlay = Integer.parseInt(header.get("StyleOfPlay"));
+		String teamName = header.get("TeamName");
 		MatchLineupTeam team = new MatchLineupTeam(matchType, matchID, teamName, teamId, erfahrung);
 
-		Element starting = (Element) ele.getElementsByTagName("StartingLineup").item(0);
-		Element subs = (Element) ele.getElementsByTagName("Substitutions").item(0);
-
-		tmp = (Element) ele.getElementsByTagName("Lineup").item(0);
-
 		// The normal end of match report
 		// Adding entries
-		NodeList list = tmp.getElementsByTagName("Player");
-
-		for (int i = 0; (list != null) && (i < list.getLength()); i++) {
+		for (MatchLineupPosition player : lineup) {
 
 			// We want to stop an api error that has repositioned players as
 			// substituted.
@@ -212,7 +236,6 @@ public class XMLMatchLineupParser {
 			// substituted
 			// players are always last in the API, there are at least signs of a
 			// fixed order.
-			MatchLineupPosition player = createPlayer(matchType, (Element) list.item(i));
 			if (team.getPlayerByID(player.getPlayerId()) != null) {
 				if ((player.getRoleId() >= IMatchRoleID.FirstPlayerReplaced)
 						&& (player.getRoleId() <= IMatchRoleID.ThirdPlayerReplaced)) {
@@ -226,10 +249,7 @@ public class XMLMatchLineupParser {
 		}
 
 		// The starting lineup
-		list = starting.getElementsByTagName("Player");
-
-		for (int i = 0; (list != null) && (i < list.getLength()); i++) {
-			MatchLineupPosition startPlayer = createPlayer(matchType, (Element) list.item(i));
+		for (MatchLineupPosition startPlayer : starting) {
 			startPlayer.setStartPosition(startPlayer.getRoleId()); // it is the role id
 			startPlayer.setStartBehavior(startPlayer.getBehaviour());
 
@@ -252,14 +272,7 @@ public class XMLMatchLineupParser {
 		}
 
 		// Substitutions
-
-		list = subs.getElementsByTagName("Substitution");
-		List<Substitution> substitutions = new ArrayList<>();
-
-		for (int i = 0; (list != null) && (i < list.getLength()); i++) {
-
-			Substitution s = createSubstitution((Element) list.item(i), i);
-			substitutions.add(s);
+		for (Substitution s : substitutions) {
 			// We need to make sure the players involved are in the team lineup
 			// If missing, we only know the ID
 			if ((s.getObjectPlayerID() > 0) &&
@@ -279,55 +292,25 @@ public class XMLMatchLineupParser {
 		return team;
 	}
 
-	private static Substitution createSubstitution(Element ele, int playerOrderID) {
-
-		int playerIn = -1;
-		int playerOut = -1;
-		byte orderTypeId = -1;
-		byte matchMinuteCriteria = -1;
-		byte pos = -1;
-		byte behaviour = -1;
-		byte card = -1;
-		byte standing = -1;
-
-		Element tmp = (Element) ele.getElementsByTagName("MatchMinute").item(0);
-		if (tmp != null) {
-			matchMinuteCriteria = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
-
-		tmp = (Element) ele.getElementsByTagName("GoalDiffCriteria").item(0);
-		if (tmp != null) {
-			standing = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
-		tmp = (Element) ele.getElementsByTagName("RedCardCriteria").item(0);
-		if (tmp != null) {
-			card = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
-		tmp = (Element) ele.getElementsByTagName("SubjectPlayerID").item(0);
-		if (tmp != null) {
-			playerOut = Integer.parseInt(XMLManager.getFirstChildNodeValue(tmp));
-		}
-		tmp = (Element) ele.getElementsByTagName("ObjectPlayerID").item(0);
-		if (tmp != null) {
-			playerIn = Integer.parseInt(XMLManager.getFirstChildNodeValue(tmp));
-		}
-
-		tmp = (Element) ele.getElementsByTagName("OrderType").item(0);
-		if (tmp != null) {
-			orderTypeId = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
-		tmp = (Element) ele.getElementsByTagName("NewPositionId").item(0);
-		if (tmp != null) {
-			pos = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
-		tmp = (Element) ele.getElementsByTagName("NewPositionBehaviour").item(0);
-		if (tmp != null) {
-			behaviour = Byte.parseByte(XMLManager.getFirstChildNodeValue(tmp));
-		}
+	private static Substitution createSubstitution(Map<String, String> ele, int playerOrderID) {
+		byte matchMinuteCriteria = getByte(ele, "MatchMinute");
+		byte standing = getByte(ele, "GoalDiffCriteria");
+		byte card = getByte(ele, "RedCardCriteria");
+		int playerOut = XMLStreamParser.getInt(ele, "SubjectPlayerID", -1);
+		int playerIn = XMLStreamParser.getInt(ele, "ObjectPlayerID", -1);
+		byte orderTypeId = getByte(ele, "OrderType");
+		byte pos = getByte(ele, "NewPositionId");
+		byte behaviour = getByte(ele, "NewPositionBehaviour");
 		return new Substitution(playerOrderID, playerIn, playerOut, orderTypeId,
 				matchMinuteCriteria, pos, behaviour, RedCardCriteria.getById(card),
 				GoalDiffCriteria.getById(standing));
 	}
+
+	private static byte getByte(Map<String, String> ele, String key) {
+		var value = ele.get(key);
+		if (value == null) return -1;
+		return Byte.parseByte(value);
+	}
 /*
 	private static MatchLineupPosition createStartPlayer(Element ele) {
 		MatchLineupPosition player = null;
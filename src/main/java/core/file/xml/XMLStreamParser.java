@@ -0,0 +1,132 @@
+package core.file.xml;
+
+import core.util.HOLogger;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Helper of the streaming (StAX) parsers of large CHPP files like match details, lineups and match archives.
+ * <p>
+ * Instead of building the DOM of the whole file, the parsers pull the elements one after the other.
+ * Repeated elements (events, players, matches) are read as flat records, which map the names of their
+ * leaf elements to the text values. As with getElementsByTagName(name).item(0) the first occurrence
+ * of a name wins. So the memory is bounded by one record.
+ * </p>
+ */
+final class XMLStreamParser {
+
+	private static final XMLInputFactory factory = createFactory();
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private XMLStreamParser() {
+	}
+
+	private static XMLInputFactory createFactory() {
+		var ret = XMLInputFactory.newInstance();
+		ret.setProperty(XMLInputFactory.IS_COALESCING, true);
+		ret.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		ret.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		ret.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+		return ret;
+	}
+
+	/**
+	 * Creates a reader positioned on the root element of the CHPP file
+	 *
+	 * @param input xml string
+	 * @return reader or null, if the input is no HattrickData file
+	 */
+	static XMLStreamReader createReader(String input) {
+		if (input == null) return null;
+		try {
+			XMLStreamReader reader;
+			synchronized (factory) {
+				reader = factory.createXMLStreamReader(new StringReader(input));
+			}
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+					if ("HattrickData".equals(reader.getLocalName())) {
+						return reader;
+					}
+					break;
+				}
+			}
+			reader.close();
+		} catch (XMLStreamException e) {
+			HOLogger.instance().log(XMLStreamParser.class, "Parser fehler: " + e);
+		}
+		HOLogger.instance().error(XMLStreamParser.class, "Cannot parse data:" + input);
+		return null;
+	}
+
+	/**
+	 * Reads the current element as record of its leaf elements.
+	 * The reader has to be positioned on the start element, it is positioned on the end element afterwards.
+	 *
+	 * @return map of leaf element names and their text (empty elements are mapped to "")
+	 */
+	static Map<String, String> readRecord(XMLStreamReader reader) throws XMLStreamException {
+		var ret = new HashMap<String, String>();
+		var text = new StringBuilder();
+		String leaf = null;
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT -> {
+					depth++;
+					leaf = reader.getLocalName();
+					text.setLength(0);
+				}
+				case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+					if (leaf != null) text.append(reader.getText());
+				}
+				case XMLStreamConstants.END_ELEMENT -> {
+					depth--;
+					if (leaf != null) {
+						ret.putIfAbsent(leaf, text.toString());
+						leaf = null;
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Skips the current element including all its children
+	 */
+	static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT -> depth++;
+				case XMLStreamConstants.END_ELEMENT -> depth--;
+			}
+		}
+	}
+
+	static void close(XMLStreamReader reader) {
+		try {
+			reader.close();
+		} catch (XMLStreamException ignored) {
+		}
+	}
+
+	/**
+	 * Integer value of the record, or the default if missing
+	 */
+	static int getInt(Map<String, String> record, String key, int def) {
+		var value = record.get(key);
+		if (value == null) return def;
+		return Integer.parseInt(value);
+	}
+}
@@ -20,6 +20,8 @@ public class DebugMode {
 		menu.add(getSQLDialogMenuItem());
 		menu.add(getLookAndFeelDialogMenuItem());
 		menu.add(getSaveXMLMenuItem());
+		menu.add(getOfflineMenuItem());
+		menu.add(getRecordMenuItem());
 //		menu.add(getPlayerHistoryMenuItem());
 //		menu.add(getMatchStatisticsMenuItem());
 		//menu.add(getLanguageMenuItem());
@@ -74,6 +76,30 @@ public class DebugMode {
 		return newItem;
 	}
 
+	private static JMenuItem getOfflineMenuItem() {
+		JMenuItem newItem = new JCheckBoxMenuItem("Offline (use cached XML)", MyConnector.isOffline());
+		newItem.addItemListener(new ItemListener() {
+
+			@Override
+			public void itemStateChanged(ItemEvent e) {
+				MyConnector.setOffline(e.getStateChange() == ItemEvent.SELECTED);
+			}
+		});
+		return newItem;
+	}
+
+	private static JMenuItem getRecordMenuItem() {
+		JMenuItem newItem = new JCheckBoxMenuItem("Record all XML for offline use", MyConnector.isRecording());
+		newItem.addItemListener(new ItemListener() {
+
+			@Override
+			public void itemStateChanged(ItemEvent e) {
+				MyConnector.setRecording(e.getStateChange() == ItemEvent.SELECTED);
+			}
+		});
+		return newItem;
+	}
+
 //	private static JMenuItem getPlayerHistoryMenuItem() {
 //		JMenuItem newItem = new JMenuItem("Player History");
 //		newItem.addActionListener(new ActionListener() {
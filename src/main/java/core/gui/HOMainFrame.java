@@ -439,10 +439,11 @@ public final class HOMainFrame extends JFrame implements Refreshable, ActionList
 
 		m_jtpTabbedPane = new HOTabbedPane();
 
+		// only the selected tab is created now, the others on first use or by the warm-up after startup
 		IModule[] activeModules = ModuleManager.instance().getModules(true);
 		for (IModule module : activeModules) {
 			if (module.hasMainTab() && module.isStartup()) {
-				m_jtpTabbedPane.showTab(module.getModuleId());
+				m_jtpTabbedPane.addDeferredTab(module.getModuleId());
 			}
 		}
 
@@ -7,14 +7,20 @@ import java.awt.Component;
 
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 
 public final class HOTabbedPane extends JTabbedPane {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Delay between the tabs created by the warm-up (ms) */
+	private static final int WARM_UP_DELAY = 300;
+
 	public HOTabbedPane() {
 		super();
+		// deferred tabs are created when they are shown the first time
+		addChangeListener(e -> createModulePanel(getSelectedIndex()));
 	}
 
 	public void addTab(String title, Component component, boolean closeIcon) {
@@ -43,6 +49,37 @@ public final class HOTabbedPane extends JTabbedPane {
 		}
 	}
 
+	/**
+	 * Adds the tab of a module without creating its panel. The panel is created when the tab is
+	 * shown the first time, when the panel is requested or by the {@link #warmUp()}.
+	 *
+	 * @param moduleId id of the module
+	 */
+	public void addDeferredTab(int moduleId) {
+		IModule module = ModuleManager.instance().getModule(moduleId);
+		if (module.hasMainTab() && indexOfTab(module.getDescription()) == -1) {
+			addTab(module.getDescription(), new DeferredPanel(module), true);
+		}
+	}
+
+	/**
+	 * Creates the panels of the deferred tabs one after another in the event dispatch thread.
+	 * The tabs are created in separate events, so the user interface stays responsive.
+	 */
+	public void warmUp() {
+		var timer = new Timer(WARM_UP_DELAY, null);
+		timer.addActionListener(e -> {
+			for (int i = 0; i < getTabCount(); i++) {
+				if (getComponentAt(i) instanceof DeferredPanel) {
+					createModulePanel(i);
+					return;
+				}
+			}
+			timer.stop();
+		});
+		timer.start();
+	}
+
 	public JPanel getModulePanel(int moduleId) {
 		IModule module = ModuleManager.instance().getModule(moduleId);
 		if (module.hasMainTab()) {
@@ -52,13 +89,43 @@ public final class HOTabbedPane extends JTabbedPane {
 				setSelectedIndex(getTabCount() - 1);
 				index = getTabCount() - 1;
 			}
-			return (JPanel) getComponent(index);
+			return createModulePanel(index);
 		}
 		return null;
 	}
 
+	/**
+	 * Replaces the placeholder of a deferred tab by the panel of the module
+	 *
+	 * @param index index of the tab
+	 * @return the panel of the tab
+	 */
+	private JPanel createModulePanel(int index) {
+		if (index < 0 || index >= getTabCount()) {
+			return null;
+		}
+		var component = getComponentAt(index);
+		if (component instanceof DeferredPanel deferred) {
+			var panel = deferred.module.createTabPanel();
+			setComponentAt(index, panel);
+			return panel;
+		}
+		return (JPanel) component;
+	}
+
 	public boolean isModuleTabVisible(int moduleId) {
 		IModule module = ModuleManager.instance().getModule(moduleId);
 		return indexOfTab(module.getDescription()) != -1;
 	}
+
+	/**
+	 * Placeholder of a tab, which is not created yet
+	 */
+	private static final class DeferredPanel extends JPanel {
+		private final transient IModule module;
+
+		private DeferredPanel(IModule module) {
+			this.module = module;
+		}
+	}
 }
@@ -6,6 +6,7 @@ import core.model.HOVerwaltung;
 import core.util.HODateTime;
 
 import javax.swing.*;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableColumnModel;
 import java.sql.Timestamp;
@@ -44,6 +45,9 @@ public abstract class HOTableModel extends AbstractTableModel {
 	/** data of table **/
 	protected Object[][] m_clData;
 
+	/** marks a cell of m_clData, which is computed on first access by {@link #computeValueAt(int, int)} **/
+	protected static final Object NOT_COMPUTED = new Object();
+
 	/** instance of the same class **/
 	protected int instance;
 
@@ -170,12 +174,78 @@ public abstract class HOTableModel extends AbstractTableModel {
 	@Override
 	public final Object getValueAt(int row, int column) {
 		if (m_clData != null) {
-			return m_clData[row][column];
+			Object ret = m_clData[row][column];
+			if (ret == NOT_COMPUTED) {
+				ret = computeValueAt(row, column);
+				m_clData[row][column] = ret;
+			}
+			return ret;
 		}
 
 		return null;
 	}
 
+	/**
+	 * Computes the value of a cell, which is marked as {@link #NOT_COMPUTED}.
+	 * Models filling m_clData lazily have to overwrite this method.
+	 *
+	 * @param row row of the cell
+	 * @param column displayed column of the cell
+	 * @return Object
+	 */
+	protected Object computeValueAt(int row, int column) {
+		return null;
+	}
+
+	/**
+	 * create a data[][] of the given row count, all cells are computed on first access
+	 *
+	 * @param rowCount count of rows
+	 */
+	protected final void initLazyData(int rowCount) {
+		m_clData = new Object[rowCount][getDisplayedColumnCount()];
+		for (Object[] row : m_clData) {
+			Arrays.fill(row, NOT_COMPUTED);
+		}
+	}
+
+	/**
+	 * Marks all cells of the row as not computed and notifies the table of the changed row
+	 *
+	 * @param row row in model
+	 */
+	protected final void invalidateRow(int row) {
+		if (m_clData != null && row >= 0 && row < m_clData.length) {
+			Arrays.fill(m_clData[row], NOT_COMPUTED);
+			fireTableRowsUpdated(row, row);
+		}
+	}
+
+	/**
+	 * Marks the cells of the given columns as not computed and notifies the table of the updated columns,
+	 * so a sorter resorts the rows, if the sort column is among them.
+	 * Columns, which are not displayed, are ignored.
+	 *
+	 * @param columnIds ids of the user columns
+	 */
+	protected final void invalidateColumns(int... columnIds) {
+		if (m_clData == null || m_clData.length == 0) {
+			return;
+		}
+		var columns = Arrays.stream(columnIds)
+				.map(this::getColumnIndexOfDisplayedColumn)
+				.filter(column -> column >= 0)
+				.toArray();
+		for (Object[] row : m_clData) {
+			for (int column : columns) {
+				row[column] = NOT_COMPUTED;
+			}
+		}
+		for (int column : columns) {
+			fireTableChanged(new TableModelEvent(this, 0, m_clData.length - 1, column));
+		}
+	}
+
 	@Override
 	public final int getRowCount() {
 		return (m_clData != null) ? m_clData.length : 0;
@@ -214,7 +284,7 @@ public abstract class HOTableModel extends AbstractTableModel {
 				i++;
 			}
 
-			return m_clData[row][i];
+			return getValueAt(row, i);
 		}
 
 		return null;
@@ -369,7 +369,44 @@ public class TableSorter extends TableMap {
 
     @Override
 	public final void tableChanged(TableModelEvent tablemodelevent) {
+        if (isRowsUpdated(tablemodelevent)) {
+            if (isSortColumnUpdated(tablemodelevent)) {
+                // the order of the rows may have changed
+                sortByColumn(currentColumn, ascending);
+            } else {
+                // values of other columns changed only, the current sorting is kept
+                super.tableChanged(toSortedEvent(tablemodelevent));
+            }
+            return;
+        }
         reallocateIndexes();
         super.tableChanged(tablemodelevent);
     }
+
+    private boolean isRowsUpdated(TableModelEvent e) {
+        return e.getType() == TableModelEvent.UPDATE
+                && e.getFirstRow() != TableModelEvent.HEADER_ROW
+                && e.getLastRow() != Integer.MAX_VALUE
+                && indexes != null
+                && indexes.length == getModel().getRowCount();
+    }
+
+    private boolean isSortColumnUpdated(TableModelEvent e) {
+        return currentColumn >= 0
+                && (e.getColumn() == TableModelEvent.ALL_COLUMNS || sortingColumns.contains(e.getColumn()));
+    }
+
+    /**
+     * Maps the rows of the model event to the sorted rows
+     */
+    private TableModelEvent toSortedEvent(TableModelEvent e) {
+        if (e.getFirstRow() == e.getLastRow()) {
+            for (int i = 0; i < indexes.length; i++) {
+                if (indexes[i] == e.getFirstRow()) {
+                    return new TableModelEvent(this, i, i, e.getColumn());
+                }
+            }
+        }
+        return new TableModelEvent(this, 0, indexes.length - 1, e.getColumn());
+    }
 }
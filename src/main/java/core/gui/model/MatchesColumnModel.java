@@ -1,7 +1,6 @@
 package core.gui.model;
 
 import core.gui.comp.table.HOTableModel;
-import core.gui.comp.table.UserColumn;
 import core.gui.theme.HOColorName;
 import core.gui.theme.ThemeManager;
 import core.model.enums.MatchTypeExtended;
@@ -48,26 +47,23 @@ public final class MatchesColumnModel extends HOTableModel {
 	}
 
 	/**
-	 * Erzeugt einen Data[][] aus dem Spielervector
+	 * Erzeugt einen leeren Data[][] aus den Matches, die Zellen werden erst beim Anzeigen berechnet
 	 */
 	@Override
 	protected void initData() {
-		UserColumn[] tmpDisplayedColumns = getDisplayedColumns();
-		m_clData = new Object[m_clMatches.length][tmpDisplayedColumns.length];
-
-		for (int i = 0; i < m_clMatches.length; i++) {
-
-			for (int j = 0; j < tmpDisplayedColumns.length; j++) {
-				if (j != 5 && j != 6) {
-					m_clData[i][j] = ((MatchKurzInfoColumn) tmpDisplayedColumns[j]).getTableEntry(m_clMatches[i]);
-				} else {  // HatStats calculations need information from match details
-					var oMD = m_clMatches[i].getMatchdetails();
-					m_clData[i][j] = ((MatchKurzInfoColumn) tmpDisplayedColumns[j]).getTableEntry(m_clMatches[i], oMD);
-				}
-			}
+		initLazyData(m_clMatches.length);
+		fireTableDataChanged();
+	}
 
+	@Override
+	protected Object computeValueAt(int row, int column) {
+		var tmpDisplayedColumn = (MatchKurzInfoColumn) getDisplayedColumns()[column];
+		if (column != 5 && column != 6) {
+			return tmpDisplayedColumn.getTableEntry(m_clMatches[row]);
+		} else {  // HatStats calculations need information from match details
+			var oMD = m_clMatches[row].getMatchdetails();
+			return tmpDisplayedColumn.getTableEntry(m_clMatches[row], oMD);
 		}
-		fireTableDataChanged();
 	}
 
 	/**
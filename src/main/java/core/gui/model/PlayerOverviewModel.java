@@ -5,7 +5,10 @@ import core.gui.comp.table.UserColumn;
 import core.model.player.Player;
 import module.playerOverview.SpielerTrainingsVergleichsPanel;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -20,6 +23,12 @@ public final class PlayerOverviewModel extends HOTableModel {
 	
 	/** all players **/
 	private List<Player> m_vPlayers;
+
+	/** comparison player by row, rows are missing if not determined yet **/
+	private final Map<Integer, Player> vergleichsPlayers = new HashMap<>();
+
+	/** players of their first HRF, loaded on first use **/
+	private Map<Integer, Player> firstHRFPlayers;
 	
 	/**
 	 * constructor
@@ -100,13 +109,24 @@ public final class PlayerOverviewModel extends HOTableModel {
      */
     public void reInitDataHRFVergleich() {
         initData();
+        if (!m_vPlayers.isEmpty()) {
+            fireTableRowsUpdated(0, m_vPlayers.size() - 1);
+        }
     }
 
     
     /**
      * Returns the {@link Player} with the same ID as the instance passed, or <code>null</code>.
+     * The comparison players are determined once per row.
      */
-    private Player getVergleichsSpieler(Player vorlage) {
+    private Player getVergleichsSpieler(int row) {
+        if (!vergleichsPlayers.containsKey(row)) {
+            vergleichsPlayers.put(row, findVergleichsSpieler(m_vPlayers.get(row)));
+        }
+        return vergleichsPlayers.get(row);
+    }
+
+    private Player findVergleichsSpieler(Player vorlage) {
         final int id = vorlage.getPlayerID();
 
         for (int i = 0;
@@ -128,46 +148,48 @@ public final class PlayerOverviewModel extends HOTableModel {
     
     /**
      * Returns the {@link Player} from the first HRF in which he appears.
+     * The players of all rows are loaded in one query.
      */
     private Player getVergleichsSpielerFirstHRF(Player vorlage) {
-        return core.db.DBManager.instance().getSpielerFirstHRF(vorlage.getPlayerID());
+        if (firstHRFPlayers == null) {
+            var ids = new ArrayList<Integer>();
+            for (Player player : m_vPlayers) {
+                ids.add(player.getPlayerID());
+            }
+            firstHRFPlayers = core.db.DBManager.instance().getSpielerFirstHRF(ids);
+        }
+        return firstHRFPlayers.get(vorlage.getPlayerID());
     }
     
 //  -----initialisierung-----------------------------------------
 
     /**
-     * create a data[][] from player-Vector
+     * create an empty data[][] from player-Vector, the cells are computed when the table shows them
      */
     @Override
 	protected void initData() {
-    	UserColumn [] tmpDisplayedColumns = getDisplayedColumns();
-    	m_clData = new Object[m_vPlayers.size()][tmpDisplayedColumns.length];
-    	
-    	for (int i = 0; i < m_vPlayers.size(); i++) {
-    		final Player aktuellerPlayer = m_vPlayers.get(i);
-    		final Player vergleichsPlayer = getVergleichsSpieler(aktuellerPlayer);
-    		
-    		for (int j = 0; j < tmpDisplayedColumns.length; j++) {
-    			m_clData[i][j] = ((PlayerColumn)tmpDisplayedColumns[j]).getTableEntry(aktuellerPlayer, vergleichsPlayer);
-			}
-    	}
+        vergleichsPlayers.clear();
+        firstHRFPlayers = null;
+        initLazyData(m_vPlayers.size());
+    }
+
+    @Override
+    protected Object computeValueAt(int row, int column) {
+        return ((PlayerColumn) getDisplayedColumns()[column]).getTableEntry(m_vPlayers.get(row), getVergleichsSpieler(row));
     }
     
+    /**
+     * Recomputes the row of the player, e.g. after its group or position was changed by the user
+     */
+    public void invalidatePlayer(Player player) {
+        invalidateRow(m_vPlayers.indexOf(player));
+    }
+
     /**
      * Passt nur die Aufstellung an
      */
     public void reInitData() {
-    	UserColumn [] tmpDisplayedColumns = getDisplayedColumns();
-        for (int i = 0; i < m_vPlayers.size(); i++) {
-            final Player aktuellerPlayer = m_vPlayers.get(i);
-            
-            for (int j = 0; j < tmpDisplayedColumns.length; j++) {
-				if(tmpDisplayedColumns[j].getId() == UserColumnFactory.NAME
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.LINUP
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.BEST_POSITION
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.GROUP)
-					m_clData[i][j] = ((PlayerColumn)tmpDisplayedColumns[j]).getTableEntry(aktuellerPlayer,null);
-			}
-        }   
+        invalidateColumns(UserColumnFactory.NAME, UserColumnFactory.LINUP, UserColumnFactory.BEST_POSITION,
+                UserColumnFactory.GROUP);
     }
 }
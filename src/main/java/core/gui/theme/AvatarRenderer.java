@@ -0,0 +1,219 @@
+package core.gui.theme;
+
+import core.model.player.PlayerAvatar;
+import core.util.HOLogger;
+import core.util.IOUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Renders the player avatars into png files.
+ * <p>
+ * The layer images of all avatars are fetched concurrently, each distinct layer only once. Fetched layers
+ * are kept in a cache folder, so the layers shared by the players (backgrounds, kits, faces) are downloaded
+ * only the first time. The avatars are composed in parallel as soon as their layers are available.
+ * The hash of the layer list of each rendered avatar is stored, an avatar is only rendered again if its
+ * layers have changed.
+ * </p>
+ */
+final class AvatarRenderer {
+
+	private static final String HASHES_FILE = "avatars.properties";
+	private static final int THREADS = 6;
+
+	private final Path avatarPath;
+	private final Path layerPath;
+	private final LayerFetcher fetcher;
+	private final int threads;
+
+	/**
+	 * Downloads the content of a layer url
+	 */
+	@FunctionalInterface
+	interface LayerFetcher {
+		byte[] fetch(String url) throws IOException;
+	}
+
+	AvatarRenderer(Path avatarPath) {
+		this(avatarPath, AvatarRenderer::download, THREADS);
+	}
+
+	AvatarRenderer(Path avatarPath, LayerFetcher fetcher, int threads) {
+		this.avatarPath = avatarPath;
+		this.layerPath = avatarPath.resolve("layers");
+		this.fetcher = fetcher;
+		this.threads = threads;
+	}
+
+	/**
+	 * Renders the avatars, which are missing or whose layers have changed
+	 *
+	 * @param avatars  avatars of the players
+	 * @param progress called with the count of finished and the count of all avatars to render
+	 * @return count of rendered avatars
+	 */
+	synchronized int render(List<PlayerAvatar> avatars, BiConsumer<Integer, Integer> progress) {
+		var hashes = loadHashes();
+		var outdated = new ArrayList<PlayerAvatar>();
+		for (var avatar : avatars) {
+			if (avatar.getlayers().isEmpty()) continue;
+			var hash = avatar.getLayersHash();
+			var id = String.valueOf(avatar.getPlayerID());
+			if (Files.exists(getAvatarFile(avatar))) {
+				var stored = hashes.getProperty(id);
+				if (stored == null) {
+					// rendered before the hashes were stored
+					hashes.setProperty(id, hash);
+					continue;
+				}
+				if (stored.equals(hash)) continue;
+			}
+			outdated.add(avatar);
+		}
+
+		int rendered = 0;
+		if (!outdated.isEmpty()) {
+			try {
+				Files.createDirectories(layerPath);
+			} catch (IOException e) {
+				HOLogger.instance().error(getClass(), "Layer cache not available: " + e);
+			}
+
+			var threadNumber = new AtomicInteger();
+			ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+				var thread = new Thread(r, "HO-avatar-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				// each distinct layer is fetched once
+				var layers = new HashMap<String, CompletableFuture<BufferedImage>>();
+				for (var avatar : outdated) {
+					for (var layer : avatar.getlayers()) {
+						layers.computeIfAbsent(layer.urlElement(),
+								url -> CompletableFuture.supplyAsync(() -> loadLayer(url), executor));
+					}
+				}
+
+				// avatars are composed when their layers are available
+				var renderings = new ArrayList<CompletableFuture<Void>>(outdated.size());
+				for (var avatar : outdated) {
+					var avatarLayers = avatar.getlayers().stream().map(l -> layers.get(l.urlElement()))
+							.toArray(CompletableFuture[]::new);
+					renderings.add(CompletableFuture.allOf(avatarLayers)
+							.thenRunAsync(() -> writeAvatar(avatar, layers), executor));
+				}
+
+				for (int i = 0; i < outdated.size(); i++) {
+					var avatar = outdated.get(i);
+					try {
+						renderings.get(i).join();
+						hashes.setProperty(String.valueOf(avatar.getPlayerID()), avatar.getLayersHash());
+						rendered++;
+					} catch (CompletionException e) {
+						HOLogger.instance().error(getClass(), "Error processing Player Avatar for player: "
+								+ avatar.getPlayerID() + ": " + e.getCause());
+					}
+					progress.accept(i + 1, outdated.size());
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		storeHashes(hashes);
+		return rendered;
+	}
+
+	private Path getAvatarFile(PlayerAvatar avatar) {
+		return avatarPath.resolve(avatar.getPlayerID() + ".png");
+	}
+
+	private void writeAvatar(PlayerAvatar avatar, Map<String, CompletableFuture<BufferedImage>> layers) {
+		try {
+			var image = avatar.compose(url -> layers.get(url).join());
+			var tmp = Files.createTempFile(avatarPath, "avatar", ".tmp");
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				ImageIO.write(image, "PNG", out);
+			}
+			Files.move(tmp, getAvatarFile(avatar), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Returns the layer image from the cache folder, or downloads it into the cache folder.
+	 * The cache file is named by the hash of the url.
+	 */
+	private BufferedImage loadLayer(String url) {
+		try {
+			var file = layerPath.resolve(IOUtils.sha256(url) + ".img");
+			byte[] content = null;
+			if (Files.exists(file)) {
+				content = Files.readAllBytes(file);
+			}
+			var image = content != null ? ImageIO.read(new ByteArrayInputStream(content)) : null;
+			if (image == null) {
+				// not cached or damaged
+				content = fetcher.fetch(url);
+				image = ImageIO.read(new ByteArrayInputStream(content));
+				if (image == null) {
+					throw new IOException("no image: " + url);
+				}
+				var tmp = Files.createTempFile(layerPath, "layer", ".tmp");
+				Files.write(tmp, content);
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return image;
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private Properties loadHashes() {
+		var ret = new Properties();
+		var file = avatarPath.resolve(HASHES_FILE);
+		if (Files.exists(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				ret.load(in);
+			} catch (IOException e) {
+				HOLogger.instance().warning(getClass(), "Avatar hashes not readable: " + e);
+			}
+		}
+		return ret;
+	}
+
+	private void storeHashes(Properties hashes) {
+		try (OutputStream out = Files.newOutputStream(avatarPath.resolve(HASHES_FILE))) {
+			hashes.store(out, "layer hashes of the player avatars");
+		} catch (IOException e) {
+			HOLogger.instance().warning(getClass(), "Avatar hashes not stored: " + e);
+		}
+	}
+
+	private static byte[] download(String url) throws IOException {
+		try (InputStream in = new URL(url).openStream()) {
+			return in.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package core.gui.theme;
+
+import core.model.UserParameter;
+import core.util.HOLogger;
+
+import javax.swing.Icon;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the icons, which are created at runtime (recolored svg icons, jerseys, arrows, scaled logos, ...).
+ * <p>
+ * The icons are stored by their key and the current theme. The cache holds at most {@link #MAX_ENTRIES} icons,
+ * the least recently used icon is removed first. The icons are soft referenced, so they can be collected
+ * if the memory is low. Hits and misses are counted for the statistics.
+ * </p>
+ */
+public final class IconCache {
+
+	private static final int MAX_ENTRIES = 2048;
+
+	private static final Map<Key, SoftReference<Icon>> icons = new LinkedHashMap<>(256, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, SoftReference<Icon>> eldest) {
+			if (size() > MAX_ENTRIES) {
+				evictions++;
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private static long hits;
+	private static long misses;
+	private static long evictions;
+	private static long collected;
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private IconCache() {
+	}
+
+	/**
+	 * Returns the cached icon
+	 *
+	 * @param key key of the icon, has to contain all parameters of the icon (size, colors, ...)
+	 * @return icon or null, if the icon is not cached
+	 */
+	public static synchronized Icon get(String key) {
+		var k = new Key(key);
+		var ref = icons.get(k);
+		Icon ret = ref != null ? ref.get() : null;
+		if (ret != null) {
+			hits++;
+		} else {
+			if (ref != null) {
+				// collected by the garbage collector
+				icons.remove(k);
+				collected++;
+			}
+			misses++;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the cached icon or creates and caches it
+	 *
+	 * @param key key of the icon, has to contain all parameters of the icon (size, colors, ...)
+	 * @param loader creates the icon, if it is not cached
+	 * @return icon, null if the loader returns null
+	 */
+	public static Icon get(String key, Supplier<Icon> loader) {
+		Icon ret = get(key);
+		if (ret == null) {
+			ret = loader.get();
+			if (ret != null) {
+				put(key, ret);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds the icon to the cache
+	 */
+	public static synchronized void put(String key, Icon icon) {
+		icons.put(new Key(key), new SoftReference<>(icon));
+	}
+
+	/**
+	 * Removes all icons
+	 */
+	public static synchronized void clear() {
+		icons.clear();
+	}
+
+	/**
+	 * Removes the icons, whose key starts with the prefix
+	 */
+	public static synchronized void removeByPrefix(String prefix) {
+		icons.keySet().removeIf(k -> k.key.startsWith(prefix));
+	}
+
+	/**
+	 * Returns size, hits, misses and evictions of the cache
+	 */
+	public static synchronized String getStatistics() {
+		long requests = hits + misses;
+		return "IconCache: " + icons.size() + " icons, " + hits + " hits, " + misses + " misses ("
+				+ (requests > 0 ? (100 * hits / requests) : 0) + "% hit rate), " + evictions + " evicted, "
+				+ collected + " collected";
+	}
+
+	/**
+	 * Creates frequently used icons, so the first rendering of the tables does not create them
+	 *
+	 * @param loaders icons to create, these are cached by the loaders themselves
+	 */
+	public static void warmUp(Runnable... loaders) {
+		long start = System.currentTimeMillis();
+		for (var loader : loaders) {
+			try {
+				loader.run();
+			} catch (RuntimeException e) {
+				HOLogger.instance().warning(IconCache.class, "Icon warm up failed: " + e);
+			}
+		}
+		HOLogger.instance().debug(IconCache.class, "Warm up took " + (System.currentTimeMillis() - start) + "ms. " + getStatistics());
+	}
+
+	/**
+	 * Icon key and the theme the icon was created with
+	 */
+	private static final class Key {
+		private final String key;
+		private final String theme;
+		private final int hash;
+
+		private Key(String key) {
+			this.key = key;
+			this.theme = UserParameter.instance().skin;
+			this.hash = Objects.hash(key, theme);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key other = (Key) o;
+			return key.equals(other.key) && Objects.equals(theme, other.theme);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package core.gui.theme;
 import com.github.weisj.darklaf.icons.*;
 import core.icon.OverlayIcon;
 import core.icon.TextIcon;
+import core.model.HOVerwaltung;
 import core.model.UserParameter;
 import core.model.WorldDetailLeague;
 import core.model.WorldDetailsManager;
@@ -19,18 +20,22 @@ import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageProducer;
 import java.awt.image.PixelGrabber;
 import java.util.*;
+import java.util.stream.Stream;
 
 import javax.swing.*;
 
 public class ImageUtilities {
 
-    /** Hashtable mit Veränderungspfeilgrafiken nach Integer als Key */
-    private static Hashtable<Integer,ImageIcon> m_clPfeilCache = new Hashtable<>();
-    private static Hashtable<Integer,ImageIcon> m_clPfeilWideCache = new Hashtable<>();
-    private static Hashtable<Integer,ImageIcon> m_clPfeilLightCache = new Hashtable<>();
-    private static Hashtable<Integer,ImageIcon> m_clPfeilWideLightCache = new Hashtable<>();
-    /** Cache für Transparent gemachte Bilder */
-    public static HashMap<Image,Image> m_clTransparentsCache = new HashMap<>();
+    /** Maximale Anzahl der Transparent gemachten Bilder im Cache */
+    private static final int MAX_TRANSPARENTS = 256;
+    /** Cache für Transparent gemachte Bilder (Bild und Farbe), das am längsten nicht benutzte Bild wird entfernt */
+    private static final Map<TransparentKey, Image> m_clTransparentsCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TransparentKey, Image> eldest) {
+                    return size() > MAX_TRANSPARENTS;
+                }
+            });
     public static ImageIcon MINILEER = new ImageIcon(new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB));
 
 	/**
@@ -52,7 +57,8 @@ public class ImageUtilities {
 		Image image;
 
 		//Cache durchsuchen
-		image = m_clTransparentsCache.get(im);
+		final TransparentKey key = new TransparentKey(im, color);
+		image = m_clTransparentsCache.get(key);
 
 		//Nicht im Cache -> laden
 		if (image == null) {
@@ -60,7 +66,7 @@ public class ImageUtilities {
 			image = Toolkit.getDefaultToolkit().createImage(ip);
 
 			//Bild in den Cache hinzufügen
-			m_clTransparentsCache.put(im, image);
+			m_clTransparentsCache.put(key, image);
 		}
 
 		return image;
@@ -79,13 +85,12 @@ public class ImageUtilities {
 	}
 
 	public static ImageIcon getImageIcon4Veraenderung(int wert, boolean aktuell) {
-	        ImageIcon icon;
-	        final Integer keywert = wert;
+	        final String key = (aktuell ? "pfeil_" : "pfeil_light_") + wert;
+	        ImageIcon icon = (ImageIcon) IconCache.get(key);
 	        int xPosText = 3;
 	
 	        // Nicht im Cache
-	        if ((!m_clPfeilCache.containsKey(keywert) && aktuell)
-	            || (!m_clPfeilLightCache.containsKey(keywert) && !aktuell)) {
+	        if (icon == null) {
 	            final BufferedImage image = new BufferedImage(14, 14, BufferedImage.TYPE_INT_ARGB);
 	
 	            //Pfeil zeichnen
@@ -177,25 +182,10 @@ public class ImageUtilities {
 	
 	            //Icon erstellen und in den Cache packen
 	            icon = new ImageIcon(image);
-
-	            if (aktuell) {
-	                m_clPfeilCache.put(keywert, icon);
-	            } else {
-	                m_clPfeilLightCache.put(keywert, icon);
-	            }
+	            IconCache.put(key, icon);
 	
 	            //HOLogger.instance().log(Helper.class, "Create Pfeil: " + wert );
 	        }
-	        //Im Cache
-	        else {
-	            if (aktuell) {
-	                icon = m_clPfeilCache.get(keywert);
-	            } else {
-	                icon = m_clPfeilLightCache.get(keywert);
-	            }
-	
-	            //HOLogger.instance().log(Helper.class, "Use Pfeilcache: " + wert );
-	        }
 	
 	        return icon;
 	    }
@@ -207,13 +197,12 @@ public class ImageUtilities {
 	 * @return an icon representation of the value
 	 */
 	public static ImageIcon getWideImageIcon4Veraenderung(int value, boolean current) {
-        ImageIcon icon;
-        final Integer keywert = value;
+        final String key = (current ? "pfeil_wide_" : "pfeil_wide_light_") + value;
+        ImageIcon icon = (ImageIcon) IconCache.get(key);
         int xPosText = 8;
 
         // Not in cache
-        if ((!m_clPfeilWideCache.containsKey(keywert) && current)
-            || (!m_clPfeilWideCache.containsKey(keywert) && !current)) {
+        if (icon == null) {
             final BufferedImage image = new BufferedImage(24, 14, BufferedImage.TYPE_INT_ARGB);
             final java.awt.Graphics2D g2d = (java.awt.Graphics2D) image.getGraphics();
             if (value != 0)
@@ -293,19 +282,7 @@ public class ImageUtilities {
             }
             //Make the Icon and cache it
             icon = new ImageIcon(image);
-            if (current) {
-            	m_clPfeilWideCache.put(keywert, icon);
-            } else {
-                m_clPfeilWideLightCache.put(keywert, icon);
-            }
-        }
-        //In Cache
-        else {
-            if (current) {
-                icon = m_clPfeilWideCache.get(keywert);
-            } else {
-                icon = m_clPfeilWideLightCache.get(keywert);
-            }
+            IconCache.put(key, icon);
         }
         return icon;
     }
@@ -335,7 +312,7 @@ public class ImageUtilities {
 		StringBuilder key = new StringBuilder(20);
 		// Im Cache nachsehen
 		key.append("trickot_").append(posid).append("_").append(taktik).append("_").append(trickotnummer);
-		komplettIcon = ThemeManager.getIcon(key.toString());
+		komplettIcon = IconCache.get(key.toString());
 		
 		if (komplettIcon == null) {
 			trickotfarbe = getJerseyColorByPosition(posid);
@@ -394,7 +371,7 @@ public class ImageUtilities {
 				
 			}
 			// In den Cache hinzufügen
-			ThemeManager.instance().put(key.toString(), komplettIcon);
+			IconCache.put(key.toString(), komplettIcon);
 		} // komplettIcon == null 
 	
 		return komplettIcon;
@@ -498,7 +475,7 @@ public class ImageUtilities {
 
     public static Icon getJerseyIcon(int posid, byte taktik, int trickotnummer, int size) {
         String key = "trickot_" + posid + "_" + taktik + "_" + trickotnummer + "_" + size;
-        Icon komplettIcon = ThemeManager.getIcon(key);
+        Icon komplettIcon = IconCache.get(key);
 
 
         if (komplettIcon == null) {
@@ -524,23 +501,52 @@ public class ImageUtilities {
 						size, height, baseline);
             }
             komplettIcon = new OverlayIcon(jerseyIcon, numberIcon, size, size);
-            ThemeManager.instance().put(key, komplettIcon);
+            IconCache.put(key, komplettIcon);
         }
 
         return komplettIcon;
     }
 
+	/**
+	 * Creates the icons of the player tables in advance (arrows, jerseys of the current players,
+	 * smileys, specialties and training bars). The icons are Swing components of darklaf,
+	 * so this is called on the event dispatch thread.
+	 */
+	public static void warmUpIconCache() {
+		IconCache.warmUp(
+				() -> {
+					for (int i = -10; i <= 10; i++) {
+						getImageIcon4Veraenderung(i, true);
+						getImageIcon4Veraenderung(i, false);
+					}
+				},
+				() -> {
+					var model = HOVerwaltung.instance().getModel();
+					var lineup = model.getLineupWithoutRatingRecalc();
+					for (var player : model.getCurrentPlayers()) {
+						var position = lineup != null ? lineup.getPositionByPlayerId(player.getPlayerID()) : null;
+						getJerseyIcon(position, player.getTrikotnummer());
+					}
+				},
+				() -> Arrays.stream(HOIconName.SMILEYS).forEach(ImageUtilities::getSmileyIcon),
+				() -> Arrays.stream(HOIconName.SPECIALTIES).skip(1).forEach(ImageUtilities::getSmallPlayerSpecialtyIcon),
+				() -> Stream.of("trainbar_empty", "trainbar_ft", "trainbar_pt", "trainbar_fft", "trainbar_fpt",
+						"staminabar_ft", "staminabar_fft").forEach(ImageUtilities::getTrainingBarIcon),
+				ImageUtilities::getStarIcon
+		);
+	}
+
 	public static Icon getSmileyIcon(String smileyName) {
 		if (Arrays.asList(HOIconName.SMILEYS).contains(smileyName)) {
 			String key = smileyName + "_cached";
-			Icon smileyIcon = ThemeManager.getIcon(key);
+			Icon smileyIcon = IconCache.get(key);
 			if (smileyIcon == null) {
 				int size = 15;
 				if (smileyName.equals("smiley-coach") || smileyName.equals("smiley-sale")) size = 17;
 				String iconURI = String.format("gui/bilder/smilies/%s.svg", smileyName);
 				Map<Object, Object> colorMap = Map.of("lineColor", ThemeManager.getColor(HOColorName.SMILEYS_COLOR));
 				smileyIcon = IconLoader.get().loadSVGIcon(iconURI, size, size, true, colorMap);
-				ThemeManager.instance().put(key, smileyIcon);
+				IconCache.put(key, smileyIcon);
 			}
 			return smileyIcon;
 		}
@@ -558,12 +564,12 @@ public class ImageUtilities {
 	public static @Nullable Icon getPlayerSpecialtyIcon(String playerSpecialtyName, int size) {
 		if (Arrays.stream(HOIconName.SPECIALTIES).skip(1).anyMatch(playerSpecialtyName::equals)) {
 			String key = playerSpecialtyName + "_" + size;
-			Icon specialtyIcon = ThemeManager.getIcon(key);
+			Icon specialtyIcon = IconCache.get(key);
 			if (specialtyIcon == null) {
 			String iconURI = String.format("gui/bilder/player overview/%s.svg", playerSpecialtyName);
 			Map<Object, Object> colorMap = Map.of("lineColor", ThemeManager.getColor(HOColorName.PLAYER_SPECIALTY_COLOR));
 			specialtyIcon = IconLoader.get().loadSVGIcon(iconURI, size, size, true, colorMap);
-			ThemeManager.instance().put(key, specialtyIcon);
+			IconCache.put(key, specialtyIcon);
 			}
 			return specialtyIcon;
 		}
@@ -612,13 +618,13 @@ public class ImageUtilities {
 
     public static Icon getSvgIcon(String key, int width, int height) {
 		final String index = key + "_" + width + "_" + height;
-		Icon icon = ThemeManager.getIcon(index);
+		Icon icon = IconCache.get(index);
 
 		if (icon == null) {
 			Object imagePath = ThemeManager.getIconPath(key);
 
 			icon = IconLoader.get().getIcon(Objects.requireNonNull(imagePath).toString(), width, height);
-			ThemeManager.instance().put(index, icon);
+			IconCache.put(index, icon);
 		}
 
 		return icon;
@@ -649,14 +655,14 @@ public class ImageUtilities {
 
 	public static Icon getSvgIcon(String key, Map<Object, Object> colorMap, int width, int height) {
 		final String index = key + "_" + colorMap.toString() + "_" + width + "_" + height;
-		Icon icon = ThemeManager.getIcon(index);
+		Icon icon = IconCache.get(index);
 
 		if (icon == null) {
 			Object imagePath = ThemeManager.getIconPath(key);
 
 			icon = IconLoader.get().loadSVGIcon(Objects.requireNonNull(imagePath).toString(), width, height, true, normalizeColorMap(colorMap));
 
-			ThemeManager.instance().put(index, icon);
+			IconCache.put(index, icon);
 		}
 
 		return icon;
@@ -739,7 +745,7 @@ public class ImageUtilities {
 
 		String key = "trainingbar_" + id + "_" + width + "x" + height;
 
-		Icon trainingBarIcon = ThemeManager.getIcon(key);
+		Icon trainingBarIcon = IconCache.get(key);
 
 		if (trainingBarIcon == null) {
 
@@ -798,7 +804,7 @@ public class ImageUtilities {
 
 			trainingBarIcon = IconLoader.get().loadSVGIcon("gui/bilder/training_bar.svg", 	width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, trainingBarIcon);
+			IconCache.put(key, trainingBarIcon);
 		}
 
 		return trainingBarIcon;
@@ -814,7 +820,7 @@ public class ImageUtilities {
 
 		String key = "captain_" + width + "x" + height;
 
-		Icon captainIcon = ThemeManager.getIcon(key);
+		Icon captainIcon = IconCache.get(key);
 
 		if (captainIcon == null) {
 
@@ -824,7 +830,7 @@ public class ImageUtilities {
 
 			captainIcon = IconLoader.get().loadSVGIcon("gui/bilder/set_pieces.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, captainIcon);
+			IconCache.put(key, captainIcon);
 		}
 
 		return captainIcon;
@@ -846,7 +852,7 @@ public class ImageUtilities {
 
 		String key = "star_" + width + "x" + height + "color" + fillColor.toString();
 
-		Icon starIcon = ThemeManager.getIcon(key);
+		Icon starIcon = IconCache.get(key);
 
 		if (starIcon == null) {
 
@@ -854,7 +860,7 @@ public class ImageUtilities {
 
 			starIcon = IconLoader.get().loadSVGIcon("gui/bilder/star.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, starIcon);
+			IconCache.put(key, starIcon);
 		}
 
 		return starIcon;
@@ -869,7 +875,7 @@ public class ImageUtilities {
 
 		String key = "rightArrow_" + fillColor.toString() + "_" + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -877,7 +883,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/right-arrow.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -891,7 +897,7 @@ public class ImageUtilities {
 
 		String key = "downloadIcon_" + fillColor.toString() + "_" + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -899,7 +905,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/download.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -914,7 +920,7 @@ public class ImageUtilities {
 
 		String key = "unavailableIcon_" + fillColor.toString() + "_" + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -922,7 +928,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/unavailable.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -938,7 +944,7 @@ public class ImageUtilities {
 
 		String key = "bruisedIcon_" + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -946,7 +952,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/player overview/plaster.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -961,7 +967,7 @@ public class ImageUtilities {
 
 		String key = "injuryIcon_" + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -969,7 +975,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/player overview/injured.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -986,7 +992,7 @@ public class ImageUtilities {
 
 		String key = "copyIcon_" + strokeColor + "_"  + width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -994,7 +1000,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/copy.svg", width, height, true, colorMap);
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -1012,7 +1018,7 @@ public class ImageUtilities {
 
 		String key = "clearLineupIcon" + cLineup + "_"  + cSymbol + "_"+ width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -1020,7 +1026,7 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/clear_lineup.svg", width, height, true, normalizeColorMap(colorMap));
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
@@ -1038,7 +1044,7 @@ public class ImageUtilities {
 
 		String key = "clearLineupIcon" + cLineup + "_"  + cSymbol + "_"+ width + "x" + height;
 
-		Icon _icon = ThemeManager.getIcon(key);
+		Icon _icon = IconCache.get(key);
 
 		if (_icon == null) {
 
@@ -1046,14 +1052,15 @@ public class ImageUtilities {
 
 			_icon = IconLoader.get().loadSVGIcon("gui/bilder/start_assistant.svg", width, height, true, normalizeColorMap(colorMap));
 
-			ThemeManager.instance().put(key, _icon);
+			IconCache.put(key, _icon);
 		}
 
 		return _icon;
 	}
 
-
-
-
-
+	/**
+	 * Key of the transparent images, the image is compared by identity
+	 */
+	private record TransparentKey(Image image, Color color) {
+	}
 }
@@ -0,0 +1,194 @@
+package core.gui.theme;
+
+import core.db.DBManager;
+import core.util.HOLogger;
+import tool.updater.UpdateHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Provides the team logo files.
+ * <p>
+ * Logos, which are not available locally, are downloaded on a small background thread pool, with at most
+ * {@link #REQUESTS_PER_HOST} concurrent requests per host. So the calling thread, usually the event dispatch
+ * thread, never waits for the network. Each logo is requested only once per session.
+ * The logo folder is limited to {@link #MAX_DISK_SIZE}, the least recently accessed logos are deleted first.
+ * </p>
+ */
+final class TeamLogoLoader {
+
+	private static final int THREADS = 4;
+	private static final int REQUESTS_PER_HOST = 2;
+	private static final long MAX_DISK_SIZE = 20L * 1024 * 1024;
+
+	private final Path logoPath;
+	private final ExecutorService executor;
+	private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+	/** downloads of this session, the result is null if the download failed */
+	private final Map<Integer, CompletableFuture<File>> downloads = new ConcurrentHashMap<>();
+	/** teams whose LAST_ACCESS was updated in this session */
+	private final Set<Integer> accessed = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean evictionPending = new AtomicBoolean();
+
+	TeamLogoLoader(Path logoPath) {
+		this.logoPath = logoPath;
+		var threadNumber = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(THREADS, r -> {
+			var thread = new Thread(r, "HO-logo-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the logo file of the team. If the logo has to be downloaded, the download is started
+	 * and the returned future is completed when the download is finished.
+	 *
+	 * @param teamID the team id
+	 * @return logo file, null if the team has no logo or the download failed
+	 */
+	CompletableFuture<File> getLogo(int teamID) {
+		var download = downloads.get(teamID);
+		if (download != null) {
+			return download;
+		}
+
+		var info = DBManager.instance().getTeamLogoInfo(teamID);
+		if (info == null || info.getFilename() == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		var logo = logoPath.resolve(info.getFilename()).toFile();
+		if (logo.exists()) {
+			touch(teamID);
+			return CompletableFuture.completedFuture(logo);
+		}
+		return downloads.computeIfAbsent(teamID,
+				id -> CompletableFuture.supplyAsync(() -> download(id, info.getUrl(), logo), executor));
+	}
+
+	/**
+	 * Starts the downloads of the missing logos of the teams in the background
+	 *
+	 * @param teamIDs ids of the teams
+	 */
+	void prefetch(Collection<Integer> teamIDs) {
+		final var ids = List.copyOf(teamIDs);
+		executor.execute(() -> {
+			try {
+				HOLogger.instance().debug(getClass(), "prefetch logos of " + ids.size() + " teams");
+				ids.forEach(this::getLogo);
+			} catch (RuntimeException e) {
+				HOLogger.instance().warning(getClass(), "prefetch of team logos failed: " + e);
+			}
+			scheduleEviction();
+		});
+	}
+
+	private File download(int teamID, String url, File logo) {
+		var semaphore = hosts.computeIfAbsent(getHost(url), h -> new Semaphore(REQUESTS_PER_HOST));
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		try {
+			// a partly downloaded file must not be taken as logo
+			var tmp = Files.createTempFile(logoPath, "logo", ".tmp");
+			if (!UpdateHelper.download(url, tmp.toFile())) {
+				Files.deleteIfExists(tmp);
+				HOLogger.instance().error(this.getClass(), "error when trying to download logo of team ID: " + teamID + "\n" + url);
+				return null;
+			}
+			Files.move(tmp, logo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			HOLogger.instance().error(this.getClass(), "error when trying to store logo of team ID: " + teamID + ": " + e);
+			return null;
+		} finally {
+			semaphore.release();
+		}
+		touch(teamID);
+		scheduleEviction();
+		return logo;
+	}
+
+	private static String getHost(String url) {
+		try {
+			var host = URI.create(url).getHost();
+			return host != null ? host : "";
+		} catch (IllegalArgumentException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Updates the LAST_ACCESS field of the team logo, once per session
+	 */
+	private void touch(int teamID) {
+		if (accessed.add(teamID)) {
+			executor.execute(() -> DBManager.instance().updateTeamLogoLastAccess(teamID));
+		}
+	}
+
+	private void scheduleEviction() {
+		if (evictionPending.compareAndSet(false, true)) {
+			executor.execute(() -> {
+				evictionPending.set(false);
+				evict();
+			});
+		}
+	}
+
+	/**
+	 * Deletes the least recently accessed logos, until the logo folder is below the size limit.
+	 * Logos used in this session are kept.
+	 */
+	private void evict() {
+		long size;
+		try (Stream<Path> files = Files.list(logoPath)) {
+			size = files.mapToLong(f -> f.toFile().length()).sum();
+		} catch (IOException e) {
+			HOLogger.instance().warning(getClass(), "size of logo folder unknown: " + e);
+			return;
+		}
+		if (size <= MAX_DISK_SIZE) {
+			return;
+		}
+
+		int deleted = 0;
+		for (var entry : DBManager.instance().getTeamLogoFileNamesByLastAccess().entrySet()) {
+			if (size <= MAX_DISK_SIZE) {
+				break;
+			}
+			if (accessed.contains(entry.getKey())) {
+				continue;
+			}
+			var logo = logoPath.resolve(entry.getValue()).toFile();
+			long length = logo.length();
+			if (logo.exists() && logo.delete()) {
+				size -= length;
+				deleted++;
+				downloads.remove(entry.getKey());
+			}
+		}
+		HOLogger.instance().info(getClass(), deleted + " team logos deleted, logo folder size " + size / 1024 + " KB");
+	}
+}
@@ -12,6 +12,7 @@ import core.gui.theme.dark.SolarizedDarkTheme;
 import core.gui.theme.ho.HOClassicSchema;
 import core.gui.theme.light.SolarizedLightTheme;
 import core.gui.theme.nimbus.NimbusTheme;
+import core.model.HOVerwaltung;
 import core.model.UserParameter;
 import core.model.player.Player;
 import core.model.player.PlayerAvatar;
@@ -19,7 +20,10 @@ import core.net.DownloadDialog;
 import core.util.HOLogger;
 import core.util.OSUtils;
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
 import java.awt.Image;
+import java.awt.Window;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -45,6 +49,8 @@ public final class ThemeManager {
 	private final static File teamLogoDir = new File(String.valueOf(teamLogoPath));
 	private final static Path playerAvatarPath = tempImgPath.resolve("playersAvatar");
 	private final static File playerAvatarDir = new File(String.valueOf(playerAvatarPath));
+	private final AvatarRenderer avatarRenderer = new AvatarRenderer(playerAvatarPath);
+	private final TeamLogoLoader teamLogoLoader = new TeamLogoLoader(teamLogoPath);
 	private final static Map<String, Theme> themes = new LinkedHashMap<>();
 
 	private final static ThemeManager MANAGER = new ThemeManager();
@@ -123,14 +129,6 @@ public final class ThemeManager {
 		classicSchema.put(key, value);
 	}
 
-	private  <T> T get(String key, Class<T> type) {
-		Object obj = classicSchema.get(key);
-		if (type.isInstance(obj)) {
-			return type.cast(obj);
-		}
-		return null;
-	}
-
 	public Object get(String key){
 		Object tmp = classicSchema.get(key);
 
@@ -151,10 +149,10 @@ public final class ThemeManager {
 
 	private Icon getScaledIconImpl(String key, int x, int y){
 		String scaledKey = key + "(" + x + "," + y + ")";
-		Icon icon = get(scaledKey, Icon.class);
+		Icon icon = IconCache.get(scaledKey);
 		if (icon == null) {
 			icon = ImageUtilities.getScaledIcon(getIconImpl(key), x, y);
-			if (icon != null) put(scaledKey, icon);
+			if (icon != null) IconCache.put(scaledKey, icon);
 		}
 		return icon;
 	}
@@ -186,85 +184,154 @@ public final class ThemeManager {
 		return getClubLogo(teamID, 36);
 	}
 
+	/**
+	 * Returns the scaled logo of the team. If the logo has to be downloaded, an icon is returned, which shows
+	 * the default logo until the download is finished.
+	 */
 	public Icon getClubLogo(int teamID, int width) {
 		int height = Math.round(width * 260f / 210f);
-		String logoPath = DBManager.instance().getTeamLogoFileName(teamLogoPath, teamID);
-		if (logoPath == null) {
-			// default logo is used for teams without logo
-			HOLogger.instance().debug(this.getClass(), "logo not found for team " + teamID);
-			return getScaledIcon(HOIconName.NO_CLUB_LOGO, width, height);
-		}
 
 		String scaledKey = "team_logo_" + teamID + "_(" + width + "," + height + ")";
-		Icon scaledIcon = get(scaledKey, Icon.class);
+		Icon scaledIcon = IconCache.get(scaledKey);
 		if (scaledIcon == null) {
-			BufferedImage img;
-			try {
-				var logoFile = new File(logoPath);
-				img = ImageIO.read(logoFile);
-				if ( img != null) {
-					ImageIcon iconOriginal = new ImageIcon(img);
-					scaledIcon = ImageUtilities.getScaledIcon(iconOriginal, width, height);
-				}
-				else {
-					// remove damaged icon file
-					if ( !logoFile.delete() ) {
-						HOLogger.instance().debug(this.getClass(), "damaged logo file can not be deleted: " + logoPath);
-					}
+			var logo = teamLogoLoader.getLogo(teamID);
+			if (logo.isDone()) {
+				scaledIcon = loadClubLogo(teamID, logo.join(), width, height);
+				if (scaledIcon == null) {
+					// default logo is used for teams without logo
 					return getScaledIcon(HOIconName.NO_CLUB_LOGO, width, height);
 				}
-			}
-			catch (IOException e) {
-				e.printStackTrace();
+			} else {
+				var pendingIcon = new PendingIcon(getScaledIcon(HOIconName.NO_CLUB_LOGO, width, height));
+				logo.thenAccept(file -> {
+					var icon = loadClubLogo(teamID, file, width, height);
+					if (icon != null) {
+						pendingIcon.setIcon(icon);
+						SwingUtilities.invokeLater(() -> {
+							for (var window : Window.getWindows()) {
+								window.repaint();
+							}
+						});
+					}
+				});
+				scaledIcon = pendingIcon;
 			}
 
-			if (scaledIcon != null) put(scaledKey, scaledIcon);
+			IconCache.put(scaledKey, scaledIcon);
 		}
 
 		return scaledIcon;
 	}
 
+	private Icon loadClubLogo(int teamID, File logoFile, int width, int height) {
+		if (logoFile == null) {
+			HOLogger.instance().debug(this.getClass(), "logo not found for team " + teamID);
+			return null;
+		}
+		try {
+			var img = ImageIO.read(logoFile);
+			if (img != null) {
+				return ImageUtilities.getScaledIcon(new ImageIcon(img), width, height);
+			}
+			// remove damaged icon file
+			if (!logoFile.delete()) {
+				HOLogger.instance().debug(this.getClass(), "damaged logo file can not be deleted: " + logoFile);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
 	/**
-	 * Function called during data download
-	 *
-	 * During users access to internet download all missing avatars
-	 *
-	 * @param playersAvatar list of player avatars fetched avatars CSV
+	 * Starts the download of the missing logos of the teams of the series and of the upcoming matches.
+	 * The download is started again, when a new model is loaded.
 	 */
-	public void generateAllPlayerAvatar(List<PlayerAvatar> playersAvatar, int progress){
+	public void startClubLogoPrefetch() {
+		HOVerwaltung.instance().addPropertyChangeListener(e -> {
+			if ("m_clHoModel".equals(e.getPropertyName())) {
+				prefetchClubLogos();
+			}
+		});
+		prefetchClubLogos();
+	}
 
-		String avatarPath;
-		File avatarImg;
+	/**
+	 * The team ids are collected on the event dispatch thread, which uses the model and the database
+	 * like the tabs. Only the downloads run in the background.
+	 */
+	private void prefetchClubLogos() {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(this::prefetchClubLogos);
+			return;
+		}
+		var teamIDs = new LinkedHashSet<Integer>();
+		var model = HOVerwaltung.instance().getModel();
+		if (model != null) {
+			var fixtures = model.getFixtures();
+			if (fixtures != null) {
+				for (var match : fixtures.getMatches()) {
+					teamIDs.add(match.getHeimId());
+					teamIDs.add(match.getGastId());
+				}
+			}
+			var teamID = model.getBasics().getTeamId();
+			for (var match : DBManager.instance().getMatchesKurzInfoUpComing(teamID)) {
+				teamIDs.add(match.getHomeTeamID());
+				teamIDs.add(match.getGuestTeamID());
+			}
+		}
+		teamIDs.removeIf(id -> id <= 0);
+		teamLogoLoader.prefetch(teamIDs);
+	}
 
-		//1. estimate number of avatar to download
-		List<PlayerAvatar> missingAvatars = new ArrayList<>();
+	/**
+	 * Icon shown until the downloaded icon is available
+	 */
+	private static final class PendingIcon implements Icon {
+		private volatile Icon icon;
 
-		for (var avatar : playersAvatar){
+		private PendingIcon(Icon placeholder) {
+			this.icon = placeholder;
+		}
 
-			avatarPath = playerAvatarPath.resolve(avatar.getPlayerID() + ".png").toString();
-			avatarImg = new File(avatarPath);
+		private void setIcon(Icon icon) {
+			this.icon = icon;
+		}
 
-			if (! avatarImg.exists()) {
-				missingAvatars.add(avatar);
-			}
+		@Override
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			icon.paintIcon(c, g, x, y);
 		}
 
-		//2. Download missing avatar
-		int i=1;
-		int iMax = missingAvatars.size();
+		@Override
+		public int getIconWidth() {
+			return icon.getIconWidth();
+		}
 
-		for (var avatar:missingAvatars){
-			HOLogger.instance().info(this.getClass(), "Donwloading player's avatar: %s/%s".formatted(i, iMax));
-			HOMainFrame.instance().setInformation("Donwloading player's avatar: %s/%s".formatted(i, iMax), progress);
-			try{
-				avatar.generateAvatar(playerAvatarPath);
-				}
-			catch (IOException e) {
-					HOLogger.instance().error(ThemeManager.class, "Error processing Player Avatar for player: " + avatar.getPlayerID());
-				}
-				i ++;
-			}
+		@Override
+		public int getIconHeight() {
+			return icon.getIconHeight();
+		}
+	}
 
+	/**
+	 * Function called during data download
+	 *
+	 * During users access to internet render all missing avatars and the avatars whose layers have changed
+	 *
+	 * @param playersAvatar list of player avatars fetched avatars CSV
+	 */
+	public void generateAllPlayerAvatar(List<PlayerAvatar> playersAvatar, int progress){
+		long start = System.currentTimeMillis();
+		int rendered = avatarRenderer.render(playersAvatar, (i, iMax) ->
+				HOMainFrame.instance().setInformation("Donwloading player's avatar: %s/%s".formatted(i, iMax), progress));
+		if (rendered > 0) {
+			// scaled icons of the old avatars
+			IconCache.removeByPrefix("player_avatar_");
+		}
+		HOLogger.instance().info(this.getClass(), "Rendered " + rendered + " of " + playersAvatar.size()
+				+ " player avatars in " + (System.currentTimeMillis() - start) + "ms");
 	}
 
 	public Icon getPlayerAvatar(int playerID){
@@ -282,8 +349,8 @@ public final class ThemeManager {
 			return getScaledIcon(HOIconName.NO_CLUB_LOGO, width, height);
 		}
 
-		String scaledKey = "team_logo_" + playerID + "_(" + width + "," + height + ")";
-		Icon scaledIcon = get(scaledKey, Icon.class);
+		String scaledKey = "player_avatar_" + playerID + "_(" + width + "," + height + ")";
+		Icon scaledIcon = IconCache.get(scaledKey);
 		if (scaledIcon == null) {
 			BufferedImage img;
 			try {
@@ -300,7 +367,7 @@ public final class ThemeManager {
 				e.printStackTrace();
 			}
 
-			if (scaledIcon != null) put(scaledKey, scaledIcon);
+			if (scaledIcon != null) IconCache.put(scaledKey, scaledIcon);
 		}
 
 		return scaledIcon;
@@ -45,7 +45,7 @@ public class HOModel {
     private Spielplan m_clSpielplan;
     private Stadium m_clStadium;
     private Team m_clTeam;
-    private static List<Player> m_vOldPlayer;
+    private List<Player> m_vOldPlayer;
     private List<Player> m_vPlayer;
     private Verein m_clVerein;
     private XtraData m_clXtraDaten;
@@ -82,7 +82,6 @@ public class HOModel {
 
         setClub(DBManager.instance().getVerein(id));
         setCurrentPlayers(DBManager.instance().getSpieler(id));
-        setFormerPlayers(DBManager.instance().getAllSpieler());
         setTeam(DBManager.instance().getTeam(id));
         setLineup(DBManager.instance().loadNextMatchLineup(getClub().getTeamID()));
         setPreviousLineup(DBManager.instance().loadPreviousMatchLineup(getClub().getTeamID()));
@@ -117,30 +116,25 @@ public class HOModel {
      * current players are removed from the list
      */
     public final void setFormerPlayers(Vector<Player> playerVector) {
-        for (int i = 0; i < playerVector.size(); i++) {
-            //Auf alt setzen, die neuen werden gleich entfernt
-            playerVector.get(i).setOld(true);
-
-            for (Player player : m_vPlayer) {
-                //Schon in den aktuellen Spielern vorhanden, dann überspringen
-                if (playerVector.get(i).equals(player)) {
-                    playerVector.remove(i);
-
-                    //Index einen zurücksetzen, da ein wert gelöscht wurde
-                    i--;
-                    break;
-                }
-            }
+        var currentIds = new HashSet<Integer>();
+        for (Player player : getCurrentPlayers()) {
+            currentIds.add(player.getPlayerID());
+        }
+        //Schon in den aktuellen Spielern vorhanden, dann überspringen
+        playerVector.removeIf(player -> currentIds.contains(player.getPlayerID()));
+        for (Player player : playerVector) {
+            player.setOld(true);
         }
         m_vOldPlayer = playerVector;
     }
 
     /**
      * Returns former players of the club
+     * They are loaded on first access, as only some views need them.
      */
-    public final List<Player> getFormerPlayers() {
+    public final synchronized List<Player> getFormerPlayers() {
         if (m_vOldPlayer == null) {
-            m_vOldPlayer = DBManager.instance().getAllSpieler();
+            setFormerPlayers(DBManager.instance().getAllSpieler());
         }
         return m_vOldPlayer;
     }
@@ -567,18 +561,7 @@ public class HOModel {
      * save the model in the database
      */
     public final synchronized void saveHRF() {
-        var time = getBasics().getDatum();
-        DBManager.instance().saveHRF(getID(), time);
-        DBManager.instance().saveBasics(getID(), getBasics());
-        DBManager.instance().saveVerein(getID(), getClub());
-        DBManager.instance().saveTeam(getID(), getTeam());
-        DBManager.instance().saveEconomyInDB(getID(), getEconomy(), time);
-        DBManager.instance().saveStadion(getID(), getStadium());
-        DBManager.instance().saveLiga(getID(), getLeague());
-        DBManager.instance().saveXtraDaten(getID(), getXtraDaten());
-        DBManager.instance().saveSpieler(getID(), getCurrentPlayers(), time);
-        DBManager.instance().storeYouthPlayers(getID(), getCurrentYouthPlayers());
-        DBManager.instance().saveStaff(getID(), getStaff());
+        DBManager.instance().saveHOModel(this);
     }
 
     /**
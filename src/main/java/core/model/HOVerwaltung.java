@@ -3,10 +3,9 @@ package core.model;
 
 import core.db.DBManager;
 import core.file.FileLoader;
-import core.file.hrf.HRF;
 import core.gui.HOMainFrame;
 import core.gui.RefreshManager;
-import core.util.HODateTime;
+import core.training.SubskillCalculator;
 import core.util.HOLogger;
 import core.util.Languages;
 import core.util.UTF8Control;
@@ -15,7 +14,6 @@ import java.beans.PropertyChangeSupport;
 import java.io.InputStream;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -133,43 +131,18 @@ public class HOVerwaltung {
 	public void recalcSubskills(boolean showWait, Timestamp hrfDate) {
 		HOLogger.instance().log(getClass(), "Start full subskill calculation. " + new Date());
 		long start = System.currentTimeMillis();
-		if (hrfDate == null) {
-			hrfDate = new Timestamp(0);
-		}
 
 		// Make sure the training week list is up to date.
 		//TrainingManager.instance().refreshTrainingWeeks();
 		HOMainFrame.instance().resetInformation();
 
-		var hrfListe = DBManager.instance().getHRFsSince(hrfDate);
-		long s1, s2, lSum = 0, mSum = 0;
-		HRF previousHRF = null;
-		for (var hrf : hrfListe) {
-			try {
-				if (showWait) {
-					HOMainFrame.instance().setWaitInformation();
-				}
-				s1 = System.currentTimeMillis();
-				HOModel model = new HOModel(hrf, previousHRF);
-				HODateTime trainingDateOfPreviousHRF;
-				var previousHRFId = model.getPreviousID();
-				if (previousHRFId != -1) {
-					trainingDateOfPreviousHRF = DBManager.instance().getXtraDaten(previousHRFId).getNextTrainingDate();
-				} else {
-					trainingDateOfPreviousHRF = HOVerwaltung.instance().getModel().getBasics().getActivationDate();
-				}
-				var trainingDateHRF = DBManager.instance().getXtraDaten(hrf.getHrfId()).getNextTrainingDate();
-
-				lSum += (System.currentTimeMillis() - s1);
-				s2 = System.currentTimeMillis();
-				model.calcSubskills(trainingDateOfPreviousHRF.minus(1, ChronoUnit.HOURS), trainingDateHRF.minus(1, ChronoUnit.HOURS));
-				previousHRF = hrf;
-				mSum += (System.currentTimeMillis() - s2);
-			} catch (Exception e) {
-				HOLogger.instance().log(getClass(), "recalcSubskills : ");
-				HOLogger.instance().log(getClass(), e);
-			}
+		if (hrfDate == null) {
+			hrfDate = new Timestamp(0);
 		}
+		var calculator = new SubskillCalculator();
+		var hrfListe = DBManager.instance().getHRFsSince(hrfDate);
+		calculator.calculate(hrfListe, showWait ? () -> HOMainFrame.instance().setWaitInformation() : null);
+		long lSum = calculator.getLoadTime(), mSum = calculator.getCalcTime();
 
 		if (showWait) {
 			HOMainFrame.instance().setWaitInformation();
@@ -99,6 +99,11 @@ public final class UserParameter extends Configuration {
     public boolean downloadTournamentGroupMatches = true;
     public boolean downloadTournamentPlayoffMatches = true;
     public boolean downloadDivisionBattleMatches = true;
+    /**
+     * Number of concurrent requests and requests per second of the bulk match download
+     */
+    public int matchDownloadThreads = 4;
+    public double matchDownloadRequestsPerSecond = 8;
 
     //Release Channel options
     public String ReleaseChannel = null;
@@ -470,6 +475,8 @@ public final class UserParameter extends Configuration {
         map.put("downloadTournamentGroupMatches", String.valueOf(downloadTournamentGroupMatches));
         map.put("downloadTournamentPlayoffMatches", String.valueOf(downloadTournamentPlayoffMatches));
         map.put("downloadDivisionBattleMatches", String.valueOf(downloadDivisionBattleMatches));
+        map.put("matchDownloadThreads", String.valueOf(matchDownloadThreads));
+        map.put("matchDownloadRequestsPerSecond", String.valueOf(matchDownloadRequestsPerSecond));
         map.put("showHRFSaveDialog", String.valueOf(showHRFSaveDialog));
         map.put("spieleranalyseVertikal", String.valueOf(spieleranalyseVertikal));
         map.put("statistikAlleBeschriftung", String.valueOf(statistikAlleBeschriftung));
@@ -714,6 +721,8 @@ public final class UserParameter extends Configuration {
         downloadTournamentGroupMatches = getBooleanValue(values, "downloadTournamentGroupMatches");
         downloadTournamentPlayoffMatches = getBooleanValue(values, "downloadTournamentPlayoffMatches");
         downloadDivisionBattleMatches = getBooleanValue(values, "downloadDivisionBattleMatches");
+        matchDownloadThreads = getIntValue(values, "matchDownloadThreads");
+        matchDownloadRequestsPerSecond = getDoubleValue(values, "matchDownloadRequestsPerSecond", 8);
         showHRFSaveDialog = getBooleanValue(values, "showHRFSaveDialog");
         spieleranalyseVertikal = getBooleanValue(values, "spieleranalyseVertikal");
         statistikAlleBeschriftung = getBooleanValue(values, "statistikAlleBeschriftung");
@@ -1040,6 +1040,13 @@ public class Player {
         return DBManager.instance().getLastLevelUp(skill, m_iSpielerID);
     }
 
+    /**
+     * Returns true if a level up of the skill is known
+     */
+    public boolean hasLevelUp(int skill) {
+        return DBManager.instance().hasLevelUp(skill, m_iSpielerID);
+    }
+
 
     /**
      * Returns the loyalty stat
@@ -2267,9 +2274,24 @@ public class Player {
 
         var playerBefore = DBManager.instance().getSpieler(previousID).stream()
                 .filter(i -> i.getPlayerID() == this.getPlayerID()).findFirst().orElse(null);
+        calcSubskills(playerBefore, trainingWeeks);
+    }
+
+    /**
+     * Calculates skill status of the player
+     *
+     * @param playerBefore Player status of the previous download. If null, the player is new in the team.
+     * @param trainingWeeks List of training week information
+     */
+    public void calcSubskills(Player playerBefore, List<TrainingPerWeek> trainingWeeks) {
         if (playerBefore == null) {
             playerBefore = this.CloneWithoutSubskills();
         }
+        // the weekly training does not depend on the skill, calculate it once per week
+        var trainingsPerPlayer = new ArrayList<TrainingPerPlayer>(trainingWeeks.size());
+        for (var training : trainingWeeks) {
+            trainingsPerPlayer.add(calculateWeeklyTraining(training));
+        }
         // since we don't want to work with temp player objects we calculate skill by skill
         // whereas experience is calculated within the first skill
         boolean experienceSubDone = this.getExperience() > playerBefore.getExperience(); // Do not calculate sub on experience skill up
@@ -2280,10 +2302,9 @@ public class Player {
             var valueAfterTraining = this.getValue4Skill(skill);
 
             if (trainingWeeks.size() > 0) {
-                for (var training : trainingWeeks) {
-
-                    var trainingPerPlayer = calculateWeeklyTraining(training);
+                for (var trainingPerPlayer : trainingsPerPlayer) {
                     if (trainingPerPlayer != null) {
+                        var training = trainingPerPlayer.getTrainingWeek();
                         if (!this.hasTrainingBlock()) {// player training is not blocked (blocking is no longer possible)
                             sub += trainingPerPlayer.calcSubskillIncrement(skill, valueBeforeTraining + sub);
                             if (valueAfterTraining > valueBeforeTraining) {
@@ -5,6 +5,7 @@ import core.db.DBManager;
 import core.model.HOVerwaltung;
 import core.net.MyConnector;
 import core.util.HOLogger;
+import core.util.IOUtils;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -69,35 +70,54 @@ public class PlayerAvatar {
         return prefixURL + input_url;
     }
 
-    public void generateAvatar(Path pathAvatar) throws IOException {
+    /**
+     * Hash of the layer list (positions and urls), which identifies the rendered avatar
+     *
+     * @return hex encoded SHA-256 hash
+     */
+    public String getLayersHash() {
+        var layers = new StringBuilder();
+        for (Layer layer : m_layers) {
+            layers.append(layer.x()).append(',').append(layer.y()).append(',').append(layer.urlElement()).append('\n');
+        }
+        return IOUtils.sha256(layers.toString());
+    }
 
-        var FirstLayer = m_layers.get(0);
-        int x0, y0;
+    /**
+     * Composes the avatar image of its layers.
+     * The first layer defines size and origin of the avatar.
+     *
+     * @param images returns the image of a layer url
+     * @return the avatar image
+     * @throws IOException if a layer image is not available
+     */
+    public BufferedImage compose(LayerImages images) throws IOException {
 
-        URL url  = new URL(FirstLayer.urlElement());
-        BufferedImage img = ImageIO.read(url.openStream());
+        var firstLayer = m_layers.get(0);
+        BufferedImage img = images.get(firstLayer.urlElement());
 
         BufferedImage avatar = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        Graphics g = avatar.getGraphics();
-
-        g.drawImage(img, 0, 0, null);
-
-        x0 = FirstLayer.x();
-        y0 = FirstLayer.y();
-
-        for (Layer layer : m_layers.stream().skip(1).collect(Collectors.toList())) {
-            url = new URL(layer.urlElement());
-            img = ImageIO.read(url.openStream());
-            g.drawImage(img, layer.x() - x0, layer.y() - y0, null);
+        Graphics2D g = avatar.createGraphics();
+        try {
+            g.drawImage(img, 0, 0, null);
+
+            int x0 = firstLayer.x();
+            int y0 = firstLayer.y();
+
+            for (Layer layer : m_layers.subList(1, m_layers.size())) {
+                g.drawImage(images.get(layer.urlElement()), layer.x() - x0, layer.y() - y0, null);
+            }
+        } finally {
+            g.dispose();
         }
-
-        // Save as new image
-        String pathName = pathAvatar.resolve(this.m_playerID + ".png").toString();
-        ImageIO.write(avatar, "PNG", new File(pathName));
+        return avatar;
     }
 
-
-
+    /**
+     * Source of the layer images
+     */
+    @FunctionalInterface
+    public interface LayerImages {
+        BufferedImage get(String url) throws IOException;
+    }
 }
-
-
@@ -0,0 +1,260 @@
+package core.net;
+
+import core.util.HOLogger;
+import core.util.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local cache of the downloaded CHPP files.
+ * <p>
+ * The files are keyed by the CHPP file name, its version and the sorted request parameters, so a new
+ * version of a CHPP file never returns an old cached response. Each response is stored gzip compressed
+ * in the cache folder, the modification time of the cache file is the fetch time.
+ * </p>
+ * <p>
+ * A response is fresh as long as it is younger than the time to live of its CHPP file (see {@link #TTL}).
+ * Files without a time to live (e.g. players or economy) are only stored while recording for offline use
+ * is switched on. They are only returned by {@link #get(String, boolean)} when the age is ignored,
+ * e.g. when working offline against the recorded files.
+ * Responses older than {@link #MAX_AGE} are deleted.
+ * </p>
+ */
+final class CHPPResponseCache {
+
+	/** Format of the cache folder, a new format uses a new sub folder */
+	private static final String FORMAT_VERSION = "v1";
+	private static final Duration MAX_AGE = Duration.ofDays(30);
+	private static final int MEMORY_ENTRIES = 32;
+
+	/** time to live by CHPP file name */
+	private static final Map<String, Duration> TTL = Map.of(
+			"worlddetails", Duration.ofDays(2),
+			// regions contain the weather, which changes daily
+			"regiondetails", Duration.ofHours(6),
+			"arenadetails", Duration.ofDays(1),
+			"teamdetails", Duration.ofHours(1),
+			"matchdetails", Duration.ofMinutes(5),
+			"matchlineup", Duration.ofMinutes(5),
+			"matches", Duration.ofMinutes(5),
+			"matchesarchive", Duration.ofMinutes(5)
+	);
+
+	private final Path folder;
+	private final Path cachePath;
+	private final LongSupplier clock;
+	private final BooleanSupplier recording;
+
+	/** recently used responses, key -> entry */
+	private final Map<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MEMORY_ENTRIES;
+		}
+	};
+
+	private record Entry(String content, long fetched) {
+	}
+
+	/**
+	 * @param path      cache folder
+	 * @param clock     current time in milliseconds
+	 * @param recording true, if all files are stored for offline use, not only the files with a time to live
+	 */
+	CHPPResponseCache(Path path, LongSupplier clock, BooleanSupplier recording) {
+		this.folder = path;
+		this.cachePath = path.resolve(FORMAT_VERSION);
+		this.clock = clock;
+		this.recording = recording;
+		try {
+			Files.createDirectories(cachePath);
+		} catch (IOException e) {
+			HOLogger.instance().error(getClass(), "CHPP cache not available: " + e);
+		}
+		deleteOldResponses();
+	}
+
+	/**
+	 * @return cache folder
+	 */
+	Path getFolder() {
+		return folder;
+	}
+
+	/**
+	 * Returns the cached response of the url
+	 *
+	 * @param url       CHPP url
+	 * @param ignoreAge if true, the response is returned, even if it is not fresh
+	 * @return response or null, if no (fresh) response is cached
+	 */
+	String get(String url, boolean ignoreAge) {
+		var key = getKey(url);
+		if (key == null) {
+			return null;
+		}
+		Entry entry;
+		synchronized (memory) {
+			entry = memory.get(key);
+		}
+		if (entry == null) {
+			entry = read(key);
+			if (entry == null) {
+				return null;
+			}
+			synchronized (memory) {
+				memory.put(key, entry);
+			}
+		}
+		if (!ignoreAge && clock.getAsLong() - entry.fetched() >= getTimeToLive(key).toMillis()) {
+			return null;
+		}
+		return entry.content();
+	}
+
+	/**
+	 * Stores the response of the url. An unchanged response is not written again, only its fetch time is updated.
+	 * Files without a time to live are only stored while recording.
+	 *
+	 * @param url     CHPP url
+	 * @param content response
+	 */
+	void put(String url, String content) {
+		var key = getKey(url);
+		if (key == null || content == null || content.isEmpty()) {
+			return;
+		}
+		if (getTimeToLive(key).isZero() && !recording.getAsBoolean()) {
+			return;
+		}
+		var now = clock.getAsLong();
+		var file = getFile(key);
+		try {
+			Entry old;
+			synchronized (memory) {
+				old = memory.get(key);
+			}
+			if (old == null || !old.content().equals(content)) {
+				var tmp = Files.createTempFile(cachePath, "chpp", ".tmp");
+				try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+					writer.write(key);
+					writer.write('\n');
+					writer.write(content);
+				}
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+		} catch (IOException e) {
+			HOLogger.instance().warning(getClass(), "CHPP response not cached: " + e);
+		}
+		synchronized (memory) {
+			memory.put(key, new Entry(content, now));
+		}
+	}
+
+	private Entry read(String key) {
+		var file = getFile(key);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (var reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+			if (!key.equals(reader.readLine())) {
+				return null;
+			}
+			var fetched = Files.getLastModifiedTime(file).toMillis();
+			var content = new StringBuilder();
+			var buffer = new char[8192];
+			int n;
+			while ((n = reader.read(buffer)) > 0) {
+				content.append(buffer, 0, n);
+			}
+			return new Entry(content.toString(), fetched);
+		} catch (IOException e) {
+			HOLogger.instance().warning(getClass(), "CHPP cache file not readable: " + file + " " + e);
+			return null;
+		}
+	}
+
+	private Path getFile(String key) {
+		var file = key.substring(0, key.indexOf(';'));
+		return cachePath.resolve(file + "-" + IOUtils.sha256(key) + ".xml.gz");
+	}
+
+	private static Duration getTimeToLive(String key) {
+		return TTL.getOrDefault(key.substring(0, key.indexOf(';')), Duration.ZERO);
+	}
+
+	/**
+	 * Key of the CHPP url: file name, version and the remaining parameters sorted by name.
+	 * The parameter names are case insensitive. The refresh of the CHPP server cache is no part of the key.
+	 *
+	 * @return key or null, if the url has no file parameter
+	 */
+	static String getKey(String url) {
+		String query;
+		try {
+			query = URI.create(url).getRawQuery();
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (query == null) {
+			return null;
+		}
+		var parameters = new TreeMap<String, String>();
+		for (var parameter : query.split("&")) {
+			if (parameter.isEmpty()) continue;
+			var i = parameter.indexOf('=');
+			var name = (i < 0 ? parameter : parameter.substring(0, i)).toLowerCase(Locale.ROOT);
+			var value = i < 0 ? "" : URLDecoder.decode(parameter.substring(i + 1), StandardCharsets.UTF_8);
+			if (name.equals("actiontype") && value.equalsIgnoreCase("refreshCache")) continue;
+			parameters.put(name, value);
+		}
+		var file = parameters.remove("file");
+		if (file == null || file.isEmpty()) {
+			return null;
+		}
+		var version = parameters.remove("version");
+		var ret = new StringBuilder(file.toLowerCase(Locale.ROOT)).append(';').append(version != null ? version : "");
+		parameters.forEach((name, value) -> ret.append(';').append(name).append('=').append(value));
+		return ret.toString();
+	}
+
+	private void deleteOldResponses() {
+		var limit = clock.getAsLong() - MAX_AGE.toMillis();
+		int deleted = 0;
+		try (Stream<Path> files = Files.list(cachePath)) {
+			for (var file : (Iterable<Path>) files::iterator) {
+				if (Files.getLastModifiedTime(file).toMillis() < limit) {
+					Files.deleteIfExists(file);
+					deleted++;
+				}
+			}
+		} catch (IOException e) {
+			HOLogger.instance().warning(getClass(), "CHPP cache not cleaned: " + e);
+		}
+		if (deleted > 0) {
+			HOLogger.instance().info(getClass(), deleted + " old CHPP responses deleted");
+		}
+	}
+}
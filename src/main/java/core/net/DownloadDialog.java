@@ -342,9 +342,7 @@ public class DownloadDialog extends JDialog implements ActionListener {
 				List<MatchKurzInfo> allmatches = OnlineWorker.getMatchArchive(teamId, date, false);
 				if (allmatches != null) {
 					allmatches = OnlineWorker.FilterUserSelection(allmatches);
-					for (MatchKurzInfo i : allmatches) {
-						OnlineWorker.downloadMatchData(i, true);
-					}
+					new MatchDownloader().download(allmatches, true);
 				}
 			}
 
@@ -0,0 +1,339 @@
+package core.net;
+
+import core.db.user.UserManager;
+import core.model.UserParameter;
+import core.model.enums.MatchType;
+import core.model.match.MatchKurzInfo;
+import core.util.HOLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Bulk download of match data (match details, lineups and team ratings).
+ * <p>
+ * The CHPP files of the matches are fetched by a bounded number of threads, limited to a number of requests
+ * per second. The fetched files are kept until the match is parsed and stored by the calling thread, which uses
+ * {@link OnlineWorker#downloadMatchData(MatchKurzInfo, boolean)} as before. So parsing and storing of a match
+ * overlaps with the requests of the following matches. Files which could not be fetched in background are
+ * requested again by the store step, which shows the usual error messages.
+ * The prefetched files are only returned to the store step of the download (see {@link #getPrefetched(String)}),
+ * other requests of the same files are not affected.
+ * </p>
+ * The pending matches are written to a queue file in the database folder. A match is removed from the queue
+ * when it is stored. An interrupted download and the failed matches are continued by {@link #resume()}.
+ * Background downloads stop after {@link #MAX_CONSECUTIVE_ERRORS} failed matches in a row (e.g. connection lost),
+ * a download of matches selected by the user tries all matches.
+ */
+public class MatchDownloader {
+
+	/** Default number of concurrent requests */
+	public static final int DEFAULT_THREADS = 4;
+	/** Default limit of requests per second */
+	public static final double DEFAULT_REQUESTS_PER_SECOND = 8;
+	/** Number of consecutive failed matches which stops the download (e.g. connection lost) */
+	private static final int MAX_CONSECUTIVE_ERRORS = 3;
+	private static final String QUEUE_FILE = "matchdownload.queue";
+
+	/** prefetched files of the download, whose store step runs in the current thread */
+	private static final ThreadLocal<Map<String, String>> storing = new ThreadLocal<>();
+
+	/** files fetched by the running download, url -> content */
+	private final Map<String, String> prefetched = new ConcurrentHashMap<>();
+
+	private final int threads;
+	private final RateLimiter rateLimiter;
+	private final Function<String, String> fetcher;
+	private final BiPredicate<MatchKurzInfo, Boolean> store;
+	private final File queueFile;
+	private volatile boolean cancelled;
+
+	/**
+	 * Downloader using the CHPP connection and the settings of the user parameters
+	 */
+	public MatchDownloader() {
+		this(UserParameter.instance().matchDownloadThreads,
+				UserParameter.instance().matchDownloadRequestsPerSecond,
+				MyConnector.instance()::fetchCHPPWebFile,
+				OnlineWorker::downloadMatchData,
+				new File(UserManager.instance().getCurrentUser().getDbFolder(), QUEUE_FILE));
+	}
+
+	/**
+	 * @param threads number of concurrent requests, values below 1 select the default
+	 * @param requestsPerSecond max. number of requests per second, values below or equal 0 select the default
+	 * @param fetcher fetches the content of an url in background, returns "" on errors
+	 * @param store parses and stores the match (match info, refresh), returns false on errors
+	 * @param queueFile file of the pending matches
+	 */
+	MatchDownloader(int threads, double requestsPerSecond, Function<String, String> fetcher,
+					BiPredicate<MatchKurzInfo, Boolean> store, File queueFile) {
+		this.threads = threads > 0 ? threads : DEFAULT_THREADS;
+		this.rateLimiter = new RateLimiter(requestsPerSecond > 0 ? requestsPerSecond : DEFAULT_REQUESTS_PER_SECOND);
+		this.fetcher = fetcher;
+		this.store = store;
+		this.queueFile = queueFile;
+	}
+
+	/**
+	 * Returns the content of the url, if it was fetched by the download, whose store step is running
+	 * in the current thread
+	 *
+	 * @param url CHPP url
+	 * @return content or null
+	 */
+	static String getPrefetched(String url) {
+		var files = storing.get();
+		return files != null ? files.get(url) : null;
+	}
+
+	/**
+	 * Continues an interrupted download
+	 *
+	 * @return number of matches stored
+	 */
+	public int resume() {
+		var pending = readQueue();
+		if (pending.isEmpty()) {
+			return 0;
+		}
+		HOLogger.instance().info(getClass(), "Resume download of " + pending.size() + " matches");
+		pending.replaceAll(m -> OnlineWorker.getMatchKurzInfo(m.getMatchID(), m.getMatchType()));
+		return download(pending, false, true);
+	}
+
+	/**
+	 * Stops the running download after the current match. The remaining matches stay in the queue.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Downloads and stores all matches, failed matches do not stop the download
+	 *
+	 * @param matches matches to download
+	 * @param refresh if true the matches are downloaded, even if they are already stored
+	 * @return number of matches stored
+	 */
+	public int download(List<MatchKurzInfo> matches, boolean refresh) {
+		return download(matches, refresh, false);
+	}
+
+	/**
+	 * Downloads and stores the matches
+	 *
+	 * @param matches matches to download
+	 * @param refresh if true the matches are downloaded, even if they are already stored
+	 * @param stopOnErrors if true the download stops after {@link #MAX_CONSECUTIVE_ERRORS} failed matches in a row
+	 * @return number of matches stored
+	 */
+	public int download(List<MatchKurzInfo> matches, boolean refresh, boolean stopOnErrors) {
+		cancelled = false;
+		var queue = readQueueEntries();
+		for (var match : matches) {
+			queue.add(getQueueEntry(match));
+		}
+		writeQueue(queue);
+
+		long start = System.currentTimeMillis();
+		int stored = 0;
+		int errors = 0;
+		int consecutiveErrors = 0;
+		final int window = 2 * threads;
+		final Set<String> fetchedUrls = ConcurrentHashMap.newKeySet();
+		var futures = new ArrayDeque<Future<List<String>>>();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			var thread = new Thread(r, "MatchDownloader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			int next = 0;
+			for (int i = 0; i < matches.size() && !cancelled; i++) {
+				// keep the network stage ahead of the store stage
+				while (next < matches.size() && next < i + window) {
+					var match = matches.get(next++);
+					futures.add(executor.submit(() -> prefetch(match, fetchedUrls)));
+				}
+				var match = matches.get(i);
+				List<String> urls = Collections.emptyList();
+				boolean ok;
+				try {
+					urls = futures.remove().get();
+					storing.set(prefetched);
+					ok = store.test(match, refresh);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				} catch (Exception e) {
+					HOLogger.instance().error(getClass(), "Error downloading match " + match.getMatchID() + ": " + e);
+					ok = false;
+				} finally {
+					storing.remove();
+					for (var url : urls) {
+						prefetched.remove(url);
+						fetchedUrls.remove(url);
+					}
+				}
+
+				if (ok) {
+					stored++;
+					consecutiveErrors = 0;
+					queue.remove(getQueueEntry(match));
+					writeQueue(queue);
+				} else {
+					// failed matches stay in the queue for the next run
+					HOLogger.instance().error(getClass(), "Error fetching Match: " + match.getMatchID());
+					errors++;
+					if (++consecutiveErrors >= MAX_CONSECUTIVE_ERRORS && stopOnErrors) {
+						HOLogger.instance().error(getClass(), "Download stopped after " + consecutiveErrors + " errors");
+						break;
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (var url : fetchedUrls) {
+				prefetched.remove(url);
+			}
+		}
+		HOLogger.instance().info(getClass(), "Downloaded " + stored + " of " + matches.size() + " matches in "
+				+ (System.currentTimeMillis() - start) + " ms, errors: " + errors);
+		return stored;
+	}
+
+	/**
+	 * Network stage: fetches the CHPP files of the match
+	 *
+	 * @return urls of the fetched files
+	 */
+	private List<String> prefetch(MatchKurzInfo match, Set<String> fetchedUrls) throws InterruptedException {
+		var ret = new ArrayList<String>();
+		for (var url : getUrls(match)) {
+			rateLimiter.acquire();
+			if (cancelled) break;
+			var content = fetcher.apply(url);
+			if (content != null && content.length() > 0) {
+				fetchedUrls.add(url);
+				prefetched.put(url, content);
+				ret.add(url);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Urls of the CHPP files requested by {@link OnlineWorker#downloadMatchData(MatchKurzInfo, boolean)}
+	 * (the arena is only known after parsing the match details, it is still requested by the store step)
+	 */
+	static List<String> getUrls(MatchKurzInfo match) {
+		var ret = new ArrayList<String>();
+		var matchType = match.getMatchType();
+		ret.add(MyConnector.getMatchdetailsUrl(match.getMatchID(), matchType));
+		for (var teamId : new int[]{match.getHomeTeamID(), match.getGuestTeamID()}) {
+			if (teamId > 0) {
+				ret.add(MyConnector.getMatchLineupUrl(match.getMatchID(), teamId, matchType));
+				ret.add(MyConnector.getTeamdetailsUrl(teamId));
+			}
+		}
+		return ret;
+	}
+
+	private static String getQueueEntry(MatchKurzInfo match) {
+		return match.getMatchID() + ";" + match.getMatchType().getId();
+	}
+
+	/**
+	 * Matches of the queue file
+	 */
+	List<MatchKurzInfo> readQueue() {
+		var ret = new ArrayList<MatchKurzInfo>();
+		for (var entry : readQueueEntries()) {
+			try {
+				var values = entry.split(";");
+				var match = new MatchKurzInfo();
+				match.setMatchID(Integer.parseInt(values[0]));
+				match.setMatchType(MatchType.getById(Integer.parseInt(values[1])));
+				ret.add(match);
+			} catch (Exception e) {
+				HOLogger.instance().warning(getClass(), "Invalid queue entry: " + entry);
+			}
+		}
+		return ret;
+	}
+
+	private LinkedHashSet<String> readQueueEntries() {
+		var ret = new LinkedHashSet<String>();
+		if (queueFile.exists()) {
+			try {
+				for (var line : Files.readAllLines(queueFile.toPath(), StandardCharsets.UTF_8)) {
+					if (!line.isBlank()) ret.add(line.trim());
+				}
+			} catch (IOException e) {
+				HOLogger.instance().error(getClass(), "Error reading " + queueFile + ": " + e);
+			}
+		}
+		return ret;
+	}
+
+	private void writeQueue(Set<String> queue) {
+		try {
+			if (queue.isEmpty()) {
+				Files.deleteIfExists(queueFile.toPath());
+			} else {
+				Files.write(queueFile.toPath(), queue, StandardCharsets.UTF_8);
+			}
+		} catch (IOException e) {
+			HOLogger.instance().error(getClass(), "Error writing " + queueFile + ": " + e);
+		}
+	}
+
+	/**
+	 * Spreads the requests evenly, at most one request per interval
+	 */
+	private static final class RateLimiter {
+		private final long interval;
+		private long next;
+
+		RateLimiter(double requestsPerSecond) {
+			this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+		}
+
+		void acquire() throws InterruptedException {
+			long wait;
+			synchronized (this) {
+				long now = System.nanoTime();
+				if (next < now) {
+					next = now;
+				}
+				wait = next - now;
+				next += interval;
+			}
+			if (wait > 0) {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			}
+		}
+	}
+}
@@ -2,6 +2,7 @@ package core.net;
 
 
 import com.github.scribejava.core.model.*;
+import core.db.user.UserManager;
 import core.file.xml.XMLCHPPPreParser;
 import core.file.xml.XMLTeamDetailsParser;
 import core.gui.CursorToolkit;
@@ -27,6 +28,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -63,6 +65,9 @@ public class MyConnector {
 	private final OAuth10aService m_OAService;
 	private OAuth1AccessToken m_OAAccessToken;
 	private static boolean DEBUGSAVE = false;
+	private static boolean OFFLINE = false;
+	private static boolean RECORDING = false;
+	private CHPPResponseCache responseCache;
 
 	private boolean silentDownload = false;
 
@@ -116,6 +121,37 @@ public class MyConnector {
 		DEBUGSAVE = debugSave;
 	}
 
+	/**
+	 * Sets the OFFLINE flag. Setting the flag to true will return the cached
+	 * CHPP files, regardless of their age, instead of downloading them.
+	 *
+	 * @param offline
+	 *            true to work with the cached CHPP files only, false otherwise.
+	 */
+	public static void setOffline(boolean offline) {
+		OFFLINE = offline;
+	}
+
+	public static boolean isOffline() {
+		return OFFLINE;
+	}
+
+	/**
+	 * Sets the RECORDING flag. Setting the flag to true will store all downloaded
+	 * CHPP files in the response cache for offline use, not only the files
+	 * with a time to live.
+	 *
+	 * @param recording
+	 *            true to record all CHPP files, false otherwise.
+	 */
+	public static void setRecording(boolean recording) {
+		RECORDING = recording;
+	}
+
+	public static boolean isRecording() {
+		return RECORDING;
+	}
+
 	public static String getResourceSite() {
 		return getPluginSite();
 	}
@@ -137,11 +173,26 @@ public class MyConnector {
 	 * @return arena xml
 	 */
 	public String downloadArena(int arenaId) {
+		return getCHPPWebFile(getArenaUrl(arenaId));
+	}
+
+	/**
+	 * Fetch a specific arena, a cached file is returned if it is fresh
+	 *
+	 * @param arenaId
+	 *            id of the arena to fetch
+	 * @return arena xml
+	 */
+	public String fetchArena(int arenaId) {
+		return getCHPPWebFile(getArenaUrl(arenaId), true);
+	}
+
+	private static String getArenaUrl(int arenaId) {
 		String url = htUrl + "?file=arenadetails";
 		if (arenaId > 0) {
 			url += "&arenaID=" + arenaId;
 		}
-		return getCHPPWebFile(url);
+		return url;
 	}
 
 	/**
@@ -149,14 +200,14 @@ public class MyConnector {
 	 *
 	 * @param regionId
 	 *            id of the region to fetch
-	 * @return regiondetails xml
+	 * @return regiondetails xml, a cached file is returned if it is fresh
 	 */
 	public String getRegion(int regionId) {
 		String url = htUrl + "?file=regiondetails";
 		if (regionId > 0) {
 			url += "&regionID=" + regionId;
 		}
-		return getCHPPWebFile(url);
+		return getCHPPWebFile(url, true);
 	}
 
 	/**
@@ -296,6 +347,10 @@ public class MyConnector {
 	 * lädt die Aufstellungsbewertung zu einem Spiel
 	 */
 	public String downloadMatchLineup(int matchId, int teamId, MatchType matchType) {
+		return getCHPPWebFile(getMatchLineupUrl(matchId, teamId, matchType));
+	}
+
+	static String getMatchLineupUrl(int matchId, int teamId, MatchType matchType) {
 		String url = htUrl + "?file=matchlineup&version=" + VERSION_MATCHLINEUP;
 
 		if (matchId > 0) {
@@ -307,7 +362,7 @@ public class MyConnector {
 		
 		url += "&sourceSystem=" + matchType.getSourceString();
 
-		return getCHPPWebFile(url);
+		return url;
 	}
 
 	/**
@@ -395,13 +450,17 @@ public class MyConnector {
 	 * lädt die Aufstellungsbewertung zu einem Spiel
 	 */
 	public String downloadMatchdetails(int matchId, MatchType matchType) throws IOException {
+		return getCHPPWebFile(getMatchdetailsUrl(matchId, matchType));
+	}
+
+	static String getMatchdetailsUrl(int matchId, MatchType matchType) {
 		String url = htUrl + "?file=matchdetails&version=" + VERSION_MATCHDETAILS;
 		if (matchId > 0) {
 			url += ("&matchID=" + matchId);
 		}
 		url += "&sourceSystem=" + matchType.getSourceString();
 		url += "&matchEvents=true";
-		return getCHPPWebFile(url);
+		return url;
 	}
 
 	/**
@@ -500,12 +559,15 @@ public class MyConnector {
 	 * holt die Teamdetails
 	 */
 	public String getTeamdetails(int teamId) throws IOException {
-		String url = htUrl + "?file=teamdetails&version=3.5";
+		return getCHPPWebFile(getTeamdetailsUrl(teamId));
+	}
+
+	static String getTeamdetailsUrl(int teamId) {
+		String url = htUrl + "?file=teamdetails&version=" + VERSION_TEAM_DETAILS;
 		if (teamId > 0) {
 			url += ("&teamID=" + teamId);
 		}
-
-		return getCHPPWebFile(url);
+		return url;
 	}
 
 	/**
@@ -551,10 +613,21 @@ public class MyConnector {
 	 * holt die Weltdaten
 	 */
 	public String getWorldDetails(int leagueId) throws IOException {
+		return getCHPPWebFile(getWorldDetailsUrl(leagueId));
+	}
+
+	/**
+	 * holt die Weltdaten, a cached file is returned if it is fresh
+	 */
+	public String fetchWorldDetails(int leagueId) {
+		return getCHPPWebFile(getWorldDetailsUrl(leagueId), true);
+	}
+
+	private static String getWorldDetailsUrl(int leagueId) {
 		String url = htUrl + "?file=worlddetails&version=" + VERSION_WORLDDETAILS;
 		if (leagueId > 0)
 			url += "&leagueID=" + leagueId;
-		return getCHPPWebFile(url);
+		return url;
 	}
 
 	// ///////////////////////////////////////////////////////////////////////////////
@@ -633,11 +706,13 @@ public class MyConnector {
 	}
 
 
+	/**
+	 * Get the team details, a cached file is returned if it is fresh
+	 */
 	public String fetchTeamDetails(int teamId)
 	{
 		try {
-			String xmlFile = htUrl + "?file=teamdetails&version=" + VERSION_TEAM_DETAILS + "&teamID=" + teamId;
-			return getCHPPWebFile(xmlFile);
+			return getCHPPWebFile(getTeamdetailsUrl(teamId), true);
 		} catch (Exception e) {
 			HOLogger.instance().log(getClass(), e);
 		}
@@ -657,7 +732,34 @@ public class MyConnector {
 	 * Get a web page using a URLconnection.
 	 */
 	private String getCHPPWebFile(String surl) {
-		String returnString = "";
+		return getCHPPWebFile(surl, false);
+	}
+
+	/**
+	 * Get a CHPP file. Downloaded files are stored in the response cache.
+	 *
+	 * @param surl
+	 *            the CHPP url
+	 * @param cached
+	 *            true, if a fresh cached file may be returned instead of downloading it.
+	 *            If the download fails, the cached file is returned regardless of its age.
+	 */
+	private String getCHPPWebFile(String surl, boolean cached) {
+		// file already fetched by a running bulk download
+		String returnString = MatchDownloader.getPrefetched(surl);
+		if (returnString != null) {
+			return returnString;
+		}
+		if (OFFLINE) {
+			return getOfflineCHPPWebFile(surl);
+		}
+		if (cached) {
+			returnString = getResponseCache().get(surl, false);
+			if (returnString != null) {
+				return returnString;
+			}
+		}
+		returnString = "";
 		OAuthDialog authDialog = null;
 		Response response = null;
 		int iResponse;
@@ -685,6 +787,7 @@ public class MyConnector {
 					if (sError.length() > 0) {
 						throw new RuntimeException(sError);
 					}
+					getResponseCache().put(surl, returnString);
 					tryAgain = false;
 					break;
 				case 401:
@@ -728,6 +831,13 @@ public class MyConnector {
 				}
 			}
 		} catch (Exception sox) {
+			if (cached) {
+				var stale = getResponseCache().get(surl, true);
+				if (stale != null) {
+					HOLogger.instance().warning(getClass(), "Cached file returned: " + sox.getMessage() + " URL:" + surl);
+					return stale;
+				}
+			}
 
 			if ( !silentDownload) {
 				HOLogger.instance().error(getClass(), sox);
@@ -741,6 +851,68 @@ public class MyConnector {
 		return returnString;
 	}
 
+	/**
+	 * Get a CHPP file in background. In contrast to getCHPPWebFile no dialogs are shown,
+	 * if the file could not be fetched (missing authorization, connection errors, CHPP errors).
+	 *
+	 * @return the file content, "" on errors
+	 */
+	String fetchCHPPWebFile(String surl) {
+		if (OFFLINE) {
+			return getOfflineCHPPWebFile(surl);
+		}
+		var cached = getResponseCache().get(surl, false);
+		if (cached != null) {
+			return cached;
+		}
+		try {
+			var accessToken = m_OAAccessToken;
+			if (accessToken == null || accessToken.getToken().length() == 0) {
+				return "";
+			}
+			OAuthRequest request = new OAuthRequest(Verb.GET, surl);
+			infoHO(request);
+			m_OAService.signRequest(accessToken, request);
+			var response = m_OAService.execute(request);
+			if (response.getCode() == 200 || response.getCode() == 201) {
+				var ret = readStream(getResultStream(response));
+				if (XMLCHPPPreParser.getError(ret).length() == 0) {
+					getResponseCache().put(surl, ret);
+					return ret;
+				}
+			}
+			HOLogger.instance().warning(getClass(), "fetchCHPPWebFile: HTTP Response Code " + response.getCode() + " URL:" + surl);
+		} catch (Exception e) {
+			HOLogger.instance().warning(getClass(), "fetchCHPPWebFile: " + e + " URL:" + surl);
+		}
+		return "";
+	}
+
+	/**
+	 * Get a CHPP file from the response cache, regardless of its age
+	 *
+	 * @return the file content, "" if the file is not cached
+	 */
+	private String getOfflineCHPPWebFile(String surl) {
+		var ret = getResponseCache().get(surl, true);
+		if (ret == null) {
+			HOLogger.instance().warning(getClass(), "Offline: file not cached. URL:" + surl);
+			return "";
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the response cache in the database folder of the current user
+	 */
+	private synchronized CHPPResponseCache getResponseCache() {
+		var folder = Path.of(UserManager.instance().getCurrentUser().getDbFolder(), "chppcache");
+		if (responseCache == null || !responseCache.getFolder().equals(folder)) {
+			responseCache = new CHPPResponseCache(folder, System::currentTimeMillis, MyConnector::isRecording);
+		}
+		return responseCache;
+	}
+
 	/**
 	 * Get input stream from web url (file download)
 	 */
@@ -110,8 +110,6 @@ public class OnlineWorker {
 						// save the model in the database
 						homodel.saveHRF();
 						homodel.setFixtures(hov.getModel().getFixtures());
-						// Add old players to the model
-						homodel.setFormerPlayers(DBManager.instance().getAllSpieler());
 						// Only update when the model is newer than existing
 						if (HOVerwaltung.isNewModel(homodel)) {
 							// Reimport Skillup
@@ -224,6 +222,13 @@ public class OnlineWorker {
 	 * @return true if the match is in the db afterwards
 	 */
 	public static boolean downloadMatchData(int matchid, MatchType matchType, boolean refresh) {
+		return downloadMatchData(getMatchKurzInfo(matchid, matchType), refresh);
+	}
+
+	/**
+	 * Returns the stored match info, or a new one with the given id and type if the match is not in the database
+	 */
+	static MatchKurzInfo getMatchKurzInfo(int matchid, MatchType matchType) {
 		MatchKurzInfo info;
 		if (DBManager.instance().isMatchInDB(matchid, matchType)) {
 			info = DBManager.instance().getMatchesKurzInfoByMatchID(matchid, matchType);
@@ -233,7 +238,7 @@ public class OnlineWorker {
 			info.setMatchID(matchid);
 			info.setMatchType(matchType);
 		}
-		return downloadMatchData(info, refresh);
+		return info;
 	}
 
 	public static boolean downloadMatchData(MatchKurzInfo info, boolean refresh)
@@ -383,7 +388,7 @@ public class OnlineWorker {
 
 	private static void downloadTeamRatings(int matchID, MatchType matchType, int teamID) {
 		try {
-			var xml = MyConnector.instance().getTeamdetails(teamID);
+			var xml = MyConnector.instance().fetchTeamDetails(teamID);
 			var teamrating = new MatchTeamRating(matchID, matchType, XMLTeamDetailsParser.parseTeamdetailsFromString(xml, teamID));
 			DBManager.instance().storeTeamRatings(teamrating);
 		} catch (Exception e) {
@@ -831,7 +836,7 @@ public class OnlineWorker {
 				HOLogger.instance().warning(OnlineWorker.class, "Unable to fetch details for match " + matchID);
 				return null;
 			}
-			String arenaString = MyConnector.instance().downloadArena(details.getArenaID());
+			String arenaString = MyConnector.instance().fetchArena(details.getArenaID());
 			HOMainFrame.instance().setWaitInformation();
 			String regionIdAsString = XMLArenaParser.parseArenaFromString(arenaString).get("RegionID");
 			details.setRegionId(Integer.parseInt(regionIdAsString));
@@ -880,19 +885,20 @@ public class OnlineWorker {
 			infos = DBManager.instance().getPlayedMatchInfo(nbGames, false, false).toArray(new MatchKurzInfo[0]);
 		}
 
-		boolean bOK;
+		var downloader = new MatchDownloader();
+		// continue an interrupted download first
+		downloader.resume();
+
+		var missing = new ArrayList<MatchKurzInfo>();
 		for (MatchKurzInfo info : infos) {
 			int curMatchId = info.getMatchID();
 			if ((!(info.isObsolet())) && (!DBManager.instance().isMatchLineupInDB(info.getMatchType(), curMatchId))) {
 				if (info.getMatchStatus() == MatchKurzInfo.FINISHED) {
-					bOK = downloadMatchData(curMatchId, info.getMatchType(), false);
-					if (!bOK) {
-						HOLogger.instance().error(OnlineWorker.class, "Error fetching Match: " + curMatchId);
-						break;
-					}
+					missing.add(info);
 				}
 			}
 		}
+		downloader.download(missing, false, true);
 	}
 
 	/**
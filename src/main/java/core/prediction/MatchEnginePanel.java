@@ -1,7 +1,6 @@
 // %127697663:de.hattrickorganizer.gui.matchprediction%
 package core.prediction;
 
-import core.gui.HOMainFrame;
 import core.gui.comp.panel.ImagePanel;
 import core.model.HOVerwaltung;
 import core.model.UserParameter;
@@ -9,6 +8,7 @@ import core.prediction.engine.MatchPredictionManager;
 import core.prediction.engine.MatchResult;
 import core.prediction.engine.TeamData;
 import core.prediction.engine.TeamRatings;
+import core.util.HOLogger;
 import module.teamAnalyzer.SystemManager;
 import module.teamAnalyzer.vo.MatchRating;
 
@@ -18,6 +18,8 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
 import javax.swing.JPanel;
@@ -25,6 +27,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JSlider;
 import javax.swing.JSplitPane;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
@@ -41,6 +44,8 @@ public class MatchEnginePanel extends ImagePanel implements	 ActionListener {
 	private TeamRatingPanel homeTeamPanel;
 	private TeamRatingPanel guestTeamPanel;
 	private boolean isHomeMatch = true;
+	/** running simulation, a new simulation cancels the old one */
+	private SwingWorker<MatchResult, Void> simulation;
 
 	public MatchEnginePanel(TeamData homeTeamValues,
 			TeamData guestTeamValues) {
@@ -91,22 +96,37 @@ public class MatchEnginePanel extends ImagePanel implements	 ActionListener {
 	}
 
 	/**
-	 * Calculates numberOfMatches matches and show the results uses
-	 * getNumberOfMatches() as parameter
+	 * Calculates numberOfMatches matches in the background and shows the results
+	 * when the simulation is finished. uses getNumberOfMatches() as parameter.
+	 * The button and the slider both use the minute by minute simulation, so they show the same numbers.
+	 * A running simulation is cancelled.
 	 */
 	public final void calculateNMatches(int numberOfMatches) {
-		int match = (1 + numberOfMatches) * 1000;
-		var mainframe = HOMainFrame.instance();
-		mainframe.resetInformation();
-		MatchResult result = new MatchResult();
+		final int match = (1 + numberOfMatches) * 1000;
 		final TeamData team1 = homeTeamPanel.getTeamData();
 		final TeamData team2 = guestTeamPanel.getTeamData();
-		for (int i = 0; i < match; i++) {
-			result.addMatchResult(MatchPredictionManager.instance().calculateMatchResult(team1, team2));
-			if (i%1000==0)mainframe.updateProgress((int) ((i * 100d) / match));
+		if (simulation != null) {
+			simulation.cancel(false);
 		}
-		mainframe.resetInformation();
-		refresh(result);
+		simulation = new SwingWorker<>() {
+			@Override
+			protected MatchResult doInBackground() {
+				return MatchPredictionManager.instance().calculateNMatchesByMinute(match, team1, team2);
+			}
+
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					return;
+				}
+				try {
+					refresh(get());
+				} catch (InterruptedException | ExecutionException | CancellationException e) {
+					HOLogger.instance().error(MatchEnginePanel.class, "Match simulation failed: " + e);
+				}
+			}
+		};
+		simulation.execute();
 	}
 
 	/**
@@ -155,7 +175,12 @@ public class MatchEnginePanel extends ImagePanel implements	 ActionListener {
 		slider.setPaintTicks(true);
 		slider.setPaintLabels(true);
 		slider.setValue(UserParameter.instance().simulatorMatches);
-		slider.addChangeListener(arg0 -> UserParameter.instance().simulatorMatches = slider.getValue());
+		slider.addChangeListener(arg0 -> {
+			UserParameter.instance().simulatorMatches = slider.getValue();
+			if (!slider.getValueIsAdjusting()) {
+				calculateNMatches(getNumberOfMatches());
+			}
+		});
 		actionpanel.add(slider, BorderLayout.CENTER);
 
 		panel.add(actionpanel, BorderLayout.SOUTH);
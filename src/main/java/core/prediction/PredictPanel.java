@@ -98,6 +98,9 @@ class PredictPanel extends JPanel {
         m_jpbGewonnen.setValue((mr.getHomeWin() * 100) / (mr.getHomeWin() + mr.getAwayWin() + mr.getDraw()));
         m_jpbUnendschieden.setValue((mr.getDraw() * 100) / (mr.getHomeWin() + mr.getAwayWin() + mr.getDraw()));
         m_jpbVerloren.setValue((mr.getAwayWin() * 100) / (mr.getHomeWin() + mr.getAwayWin() + mr.getDraw()));
+        m_jpbGewonnen.setToolTipText(getConfidenceText(mr, mr.getHomeWin()));
+        m_jpbUnendschieden.setToolTipText(getConfidenceText(mr, mr.getDraw()));
+        m_jpbVerloren.setToolTipText(getConfidenceText(mr, mr.getAwayWin()));
 
         m_jlGesamtToreHome.setText(mr.getHomeGoals() + "");
         m_jlGesamtChancenHome.setText("(" + mr.getHomeChances() + ")");
@@ -134,6 +137,14 @@ class PredictPanel extends JPanel {
                                  + mr.getGuestSuccess()[0]));
     }
 
+    /**
+     * 95% confidence interval of the probability
+     */
+    private static String getConfidenceText(MatchResult mr, int count) {
+        final double[] interval = mr.getConfidenceInterval(count);
+        return String.format("95%%: %.1f%% - %.1f%%", interval[0] * 100, interval[1] * 100);
+    }
+
     private void initComponents() {
         setLayout(new BorderLayout());
         setBackground(ThemeManager.getColor(HOColorName.PANEL_BG));
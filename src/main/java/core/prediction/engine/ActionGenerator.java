@@ -8,6 +8,7 @@ import core.model.match.IMatchDetails;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
  class ActionGenerator extends BaseActionGenerator {
 
@@ -31,6 +32,12 @@ import java.util.List;
 		awayTeamGameData.setHome(false);
 	}
 
+	@Override
+	final void setRandom(SplittableRandom random) {
+		super.setRandom(random);
+		caGenerator.setRandom(random);
+	}
+
 	final Action[] predict(int minute) {
 		final List<Action> actions = new ArrayList<Action>();
 		actions.addAll(calculateActions(minute, homeTeamGameData, awayTeamGameData));
@@ -67,6 +74,65 @@ import java.util.List;
 		return actions.toArray(new Action[0]);
 	}
 
+	/**
+	 * Simulates one match like {@link #simulate()}, but no actions are created.
+	 * The chances are counted in the match result. The generator can be used for any number of matches.
+	 *
+	 * @param result match result the simulated match is added to
+	 */
+	final void simulate(MatchResult result) {
+		homeTeamGameData.reset();
+		awayTeamGameData.reset();
+		caGenerator.init();
+		result.startMatch();
+
+		int midfieldPossession = (int) getEffectiveness(homeTeamGameData.getRatings().getMidfield());
+		int pressing = getPressing(homeTeamGameData, awayTeamGameData);
+		int succesfulPressing = 0;
+
+		for (int i = 0; i < 10; i++) {
+			// Pressing modifier
+			if ((succesfulPressing < 7) && ((succesfulPressing * 2) <= pressing)) {
+				if (getRandom(14) < pressing) {
+					succesfulPressing++;
+					continue;
+				}
+			}
+
+			if (getRandom(100) < midfieldPossession) {
+				countAction(homeTeamGameData, awayTeamGameData, result);
+			} else {
+				countAction(awayTeamGameData, homeTeamGameData, result);
+			}
+		}
+		result.endMatch();
+	}
+
+	private void countAction(TeamGameData team, TeamGameData opponent, MatchResult result) {
+		final int area = getArea(team.getTacticType(), team.getTacticLevel());
+
+		if (getRandom(10) < 1) {
+			// SP event
+			int type = getRandom(2);
+
+			int successRate = 75;
+			if (type == 0) {
+				successRate = 25;
+			}
+			result.addChance(team.isHome(), area, getRandom(100) < successRate);
+			return;
+		}
+
+		if (isScore(team, area)) {
+			result.addChance(team.isHome(), area, true);
+		} else {
+			result.addChance(team.isHome(), area, false);
+			if (opponent.getTacticType() == IMatchDetails.TAKTIK_KONTER) {
+				caGenerator.countCounterAttack(opponent, result);
+			}
+		}
+	}
+
 	private int getPressing(TeamData td1, TeamData td2) {
 		int lvl = 0;
 
@@ -3,9 +3,21 @@ package core.prediction.engine;
 
 import core.model.match.IMatchDetails;
 
+import java.util.SplittableRandom;
+
 
 class BaseActionGenerator {
 
+	private SplittableRandom random = new SplittableRandom();
+
+	/**
+	 * Sets the random generator. Generators used in parallel need their own random generator
+	 * (see {@link SplittableRandom#split()}).
+	 */
+	void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
 	protected final int getArea(int tactic, int level) {
 		int attackMiddle = 40;
 
@@ -31,8 +43,8 @@ class BaseActionGenerator {
 		return 1;
 	}
 
-	protected static final int getRandom(int value) {
-	        return (int) (Math.random() * value);
+	protected final int getRandom(int value) {
+	        return (int) (random.nextDouble() * value);
 	}
 
 	protected boolean isScore(TeamGameData tgd, int area) {
@@ -115,7 +127,7 @@ class BaseActionGenerator {
 		return ret;
 	}
 	
-	protected static int getRandomInt(double number) {
+	protected final int getRandomInt(double number) {
 		int intPart = (int) (number / 1);		
 		double decPart = number % 1.0;
 		if (getRandom(10)<decPart*10) {
@@ -5,10 +5,21 @@ import core.model.match.IMatchDetails;
 
 class CounterAttackGenerator extends BaseActionGenerator {
 
+	private final TeamData homeTeamData;
+	private final TeamData awayTeamData;
 	private int home = 0;
 	private int away = 0;
 
 	CounterAttackGenerator(TeamData homeTeamData, TeamData awayTeamData) {
+		this.homeTeamData = homeTeamData;
+		this.awayTeamData = awayTeamData;
+		init();
+	}
+
+	/**
+	 * Determine the number of possible counter attacks of the next match
+	 */
+	final void init() {
 		home = getCounterAction(homeTeamData, awayTeamData);
 		away = getCounterAction(awayTeamData, homeTeamData);
 	}
@@ -22,19 +33,7 @@ class CounterAttackGenerator extends BaseActionGenerator {
 	 * @return the CA Action generated or null if team had no CA
 	 */
 	protected final Action calculateCounterAttack(int minute, TeamGameData team) {
-		// IF team win at midfield no CA
-		if (team.getRatings().getMidfield() > 0.5) {
-			return null;
-		}
-		int maxChance = 0;
-
-		if (team.isHome()) {
-			maxChance = home;
-		} else {
-			maxChance = away;
-		}
-
-		if (team.getCounterAction() >= maxChance) {
+		if (!hasCounterAttack(team)) {
 			return null;
 		}
 
@@ -50,6 +49,39 @@ class CounterAttackGenerator extends BaseActionGenerator {
 		return ca;
 	}
 
+	/**
+	 * Counts the CA chance in the match result, if any
+	 *
+	 * @param team The TeamGameData for the team having the opportunity for a CA
+	 * @param result The result of the simulated match
+	 */
+	final void countCounterAttack(TeamGameData team, MatchResult result) {
+		if (!hasCounterAttack(team)) {
+			return;
+		}
+
+		team.addCounterActionPlayed();
+
+		final int area = getArea(team.getTacticType(), team.getTacticLevel());
+		result.addChance(team.isHome(), area, isScore(team, area));
+	}
+
+	private boolean hasCounterAttack(TeamGameData team) {
+		// IF team win at midfield no CA
+		if (team.getRatings().getMidfield() > 0.5) {
+			return false;
+		}
+		int maxChance;
+
+		if (team.isHome()) {
+			maxChance = home;
+		} else {
+			maxChance = away;
+		}
+
+		return team.getCounterAction() < maxChance;
+	}
+
 	private int getCounterAction(TeamData homeTeamData, TeamData awayTeamData) {
 		if (homeTeamData.getTacticType() != IMatchDetails.TAKTIK_KONTER) {
 			return 0;
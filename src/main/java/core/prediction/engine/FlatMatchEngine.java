@@ -0,0 +1,202 @@
+package core.prediction.engine;
+
+import core.model.match.IMatchDetails;
+
+import java.util.SplittableRandom;
+
+/**
+ * Minute by minute match engine without objects.
+ * <p>
+ * Simulates the same model as {@link MatchData#advance()} (chances per minute, pressing and counter attacks),
+ * but the values of both teams are kept in primitive arrays indexed by team (0 home, 1 away), which are
+ * computed once when the engine is created. Stepping through the 90 minutes creates no objects, the chances
+ * are counted directly in the {@link MatchResult}.
+ * </p>
+ * The random numbers are drawn in the same order as by the {@link ActionGenerator}. So both engines return the
+ * same result with the same random generator, as long as no team plays counter attacks. The action generator
+ * draws the number of counter attacks of the first match when it is created, before
+ * {@link ActionGenerator#setRandom(SplittableRandom)} shares the random generator with its counter attack generator.
+ */
+final class FlatMatchEngine {
+
+	private static final int HOME = 0;
+	private static final int AWAY = 1;
+
+	private SplittableRandom random = new SplittableRandom();
+
+	//~ values of the teams, computed once ------------------------------------------------------
+	/** expected number of chances */
+	private final int[] actionNumber = new int[2];
+	/** random value below this limit is an attack in the middle */
+	private final int[] middleLimit = new int[2];
+	/** random value below this limit (and not in the middle) is an attack on the left side */
+	private final int[] leftLimit = new int[2];
+	/** scoring effectiveness (0-100) by team * 3 + area (left, middle, right) */
+	private final int[] effectiveness = new int[6];
+	/** true, if the team plays counter attacks */
+	private final boolean[] counter = new boolean[2];
+	/** true, if the team may get counter attacks (does not win the midfield) */
+	private final boolean[] counterPossible = new boolean[2];
+	/** expected number of counter attacks */
+	private final double[] counterExpected = new double[2];
+	/** pressing level of both teams */
+	private final int pressing;
+
+	//~ state of the current match ------------------------------------------------------------------
+	private final int[] actionPlayed = new int[2];
+	private final int[] counterPlayed = new int[2];
+	private final int[] counterMax = new int[2];
+
+	FlatMatchEngine(TeamData home, TeamData away) {
+		init(HOME, home, away);
+		init(AWAY, away, home);
+		pressing = getPressing(home) + getPressing(away);
+	}
+
+	/**
+	 * Sets the random generator. Engines used in parallel need their own random generator
+	 * (see {@link SplittableRandom#split()}).
+	 */
+	void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+	private void init(int team, TeamData data, TeamData opponent) {
+		final TeamRatings ratings = data.getRatings();
+		final TeamRatings other = opponent.getRatings();
+		final double possession = getLinearChance(ratings.getMidfield(), other.getMidfield());
+		actionNumber[team] = (int) (BaseActionGenerator.getEffectiveness(possession) / 10.0) + 1;
+
+		final int tactic = data.getTacticType();
+		final int level = data.getTacticLevel();
+		int attackMiddle = 40;
+		if (tactic == IMatchDetails.TAKTIK_MIDDLE) {
+			attackMiddle = attackMiddle + (level * 3);
+		}
+		if (tactic == IMatchDetails.TAKTIK_WINGS) {
+			attackMiddle = (int) (attackMiddle - (level * 1.5));
+		}
+		middleLimit[team] = attackMiddle;
+		leftLimit[team] = ((100 - attackMiddle) / 2) + attackMiddle;
+
+		effectiveness[team * 3] = (int) BaseActionGenerator.getEffectiveness(
+				getLinearChance(ratings.getLeftAttack(), other.getRightDef()));
+		effectiveness[team * 3 + 1] = (int) BaseActionGenerator.getEffectiveness(
+				getLinearChance(ratings.getMiddleAttack(), other.getMiddleDef()));
+		effectiveness[team * 3 + 2] = (int) BaseActionGenerator.getEffectiveness(
+				getLinearChance(ratings.getRightAttack(), other.getLeftDef()));
+
+		counter[team] = tactic == IMatchDetails.TAKTIK_KONTER;
+		counterPossible[team] = possession <= 0.5;
+		if (counter[team]) {
+			final double def = other.getLeftDef() + other.getMiddleDef() + other.getRightDef();
+			final double counterIndex = (level / (def / 6.0 + level)) * 100;
+			counterExpected[team] = 4.00008896306671 / (1 + 58995.2231780103 * Math.exp(-0.21970325236894 * counterIndex));
+		}
+	}
+
+	private static int getPressing(TeamData team) {
+		if ((team.getTacticType() == IMatchDetails.TAKTIK_PRESSING) && (team.getTacticLevel() > 4)) {
+			return team.getTacticLevel() - 4;
+		}
+		return 0;
+	}
+
+	private static double getLinearChance(double rate1, double rate2) {
+		return rate1 / (rate1 + rate2);
+	}
+
+	/**
+	 * Simulates the 90 minutes of one match and counts it in the result
+	 *
+	 * @param result match result the simulated match is added to
+	 */
+	void simulate(MatchResult result) {
+		actionPlayed[HOME] = 0;
+		actionPlayed[AWAY] = 0;
+		counterPlayed[HOME] = 0;
+		counterPlayed[AWAY] = 0;
+		counterMax[HOME] = getCounterMax(HOME);
+		counterMax[AWAY] = getCounterMax(AWAY);
+		result.startMatch();
+
+		for (int minute = 0; minute < 91; minute++) {
+			step(minute, HOME, AWAY, result);
+			step(minute, AWAY, HOME, result);
+		}
+		result.endMatch();
+	}
+
+	private int getCounterMax(int team) {
+		if (!counter[team]) {
+			return 0;
+		}
+		final double ca = counterExpected[team];
+		int number = (int) ca;
+		if (getRandom(10) < (ca % 1.0) * 10) {
+			number++;
+		}
+		return Math.min(number, 3);
+	}
+
+	private void step(int minute, int team, int opponent, MatchResult result) {
+		if (!hasChance(team, minute)) {
+			return;
+		}
+		actionPlayed[team]++;
+		if (getRandom(20) < pressing) {
+			// chance prevented by pressing
+			return;
+		}
+
+		final int area = getArea(team);
+		if (isScore(team, area)) {
+			result.addChance(team == HOME, area, true);
+			return;
+		}
+		result.addChance(team == HOME, area, false);
+
+		if (counter[opponent] && counterPossible[opponent] && counterPlayed[opponent] < counterMax[opponent]) {
+			counterPlayed[opponent]++;
+			final int counterArea = getArea(opponent);
+			result.addChance(opponent == HOME, counterArea, isScore(opponent, counterArea));
+		}
+	}
+
+	private boolean hasChance(int team, int minute) {
+		final int number = actionNumber[team];
+		final int played = actionPlayed[team];
+		if (played >= number) {
+			return false;
+		}
+
+		// Factor is used to increase chance of actions if the team has had less than expected as the game progress
+		double factor = ((number - played + 1d) / (number + 1d) * (91 - minute)) / 90d * 6;
+		if (factor > 1) {
+			factor = 1;
+		}
+		return getRandom((int) (90.0d * factor)) < number;
+	}
+
+	/**
+	 * @return -1 left, 0 middle, 1 right
+	 */
+	private int getArea(int team) {
+		final int area = getRandom(100);
+		if (area < middleLimit[team]) {
+			return 0;
+		}
+		if (area < leftLimit[team]) {
+			return -1;
+		}
+		return 1;
+	}
+
+	private boolean isScore(int team, int area) {
+		return getRandom(100) < effectiveness[team * 3 + area + 1];
+	}
+
+	private int getRandom(int value) {
+		return (int) (random.nextDouble() * value);
+	}
+}
@@ -52,20 +52,24 @@ public class MatchPredictionManager {
 	}    
 
     /**
-     * calculates a number of matches match ( 90 minutes ) and returns list of events for both
-     * teams.
+     * calculates a number of matches match ( 90 minutes ) in parallel and returns the summed up results
+     * of both teams.
      *
-     * @return vector contaning Vectors holding IMPActions for each match
+     * @return result of all matches
      */
     public MatchResult calculateNMatches(int numberOfMatches, TeamData home,
                                               TeamData away) {
-		final MatchData matchengine = new MatchData((TeamData) home, (TeamData) away);
-		MatchResult result = new MatchResult();		
-        for (int i = 0; i < numberOfMatches; i++) {			        	
-			result.addActions(matchengine.simulate());
-        }
-		return result;
+        return new MatchSimulator().simulate(home, away, numberOfMatches);
+    }
 
+    /**
+     * calculates a number of matches minute by minute (like {@link #calculateMatch(TeamData, TeamData)})
+     * in parallel and returns the summed up results of both teams. No actions are created.
+     *
+     * @return result of all matches
+     */
+    public MatchResult calculateNMatchesByMinute(int numberOfMatches, TeamData home, TeamData away) {
+        return new MatchSimulator().simulateMinutes(home, away, numberOfMatches);
     }
 
     public TeamData generateTeamData(String name, TeamRatings _ratings, int _tactic, int _level) {
@@ -3,7 +3,14 @@ package core.prediction.engine;
 
 public class MatchResult  {
 
+	/** Goal differences beyond are counted in the first or last slot of the histogram */
+	public static final int MAX_GOAL_DIFFERENCE = 10;
+	/** z-value of the 95% confidence intervals */
+	private static final double Z_95 = 1.959963984540054;
+
 	private int[] resultDetail = new int[25];
+	//home goals - guest goals + MAX_GOAL_DIFFERENCE
+	private final int[] goalDifference = new int[2 * MAX_GOAL_DIFFERENCE + 1];
 
 	private int matchNumber = 0;
 	private int homeWin = 0;
@@ -20,151 +27,151 @@ public class MatchResult  {
 	private final int[] guestSuccess = { 0, 0, 0 };
 	private final int[] guestFailed = { 0, 0, 0 };
 
-	public void addActions(Action[] actions) {
+	//goals of the current match
+	private int matchHomeGoals = 0;
+	private int matchGuestGoals = 0;
 
-		matchNumber++;
-		int matchHomeGoals = 0;
-		int matchHomeChances = 0;
-		int matchGuestGoals = 0;
-		int matchGuestChances = 0;
-
-		//left, middle, right
-		final int[] matchHomeSuccess = { 0, 0, 0 };
-		final int[] matchHomeFailed = { 0, 0, 0 };
-		final int[] matchGuestSuccess = { 0, 0, 0 };
-		final int[] matchGuestFailed = { 0, 0, 0 };
-
-		for (int i = 0; i < actions.length; i++) {
-			final Action element = (Action) actions[i];
-
-			if (element.isHomeTeam()) {
-				matchHomeChances++;
-
-				if (element.isScore()) {
-					matchHomeGoals++;
-
-					if (element.getArea() == -1) {
-						matchHomeSuccess[0]++;
-					} else if (element.getArea() == 0) {
-						matchHomeSuccess[1]++;
-					} else {
-						matchHomeSuccess[2]++;
-					}
-				} else {
-					if (element.getArea() == -1) {
-						matchHomeFailed[0]++;
-					} else if (element.getArea() == 0) {
-						matchHomeFailed[1]++;
-					} else {
-						matchHomeFailed[2]++;
-					}
-				}
-			} else {
-				matchGuestChances++;
-
-				if (element.isScore()) {
-					matchGuestGoals++;
-
-					if (element.getArea() == -1) {
-						matchGuestSuccess[0]++;
-					} else if (element.getArea() == 0) {
-						matchGuestSuccess[1]++;
-					} else {
-						matchGuestSuccess[2]++;
-					}
-				} else {
-					if (element.getArea() == -1) {
-						matchGuestFailed[0]++;
-					} else if (element.getArea() == 0) {
-						matchGuestFailed[1]++;
-					} else {
-						matchGuestFailed[2]++;
-					}
-				}
-			}
+	public void addActions(Action[] actions) {
+		startMatch();
+		for (final Action element : actions) {
+			addChance(element.isHomeTeam(), element.getArea(), element.isScore());
 		}
+		endMatch();
+	}
 
-		int away = matchGuestGoals;
-		if (away > 4) {
-			away = 4;
-		}
-		int home = matchHomeGoals;
-		if (home > 4) {
-			home = 4;
+	/**
+	 * Starts counting the chances of a new match
+	 */
+	void startMatch() {
+		matchHomeGoals = 0;
+		matchGuestGoals = 0;
+	}
+
+	/**
+	 * Counts a chance of the current match
+	 *
+	 * @param home true, if the home team had the chance
+	 * @param area -1 left, 0 middle, 1 right
+	 * @param score true, if the chance was a goal
+	 */
+	void addChance(boolean home, int area, boolean score) {
+		final int index;
+		if (area == -1) {
+			index = 0;
+		} else if (area == 0) {
+			index = 1;
+		} else {
+			index = 2;
 		}
-		resultDetail[(home * 5) + away]++;
 
-		//Werte zusamenzählen
-		homeGoals += matchHomeGoals;
-		homeChances += matchHomeChances;
-		guestGoals += matchGuestGoals;
-		guestChances += matchGuestChances;
-		homeSuccess[0] += matchHomeSuccess[0];
-		homeSuccess[1] += matchHomeSuccess[1];
-		homeSuccess[2] += matchHomeSuccess[2];
-		homeFailed[0] += matchHomeFailed[0];
-		homeFailed[1] += matchHomeFailed[1];
-		homeFailed[2] += matchHomeFailed[2];
-		guestSuccess[0] += matchGuestSuccess[0];
-		guestSuccess[1] += matchGuestSuccess[1];
-		guestSuccess[2] += matchGuestSuccess[2];
-		guestFailed[0] += matchGuestFailed[0];
-		guestFailed[1] += matchGuestFailed[1];
-		guestFailed[2] += matchGuestFailed[2];
-
-		if (matchHomeGoals > matchGuestGoals) {
-			homeWin++;
-		} else if (matchHomeGoals < matchGuestGoals) {
-			awayWin++;
+		if (home) {
+			homeChances++;
+			if (score) {
+				matchHomeGoals++;
+				homeSuccess[index]++;
+			} else {
+				homeFailed[index]++;
+			}
 		} else {
-			draw++;
+			guestChances++;
+			if (score) {
+				matchGuestGoals++;
+				guestSuccess[index]++;
+			} else {
+				guestFailed[index]++;
+			}
 		}
+	}
 
-		// free memory
-		actions = null;
+	/**
+	 * Ends the current match and counts its result
+	 */
+	void endMatch() {
+		homeGoals += matchHomeGoals;
+		guestGoals += matchGuestGoals;
+		countResult(matchHomeGoals, matchGuestGoals);
 	}
 
 	public void addMatchResult(MatchResult result) {
 
-		matchNumber++;
-
-		int away = result.getGuestGoals();
-		if (away > 4) {
-			away = 4;
-		}
-		int home = result.getHomeGoals();
-		if (home > 4) {
-			home = 4;
-		}
-		resultDetail[(home * 5) + away]++;
-
 		//Werte zusamenzählen
 		homeGoals += result.getHomeGoals();
 		homeChances += result.getHomeChances();
 		guestGoals += result.getGuestGoals();
 		guestChances += result.getGuestChances();
-		homeSuccess[0] += result.getHomeSuccess()[0];
-		homeSuccess[1] += result.getHomeSuccess()[1];
-		homeSuccess[2] += result.getHomeSuccess()[2];
-		homeFailed[0] += result.getHomeFailed()[0];
-		homeFailed[1] += result.getHomeFailed()[1];
-		homeFailed[2] += result.getHomeFailed()[2];
-		guestSuccess[0] += result.getGuestSuccess()[0];
-		guestSuccess[1] += result.getGuestSuccess()[1];
-		guestSuccess[2] += result.getGuestSuccess()[2];
-		guestFailed[0] += result.getGuestFailed()[0];
-		guestFailed[1] += result.getGuestFailed()[1];
-		guestFailed[2] += result.getGuestFailed()[2];
-
-		if (result.getHomeGoals() > result.getGuestGoals()) {
+		add(homeSuccess, result.getHomeSuccess());
+		add(homeFailed, result.getHomeFailed());
+		add(guestSuccess, result.getGuestSuccess());
+		add(guestFailed, result.getGuestFailed());
+
+		countResult(result.getHomeGoals(), result.getGuestGoals());
+	}
+
+	/**
+	 * Adds all matches of the other result (e.g. of a parallel simulation)
+	 *
+	 * @param result matches to add
+	 * @return this
+	 */
+	public MatchResult merge(MatchResult result) {
+		matchNumber += result.matchNumber;
+		homeWin += result.homeWin;
+		awayWin += result.awayWin;
+		draw += result.draw;
+		homeGoals += result.homeGoals;
+		homeChances += result.homeChances;
+		guestGoals += result.guestGoals;
+		guestChances += result.guestChances;
+		add(resultDetail, result.resultDetail);
+		add(goalDifference, result.goalDifference);
+		add(homeSuccess, result.homeSuccess);
+		add(homeFailed, result.homeFailed);
+		add(guestSuccess, result.guestSuccess);
+		add(guestFailed, result.guestFailed);
+		return this;
+	}
+
+	private void countResult(int home, int away) {
+		matchNumber++;
+
+		if (home > away) {
 			homeWin++;
-		} else if (result.getHomeGoals() < result.getGuestGoals()) {
+		} else if (home < away) {
 			awayWin++;
 		} else {
 			draw++;
 		}
-		// free memory
-		result = null;
+
+		int difference = Math.max(-MAX_GOAL_DIFFERENCE, Math.min(MAX_GOAL_DIFFERENCE, home - away));
+		goalDifference[difference + MAX_GOAL_DIFFERENCE]++;
+
+		resultDetail[(Math.min(home, 4) * 5) + Math.min(away, 4)]++;
+	}
+
+	private static void add(int[] values, int[] other) {
+		for (int i = 0; i < values.length; i++) {
+			values[i] += other[i];
+		}
+	}
+
+	/**
+	 * 95% confidence interval of the probability of a result (Wilson score interval),
+	 * e.g. getConfidenceInterval(getHomeWin())
+	 *
+	 * @param count number of matches with the result
+	 * @return lower and upper bound of the probability
+	 */
+	public double[] getConfidenceInterval(int count) {
+		if (matchNumber == 0) {
+			return new double[] { 0, 1 };
+		}
+		final double n = matchNumber;
+		final double p = count / n;
+		final double z2 = Z_95 * Z_95;
+		final double denominator = 1 + z2 / n;
+		final double center = (p + z2 / (2 * n)) / denominator;
+		final double delta = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+		return new double[] { Math.max(0, center - delta), Math.min(1, center + delta) };
 	}
 
 	public int getGuestChances() {
@@ -219,4 +226,11 @@ public class MatchResult  {
 		return resultDetail;
 	}
 
+	/**
+	 * Histogram of the goal differences (home - guest), index 0 is -{@link #MAX_GOAL_DIFFERENCE} or less
+	 */
+	public int[] getGoalDifference() {
+		return goalDifference;
+	}
+
 }
@@ -0,0 +1,99 @@
+package core.prediction.engine;
+
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Monte-Carlo simulation of a match.
+ * <p>
+ * The matches are split into chunks, which are simulated in parallel. Every chunk has its own
+ * match engine and random generator (split from the random generator of the simulator), so the
+ * threads share no state. The chunks count the chances and results in their own {@link MatchResult}
+ * without creating actions. The results are merged at the end.
+ * </p>
+ * With the same seed the simulation returns the same result, regardless of the number of threads.
+ */
+public class MatchSimulator {
+
+	/** Number of matches simulated by one task */
+	private static final int CHUNK_SIZE = 1000;
+
+	private final SplittableRandom random;
+
+	public MatchSimulator() {
+		this(new SplittableRandom());
+	}
+
+	public MatchSimulator(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private MatchSimulator(SplittableRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Simulates a number of matches
+	 *
+	 * @param home home team
+	 * @param away away team
+	 * @param numberOfMatches number of matches to simulate
+	 * @return merged result of all matches
+	 */
+	public MatchResult simulate(TeamData home, TeamData away, int numberOfMatches) {
+		return simulate(numberOfMatches, (random, matches) -> simulateChunk(home, away, random, matches));
+	}
+
+	/**
+	 * Simulates a number of matches minute by minute (like {@link MatchData#advance()}) with the
+	 * {@link FlatMatchEngine}
+	 *
+	 * @param home home team
+	 * @param away away team
+	 * @param numberOfMatches number of matches to simulate
+	 * @return merged result of all matches
+	 */
+	public MatchResult simulateMinutes(TeamData home, TeamData away, int numberOfMatches) {
+		return simulate(numberOfMatches, (random, matches) -> {
+			final FlatMatchEngine engine = new FlatMatchEngine(home, away);
+			engine.setRandom(random);
+			final MatchResult result = new MatchResult();
+			for (int i = 0; i < matches; i++) {
+				engine.simulate(result);
+			}
+			return result;
+		});
+	}
+
+	private MatchResult simulate(int numberOfMatches, BiFunction<SplittableRandom, Integer, MatchResult> chunk) {
+		final int chunks = (Math.max(0, numberOfMatches) + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		final SplittableRandom[] randoms = new SplittableRandom[chunks];
+		synchronized (random) {
+			for (int i = 0; i < chunks; i++) {
+				randoms[i] = random.split();
+			}
+		}
+
+		final MatchResult[] results = IntStream.range(0, chunks)
+				.parallel()
+				.mapToObj(i -> chunk.apply(randoms[i], Math.min(CHUNK_SIZE, numberOfMatches - i * CHUNK_SIZE)))
+				.toArray(MatchResult[]::new);
+
+		final MatchResult ret = new MatchResult();
+		for (MatchResult result : results) {
+			ret.merge(result);
+		}
+		return ret;
+	}
+
+	private static MatchResult simulateChunk(TeamData home, TeamData away, SplittableRandom random, int matches) {
+		final ActionGenerator generator = new ActionGenerator(home, away);
+		generator.setRandom(random);
+		final MatchResult result = new MatchResult();
+		for (int i = 0; i < matches; i++) {
+			generator.simulate(result);
+		}
+		return result;
+	}
+}
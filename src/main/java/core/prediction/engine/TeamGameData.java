@@ -59,4 +59,12 @@ class TeamGameData extends TeamData {
     public final void addCounterActionPlayed() {
         counterAction++;
     }
+
+    /**
+     * Reset the played actions for the next simulated match
+     */
+    final void reset() {
+        actionAlreadyPlayed = 0;
+        counterAction = 0;
+    }
 }
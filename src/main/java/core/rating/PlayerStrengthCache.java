@@ -0,0 +1,87 @@
+package core.rating;
+
+import core.constants.player.PlayerSkill;
+import core.model.match.Weather;
+import core.model.player.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Player strengths of one rating prediction.
+ * <p>
+ * The strength of a player is his strength in the skill (depending on form and weather)
+ * multiplied by the stamina effect at the match minute. Both parts are calculated once per player
+ * and kept in primitive arrays, so all sectors and all lineups of the lineup evolution share them.
+ * </p>
+ * The cache lives as long as its {@link RatingPredictionManager}, which is created for each
+ * change of the lineup. So changes of players or lineup are never hidden by the cache.
+ */
+final class PlayerStrengthCache {
+
+	private static final int NUM_SKILLS = PlayerSkill.LOYALTY + 1;
+
+	private final Map<Player, Entry> entries = new IdentityHashMap<>();
+	/** match minute -> index of the stamina effects */
+	private final Map<Double, Integer> times = new HashMap<>();
+	private Weather weather;
+
+	/**
+	 * Same as {@link RatingPredictionManager#calcPlayerStrength(double, Player, int, boolean, boolean, Weather, boolean)}
+	 */
+	float getPlayerStrength(double t, Player player, int skillType, boolean useForm, boolean isPressing,
+							Weather weather, boolean useWeatherImpact) {
+		if (skillType < 0 || skillType >= NUM_SKILLS) {
+			return RatingPredictionManager.calcPlayerStrength(t, player, skillType, useForm, isPressing, weather, useWeatherImpact);
+		}
+		if (weather != this.weather) {
+			entries.clear();
+			this.weather = weather;
+		}
+		final Entry entry = entries.computeIfAbsent(player, p -> new Entry());
+
+		final int i = (skillType * 2 + (useForm ? 1 : 0)) * 2 + (useWeatherImpact ? 1 : 0);
+		double strength = entry.strengths[i];
+		if (Double.isNaN(strength)) {
+			strength = RatingPredictionManager.calcPlayerStrength(player, skillType, useForm, weather, useWeatherImpact);
+			entry.strengths[i] = strength;
+		}
+		return (float) (strength * entry.getStaminaEffect(t, player, isPressing));
+	}
+
+	private final class Entry {
+		/** [skill][useForm][useWeatherImpact] */
+		private final double[] strengths = createArray(NUM_SKILLS * 4);
+		/** [time][isPressing] */
+		private double[] staminaEffects = createArray(0);
+		private int gameStartingTime = -1;
+
+		private double getStaminaEffect(double t, Player player, boolean isPressing) {
+			if (player.getGameStartingTime() != gameStartingTime) {
+				// substitutions of the lineup evolution change the starting time
+				Arrays.fill(staminaEffects, Double.NaN);
+				gameStartingTime = player.getGameStartingTime();
+			}
+			final int i = times.computeIfAbsent(t, k -> times.size()) * 2 + (isPressing ? 1 : 0);
+			if (i >= staminaEffects.length) {
+				final int length = staminaEffects.length;
+				staminaEffects = Arrays.copyOf(staminaEffects, Math.max(2 * length, i + 2));
+				Arrays.fill(staminaEffects, length, staminaEffects.length, Double.NaN);
+			}
+			double ret = staminaEffects[i];
+			if (Double.isNaN(ret)) {
+				ret = RatingPredictionManager.getStaminaEffect(t, player, isPressing);
+				staminaEffects[i] = ret;
+			}
+			return ret;
+		}
+	}
+
+	private static double[] createArray(int length) {
+		final double[] ret = new double[length];
+		Arrays.fill(ret, Double.NaN);
+		return ret;
+	}
+}
@@ -90,6 +90,9 @@ public class RatingPredictionManager {
 	 */
 	private Hashtable<Double, Lineup> LineupEvolution;
 
+	/** Player strengths shared by all sector ratings of this lineup */
+	private final PlayerStrengthCache strengthCache = new PlayerStrengthCache();
+
     public RatingPredictionManager(Lineup _startingLineup, Team iteam)
     {
         this.startingLineup = _startingLineup;
@@ -727,6 +730,7 @@ public class RatingPredictionManager {
             Player player = _lineup.getPlayerByPositionID(pos);
             byte taktik = _lineup.getTactic4PositionID(pos);
             if(player != null) {
+				boolean isManMarker = false;
 				if ( this.startingLineup.getManMarkingPosition() != null) {
 					var manMarkingOrder = this.startingLineup.getManMarkingOrder();
 					if (manMarkingOrder != null &&
@@ -735,6 +739,7 @@ public class RatingPredictionManager {
 					) {
 						// create player clone with reduced skill values
 						player = player.createManMarker(this.startingLineup.getManMarkingPosition());
+						isManMarker = true;
 					}
 				}
             	// Check sides
@@ -744,64 +749,69 @@ public class RatingPredictionManager {
             		continue;
             	} else {
             		int specialty = player.getPlayerSpecialty();
+            		boolean isPressing = _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING;
+            		// the clones of man markers are new objects on every call
+            		float stk = isManMarker
+            				? calcPlayerStrength(t, player, skillType, useForm, isPressing, weather, useWeatherImpact)
+            				: strengthCache.getPlayerStrength(t, player, skillType, useForm, isPressing, weather, useWeatherImpact);
 
 					switch (pos) {
             		case IMatchRoleID.keeper:
-            			retArray[IMatchRoleID.KEEPER][specialty] += calcPlayerStrength(t, player, skillType ,useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            			retArray[IMatchRoleID.KEEPER][specialty] += stk;
             			break;
             		case IMatchRoleID.rightCentralDefender:
             		case IMatchRoleID.leftCentralDefender:
             		case IMatchRoleID.middleCentralDefender:
             			if (taktik == IMatchRoleID.NORMAL)
-            				retArray[IMatchRoleID.CENTRAL_DEFENDER][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.CENTRAL_DEFENDER][specialty] += stk;
             			else if (taktik == IMatchRoleID.OFFENSIVE)
-            				retArray[IMatchRoleID.CENTRAL_DEFENDER_OFF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.CENTRAL_DEFENDER_OFF][specialty] += stk;
             			else if (taktik == IMatchRoleID.TOWARDS_WING)
-            				retArray[IMatchRoleID.CENTRAL_DEFENDER_TOWING][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.CENTRAL_DEFENDER_TOWING][specialty] += stk;
             			break;
             		case IMatchRoleID.rightBack:
             		case IMatchRoleID.leftBack:
             			if (taktik == IMatchRoleID.NORMAL)
-            				retArray[IMatchRoleID.BACK][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.BACK][specialty] += stk;
             			else if (taktik == IMatchRoleID.OFFENSIVE)
-            				retArray[IMatchRoleID.BACK_OFF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.BACK_OFF][specialty] += stk;
             			else if (taktik == IMatchRoleID.DEFENSIVE)
-            				retArray[IMatchRoleID.BACK_DEF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.BACK_DEF][specialty] += stk;
             			else if (taktik == IMatchRoleID.TOWARDS_MIDDLE)
-            				retArray[IMatchRoleID.BACK_TOMID][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.BACK_TOMID][specialty] += stk;
             			break;
             		case IMatchRoleID.rightWinger:
             		case IMatchRoleID.leftWinger:
             			if (taktik == IMatchRoleID.NORMAL)
-            				retArray[IMatchRoleID.WINGER][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.WINGER][specialty] += stk;
             			else if (taktik == IMatchRoleID.OFFENSIVE)
-            				retArray[IMatchRoleID.WINGER_OFF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.WINGER_OFF][specialty] += stk;
             			else if (taktik == IMatchRoleID.DEFENSIVE)
-            				retArray[IMatchRoleID.WINGER_DEF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.WINGER_DEF][specialty] += stk;
             			else if (taktik == IMatchRoleID.TOWARDS_MIDDLE)
-            				retArray[IMatchRoleID.WINGER_TOMID][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.WINGER_TOMID][specialty] += stk;
             			break;
             		case IMatchRoleID.rightInnerMidfield:
             		case IMatchRoleID.leftInnerMidfield:
             		case IMatchRoleID.centralInnerMidfield:
             			if (taktik == IMatchRoleID.NORMAL)
-            				retArray[IMatchRoleID.MIDFIELDER][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.MIDFIELDER][specialty] += stk;
             			else if (taktik == IMatchRoleID.OFFENSIVE)
-            				retArray[IMatchRoleID.MIDFIELDER_OFF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.MIDFIELDER_OFF][specialty] += stk;
             			else if (taktik == IMatchRoleID.DEFENSIVE)
-            				retArray[IMatchRoleID.MIDFIELDER_DEF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.MIDFIELDER_DEF][specialty] += stk;
             			else if (taktik == IMatchRoleID.TOWARDS_WING)
-            				retArray[IMatchRoleID.MIDFIELDER_TOWING][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.MIDFIELDER_TOWING][specialty] += stk;
             			break;
             		case IMatchRoleID.rightForward:
             		case IMatchRoleID.leftForward:
             		case IMatchRoleID.centralForward:
             			if (taktik == IMatchRoleID.NORMAL)
-            				retArray[IMatchRoleID.FORWARD][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.FORWARD][specialty] += stk;
             			else if (taktik == IMatchRoleID.DEFENSIVE) {
-            				retArray[IMatchRoleID.FORWARD_DEF][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.FORWARD_DEF][specialty] += stk;
             			} else if (taktik == IMatchRoleID.TOWARDS_WING)
-            				retArray[IMatchRoleID.FORWARD_TOWING][specialty] += calcPlayerStrength(t, player, skillType, useForm, _lineup.getTacticType() == IMatchDetails.TAKTIK_PRESSING, weather, useWeatherImpact);
+            				retArray[IMatchRoleID.FORWARD_TOWING][specialty] += stk;
             			break;
             		}
             	}
@@ -815,10 +825,16 @@ public class RatingPredictionManager {
 	}
 
     public static float calcPlayerStrength(double t, Player player, int skillType, boolean useForm, boolean isPressing, @Nullable Weather weather, boolean useWeatherImpact) {
+        return (float)(calcPlayerStrength(player, skillType, useForm, weather, useWeatherImpact) * getStaminaEffect(t, player, isPressing));
+    }
+
+    /**
+     * Player strength without the stamina effect, which does not depend on the match minute
+     */
+    static double calcPlayerStrength(Player player, int skillType, boolean useForm, @Nullable Weather weather, boolean useWeatherImpact) {
         double retVal = 0.0F;
         try
         {
-            Object[] lastLvlUp;
             float skill;
             float subSkill;
             skill = player.getValue4Skill(skillType);
@@ -828,8 +844,7 @@ public class RatingPredictionManager {
              * If we know the last level up date from this player or
              * the user has set an offset manually -> use this sub/offset
              */
-            if (subskillFromDB > 0 || 
-            		(lastLvlUp = player.getLastLevelUp(skillType)) != null && lastLvlUp[0] != null && (Boolean) lastLvlUp[1])
+            if (subskillFromDB > 0 || player.hasLevelUp(skillType))
                 subSkill = player.getSub4Skill(skillType);
             else
             	/*
@@ -860,11 +875,18 @@ public class RatingPredictionManager {
         catch(Exception e) {
         	e.printStackTrace();
         }
+        return retVal;
+    }
 
+    /**
+     * Stamina effect of the player at minute t
+     * (t == -2: average over 90 minutes, other negative values: no effect)
+     */
+    static double getStaminaEffect(double t, Player player, boolean isPressing) {
 		double StaminaEffect = 1;
         if (t >= 0) StaminaEffect = GetStaminaEffect(player.getStamina(),player.getGameStartingTime(), t, isPressing);
         else if (t==-2) StaminaEffect = getAvg90StaminaEffect(player.getStamina()); //average contribution of stamina over a 90 minutes game, this is used to compare player at given position
-        return (float)(retVal * StaminaEffect);
+        return StaminaEffect;
     }
 
 
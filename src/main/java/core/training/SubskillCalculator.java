@@ -0,0 +1,153 @@
+package core.training;
+
+import core.db.DBManager;
+import core.file.hrf.HRF;
+import core.model.HOModel;
+import core.model.HOVerwaltung;
+import core.model.player.Player;
+import core.util.HODateTime;
+import core.util.HOLogger;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Recalculation of the players' subskills of a list of downloads (HRF).
+ * <p>
+ * The players of each download are loaded only once. The calculated player states are kept in memory
+ * and used as the previous state of the next download, so the previous download is not reloaded
+ * from the database. The players of one download are independent of each other and are calculated
+ * in parallel on a fork join pool.
+ * </p>
+ * The calculation starts at the first download given by the caller. A full recalculation always recalculates
+ * all downloads, because its inputs (training weeks, matches and lineups) may have changed in any week.
+ */
+public class SubskillCalculator {
+
+	private final ForkJoinPool pool;
+	private long loadTime;
+	private long calcTime;
+
+	public SubskillCalculator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public SubskillCalculator(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Recalculates the subskills of all players of the given downloads and stores them in the database
+	 *
+	 * @param hrfList downloads, sorted by date
+	 * @param onProgress called after each download, may be null
+	 */
+	public void calculate(List<HRF> hrfList, Runnable onProgress) {
+		if (hrfList.isEmpty()) return;
+
+		// push recent trainings to historical training table
+		TrainingManager.instance().updateHistoricalTrainings();
+		SkillDrops.instance();
+
+		HRF previousHRF = null;
+		Map<Integer, Player> playersBefore = null;
+		for (var hrf : hrfList) {
+			try {
+				long s1 = System.currentTimeMillis();
+				var model = new HOModel(hrf, previousHRF);
+				var previousHRFId = model.getPreviousID();
+				if (playersBefore == null) {
+					playersBefore = toMap(DBManager.instance().getSpieler(previousHRFId));
+				}
+				HODateTime trainingDateOfPreviousHRF;
+				if (previousHRFId != -1) {
+					trainingDateOfPreviousHRF = DBManager.instance().getXtraDaten(previousHRFId).getNextTrainingDate();
+				} else {
+					trainingDateOfPreviousHRF = HOVerwaltung.instance().getModel().getBasics().getActivationDate();
+				}
+				var trainingDateHRF = DBManager.instance().getXtraDaten(hrf.getHrfId()).getNextTrainingDate();
+				var trainingWeeks = TrainingManager.instance().getHistoricalTrainingsBetweenDates(
+						trainingDateOfPreviousHRF.minus(1, ChronoUnit.HOURS), trainingDateHRF.minus(1, ChronoUnit.HOURS));
+				prepare(trainingWeeks);
+				var players = model.getCurrentPlayers();
+				loadTime += (System.currentTimeMillis() - s1);
+
+				long s2 = System.currentTimeMillis();
+				calculate(players, playersBefore, trainingWeeks);
+				DBManager.instance().saveSpieler(hrf.getHrfId(), players, hrf.getDatum());
+				playersBefore = toMap(players);
+				previousHRF = hrf;
+				calcTime += (System.currentTimeMillis() - s2);
+			} catch (Exception e) {
+				HOLogger.instance().log(getClass(), "recalcSubskills : ");
+				HOLogger.instance().log(getClass(), e);
+			}
+			if (onProgress != null) onProgress.run();
+		}
+	}
+
+	/**
+	 * Time spent to load the downloads in ms
+	 */
+	public long getLoadTime() {
+		return loadTime;
+	}
+
+	/**
+	 * Time spent to calculate and store the subskills in ms
+	 */
+	public long getCalcTime() {
+		return calcTime;
+	}
+
+	private void calculate(List<Player> players, Map<Integer, Player> playersBefore, List<TrainingPerWeek> trainingWeeks)
+			throws ExecutionException, InterruptedException {
+		var myTeamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
+		var parallel = new ArrayList<Player>();
+		for (var player : players) {
+			var nationalTeamId = player.getNationalTeamID();
+			if (nationalTeamId != null && nationalTeamId != 0 && nationalTeamId != myTeamId) {
+				// national team lineups are loaded from database, which must not be done in parallel
+				player.calcSubskills(playersBefore.get(player.getPlayerID()), trainingWeeks);
+			} else {
+				parallel.add(player);
+			}
+		}
+		pool.submit(() -> parallel.parallelStream()
+				.forEach(p -> p.calcSubskills(playersBefore.get(p.getPlayerID()), trainingWeeks))).get();
+	}
+
+	/**
+	 * Initialize the lazily loaded match information of the training weeks before they are used in parallel
+	 */
+	private void prepare(List<TrainingPerWeek> trainingWeeks) {
+		var myTeamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
+		for (var training : trainingWeeks) {
+			WeeklyTrainingType.instance(training.getTrainingType());
+			training.getNTmatches();
+			for (var match : training.getMatches()) {
+				var details = match.getMatchdetails();
+				if (details != null) {
+					details.isWalkoverMatchWin(myTeamId);
+					var lineup = details.getOwnTeamLineup();
+					if (lineup != null) {
+						lineup.getTrainingMinutesPlayedInSectors(0, null, false);
+					}
+				}
+			}
+		}
+	}
+
+	private static Map<Integer, Player> toMap(List<Player> players) {
+		var ret = new HashMap<Integer, Player>();
+		for (var player : players) {
+			ret.put(player.getPlayerID(), player);
+		}
+		return ret;
+	}
+}
@@ -7,20 +7,28 @@ import core.model.HOVerwaltung;
 import core.model.match.MatchKurzInfo;
 import core.model.match.MatchStatistics;
 import core.model.player.IMatchRoleID;
+import core.model.match.MatchLineupPosition;
 import core.model.player.Player;
 import core.util.HODateTime;
 import module.lineup.Lineup;
 import module.transfer.test.HTWeek;
 import org.jetbrains.annotations.Nullable;
 
-import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
  * Training preview of players for the week
+ * <p>
+ * The finished matches and the upcoming lineups of the training week are loaded once. The training minutes
+ * of each player are computed on first request and kept until the training week or the training type changes,
+ * a new download is done (reInit) or the lineup of an upcoming match is changed.
+ * </p>
  */
 
 
@@ -28,12 +36,18 @@ public class TrainingPreviewPlayers implements Refreshable {
 
     private static TrainingPreviewPlayers m_clInstance;
 
-    private HashMap<Player, TrainingPreviewPlayer> players = new HashMap<>();
+    /** training preview by player id */
+    private final Map<Integer, TrainingPreviewPlayer> players = new HashMap<>();
     private int nextWeekTraining = -1;
     private boolean isFuturMatchInit =false;
+    private TrainingPerWeek trainingWeek = null;
+    private int trainingType = -1;
     private WeeklyTrainingType weekTrainTyp = null;
-    private List<MatchStatistics> lMatchStats = null;
-    private List<Lineup> lineups = null;
+    private BitSet fullTrainingPositions = new BitSet();
+    private BitSet partialTrainingPositions = new BitSet();
+    private List<MatchStatistics> lMatchStats = List.of();
+    /** role id by player id of the upcoming lineups, key is the match id */
+    private Map<Integer, Map<Integer, Integer>> lineups = Map.of();
 
     //~ Constructors -------------------------------------------------------------------------------
 
@@ -65,36 +79,51 @@ public class TrainingPreviewPlayers implements Refreshable {
      * @param player Player
      * @return TrainingPreviewPlayer
      */
-    public TrainingPreviewPlayer getTrainPreviewPlayer(@Nullable Player player) {
+    public synchronized TrainingPreviewPlayer getTrainPreviewPlayer(@Nullable Player player) {
         if ( player != null) {
-            if (players.get(player) == null) {
-                calculateWeeklyTrainingForPlayer(player);
-            }
-            return players.get(player);
+            initTrainingWeek();
+            return players.computeIfAbsent(player.getPlayerID(), this::calculateWeeklyTrainingForPlayer);
         }
         return null;
     }
 
     /**
-     * reinit object and clean database
+     * reinit object, the matches of the training week are loaded again
      */
-    public void reInit() {
-        refresh();
+    public synchronized void reInit() {
+        players.clear();
+        lMatchStats = List.of();
+        lineups = Map.of();
+        trainingWeek = null;
+        trainingType = -1;
+        weekTrainTyp = null;
+        isFuturMatchInit = false;
+        nextWeekTraining = -1;
     }
 
     /**
      * refresh object
+     * The loaded matches are kept, changes of the training week or type are detected on next request.
      */
-    public void refresh() {
-        if (players != null)
-            players.clear();
-        if (lMatchStats != null)
-            lMatchStats.clear();
-        if (lineups != null)
-            lineups.clear();
+    public synchronized void refresh() {
         nextWeekTraining = -1;
-        weekTrainTyp = null;
-        isFuturMatchInit = false;
+    }
+
+    /**
+     * Updates the preview of the players of a changed lineup of an upcoming match
+     *
+     * @param matchId id of the upcoming match
+     * @param lineup  new lineup of the match
+     */
+    public synchronized void updateLineup(int matchId, Lineup lineup) {
+        if (!isFuturMatchInit || !lineups.containsKey(matchId)) {
+            // match is not part of the training week
+            return;
+        }
+        var roles = getRolesByPlayerId(lineup);
+        players.keySet().removeAll(lineups.get(matchId).keySet());
+        players.keySet().removeAll(roles.keySet());
+        lineups.put(matchId, roles);
     }
 
     /**
@@ -124,11 +153,10 @@ public class TrainingPreviewPlayers implements Refreshable {
     /**
      * calculate training preview of a player
      *
-     * @param player:   player
+     * @param playerID:   id of the player
      */
-    private void calculateWeeklyTrainingForPlayer(Player player) {
+    private TrainingPreviewPlayer calculateWeeklyTrainingForPlayer(int playerID) {
 
-        final int playerID = player.getPlayerID();
         int fullTrain = 0;
         int partialTrain = 0;
         boolean fullFuturTrain = false;
@@ -136,9 +164,7 @@ public class TrainingPreviewPlayers implements Refreshable {
         int iStamina = 0;
         boolean bEstimedStamina = false;
 
-        // create a copy of the list to prevent concurrent exception on refresh (#1430)
-        var matchStatistics = new ArrayList<>(getMatchesForTraining());
-        for ( var ms : matchStatistics){
+        for ( var ms : lMatchStats){
             if ( weekTrainTyp != null ) {
                 if (weekTrainTyp.getTrainingSkillPositions() != null) {
                     fullTrain += ms.getTrainMinutesPlayedInPositions(playerID, weekTrainTyp.getTrainingSkillPositions());
@@ -159,69 +185,104 @@ public class TrainingPreviewPlayers implements Refreshable {
             }
         }
 
-        for ( var lineup: lineups){
-            var roleId = lineup.getPositionByPlayerId(playerID);
+        for ( var roles: lineups.values()){
+            var roleId = roles.get(playerID);
             if (roleId != null) {
-                if ( weekTrainTyp != null) {
-                    if (weekTrainTyp.getTrainingSkillPositions() != null) {
-                        for (int k = 0; k < weekTrainTyp.getTrainingSkillPositions().length; k++) {
-                            if (roleId.getId() == weekTrainTyp.getTrainingSkillPositions()[k]) {
-                                fullFuturTrain = true;
-                                break;
-                            }
-                        }
-                    }
-                    if (!fullFuturTrain && weekTrainTyp.getTrainingSkillPartlyTrainingPositions() != null) {
-                        for (int k = 0; k < weekTrainTyp.getTrainingSkillPartlyTrainingPositions().length; k++) {
-                            if (roleId.getId() == weekTrainTyp.getTrainingSkillPartlyTrainingPositions()[k]) {
-                                partialFuturTrain = true;
-                                break;
-                            }
-                        }
-                    }
+                if (fullTrainingPositions.get(roleId)) {
+                    fullFuturTrain = true;
+                } else if (!fullFuturTrain && partialTrainingPositions.get(roleId)) {
+                    partialFuturTrain = true;
                 }
                 // If player receive training, don't display stamina icon
-                if (fullTrain == 0 && partialTrain == 0 && !fullFuturTrain && !partialFuturTrain && 
-                        roleId.getId() < IMatchRoleID.substGK1) {
+                if (fullTrain == 0 && partialTrain == 0 && !fullFuturTrain && !partialFuturTrain &&
+                        roleId < IMatchRoleID.substGK1) {
                     bEstimedStamina = true;
                 }
             }
         }
 
-        players.put(player,new TrainingPreviewPlayer(fullTrain, partialTrain, 
+        return new TrainingPreviewPlayer(fullTrain, partialTrain,
                 fullFuturTrain, partialFuturTrain,
-                iStamina, bEstimedStamina));
+                iStamina, bEstimedStamina);
     }
 
     /**
-     * get the matches concerning by the training week
+     * load the matches concerning by the training week,
+     * if the training week was changed since the last call
      */
-    private List<MatchStatistics> getMatchesForTraining() {
-
-        if (!isFuturMatchInit) {
-            var lastTraining = TrainingManager.instance().getNextWeekTraining();
-
-            this.lMatchStats = new ArrayList<>();
-            this.lineups = new ArrayList<>();
-            this.isFuturMatchInit = true;
-
-            if (lastTraining != null) {
-                weekTrainTyp = WeeklyTrainingType.instance(lastTraining.getTrainingType());
-                for (var matchInfo : lastTraining.getMatches()) {
-                    if (matchInfo.getMatchStatus() == MatchKurzInfo.FINISHED) {
-                        var mlt = matchInfo.getMatchdetails().getOwnTeamLineup();
-                        if ( mlt != null ) {
-                            lMatchStats.add(new MatchStatistics(matchInfo, mlt));
-                        }
-                    } else if (matchInfo.getMatchStatus() == MatchKurzInfo.UPCOMING) {
-                        var teamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
-                        var team = DBManager.instance().loadMatchLineupTeam(matchInfo.getMatchType().getId(), matchInfo.getMatchID(), teamId);
-                        if (team != null)
-                            lineups.add(team.getLineup());
+    private void initTrainingWeek() {
+        var nextTraining = TrainingManager.instance().getNextWeekTraining();
+        if (isFuturMatchInit && nextTraining == trainingWeek) {
+            if (nextTraining != null && nextTraining.getTrainingType() != trainingType) {
+                // training type of the week was edited
+                setTrainingType(nextTraining.getTrainingType());
+                players.clear();
+            }
+            return;
+        }
+
+        players.clear();
+        var matchStats = new ArrayList<MatchStatistics>();
+        var upcomingLineups = new LinkedHashMap<Integer, Map<Integer, Integer>>();
+        this.trainingWeek = nextTraining;
+        this.isFuturMatchInit = true;
+
+        if (nextTraining != null) {
+            setTrainingType(nextTraining.getTrainingType());
+            for (var matchInfo : nextTraining.getMatches()) {
+                if (matchInfo.getMatchStatus() == MatchKurzInfo.FINISHED) {
+                    var mlt = matchInfo.getMatchdetails().getOwnTeamLineup();
+                    if ( mlt != null ) {
+                        matchStats.add(new MatchStatistics(matchInfo, mlt));
                     }
+                } else if (matchInfo.getMatchStatus() == MatchKurzInfo.UPCOMING) {
+                    var teamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
+                    var team = DBManager.instance().loadMatchLineupTeam(matchInfo.getMatchType().getId(), matchInfo.getMatchID(), teamId);
+                    if (team != null)
+                        upcomingLineups.put(matchInfo.getMatchID(), getRolesByPlayerId(team.getLineup()));
                 }
             }
+        } else {
+            trainingType = -1;
+            weekTrainTyp = null;
+        }
+        this.lMatchStats = matchStats;
+        this.lineups = upcomingLineups;
+    }
+
+    private void setTrainingType(int type) {
+        trainingType = type;
+        weekTrainTyp = WeeklyTrainingType.instance(type);
+        fullTrainingPositions = toBitSet(weekTrainTyp != null ? weekTrainTyp.getTrainingSkillPositions() : null);
+        partialTrainingPositions = toBitSet(weekTrainTyp != null ? weekTrainTyp.getTrainingSkillPartlyTrainingPositions() : null);
+    }
+
+    private static BitSet toBitSet(int[] positions) {
+        var ret = new BitSet();
+        if (positions != null) {
+            for (int position : positions) {
+                ret.set(position);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Role ids of the lineup by player id, with the same precedence as {@link Lineup#getPositionByPlayerId(int)}
+     */
+    private static Map<Integer, Integer> getRolesByPlayerId(Lineup lineup) {
+        var ret = new HashMap<Integer, Integer>();
+        putRoles(ret, lineup.getReplacedPositions());
+        putRoles(ret, lineup.getBenchPositions());
+        putRoles(ret, lineup.getFieldPositions());
+        return ret;
+    }
+
+    private static void putRoles(Map<Integer, Integer> roles, List<MatchLineupPosition> positions) {
+        for (var position : positions) {
+            if (position.getPlayerId() > 0) {
+                roles.put(position.getPlayerId(), position.getId());
+            }
         }
-        return lMatchStats;
     }
 }
@@ -2,29 +2,70 @@ package core.util;
 
 import core.db.user.UserManager;
 import core.file.ExampleFileFilter;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * This is the HO logger
- * 
+ * <p>
+ * Messages are put into a ring buffer and written by a background thread, so the calling thread
+ * (e.g. the EDT or the subskill calculation) does not wait for the console and the log file.
+ * The writer thread writes all buffered messages as one batch and flushes the file once per batch.
+ * If the log file gets larger than 10 MB, it is rotated. The log level can be set for packages or
+ * classes (categories) and the log file can be written as JSON lines.
+ * </p>
+ *
  * @author Marco Senn
  */
 public class HOLogger {
 
-	private SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss");
-	private static HOLogger clLogger;
+	private static volatile HOLogger clLogger;
 	private static File logsFolder;
 	private static String logsFolderName;
 	public static final int DEBUG = 0;
 	public static final int INFORMATION = 1;
 	public static final int WARNING = 2;
 	public static final int ERROR = 3;
-	private FileWriter logWriter;
-	private int logLevel = INFORMATION;
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final long MAX_FILE_SIZE = 10L * 1024 * 1024;
+	private static final int MAX_ROTATED_FILES = 5;
+	private static final long FLUSH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+	private static final long SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+	/** marks classes without category level in the level cache */
+	private static final int NO_CATEGORY = -1;
+
+	// used by the writer thread only
+	private final SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss");
+	private final SimpleDateFormat jsonDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+	private File logFile;
+	private Writer logWriter;
+	private long logFileSize;
+
+	private final LogRingBuffer<LogRecord> buffer = new LogRingBuffer<>(BUFFER_SIZE);
+	private final Thread writerThread;
+	private volatile boolean writerWaiting;
+	private volatile boolean writing;
+	private volatile int logLevel = INFORMATION;
+	private volatile boolean jsonFormat;
+	/** log levels by lower case package or class name */
+	private final Map<String, Integer> categoryLevels = new ConcurrentHashMap<>();
+	/** cached category level of the calling classes */
+	private final Map<Class<?>, Integer> callerLevels = new ConcurrentHashMap<>();
 
 	/**
 	 * Creates a new instance of Logger
@@ -37,7 +78,7 @@ public class HOLogger {
 
 		logsFolderName = Paths.get(UserManager.instance().getDbParentFolder() , "logs").toString();
 		logsFolder = new File(logsFolderName);
-		
+
 		if (!logsFolder.exists()) {
 			logFolderExist = logsFolder.mkdirs();
 			if (!logFolderExist) {
@@ -49,22 +90,27 @@ public class HOLogger {
 		if(logFolderExist){
 		try {
 			deleteOldLogs(logsFolder);
-			File logFile = new File(logsFolder, fileName);
+			logFile = new File(logsFolder, fileName);
 
 			if (logFile.exists()) {
 				if (! logFile.delete()) {System.err.println("Unable to delete " + logFile);}
 			}
 
-			logWriter = new FileWriter(logFile);
+			openLogFile();
 		} catch (Exception e) {
 			errorMsg = "Unable to create logfile: " + logsFolder + "/" + fileName;
 			System.err.println(errorMsg);
 			e.printStackTrace();
 		}
 		}
+
+		writerThread = new Thread(this::writeLoop, "HO-logger");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "HO-logger-shutdown"));
 	}
 
-	
+
 	private void deleteOldLogs(File dir){
 		ExampleFileFilter filter = new ExampleFileFilter("log");
 		filter.setIgnoreDirectories(true);
@@ -76,13 +122,20 @@ public class HOLogger {
 				if (! file.delete()) {System.err.println("Unable to delete " + file);}
 		}
 	}
-	
+
 	public static HOLogger instance() {
-		if (clLogger == null) {
-			clLogger = new HOLogger();
+		var ret = clLogger;
+		if (ret == null) {
+			synchronized (HOLogger.class) {
+				ret = clLogger;
+				if (ret == null) {
+					ret = new HOLogger();
+					clLogger = ret;
+				}
+			}
 		}
 
-		return clLogger;
+		return ret;
 	}
 
 	static public String getLogsFolderName(){ return logsFolderName;}
@@ -95,6 +148,33 @@ public class HOLogger {
 		return logLevel;
 	}
 
+	/**
+	 * Sets the log level of a category. Categories are package or class names,
+	 * the level of the longest matching category is used for a class.
+	 *
+	 * @param category package or class name, case insensitive
+	 * @param level log level of the category
+	 */
+	public void setLogLevel(String category, int level) {
+		categoryLevels.put(category.toLowerCase(Locale.ROOT), level);
+		callerLevels.clear();
+	}
+
+	/**
+	 * Writes the log file as JSON lines (one JSON object per message)
+	 */
+	public void setJsonFormat(boolean json) {
+		jsonFormat = json;
+	}
+
+	/**
+	 * Returns true if messages of the level are written to the log file for the calling class.
+	 * Can be used to skip the creation of expensive messages.
+	 */
+	public boolean isLoggable(Class<?> caller, int level) {
+		return level >= getLogLevel(caller);
+	}
+
 	public void log(Class<?> caller, Object obj) {
 		logMessage(caller, obj, DEBUG);
 	}
@@ -124,11 +204,43 @@ public class HOLogger {
 		}
 	}
 
+	/**
+	 * Waits until the buffered messages are written
+	 */
+	public void flush() {
+		long end = System.nanoTime() + SHUTDOWN_TIMEOUT;
+		while ((!buffer.isEmpty() || writing) && System.nanoTime() < end) {
+			LockSupport.unpark(writerThread);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+	private int getLogLevel(Class<?> caller) {
+		if (caller == null || categoryLevels.isEmpty()) {
+			return logLevel;
+		}
+		int ret = callerLevels.computeIfAbsent(caller, this::findCategoryLevel);
+		return ret != NO_CATEGORY ? ret : logLevel;
+	}
+
+	private int findCategoryLevel(Class<?> caller) {
+		String name = caller.getName().toLowerCase(Locale.ROOT);
+		int ret = NO_CATEGORY;
+		int matchLength = -1;
+		for (var entry : categoryLevels.entrySet()) {
+			String category = entry.getKey();
+			if (category.length() > matchLength && (name.equals(category) || name.startsWith(category + "."))) {
+				ret = entry.getValue();
+				matchLength = category.length();
+			}
+		}
+		return ret;
+	}
+
 	private void logMessage(Class<?> caller, Object obj, int level) {
 
-		String msg;
 		String text;
-		
+
 		if (obj instanceof Throwable) {
 			Throwable t = (Throwable) obj;
 			text = t.getMessage() + "\n" + ExceptionUtils.getStackTrace(t);
@@ -136,29 +248,148 @@ public class HOLogger {
 			text = String.valueOf(obj);
 		}
 
-		msg = switch (level) {
-			case DEBUG -> " [Debug]   ";
-			case WARNING -> " [Warning] ";
-			case ERROR -> " [Error]   ";
-			default -> " [Info]    ";
-		};
+		buffer.put(new LogRecord(System.currentTimeMillis(), level, caller, Thread.currentThread().getName(), text,
+				isLoggable(caller, level)));
+		if (writerWaiting) {
+			LockSupport.unpark(writerThread);
+		}
+	}
 
-		System.out.println(msg + ((caller != null) ? caller.getSimpleName() : "?") + ": " + text);
+	private void writeLoop() {
+		final List<LogRecord> batch = new ArrayList<>();
+		while (true) {
+			writing = true;
+			if (buffer.drainTo(batch) > 0) {
+				try {
+					write(batch);
+				} catch (RuntimeException e) {
+					// keep the writer thread alive, the producers would wait for free slots otherwise
+					e.printStackTrace();
+				}
+				batch.clear();
+				continue;
+			}
+			writing = false;
+			writerWaiting = true;
+			if (buffer.isEmpty()) {
+				LockSupport.parkNanos(FLUSH_INTERVAL);
+			}
+			writerWaiting = false;
+		}
+	}
 
-		if (level < logLevel) {
-			return;
+	private void write(List<LogRecord> batch) {
+		for (var record : batch) {
+			String msg = getLevelText(record.level);
+			System.out.println(msg + ((record.caller != null) ? record.caller.getSimpleName() : "?") + ": " + record.text);
+
+			if (record.toFile && logWriter != null) {
+				try {
+					String txt = jsonFormat ? toJson(record) : (sdf.format(new Date(record.time)) + msg
+							+ ((record.caller != null) ? record.caller.getName() : "?") + ": " + record.text + "\r\n");
+					logWriter.write(txt);
+					logFileSize += txt.length();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
 		}
 
 		if (logWriter != null) {
 			try {
-				Date d = new Date();
-				String txt = (sdf.format(d) + msg + ((caller != null) ? caller.getName() : "?") + ": " + text + "\r\n");
-				logWriter.write(txt);
 				logWriter.flush();
+				if (logFileSize > MAX_FILE_SIZE) {
+					rotate();
+				}
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
 		}
 	}
 
+	private static String getLevelText(int level) {
+		return switch (level) {
+			case DEBUG -> " [Debug]   ";
+			case WARNING -> " [Warning] ";
+			case ERROR -> " [Error]   ";
+			default -> " [Info]    ";
+		};
+	}
+
+	private String toJson(LogRecord record) {
+		return "{\"time\":\"" + jsonDateFormat.format(new Date(record.time))
+				+ "\",\"level\":\"" + getLevelText(record.level).trim().replace("[", "").replace("]", "").toUpperCase(Locale.ROOT)
+				+ "\",\"logger\":\"" + escapeJson((record.caller != null) ? record.caller.getName() : "?")
+				+ "\",\"thread\":\"" + escapeJson(record.thread)
+				+ "\",\"message\":\"" + escapeJson(record.text) + "\"}\n";
+	}
+
+	private static String escapeJson(String text) {
+		var ret = new StringBuilder(text.length() + 16);
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"' -> ret.append("\\\"");
+				case '\\' -> ret.append("\\\\");
+				case '\n' -> ret.append("\\n");
+				case '\r' -> ret.append("\\r");
+				case '\t' -> ret.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						ret.append(String.format("\\u%04x", (int) c));
+					} else {
+						ret.append(c);
+					}
+				}
+			}
+		}
+		return ret.toString();
+	}
+
+	private void openLogFile() throws IOException {
+		logWriter = new BufferedWriter(new FileWriter(logFile, StandardCharsets.UTF_8, true), 64 * 1024);
+		logFileSize = logFile.length();
+	}
+
+	/**
+	 * Renames HO-date.log to HO-date.1.log, HO-date.1.log to HO-date.2.log, ... and starts a new log file
+	 */
+	private void rotate() throws IOException {
+		logWriter.close();
+		String baseName = logFile.getName().substring(0, logFile.getName().length() - ".log".length());
+		var oldest = new File(logsFolder, baseName + "." + MAX_ROTATED_FILES + ".log");
+		if (oldest.exists() && !oldest.delete()) {System.err.println("Unable to delete " + oldest);}
+		for (int i = MAX_ROTATED_FILES - 1; i >= 1; i--) {
+			var file = new File(logsFolder, baseName + "." + i + ".log");
+			if (file.exists() && !file.renameTo(new File(logsFolder, baseName + "." + (i + 1) + ".log"))) {
+				System.err.println("Unable to rename " + file);
+			}
+		}
+		if (!logFile.renameTo(new File(logsFolder, baseName + ".1.log"))) {
+			System.err.println("Unable to rename " + logFile);
+		}
+		openLogFile();
+	}
+
+	/**
+	 * Message waiting in the buffer
+	 */
+	private static final class LogRecord {
+		private final long time;
+		private final int level;
+		private final Class<?> caller;
+		private final String thread;
+		private final String text;
+		/** true if the level of the message is written to the log file */
+		private final boolean toFile;
+
+		private LogRecord(long time, int level, Class<?> caller, String thread, String text, boolean toFile) {
+			this.time = time;
+			this.level = level;
+			this.caller = caller;
+			this.thread = thread;
+			this.text = text;
+			this.toFile = toFile;
+		}
+	}
 }
@@ -11,6 +11,10 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /**
  * Utility class for various IO/file related utility methods.
@@ -120,4 +124,21 @@ public class IOUtils {
 		}
 	}
 
+	/**
+	 * Hash of a text, e.g. to name cache files by an url.
+	 * 
+	 * @param text
+	 *            the text to hash (UTF-8 encoded).
+	 * @return the hex encoded SHA-256 hash.
+	 */
+	public static String sha256(String text) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is supported by every java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
 }
@@ -0,0 +1,77 @@
+package core.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring buffer with many producers and one consumer, used by the {@link HOLogger}.
+ * <p>
+ * Producers claim a slot by a compare and set of the tail sequence and publish the element into the slot.
+ * The consumer takes the published elements in the order of the claimed sequences. No locks are used;
+ * if the buffer is full, producers wait until the consumer has freed slots.
+ * </p>
+ */
+final class LogRingBuffer<E> {
+
+	private final AtomicReferenceArray<E> slots;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	/** next sequence read by the consumer, written by the consumer thread only */
+	private volatile long head;
+
+	/**
+	 * @param capacity size of the buffer, rounded up to a power of two
+	 */
+	LogRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		slots = new AtomicReferenceArray<>(size);
+		mask = size - 1;
+	}
+
+	/**
+	 * Adds the element, waits while the buffer is full
+	 */
+	void put(E element) {
+		long sequence;
+		while (true) {
+			sequence = tail.get();
+			if (sequence - head >= slots.length()) {
+				// consumer is behind, wait for a free slot
+				LockSupport.parkNanos(50_000);
+			} else if (tail.compareAndSet(sequence, sequence + 1)) {
+				break;
+			}
+		}
+		slots.lazySet((int) sequence & mask, element);
+	}
+
+	/**
+	 * Moves the published elements into the given list (consumer thread only)
+	 *
+	 * @return count of moved elements
+	 */
+	int drainTo(List<E> target) {
+		int ret = 0;
+		long sequence = head;
+		while (true) {
+			int index = (int) sequence & mask;
+			E element = slots.get(index);
+			if (element == null) {
+				// not claimed or not published yet
+				break;
+			}
+			slots.lazySet(index, null);
+			target.add(element);
+			sequence++;
+			ret++;
+		}
+		head = sequence;
+		return ret;
+	}
+
+	boolean isEmpty() {
+		return tail.get() == head;
+	}
+}
@@ -53,6 +53,10 @@ public class LineupPanel extends core.gui.comp.panel.ImagePanel {
 		lineupPlayersTable.refresh();
 	}
 
+	public void refresh(Player player) {
+		lineupPlayersTable.refresh(player);
+	}
+
 	private LineupAssistantPanel getLineupAssistantPanel() {return lineupRatingAssistantPanel.getLineupAssistantPanel(); }
 
 	private LineupSettingsPanel getLineupSettingsPanel() {return lineupRatingAssistantPanel.getLineupSettingsPanel();}
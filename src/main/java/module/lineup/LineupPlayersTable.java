@@ -75,6 +75,13 @@ public final class LineupPlayersTable extends JTable implements core.gui.Refresh
 		repaint();
 	}
 
+	/**
+	 * Refreshes the row of the player only
+	 */
+	public void refresh(Player player) {
+		((LineupTableModel) (this.getSorter()).getModel()).invalidatePlayer(player);
+	}
+
 	/**
 	 *Returns the column for sorting
 	 */
@@ -191,7 +198,7 @@ public final class LineupPlayersTable extends JTable implements core.gui.Refresh
 								} else {
 									selectedPlayer.setUserPosFlag(IMatchRoleID.UNSELECTABLE);
 								}
-								HOMainFrame.instance().getSpielerUebersichtPanel().update();
+								HOMainFrame.instance().getSpielerUebersichtPanel().update(selectedPlayer);
 							}
 						}
 					}
@@ -82,43 +82,35 @@ public class LineupTableModel extends HOTableModel {
 
 
 	/**
-	 * create a data[][] from player-Vector
+	 * create an empty data[][] from player-Vector, the cells are computed when the table shows them
 	 */
 	@Override
 	protected void initData() {
-		UserColumn[] tmpDisplayedColumns = getDisplayedColumns();
-		m_clData = new Object[m_vPlayers.size()][tmpDisplayedColumns.length];
+		initLazyData(m_vPlayers.size());
+	}
 
-		for (int i = 0; i < m_vPlayers.size(); i++) {
-			final Player aktuellerPlayer = m_vPlayers.get(i);
+	@Override
+	protected Object computeValueAt(int row, int column) {
+		final UserColumn tmpDisplayedColumn = getDisplayedColumns()[column];
+		if (tmpDisplayedColumn instanceof PlayerColumn)
+			return ((PlayerColumn) tmpDisplayedColumn).getTableEntry(m_vPlayers.get(row), null);
+		if (tmpDisplayedColumn instanceof BooleanColumn)
+			return ((BooleanColumn) tmpDisplayedColumn).getValue(m_vPlayers.get(row));
+		return null;
+	}
 
-			for (int j = 0; j < tmpDisplayedColumns.length; j++) {
-				if (tmpDisplayedColumns[j] instanceof PlayerColumn)
-					m_clData[i][j] = ((PlayerColumn) tmpDisplayedColumns[j]).getTableEntry(aktuellerPlayer, null);
-				if (tmpDisplayedColumns[j] instanceof BooleanColumn)
-					m_clData[i][j] = ((BooleanColumn) tmpDisplayedColumns[j]).getValue(aktuellerPlayer);
-			}
-		}
+	/**
+	 * Recomputes the row of the player, e.g. after its group or position was changed by the user
+	 */
+	public final void invalidatePlayer(Player player) {
+		invalidateRow(m_vPlayers.indexOf(player));
 	}
 
 	/**
 	 * Triggered by changes in lineup
 	 */
 	public final void reInitData() {
-		UserColumn[] tmpDisplayedColumns = getDisplayedColumns();
-		for (int i = 0; i < m_vPlayers.size(); i++) {
-			final Player currentPlayer = m_vPlayers.get(i);
-
-			for (int j = 0; j < tmpDisplayedColumns.length; j++) {
-				if (tmpDisplayedColumns[j].getId() == UserColumnFactory.NAME
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.LINUP
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.BEST_POSITION
-						|| tmpDisplayedColumns[j].getId() == UserColumnFactory.GROUP) {
-					m_clData[i][j] = ((PlayerColumn) tmpDisplayedColumns[j]).getTableEntry(currentPlayer, null);
-				} else if (tmpDisplayedColumns[j].getId() == UserColumnFactory.AUTO_LINEUP) {
-					m_clData[i][j] = ((BooleanColumn) tmpDisplayedColumns[j]).getValue(currentPlayer);
-				}
-			}
-		}
+		invalidateColumns(UserColumnFactory.NAME, UserColumnFactory.LINUP, UserColumnFactory.BEST_POSITION,
+				UserColumnFactory.GROUP, UserColumnFactory.AUTO_LINEUP);
 	}
 }
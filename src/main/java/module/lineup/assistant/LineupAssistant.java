@@ -8,19 +8,27 @@ import core.model.player.IMatchRoleID;
 import core.model.player.MatchRoleID;
 import core.model.player.Player;
 import core.rating.RatingPredictionManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
 import java.util.stream.Collectors;
 
 public class LineupAssistant {
-	/** Order for lineup assistent */
+	/** Order for lineup assistent (priority of the sectors) */
 	public static final byte AW_MF_ST = 0;
 	public static final byte AW_ST_MF = 1;
 	public static final byte MF_ST_AW = 2;
 	public static final byte MF_AW_ST = 3;
 	public static final byte ST_AW_MF = 4;
 	public static final byte ST_MF_AW = 5;
+	/**
+	 * Tie-breaking bonus of the position strengths in the sector of first, second and third priority.
+	 * The bonus of a whole lineup stays below the rounding of the strengths, so it decides between
+	 * lineups of equal total strength only.
+	 */
+	private static final double[] PRIORITY_BONUS = { 2e-6, 1e-6, 0 };
 	private Weather weather = Weather.PARTIALLY_CLOUDY;
 
 	public LineupAssistant() {
@@ -90,184 +98,9 @@ public class LineupAssistant {
 			doPlayerLineupIdealPosition(IMatchRoleID.FORWARD_TOWING, bForm, bInjured, bSuspended, lPlayers, lPositions);
 		}
 
-		// set Goalkeeper
-		doSpielerAufstellen(IMatchRoleID.KEEPER, bForm, bInjured, bSuspended,lPlayers, lPositions);
-
-		byte[] order;
-		// nun reihenfolge beachten und unbesetzte füllen
-		switch (sectorsStrengthPriority) {
-		case AW_MF_ST:
-
-			order = new byte[18];
-			// DEFENCE
-			order[0] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[1] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[2] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[3] = IMatchRoleID.BACK;
-			order[4] = IMatchRoleID.BACK_DEF;
-			order[5] = IMatchRoleID.BACK_OFF;
-			order[6] = IMatchRoleID.BACK_TOMID;
-			// MIDFIELD
-			order[7] = IMatchRoleID.MIDFIELDER;
-			order[8] = IMatchRoleID.MIDFIELDER_OFF;
-			order[9] = IMatchRoleID.MIDFIELDER_DEF;
-			order[10] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[11] = IMatchRoleID.WINGER;
-			order[12] = IMatchRoleID.WINGER_DEF;
-			order[13] = IMatchRoleID.WINGER_OFF;
-			order[14] = IMatchRoleID.WINGER_TOMID;
-			// FORWARD
-			order[15] = IMatchRoleID.FORWARD;
-			order[16] = IMatchRoleID.FORWARD_DEF;
-			order[17] = IMatchRoleID.FORWARD_TOWING;
-			break;
-
-		case AW_ST_MF:
-
-			order = new byte[18];
-			// DEFENCE
-			order[0] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[1] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[2] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[3] = IMatchRoleID.BACK;
-			order[4] = IMatchRoleID.BACK_DEF;
-			order[5] = IMatchRoleID.BACK_OFF;
-			order[6] = IMatchRoleID.BACK_TOMID;
-			// FORWARD
-			order[7] = IMatchRoleID.FORWARD;
-			order[8] = IMatchRoleID.FORWARD_DEF;
-			order[9] = IMatchRoleID.FORWARD_TOWING;
-
-			// MIDFIELD
-			order[10] = IMatchRoleID.MIDFIELDER;
-			order[11] = IMatchRoleID.MIDFIELDER_OFF;
-			order[12] = IMatchRoleID.MIDFIELDER_DEF;
-			order[13] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[14] = IMatchRoleID.WINGER;
-			order[15] = IMatchRoleID.WINGER_DEF;
-			order[16] = IMatchRoleID.WINGER_OFF;
-			order[17] = IMatchRoleID.WINGER_TOMID;
-
-			break;
-
-		case MF_AW_ST:
-
-			order = new byte[18];
-
-			// MIDFIELD
-			order[0] = IMatchRoleID.MIDFIELDER;
-			order[1] = IMatchRoleID.MIDFIELDER_OFF;
-			order[2] = IMatchRoleID.MIDFIELDER_DEF;
-			order[3] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[4] = IMatchRoleID.WINGER;
-			order[5] = IMatchRoleID.WINGER_DEF;
-			order[6] = IMatchRoleID.WINGER_OFF;
-			order[7] = IMatchRoleID.WINGER_TOMID;
-			// DEFENCE
-			order[8] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[9] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[10] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[11] = IMatchRoleID.BACK;
-			order[12] = IMatchRoleID.BACK_DEF;
-			order[13] = IMatchRoleID.BACK_OFF;
-			order[14] = IMatchRoleID.BACK_TOMID;
-			// FORWARD
-			order[15] = IMatchRoleID.FORWARD;
-			order[16] = IMatchRoleID.FORWARD_DEF;
-			order[17] = IMatchRoleID.FORWARD_TOWING;
-			break;
-
-		case MF_ST_AW:
-
-			order = new byte[18];
-
-			// MIDFIELD
-			order[0] = IMatchRoleID.MIDFIELDER;
-			order[1] = IMatchRoleID.MIDFIELDER_OFF;
-			order[2] = IMatchRoleID.MIDFIELDER_DEF;
-			order[3] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[4] = IMatchRoleID.WINGER;
-			order[5] = IMatchRoleID.WINGER_DEF;
-			order[6] = IMatchRoleID.WINGER_OFF;
-			order[7] = IMatchRoleID.WINGER_TOMID;
-			// FORWARD
-			order[8] = IMatchRoleID.FORWARD;
-			order[9] = IMatchRoleID.FORWARD_DEF;
-			order[10] = IMatchRoleID.FORWARD_TOWING;
-			// DEFENCE
-			order[11] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[12] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[13] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[14] = IMatchRoleID.BACK;
-			order[15] = IMatchRoleID.BACK_DEF;
-			order[16] = IMatchRoleID.BACK_OFF;
-			order[17] = IMatchRoleID.BACK_TOMID;
-
-			break;
-
-		case ST_MF_AW:
-
-			order = new byte[18];
-
-			// FORWARD
-			order[0] = IMatchRoleID.FORWARD;
-			order[1] = IMatchRoleID.FORWARD_DEF;
-			order[2] = IMatchRoleID.FORWARD_TOWING;
-			// MIDFIELD
-			order[3] = IMatchRoleID.MIDFIELDER;
-			order[4] = IMatchRoleID.MIDFIELDER_OFF;
-			order[5] = IMatchRoleID.MIDFIELDER_DEF;
-			order[6] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[7] = IMatchRoleID.WINGER;
-			order[8] = IMatchRoleID.WINGER_DEF;
-			order[9] = IMatchRoleID.WINGER_OFF;
-			order[10] = IMatchRoleID.WINGER_TOMID;
-
-			// DEFENCE
-			order[11] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[12] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[13] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[14] = IMatchRoleID.BACK;
-			order[15] = IMatchRoleID.BACK_DEF;
-			order[16] = IMatchRoleID.BACK_OFF;
-			order[17] = IMatchRoleID.BACK_TOMID;
-			break;
-
-		case ST_AW_MF:
-
-			order = new byte[18];
-			// FORWARD
-			order[0] = IMatchRoleID.FORWARD;
-			order[1] = IMatchRoleID.FORWARD_DEF;
-			order[2] = IMatchRoleID.FORWARD_TOWING;
-			// DEFENCE
-			order[3] = IMatchRoleID.CENTRAL_DEFENDER;
-			order[4] = IMatchRoleID.CENTRAL_DEFENDER_TOWING;
-			order[5] = IMatchRoleID.CENTRAL_DEFENDER_OFF;
-			order[6] = IMatchRoleID.BACK;
-			order[7] = IMatchRoleID.BACK_DEF;
-			order[8] = IMatchRoleID.BACK_OFF;
-			order[9] = IMatchRoleID.BACK_TOMID;
-			// MIDFIELD
-			order[10] = IMatchRoleID.MIDFIELDER;
-			order[11] = IMatchRoleID.MIDFIELDER_OFF;
-			order[12] = IMatchRoleID.MIDFIELDER_DEF;
-			order[13] = IMatchRoleID.MIDFIELDER_TOWING;
-			order[14] = IMatchRoleID.WINGER;
-			order[15] = IMatchRoleID.WINGER_DEF;
-			order[16] = IMatchRoleID.WINGER_OFF;
-			order[17] = IMatchRoleID.WINGER_TOMID;
-
-			break;
-
-		default:
+		// fill the remaining field positions with the best possible assignment
+		if (!doOptimalLineup(sectorsStrengthPriority, bForm, bInjured, bSuspended, lPlayers, lPositions)) {
 			return;
-
-			// break;
-		}
-
-		for (byte b : order) {
-			doSpielerAufstellen(b, bForm, bInjured, bSuspended, lPlayers, lPositions);
 		}
 
 		// Fill subs ========
@@ -320,6 +153,99 @@ public class LineupAssistant {
 				bSuspended, lPlayers, lPositions);
 	}
 
+	/**
+	 * Fills the free field positions with the assignment of players, which maximizes the sum of the
+	 * position strengths. On equal sum the prioritized sector gets the stronger players, which is
+	 * done by a tiny bonus on the strengths of the sectors (see {@link #PRIORITY_BONUS}).
+	 *
+	 * @return false, if the priority is unknown
+	 */
+	private boolean doOptimalLineup(byte sectorsStrengthPriority, boolean considerForm, boolean ignoreInjury,
+									boolean ignoreRedCarded, List<Player> players, List<MatchLineupPosition> positions) {
+		final double[] sectorBonus = getSectorBonus(sectorsStrengthPriority);
+		if (sectorBonus == null) {
+			return false;
+		}
+
+		final List<MatchLineupPosition> freePositions = new ArrayList<>();
+		for (var pos : positions) {
+			if ((pos.getPlayerId() <= 0) && (pos.getId() < IMatchRoleID.startReserves)) {
+				freePositions.add(pos);
+			}
+		}
+		final List<Player> candidates = new ArrayList<>();
+		for (int i = 0; (players != null) && (i < players.size()); i++) {
+			final Player player = players.get(i);
+			if ((!isPlayerInLineup(player.getPlayerID(), positions))
+					&& ((ignoreRedCarded) || (!player.isRedCarded()))
+					&& ((ignoreInjury) || (player.getInjuryWeeks() < 1))
+					&& (player.getCanBeSelectedByAssistant())) {
+				candidates.add(player);
+			}
+		}
+		if (freePositions.isEmpty() || candidates.isEmpty()) {
+			return true;
+		}
+
+		// strength matrix, the strengths are calculated once per position type
+		final Map<Byte, double[]> strengths = new HashMap<>();
+		final double[][] values = new double[freePositions.size()][];
+		for (int i = 0; i < freePositions.size(); i++) {
+			final MatchLineupPosition pos = freePositions.get(i);
+			final double[] playerStrengths = strengths.computeIfAbsent(pos.getPosition(), position -> {
+				final double[] ret = new double[candidates.size()];
+				for (int j = 0; j < candidates.size(); j++) {
+					ret[j] = candidates.get(j).calcPosValue(position, considerForm, weather, true);
+				}
+				return ret;
+			});
+			final double bonus = getSectorBonus(pos.getId(), sectorBonus);
+			values[i] = new double[candidates.size()];
+			for (int j = 0; j < candidates.size(); j++) {
+				values[i][j] = playerStrengths[j] + bonus * playerStrengths[j];
+			}
+		}
+
+		final int[] assignment = LineupOptimizer.assign(values);
+		for (int i = 0; i < assignment.length; i++) {
+			if (assignment[i] >= 0) {
+				freePositions.get(i).setSpielerId(candidates.get(assignment[i]).getPlayerID());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return tie-breaking bonus of defence, midfield and forward, null if the priority is unknown
+	 */
+	private static double[] getSectorBonus(byte sectorsStrengthPriority) {
+		final int[] ranks = switch (sectorsStrengthPriority) {
+			case AW_MF_ST -> new int[] { 0, 1, 2 };
+			case AW_ST_MF -> new int[] { 0, 2, 1 };
+			case MF_AW_ST -> new int[] { 1, 0, 2 };
+			case MF_ST_AW -> new int[] { 2, 0, 1 };
+			case ST_AW_MF -> new int[] { 1, 2, 0 };
+			case ST_MF_AW -> new int[] { 2, 1, 0 };
+			default -> null;
+		};
+		if (ranks == null) {
+			return null;
+		}
+		return new double[] { PRIORITY_BONUS[ranks[0]], PRIORITY_BONUS[ranks[1]], PRIORITY_BONUS[ranks[2]] };
+	}
+
+	private static double getSectorBonus(int roleId, double[] sectorBonus) {
+		if (roleId >= IMatchRoleID.rightBack && roleId <= IMatchRoleID.leftBack) {
+			return sectorBonus[0];
+		} else if (roleId >= IMatchRoleID.rightWinger && roleId <= IMatchRoleID.leftWinger) {
+			return sectorBonus[1];
+		} else if (roleId >= IMatchRoleID.rightForward && roleId <= IMatchRoleID.leftForward) {
+			return sectorBonus[2];
+		}
+		// keeper
+		return 0;
+	}
+
 	/**
 	 * resets all connections between position and player
 	 * 
@@ -0,0 +1,100 @@
+package module.lineup.assistant;
+
+import java.util.Arrays;
+
+/**
+ * Optimal assignment of players to the positions of a lineup.
+ * <p>
+ * The assignment maximizes the sum of the values of the matrix (rows are positions, columns are players),
+ * each player is assigned to at most one position. It is solved by the Hungarian algorithm
+ * (Kuhn-Munkres with potentials) in O(positions^2 * players), which is a few microseconds for a lineup.
+ * </p>
+ */
+final class LineupOptimizer {
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private LineupOptimizer() {
+	}
+
+	/**
+	 * Calculates the assignment with the maximum sum of values
+	 *
+	 * @param values values[position][player], all rows have the same length
+	 * @return index of the player for each position, -1 if no player is left for the position
+	 */
+	static int[] assign(double[][] values) {
+		final int n = values.length;
+		final int[] ret = new int[n];
+		Arrays.fill(ret, -1);
+		if (n == 0) {
+			return ret;
+		}
+		final int players = values[0].length;
+		// missing players are replaced by dummies of value 0 (empty position)
+		final int m = Math.max(n, players);
+
+		// 1-based arrays, index 0 is the free start column
+		final double[] u = new double[n + 1];
+		final double[] v = new double[m + 1];
+		final int[] p = new int[m + 1];
+		final int[] way = new int[m + 1];
+		final double[] minv = new double[m + 1];
+		final boolean[] used = new boolean[m + 1];
+
+		for (int i = 1; i <= n; i++) {
+			p[0] = i;
+			int j0 = 0;
+			Arrays.fill(minv, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+			do {
+				used[j0] = true;
+				final int i0 = p[j0];
+				double delta = Double.POSITIVE_INFINITY;
+				int j1 = 0;
+				for (int j = 1; j <= m; j++) {
+					if (!used[j]) {
+						final double cur = cost(values, i0 - 1, j - 1, players) - u[i0] - v[j];
+						if (cur < minv[j]) {
+							minv[j] = cur;
+							way[j] = j0;
+						}
+						if (minv[j] < delta) {
+							delta = minv[j];
+							j1 = j;
+						}
+					}
+				}
+				for (int j = 0; j <= m; j++) {
+					if (used[j]) {
+						u[p[j]] += delta;
+						v[j] -= delta;
+					} else {
+						minv[j] -= delta;
+					}
+				}
+				j0 = j1;
+			} while (p[j0] != 0);
+			do {
+				final int j1 = way[j0];
+				p[j0] = p[j1];
+				j0 = j1;
+			} while (j0 != 0);
+		}
+
+		for (int j = 1; j <= players; j++) {
+			if (p[j] != 0) {
+				ret[p[j] - 1] = j - 1;
+			}
+		}
+		return ret;
+	}
+
+	private static double cost(double[][] values, int position, int player, int players) {
+		if (player >= players) {
+			return 0;
+		}
+		return -values[position][player];
+	}
+}
@@ -16,6 +16,7 @@ import core.model.match.*;
 import core.model.player.IMatchRoleID;
 import core.model.player.TrainerType;
 import core.net.OnlineWorker;
+import core.training.TrainingPreviewPlayers;
 import core.util.*;
 import module.lineup.Lineup;
 import module.lineup.LineupPanel;
@@ -425,6 +426,7 @@ public class MatchAndLineupSelectionPanel extends JPanel implements Refreshable
                         HOVerwaltung.instance().getModel().getBasics().getTeamName(), OWN_TEAM_ID, 0);
                 lineupTeam.setLineup(lineup);
                 DBManager.instance().storeMatchLineupTeam(lineupTeam);
+                TrainingPreviewPlayers.instance().updateLineup(m_clSelectedMatch.getMatchID(), lineup);
             }
             finally {
                 CursorToolkit.stopWaitCursor(this);
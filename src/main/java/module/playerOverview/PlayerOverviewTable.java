@@ -130,6 +130,13 @@ public class PlayerOverviewTable extends JTable implements core.gui.Refreshable
 		repaint();
 	}
 
+	/**
+	 * Refreshes the row of the player only
+	 */
+	public final void refresh(Player player) {
+		((PlayerOverviewModel) getSorter().getModel()).invalidatePlayer(player);
+	}
+
 	public final void refreshHRFVergleich() {
 		reInitModelHRFVergleich();
 		repaint();
@@ -93,6 +93,15 @@ public class SpielerUebersichtsPanel extends ImagePanel {
 		HOMainFrame.instance().getLineupPanel().refresh();
 	}
 
+	/**
+	 * Refreshes the row of the player here and in the lineup panel, when its group / info has been changed
+	 */
+	public final void update(Player player) {
+		playerDetailsPanel.refresh();
+		playerOverviewTable.refresh(player);
+		HOMainFrame.instance().getLineupPanel().refresh(player);
+	}
+
 	// ----------init-----------------------------------------------
 	private void initComponents() {
 		setLayout(new BorderLayout());
@@ -3,6 +3,7 @@ package module.teamAnalyzer;
 
 import core.module.config.ModuleConfig;
 import core.prediction.engine.TeamData;
+import module.teamAnalyzer.manager.AnalysisCache;
 import module.teamAnalyzer.manager.MatchManager;
 import module.teamAnalyzer.manager.MatchPopulator;
 import module.teamAnalyzer.manager.NameManager;
@@ -163,6 +164,7 @@ public class SystemManager {
 		if (!updating) {
 			NameManager.clean();
 			TeamManager.clean();
+			AnalysisCache.clear();
 			refresh();
 		}
 	}
@@ -176,7 +178,7 @@ public class SystemManager {
 		updating = true;
 		List<MatchDetail> matchDetails = MatchManager.getMatchDetails();
 		if (MatchPopulator.getAnalyzedMatch().size() > 0) {
-				teamReport = new TeamReport(getActiveTeamId(), matchDetails);
+				teamReport = AnalysisCache.getTeamReport(getActiveTeamId(), matchDetails);
 		} else {
 			teamReport = null;
 		}
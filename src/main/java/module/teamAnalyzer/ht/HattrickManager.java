@@ -8,6 +8,7 @@ import core.model.match.MatchKurzInfo;
 import core.net.MyConnector;
 import core.net.OnlineWorker;
 import core.util.HODateTime;
+import module.teamAnalyzer.manager.AnalysisCache;
 import module.teamAnalyzer.manager.PlayerDataManager;
 import module.teamAnalyzer.vo.Filter;
 import module.teamAnalyzer.vo.Match;
@@ -91,6 +92,7 @@ public class HattrickManager {
                 }
             }
 	    }
+        AnalysisCache.clear();
     }
 
     /**
@@ -0,0 +1,164 @@
+package module.teamAnalyzer.manager;
+
+import module.teamAnalyzer.SystemManager;
+import module.teamAnalyzer.report.TeamReport;
+import module.teamAnalyzer.vo.Match;
+import module.teamAnalyzer.vo.MatchDetail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memoized results of the team analyzer.
+ * <p>
+ * The analyzed matches of the teams and the team reports of the last analyzed match selections are kept
+ * in LRU maps. Switching between the next opponents reuses their reports. If a cached report contains a
+ * part of the selected matches only, it is extended by the missing matches instead of being recalculated.
+ * </p>
+ * The cache has to be cleared when new data is downloaded.
+ */
+public final class AnalysisCache {
+
+	private static final int MAX_MATCHES = 500;
+	private static final int MAX_REPORTS = 8;
+
+	/** Analyzed matches, key is team id, match type and match id */
+	private static final Map<String, AnalyzedMatch> matches = new LruMap<>(MAX_MATCHES);
+
+	/** Reports of the last analyzed match selections */
+	private static final Map<String, CachedReport> reports = new LruMap<>(MAX_REPORTS);
+
+	/**
+	 * Utility class - private constructor enforces noninstantiability.
+	 */
+	private AnalysisCache() {
+	}
+
+	/**
+	 * Returns the report of the team for the given matches
+	 *
+	 * @param teamId analyzed team
+	 * @param matchDetails matches of the report
+	 * @return cached, extended or new team report
+	 */
+	public static synchronized TeamReport getTeamReport(int teamId, List<MatchDetail> matchDetails) {
+		boolean showUnavailable = SystemManager.isShowUnavailable.isSet();
+		var matchIds = new ArrayList<Integer>();
+		for (var matchDetail : matchDetails) {
+			matchIds.add(matchDetail.getMatch().getMatchId());
+		}
+		var key = teamId + ":" + showUnavailable + ":" + matchIds;
+
+		var cached = reports.remove(key);
+		if (cached == null) {
+			cached = getSubsetReport(teamId, showUnavailable, matchIds);
+			if (cached != null) {
+				reports.remove(cached.key);
+			}
+		}
+
+		TeamReport ret;
+		if (cached != null) {
+			ret = cached.report;
+			ret.update(matchDetails);
+		} else {
+			ret = new TeamReport(teamId, matchDetails);
+		}
+		reports.put(key, new CachedReport(key, teamId, showUnavailable, matchIds, ret));
+		return ret;
+	}
+
+	/**
+	 * Removes all cached matches and reports
+	 */
+	public static synchronized void clear() {
+		matches.clear();
+		reports.clear();
+	}
+
+	static synchronized AnalyzedMatch getAnalyzedMatch(int teamId, Match match) {
+		return matches.get(getKey(teamId, match));
+	}
+
+	static synchronized void putAnalyzedMatch(int teamId, Match match, AnalyzedMatch analyzedMatch) {
+		matches.put(getKey(teamId, match), analyzedMatch);
+	}
+
+	private static String getKey(int teamId, Match match) {
+		return teamId + ":" + match.getMatchType().getMatchTypeId() + ":" + match.getMatchId();
+	}
+
+	/**
+	 * Find the cached report with the most matches, which contains a part of the given matches only
+	 */
+	private static CachedReport getSubsetReport(int teamId, boolean showUnavailable, List<Integer> matchIds) {
+		CachedReport ret = null;
+		for (var cached : reports.values()) {
+			if (cached.teamId == teamId && cached.showUnavailable == showUnavailable
+					&& matchIds.containsAll(cached.matchIds)
+					&& (ret == null || cached.matchIds.size() > ret.matchIds.size())) {
+				ret = cached;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Analyzed match and the player names of its match report
+	 */
+	static final class AnalyzedMatch {
+		private final MatchDetail matchDetail;
+		private final List<String> names;
+
+		/**
+		 * @param matchDetail analyzed match, null if the match is skipped
+		 * @param names player names of the match report
+		 */
+		AnalyzedMatch(MatchDetail matchDetail, List<String> names) {
+			this.matchDetail = matchDetail;
+			this.names = names;
+		}
+
+		MatchDetail getMatchDetail() {
+			return matchDetail;
+		}
+
+		List<String> getNames() {
+			return names;
+		}
+	}
+
+	private static final class CachedReport {
+		private final String key;
+		private final int teamId;
+		private final boolean showUnavailable;
+		private final Set<Integer> matchIds;
+		private final TeamReport report;
+
+		private CachedReport(String key, int teamId, boolean showUnavailable, List<Integer> matchIds, TeamReport report) {
+			this.key = key;
+			this.teamId = teamId;
+			this.showUnavailable = showUnavailable;
+			this.matchIds = new HashSet<>(matchIds);
+			this.report = report;
+		}
+	}
+
+	private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+		private final int maxSize;
+
+		private LruMap(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxSize;
+		}
+	}
+}
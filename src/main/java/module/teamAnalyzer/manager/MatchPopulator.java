@@ -13,13 +13,17 @@ import module.teamAnalyzer.vo.MatchRating;
 import module.teamAnalyzer.vo.PlayerPerformance;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class MatchPopulator {
     //~ Static fields/initializers -----------------------------------------------------------------
     private static List<MatchDetail> analyzedMatch = new ArrayList<MatchDetail>();
 
+    //~ Instance fields ----------------------------------------------------------------------------
+    /** Analyzed team */
+    private int teamId;
+
     //~ Methods ------------------------------------------------------------------------------------
     public static List<MatchDetail> getAnalyzedMatch() {
         return analyzedMatch;
@@ -29,31 +33,43 @@ public class MatchPopulator {
         analyzedMatch = new ArrayList<MatchDetail>();
     }
 
+    /**
+     * Returns the analyzed matches of the active team.
+     * Matches which are not analyzed before are loaded from the database in parallel.
+     *
+     * @param matches matches to analyze
+     * @return analyzed matches, in the order of the given matches
+     */
     public List<MatchDetail> populate(List<Match> matches) {
-        List<MatchDetail> list = new ArrayList<MatchDetail>();
+        teamId = SystemManager.getActiveTeamId();
+        List<AnalysisCache.AnalyzedMatch> analyzedMatches = matches.parallelStream()
+                .map(this::getAnalyzedMatch)
+                .collect(Collectors.toList());
 
-        analyzedMatch = new ArrayList<MatchDetail>();
-        boolean bOK = true;
-        for (Iterator<Match> iter = matches.iterator(); iter.hasNext();) {
-        	bOK = true;
-            Match element = iter.next();
-            if (bOK) {
-	            try {
-	                MatchDetail md = populateMatch(element);
-	                if (md != null) {
-	                    list.add(md);
-	                    analyzedMatch.add(md);
-	                }
-	            } catch (RuntimeException e) {
-	                // DO NOTHING
-	            }
-            } else {
-            	break;
+        List<MatchDetail> list = new ArrayList<MatchDetail>();
+        for (AnalysisCache.AnalyzedMatch element : analyzedMatches) {
+            if (element != null && element.getMatchDetail() != null) {
+                list.add(element.getMatchDetail());
+                NameManager.addNames(element.getNames());
             }
         }
+        analyzedMatch = new ArrayList<MatchDetail>(list);
         return list;
     }
 
+    private AnalysisCache.AnalyzedMatch getAnalyzedMatch(Match aMatch) {
+        AnalysisCache.AnalyzedMatch ret = AnalysisCache.getAnalyzedMatch(teamId, aMatch);
+        if (ret == null) {
+            try {
+                ret = populateMatch(aMatch);
+                AnalysisCache.putAnalyzedMatch(teamId, aMatch, ret);
+            } catch (RuntimeException e) {
+                // DO NOTHING
+            }
+        }
+        return ret;
+    }
+
     private int getTacticLevel(Matchdetails aMatchDetail) {
         if (isHome(aMatchDetail)) {
             return aMatchDetail.getHomeTacticSkill();
@@ -104,17 +120,11 @@ public class MatchPopulator {
         return mr;
     }
 
-    private MatchDetail populateMatch(Match aMatch) {
+    private AnalysisCache.AnalyzedMatch populateMatch(Match aMatch) {
         var matchType = MatchType.getById( aMatch.getMatchType().getMatchTypeId());
     	Matchdetails tmpMatch = Matchdetails.getMatchdetails(aMatch.getMatchId(), matchType);
         MatchDetail matchDetail = new MatchDetail(aMatch);
-        MatchLineupTeam tmpLineupTeam = null;
-
-        if (isHome(tmpMatch)) {
-            tmpLineupTeam =  DBManager.instance().loadMatchLineup(matchType.getId(), aMatch.getMatchId()).getHomeTeam();
-        } else {
-            tmpLineupTeam =  DBManager.instance().loadMatchLineup(matchType.getId(), aMatch.getMatchId()).getGuestTeam();
-        }
+        MatchLineupTeam tmpLineupTeam = DBManager.instance().loadMatchLineupTeam(matchType.getId(), aMatch.getMatchId(), teamId);
 
         double totStars = 0;
 
@@ -141,7 +151,7 @@ public class MatchPopulator {
 
         // Match is a WO skip it
         if (rating.getHatStats() == 9) {
-            return null;
+            return new AnalysisCache.AnalyzedMatch(null, new ArrayList<String>());
         }
 
         matchDetail.setRating(rating);
@@ -150,15 +160,14 @@ public class MatchPopulator {
         matchDetail.setTacticLevel(getTacticLevel(tmpMatch));
 
         matchDetail.setFormation(tmpMatch.getFormation(isHome(tmpMatch)));
-        NameManager.addNames(tmpMatch.getLineup(isHome(tmpMatch)));
 
-        return matchDetail;
+        return new AnalysisCache.AnalyzedMatch(matchDetail, tmpMatch.getLineup(isHome(tmpMatch)));
     }
     
     private boolean isHome(Matchdetails match) {
         boolean isHome = false;
 
-        if (match.getHomeTeamId() == SystemManager.getActiveTeamId()) {
+        if (match.getHomeTeamId() == teamId) {
             isHome = true;
         }
 
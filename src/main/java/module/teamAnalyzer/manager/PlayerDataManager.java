@@ -31,6 +31,8 @@ public class PlayerDataManager {
 		for (PlayerInfo parsedPlayer : players) {
 			setPlayer(parsedPlayer);
 		}
+		// status of the players in the analyzed matches is changed
+		AnalysisCache.clear();
 	}
 
 	public static int getCurrentHTSeason() {
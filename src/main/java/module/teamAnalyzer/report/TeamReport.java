@@ -66,12 +66,7 @@ public class TeamReport {
         for (MatchDetail m:matchDetails ) {
             addMatch(m, SystemManager.isShowUnavailable.isSet());
         }
-        this.averageRatingslineup = new TeamLineupBuilder(this)
-                .setName(HOVerwaltung.instance().getLanguageString("Durchschnitt")).build();
-
-        if ( HOVerwaltung.instance().getModel().getBasics().isNationalTeam()){
-            this.averageRatingslineup.setNtTeamDetails(DBManager.instance().loadNtTeamDetails(this.teamId, null));
-        }
+        buildAverageRatingsLineup();
     }
 
     /**
@@ -88,6 +83,44 @@ public class TeamReport {
         }
     }
 
+    private void buildAverageRatingsLineup() {
+        this.averageRatingslineup = new TeamLineupBuilder(this)
+                .setName(HOVerwaltung.instance().getLanguageString("Durchschnitt")).build();
+
+        if ( HOVerwaltung.instance().getModel().getBasics().isNationalTeam()){
+            this.averageRatingslineup.setNtTeamDetails(DBManager.instance().loadNtTeamDetails(this.teamId, null));
+        }
+    }
+
+    /**
+     * Update the team report to the given matches.
+     * Matches which are not included yet are added, the average lineup is rebuilt only if matches are added.
+     * Selection and adjusted lineup are reset.
+     *
+     * @param matchDetails all matches of the team report, the report must not include other matches
+     */
+    public void update(List<MatchDetail> matchDetails) {
+        var included = new HashSet<Integer>();
+        for (MatchDetail m : this.matchDetails) {
+            included.add(m.getMatch().getMatchId());
+        }
+        boolean added = false;
+        for (MatchDetail m : matchDetails) {
+            if (!included.contains(m.getMatch().getMatchId())) {
+                addMatch(m, SystemManager.isShowUnavailable.isSet());
+                added = true;
+            }
+        }
+        // keep the order of the match list
+        this.matchDetails = new ArrayList<>(matchDetails);
+        if (added) {
+            buildAverageRatingsLineup();
+        }
+        this.adjustedRatingsLineup = null;
+        this.selectedMatchReport = null;
+        this.selection = 0;
+    }
+
     /**
      * Number of existing lineups in the team report
      *
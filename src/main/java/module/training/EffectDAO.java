@@ -6,26 +6,47 @@ import core.model.HOVerwaltung;
 import core.model.player.ISkillChange;
 import core.model.player.Player;
 import core.util.HODateTime;
+import core.util.HOLogger;
 
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Vector;
 
 
 /**
  * This class is used to collect all required data and fill the lists of values with instances of
  * value objects.
+ * <p>
+ * The player values of the HRF files are loaded in one query for all training weeks. They are kept
+ * between the reloads, after an import only the values of the new HRF files are loaded.
+ * </p>
  *
  * @author NetHyperon
  */
 public class EffectDAO {
     //~ Static fields/initializers -----------------------------------------------------------------
 
+    /** first HRF of each training date, the training weeks are the periods between them */
+    private static final String TRAINING_HRF_IDS = "SELECT HRF.hrf_id FROM HRF," +
+            " (SELECT min(HRF.datum) as mindate, trainingdate" +
+            " FROM HRF, XTRADATA" +
+            " WHERE HRF.hrf_id=XTRADATA.hrf_id" +
+            " GROUP BY trainingdate) AS X" +
+            " WHERE mindate = HRF.datum";
+
     private static List<TrainWeekEffect> trainWeeks = new Vector<>();
 
+    /** values of the loaded HRF files by HRF id */
+    private static final Map<Integer, HrfValues> hrfValues = new HashMap<>();
+
+    /** highest id of the loaded HRF files */
+    private static int lastLoadedHrfId = -1;
+
     //~ Methods ------------------------------------------------------------------------------------
 
     /**
@@ -41,7 +62,7 @@ public class EffectDAO {
      * Calculates the training weeks and returns a list of TrainWeek instances. These value object
      * contain the last hrf id before the training update and the first hrf id after the update.
      */
-    public static void reload() {
+    public static synchronized void reload() {
         try {
             Map<String,List<ISkillChange>> weeklySkillups = new HashMap<>();
 
@@ -67,23 +88,26 @@ public class EffectDAO {
 
             trainWeeks.clear();
 
-            ResultSet tDateset = db.executeQuery("SELECT HRFMIN.hrf_id, HRFMAX.hrf_id, trainingdate" +
-                    " FROM HRF as HRFMIN, HRF as HRFMAX, (SELECT max(HRF.datum) as maxdate, min(HRF.datum) as mindate, trainingdate" +
+            ResultSet tDateset = db.executePreparedQuery("SELECT HRF.hrf_id, trainingdate, HRF.datum FROM HRF," +
+                    " (SELECT min(HRF.datum) as mindate, trainingdate" +
                         " FROM HRF, XTRADATA" +
                         " WHERE HRF.hrf_id=XTRADATA.hrf_id" +
                         " GROUP BY trainingdate) AS X" +
-                        " WHERE maxdate = HRFMAX.datum AND mindate = HRFMIN.datum ORDER BY trainingdate DESC");
+                        " WHERE mindate = HRF.datum ORDER BY trainingdate DESC");
 
             List<TrainWeekEffect> trainingDates = new Vector<>();
+            Map<Integer, Timestamp> hrfDates = new HashMap<>();
 
             try {
                 int first_in_week = 0;
                 assert tDateset != null;
                 if (tDateset.next()) {
                     first_in_week = tDateset.getInt(1);
+                    hrfDates.put(first_in_week, tDateset.getTimestamp(3));
                 }
                 while (tDateset.next()) {
-                    var trainDate = HODateTime.fromDbTimestamp(tDateset.getTimestamp(3));
+                    hrfDates.put(tDateset.getInt(1), tDateset.getTimestamp(3));
+                    var trainDate = HODateTime.fromDbTimestamp(tDateset.getTimestamp(2));
                     var htWeek =trainDate.toHTWeek();
                     trainingDates.add(new TrainWeekEffect(htWeek.week, htWeek.season, tDateset.getInt(1), first_in_week));
                     first_in_week = tDateset.getInt(1);
@@ -93,57 +117,32 @@ public class EffectDAO {
             } catch (Exception ignored) {
             }
 
-            for (TrainWeekEffect week : trainingDates) {
-                ResultSet set = db.executeQuery("SELECT SUM(marktwert) as totaltsi, AVG(marktwert) as avgtsi , SUM(form) as form, COUNT(form) as number FROM SPIELER WHERE trainer = 0 AND hrf_id = " //$NON-NLS-1$
-                        + week.getHRFafterUpdate());
-
-                if (set != null) {
-                    set.next();
-                    week.setTotalTSI(set.getInt("totaltsi")); //$NON-NLS-1$
-                    week.setAverageTSI(set.getInt("avgtsi")); //$NON-NLS-1$
-
-                    double avgForm = 0.0d;
-
-                    if (set.getInt("number") != 0) { //$NON-NLS-1$
-                        avgForm = set.getDouble("form") / set.getInt("number"); //$NON-NLS-1$ //$NON-NLS-2$
-                    }
-
-                    week.setAverageForm(avgForm);
-                    set.close();
-                }
-
-                Map<Integer, PlayerValues> valuesBeforeUpdate = new HashMap<>();
+            loadHrfValues(db, hrfDates);
 
-                set = db.executeQuery("SELECT * FROM SPIELER WHERE trainer = 0 AND hrf_id = " //$NON-NLS-1$
-                        + week.getHRFbeforeUpdate());
+            for (TrainWeekEffect week : trainingDates) {
+                HrfValues after = hrfValues.getOrDefault(week.getHRFafterUpdate(), HrfValues.EMPTY);
+                HrfValues before = hrfValues.getOrDefault(week.getHRFbeforeUpdate(), HrfValues.EMPTY);
 
-                if (set != null) {
-                    while (set.next()) {
-                        PlayerValues result = new PlayerValues(set.getInt("marktwert"), //$NON-NLS-1$
-                                set.getInt("form")); //$NON-NLS-1$
+                week.setTotalTSI((int) after.totalTsi);
+                week.setAverageTSI(after.count != 0 ? (int) (after.totalTsi / after.count) : 0);
 
-                        valuesBeforeUpdate.put(set.getInt("spielerid"), result); //$NON-NLS-1$
-                    }
+                double avgForm = 0.0d;
 
-                    set.close();
+                if (after.count != 0) {
+                    avgForm = (double) after.totalForm / after.count;
                 }
 
-                set = db.executeQuery("SELECT * FROM SPIELER, BASICS WHERE trainer = 0 AND SPIELER.hrf_id = BASICS.hrf_id AND SPIELER.hrf_id = " //$NON-NLS-1$
-                        + week.getHRFafterUpdate());
+                week.setAverageForm(avgForm);
 
-                if (set != null) {
-                    while (set.next()) {
-                        Integer playerID = set.getInt("spielerid"); //$NON-NLS-1$
+                if (after.hasBasics) {
+                    for (var entry : after.players.entrySet()) {
+                        PlayerValues valueBefore = before.players.get(entry.getKey());
 
-                        if (valuesBeforeUpdate.containsKey(playerID)) {
-                            PlayerValues before = valuesBeforeUpdate.get(playerID);
-
-                            week.addTSI(set.getInt("marktwert") - before.getTsi()); //$NON-NLS-1$
-                            week.addForm(set.getInt("form") - before.getForm()); //$NON-NLS-1$
+                        if (valueBefore != null) {
+                            week.addTSI(entry.getValue().getTsi() - valueBefore.getTsi());
+                            week.addForm(entry.getValue().getForm() - valueBefore.getForm());
                         }
                     }
-
-                    set.close();
                 }
 
                 // Set amount of skillups for this training week
@@ -166,4 +165,88 @@ public class EffectDAO {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Loads the player values of the HRF files of the training weeks, which are not loaded yet.
+     * New HRF files get higher ids, so after an import only the files after the last loaded one are read.
+     * If an older file is needed, which was not loaded before, or if the id of a deleted file was reused,
+     * all values are reloaded.
+     *
+     * @param hrfDates date of the needed HRF files by HRF id
+     */
+    private static void loadHrfValues(JDBCAdapter db, Map<Integer, Timestamp> hrfDates) {
+        Set<Integer> needed = hrfDates.keySet();
+
+        for (int hrfId : needed) {
+            var loaded = hrfValues.get(hrfId);
+            if ((hrfId <= lastLoadedHrfId && loaded == null)
+                    || (loaded != null && !Objects.equals(loaded.datum, hrfDates.get(hrfId)))) {
+                hrfValues.clear();
+                lastLoadedHrfId = -1;
+                break;
+            }
+        }
+        // values of deleted HRF files and of HRF files, which are no longer the first of their training date
+        hrfValues.keySet().retainAll(needed);
+
+        ResultSet set = db.executePreparedQuery("SELECT SPIELER.hrf_id, spielerid, marktwert, form, BASICS.hrf_id as basics_hrf_id" +
+                " FROM SPIELER LEFT JOIN BASICS ON SPIELER.hrf_id = BASICS.hrf_id" +
+                " WHERE trainer = 0 AND SPIELER.hrf_id > ? AND SPIELER.hrf_id IN (" + TRAINING_HRF_IDS + ")" +
+                " ORDER BY SPIELER.hrf_id", lastLoadedHrfId);
+
+        if (set == null) {
+            return;
+        }
+        try {
+            HrfValues values = null;
+            while (set.next()) {
+                int hrfId = set.getInt(1);
+                if (values == null || values.hrfId != hrfId) {
+                    values = new HrfValues(hrfId, hrfDates.get(hrfId), set.getObject("basics_hrf_id") != null);
+                    hrfValues.put(hrfId, values);
+                }
+                values.add(set.getInt("spielerid"), set.getInt("marktwert"), set.getInt("form"));
+            }
+            set.close();
+        } catch (Exception e) {
+            HOLogger.instance().log(EffectDAO.class, e);
+            hrfValues.clear();
+            lastLoadedHrfId = -1;
+            return;
+        }
+
+        for (int hrfId : needed) {
+            // HRF files without players are stored as well, so they are not requested again
+            hrfValues.computeIfAbsent(hrfId, id -> new HrfValues(id, hrfDates.get(id), false));
+            lastLoadedHrfId = Math.max(lastLoadedHrfId, hrfId);
+        }
+    }
+
+    /**
+     * TSI and form of the players (without trainer) of one HRF file
+     */
+    private static final class HrfValues {
+        private static final HrfValues EMPTY = new HrfValues(-1, null, false);
+
+        private final int hrfId;
+        private final Timestamp datum;
+        private final boolean hasBasics;
+        private final Map<Integer, PlayerValues> players = new HashMap<>();
+        private long totalTsi;
+        private long totalForm;
+        private int count;
+
+        private HrfValues(int hrfId, Timestamp datum, boolean hasBasics) {
+            this.hrfId = hrfId;
+            this.datum = datum;
+            this.hasBasics = hasBasics;
+        }
+
+        private void add(int playerId, int tsi, int form) {
+            players.put(playerId, new PlayerValues(tsi, form));
+            totalTsi += tsi;
+            totalForm += form;
+            count++;
+        }
+    }
 }
@@ -84,8 +84,8 @@ public class CsvPlayerExport {
 		HOLogger.instance().debug(getClass(),
 				"Exporting all players as CSV to " + file.getName() + "...");
 		List<Player> list = HOVerwaltung.instance().getModel().getCurrentPlayers();
-		try {
-			OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		// rows are written through a buffer straight to the file
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
 
 			writer.write(
 							"\"" + HOVerwaltung.instance().getLanguageString("ls.player.name") + "\","
@@ -208,7 +208,6 @@ public class CsvPlayerExport {
 				}
 				writer.write("\n");
 			}
-			writer.close();
 			HOLogger.instance().info(getClass(), "CSV Export complete.");
 		} catch (Exception e) {
 			HOLogger.instance().error(getClass(), "CSV Export error!");
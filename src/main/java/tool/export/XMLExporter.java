@@ -7,7 +7,6 @@ import core.db.backup.HOZip;
 import core.file.ExampleFileFilter;
 import core.file.xml.ExportMatchData;
 import core.file.xml.MatchExporter;
-import core.file.xml.XMLManager;
 import core.gui.HOMainFrame;
 import core.model.HOVerwaltung;
 import core.model.Team;
@@ -23,8 +22,9 @@ import core.util.HOLogger;
 import module.lineup.Lineup;
 
 import java.awt.BorderLayout;
-import java.sql.Timestamp;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
@@ -32,11 +32,9 @@ import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JSpinner;
 import javax.swing.SpinnerDateModel;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 //implement IPlugin for integration into HO
 //Refreshable to get informed by data updates
@@ -49,6 +47,9 @@ public class XMLExporter  {
     //~ Instance fields ----------------------------------------------------------------------------
 
     private SpinnerDateModel m_clSpinnerModel = new SpinnerDateModel();
+
+    /** Region ids of the teams, fetched once per export */
+    private final Map<Integer, String> regionIds = new HashMap<>();
    
 
     //~ Constructors -------------------------------------------------------------------------------
@@ -159,331 +160,190 @@ public class XMLExporter  {
 
 	/**
 	 * Save XMP file.
+	 * <p>
+	 * The matches are written one by one to the zip file, the xml document is never kept in memory.
+	 * Team data and trainer types of the HRF files are loaded in one query each.
+	 * </p>
 	 */
-	@SuppressWarnings("deprecation")
 	public void saveXML(String filename, HODateTime startingDate) {
-				
-		//Alle Matches holen			
-		List<ExportMatchData> matches = MatchExporter.getDataUsefullMatches(startingDate);
-		
+		int count = 0;
+		regionIds.clear();
+
 		//XML schreiben
+		HOZip zip = null;
 		try {
-			Document doc;
-			Element ele;
-			Element tmpEle;
-			Element root;
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder builder = factory.newDocumentBuilder();
+			// HRF files of the first matches are older than the starting date
+			var from = startingDate.minus(14, ChronoUnit.DAYS).toDbTimestamp();
+			Map<Integer, Team> teams = DBManager.instance().getTeamsSince(from);
+			Map<Integer, Integer> trainerTypes = DBManager.instance().getTrainerTypesSince(from);
 
-			doc = builder.newDocument();
-			root = doc.createElement("MatchList");
-			doc.appendChild(root);
+			zip = new HOZip(filename);
+			String xmlfile = HOVerwaltung.instance().getModel().getBasics().getTeamName() + ".xml";
+			var writer = XMLOutputFactory.newInstance().createXMLStreamWriter(zip.startEntry(xmlfile), "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+			writer.writeStartElement("MatchList");
 
 			///Team  Info + ManagerName adden
-			tmpEle = doc.createElement("TeamName");
-			root.appendChild(tmpEle);
-			tmpEle.appendChild(doc.createTextNode("" + HOVerwaltung.instance().getModel().getBasics().getTeamName()));
-			tmpEle = doc.createElement("ManagerName");
-			root.appendChild(tmpEle);
-			tmpEle.appendChild(doc.createTextNode("" + HOVerwaltung.instance().getModel().getBasics().getManager()));
+			writeElement(writer, "TeamName", HOVerwaltung.instance().getModel().getBasics().getTeamName());
+			writeElement(writer, "ManagerName", HOVerwaltung.instance().getModel().getBasics().getManager());
 
 			//Exporter Version adden
-			tmpEle = doc.createElement("XMLExporterVersion");
-			root.appendChild(tmpEle);
-			tmpEle.appendChild(doc.createTextNode("1.05"));
-
-			for (ExportMatchData matchData : matches) {
-				//Matchdaten
-				tmpEle = doc.createElement("Match");
-				root.appendChild(tmpEle);
-				ele = doc.createElement("MatchID");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + matchData.getInfo().getMatchID()));
-				ele = doc.createElement("Datum");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode(matchData.getInfo().getMatchSchedule().toHT()));
-				ele = doc.createElement("Derby");
-				tmpEle.appendChild(ele);
-
-				if (getRegionID4Team(matchData.getInfo().getGuestTeamID()).equals(getRegionID4Team(matchData.getInfo().getHomeTeamID()))) {
-					ele.appendChild(doc.createTextNode("1"));
-				} else {
-					ele.appendChild(doc.createTextNode("0"));
+			writeElement(writer, "XMLExporterVersion", "1.05");
+
+			//Alle Matches holen
+			count = MatchExporter.forEachUsefullMatch(startingDate, startingDate, true, false, matchData -> {
+				try {
+					writeMatch(writer, matchData, teams, trainerTypes);
+				} catch (XMLStreamException e) {
+					throw new IllegalStateException(e);
 				}
+			});
 
-				ele = doc.createElement("MatchType");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + matchData.getInfo().getMatchType()));
-				ele = doc.createElement("Heimspiel");
-				tmpEle.appendChild(ele);
-
-				boolean heimspiel;
-				if (matchData.getInfo().getHomeTeamID() == HOVerwaltung.instance().getModel().getBasics().getTeamId()) {
-					ele.appendChild(doc.createTextNode("1"));
-					heimspiel = true;
-				} else {
-					ele.appendChild(doc.createTextNode("0"));
-					heimspiel = false;
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+		} catch (Exception e) {
+			HOLogger.instance().log(getClass(), "pickupData.writeXML: " + e);
+			HOLogger.instance().log(getClass(), e);
+		} finally {
+			if (zip != null) {
+				try {
+					zip.closeArchive();
+				} catch (Exception e) {
+					HOLogger.instance().log(getClass(), e);
 				}
+			}
+		}
 
-				//Teamdaten
-				ele = doc.createElement("Team");
-				tmpEle.appendChild(ele);
+		//        HOMiniModel.instance().getGUI ().getInfoPanel ().clearAll ();   
+		JOptionPane.showMessageDialog(
+			HOMainFrame.instance(), HOVerwaltung.instance().getLanguageString("xmlexport.information", count),
+					HOVerwaltung.instance().getLanguageString("windowtitle.exportsuccessful"),
+			javax.swing.JOptionPane.INFORMATION_MESSAGE);
+	}
 
-				//tmpRoot wechseln
-				tmpEle = ele;
+	private void writeMatch(XMLStreamWriter writer, ExportMatchData matchData, Map<Integer, Team> teams,
+							Map<Integer, Integer> trainerTypes) throws XMLStreamException {
+		int teamId = HOVerwaltung.instance().getModel().getBasics().getTeamId();
 
-				//Details holen
-				//details = (IMatchDetails) usefulMatches.get(new Integer(matchID));
-				int hrfID = DBManager.instance().getHrfIDSameTraining(matchData.getInfo().getMatchSchedule().toDbTimestamp());
+		//Matchdaten
+		writer.writeStartElement("Match");
+		writeElement(writer, "MatchID", matchData.getInfo().getMatchID());
+		writeElement(writer, "Datum", matchData.getInfo().getMatchSchedule().toHT());
 
-				//HRF ID vermerken
-				ele = doc.createElement("HRFID");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + hrfID));
+		if (getRegionID4Team(matchData.getInfo().getGuestTeamID()).equals(getRegionID4Team(matchData.getInfo().getHomeTeamID()))) {
+			writeElement(writer, "Derby", "1");
+		} else {
+			writeElement(writer, "Derby", "0");
+		}
 
-				MatchLineupTeam lineupTeam;
-				Matchdetails details = matchData.getDetails();
-				if (details.getHomeTeamId() == HOVerwaltung.instance().getModel().getBasics().getTeamId()) {
-					lineupTeam = DBManager.instance().loadMatchLineup(details.getMatchType().getId(), details.getMatchID()).getHomeTeam();
-				} else {
-					lineupTeam = DBManager.instance().loadMatchLineup(details.getMatchType().getId(), details.getMatchID()).getGuestTeam();
-				}
+		writeElement(writer, "MatchType", matchData.getInfo().getMatchType());
 
-				Team team = DBManager.instance().getTeam(hrfID);
-
-				//Daten schreiben
-				ele = doc.createElement("TeamID");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + HOVerwaltung.instance().getModel().getBasics().getTeamId()));
-				ele = doc.createElement("System");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + lineupTeam.determineSystem()));
-				ele = doc.createElement("Eingespieltheit");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + getTeamErfahrung(team, lineupTeam.determineSystem())));
-				ele = doc.createElement("TrainerType");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + DBManager.instance().getTrainerType(hrfID)));
-				ele.appendChild(doc.createComment(" 0=Defense, 2= Normal, 1=Offense Trainer, -99 NOT Found "));
-
-				if (heimspiel) {
-					ele = doc.createElement("Einstellung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeEinstellung()));
-					ele = doc.createElement("Spezialtaktik");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeTacticType()));
-					ele = doc.createElement("SpezialtaktikSkill");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeTacticSkill()));
-					ele = doc.createElement("LeftAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeLeftAtt()));
-					ele = doc.createElement("LeftDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeLeftDef()));
-					ele = doc.createElement("MidAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeMidAtt()));
-					ele = doc.createElement("MidDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeMidDef()));
-					ele = doc.createElement("Midfield");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeMidfield()));
-					ele = doc.createElement("RightAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeRightAtt()));
-					ele = doc.createElement("RightDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getHomeRightDef()));
-				} else {
-					ele = doc.createElement("Einstellung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestEinstellung()));
-					ele = doc.createElement("Spezialtaktik");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestTacticType()));
-					ele = doc.createElement("SpezialtaktikSkill");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestTacticSkill()));
-					ele = doc.createElement("LeftAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestLeftAtt()));
-					ele = doc.createElement("LeftDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestLeftDef()));
-					ele = doc.createElement("MidAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestMidAtt()));
-					ele = doc.createElement("MidDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestMidDef()));
-					ele = doc.createElement("Midfield");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestMidfield()));
-					ele = doc.createElement("RightAtt");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestRightAtt()));
-					ele = doc.createElement("RightDef");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + details.getGuestRightDef()));
-				}
+		boolean heimspiel = matchData.getInfo().getHomeTeamID() == teamId;
+		writeElement(writer, "Heimspiel", heimspiel ? "1" : "0");
 
-				ele = doc.createElement("Stimmung");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + getTeamStimmung(team)));
-				ele = doc.createElement("Selbstvertrauen");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + getTeamSelbstvertrauen(team)));
-				ele = doc.createElement("Erfahrung");
-				tmpEle.appendChild(ele);
-				ele.appendChild(doc.createTextNode("" + lineupTeam.getExperience()));
-
-				//lineup
-				Element lineupEle = doc.createElement("Lineup");
-				tmpEle.appendChild(lineupEle);
-
-				//Player schreiben
-				for (var p : lineupTeam.getLineup().getAllPositions()) {
-					Player playerData = matchData.getPlayers().get(p.getPlayerId());
-
-					//Bank + verletzte überspringen
-					if (p.getRoleId() >= IMatchRoleID.startReserves) {
-						continue;
-					}
-
-					ele = doc.createElement("SpielerDaten");
-					lineupEle.appendChild(ele);
-
-					//tmpRoot wechseln
-					tmpEle = ele;
-
-					ele = doc.createElement("SpielerID");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getPlayerId()));
-					ele = doc.createElement("Spezialitaet");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getPlayerSpecialty()));
-					ele = doc.createElement("RoleID");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getRoleId()));
-					ele = doc.createElement("Tactic");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getBehaviour()));
-					ele = doc.createElement("HOPosition");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getPosition()));
-					ele = doc.createElement("HTPositionCode");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getRoleId()));
-					ele = doc.createElement("Bewertung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getRating()));
-					ele = doc.createElement("Name");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + p.getSpielerName()));
-					ele = doc.createElement("Alter");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getAlter()));
-					ele = doc.createElement("AgeDays");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getAgeDays()));
-					ele = doc.createElement("TSI");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getTSI()));
-					ele = doc.createElement("Form");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getForm()));
-					ele = doc.createElement("Kondition");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getStamina()));
-					ele = doc.createElement("Erfahrung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getExperience()));
-					ele = doc.createElement("Torwart");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getGKskill()));
-					ele = doc.createElement("Verteidigung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getDEFskill()));
-					ele = doc.createElement("Passspiel");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getPSskill()));
-					ele = doc.createElement("Fluegel");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getWIskill()));
-					ele = doc.createElement("Torschuss");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSCskill()));
-					ele = doc.createElement("Standards");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSPskill()));
-					ele = doc.createElement("Spielaufbau");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getPMskill()));
-					ele = doc.createElement("SubTorwart");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.KEEPER)));
-					ele = doc.createElement("SubTorwartHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.KEEPER, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubVerteidigung");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.DEFENDING)));
-					ele = doc.createElement("SubVerteidigungHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.DEFENDING, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubPassspiel");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.PASSING)));
-					ele = doc.createElement("SubPassspielHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.PASSING, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubFluegel");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.WINGER)));
-					ele = doc.createElement("SubFluegelHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.WINGER, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubTorschuss");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.SCORING)));
-					ele = doc.createElement("SubTorschussHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.SCORING, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubStandards");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.SET_PIECES)));
-					ele = doc.createElement("SubStandardsHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.SET_PIECES, playerData, details.getMatchDate())));
-					ele = doc.createElement("SubSpielaufbau");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + playerData.getSub4SkillAccurate(PlayerSkill.PLAYMAKING)));
-					ele = doc.createElement("SubSpielaufbauHadLevelUp");
-					tmpEle.appendChild(ele);
-					ele.appendChild(doc.createTextNode("" + hadSkillup(PlayerSkill.PLAYMAKING, playerData, details.getMatchDate())));
-				}
-			}
+		//Teamdaten
+		writer.writeStartElement("Team");
 
-			//Fertig -> saven
-			String xml = XMLManager.getXML(doc);
-			HOZip zip = new HOZip(filename);
-			String xmlfile = HOVerwaltung.instance().getModel().getBasics().getTeamName() + ".xml";
-			zip.addStringEntry(xmlfile,xml);
-			zip.closeArchive();
-		} catch (Exception e) {
-			HOLogger.instance().log(getClass(), "pickupData.writeXML: " + e);
-			HOLogger.instance().log(getClass(), e);
+		//HRF ID vermerken
+		int hrfID = matchData.getHrfId();
+		writeElement(writer, "HRFID", hrfID);
+
+		Matchdetails details = matchData.getDetails();
+		MatchLineupTeam lineupTeam = matchData.getLineupTeam();
+
+		Team team = teams.get(hrfID);
+		if (team == null) {
+			team = DBManager.instance().getTeam(hrfID);
+		}
+		Integer trainerType = trainerTypes.get(hrfID);
+		if (trainerType == null) {
+			trainerType = DBManager.instance().getTrainerType(hrfID);
 		}
 
-		//        HOMiniModel.instance().getGUI ().getInfoPanel ().clearAll ();   
-		JOptionPane.showMessageDialog(
-			HOMainFrame.instance(), HOVerwaltung.instance().getLanguageString("xmlexport.information", matches.size()),
-					HOVerwaltung.instance().getLanguageString("windowtitle.exportsuccessful"),
-			javax.swing.JOptionPane.INFORMATION_MESSAGE);
+		//Daten schreiben
+		writeElement(writer, "TeamID", teamId);
+		writeElement(writer, "System", lineupTeam.determineSystem());
+		writeElement(writer, "Eingespieltheit", getTeamErfahrung(team, lineupTeam.determineSystem()));
+		writer.writeStartElement("TrainerType");
+		writer.writeCharacters("" + trainerType);
+		writer.writeComment(" 0=Defense, 2= Normal, 1=Offense Trainer, -99 NOT Found ");
+		writer.writeEndElement();
+
+		writeElement(writer, "Einstellung", heimspiel ? details.getHomeEinstellung() : details.getGuestEinstellung());
+		writeElement(writer, "Spezialtaktik", heimspiel ? details.getHomeTacticType() : details.getGuestTacticType());
+		writeElement(writer, "SpezialtaktikSkill", heimspiel ? details.getHomeTacticSkill() : details.getGuestTacticSkill());
+		writeElement(writer, "LeftAtt", heimspiel ? details.getHomeLeftAtt() : details.getGuestLeftAtt());
+		writeElement(writer, "LeftDef", heimspiel ? details.getHomeLeftDef() : details.getGuestLeftDef());
+		writeElement(writer, "MidAtt", heimspiel ? details.getHomeMidAtt() : details.getGuestMidAtt());
+		writeElement(writer, "MidDef", heimspiel ? details.getHomeMidDef() : details.getGuestMidDef());
+		writeElement(writer, "Midfield", heimspiel ? details.getHomeMidfield() : details.getGuestMidfield());
+		writeElement(writer, "RightAtt", heimspiel ? details.getHomeRightAtt() : details.getGuestRightAtt());
+		writeElement(writer, "RightDef", heimspiel ? details.getHomeRightDef() : details.getGuestRightDef());
+
+		writeElement(writer, "Stimmung", getTeamStimmung(team));
+		writeElement(writer, "Selbstvertrauen", getTeamSelbstvertrauen(team));
+		writeElement(writer, "Erfahrung", lineupTeam.getExperience());
+
+		//lineup
+		writer.writeStartElement("Lineup");
+
+		//Player schreiben
+		for (var p : lineupTeam.getLineup().getAllPositions()) {
+			//Bank + verletzte + leere Positionen überspringen
+			if (p.getRoleId() >= IMatchRoleID.startReserves || p.getPlayerId() <= 0) {
+				continue;
+			}
+			Player playerData = matchData.getPlayers().get(p.getPlayerId());
+			HODateTime matchDate = details.getMatchDate();
+
+			writer.writeStartElement("SpielerDaten");
+			writeElement(writer, "SpielerID", p.getPlayerId());
+			writeElement(writer, "Spezialitaet", playerData.getPlayerSpecialty());
+			writeElement(writer, "RoleID", p.getRoleId());
+			writeElement(writer, "Tactic", p.getBehaviour());
+			writeElement(writer, "HOPosition", p.getPosition());
+			writeElement(writer, "HTPositionCode", p.getRoleId());
+			writeElement(writer, "Bewertung", p.getRating());
+			writeElement(writer, "Name", p.getSpielerName());
+			writeElement(writer, "Alter", playerData.getAlter());
+			writeElement(writer, "AgeDays", playerData.getAgeDays());
+			writeElement(writer, "TSI", playerData.getTSI());
+			writeElement(writer, "Form", playerData.getForm());
+			writeElement(writer, "Kondition", playerData.getStamina());
+			writeElement(writer, "Erfahrung", playerData.getExperience());
+			writeElement(writer, "Torwart", playerData.getGKskill());
+			writeElement(writer, "Verteidigung", playerData.getDEFskill());
+			writeElement(writer, "Passspiel", playerData.getPSskill());
+			writeElement(writer, "Fluegel", playerData.getWIskill());
+			writeElement(writer, "Torschuss", playerData.getSCskill());
+			writeElement(writer, "Standards", playerData.getSPskill());
+			writeElement(writer, "Spielaufbau", playerData.getPMskill());
+			writeSubSkill(writer, "SubTorwart", PlayerSkill.KEEPER, playerData, matchDate);
+			writeSubSkill(writer, "SubVerteidigung", PlayerSkill.DEFENDING, playerData, matchDate);
+			writeSubSkill(writer, "SubPassspiel", PlayerSkill.PASSING, playerData, matchDate);
+			writeSubSkill(writer, "SubFluegel", PlayerSkill.WINGER, playerData, matchDate);
+			writeSubSkill(writer, "SubTorschuss", PlayerSkill.SCORING, playerData, matchDate);
+			writeSubSkill(writer, "SubStandards", PlayerSkill.SET_PIECES, playerData, matchDate);
+			writeSubSkill(writer, "SubSpielaufbau", PlayerSkill.PLAYMAKING, playerData, matchDate);
+			writer.writeEndElement();
+		}
+
+		writer.writeEndElement(); // Lineup
+		writer.writeEndElement(); // Team
+		writer.writeEndElement(); // Match
+	}
+
+	private void writeSubSkill(XMLStreamWriter writer, String name, int skill, Player player, HODateTime matchDate) throws XMLStreamException {
+		writeElement(writer, name, player.getSub4SkillAccurate(skill));
+		writeElement(writer, name + "HadLevelUp", hadSkillup(skill, player, matchDate));
+	}
+
+	private static void writeElement(XMLStreamWriter writer, String name, Object value) throws XMLStreamException {
+		writer.writeStartElement(name);
+		writer.writeCharacters("" + value);
+		writer.writeEndElement();
 	}
 
 	/**
@@ -517,7 +377,7 @@ public class XMLExporter  {
 			}
 			return m_sUserRegionID;
 		} 
-		return MyConnector.instance().fetchRegionID(teamID);
+		return regionIds.computeIfAbsent(teamID, id -> MyConnector.instance().fetchRegionID(id));
 	}
 
 	/**
@@ -0,0 +1,48 @@
+package core.db;
+
+import core.constants.player.PlayerSkill;
+import core.util.HODateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SkillupIndexTest {
+
+    private static HODateTime date(long seconds) {
+        return new HODateTime(Instant.ofEpochSecond(seconds));
+    }
+
+    @Test
+    public void test() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{2, 100, date(2000), 6, PlayerSkill.PLAYMAKING});
+        rows.add(new Object[]{1, 100, date(1000), 5, PlayerSkill.PLAYMAKING});
+        rows.add(new Object[]{1, 300, date(1000), 4, PlayerSkill.KEEPER});
+        var index = SkillupIndex.create(rows);
+
+        Assertions.assertTrue(index.hasLevelUp(PlayerSkill.PLAYMAKING, 100));
+        Assertions.assertFalse(index.hasLevelUp(PlayerSkill.KEEPER, 100));
+        Assertions.assertTrue(index.hasLevelUp(PlayerSkill.KEEPER, 300));
+        Assertions.assertFalse(index.hasLevelUp(PlayerSkill.KEEPER, 200));
+        Assertions.assertEquals(2, index.getRows(100).size());
+        Assertions.assertEquals(6, index.getRows(100).get(0)[3]);
+
+        // new player is inserted between the existing ones
+        index.add(3, 200, date(3000), 7, PlayerSkill.DEFENDING);
+        Assertions.assertTrue(index.hasLevelUp(PlayerSkill.DEFENDING, 200));
+        Assertions.assertTrue(index.hasLevelUp(PlayerSkill.KEEPER, 300));
+        Assertions.assertTrue(index.hasLevelUp(PlayerSkill.PLAYMAKING, 100));
+
+        // same download and skill replaces the existing row, latest first
+        index.add(2, 100, date(2000), 7, PlayerSkill.PLAYMAKING);
+        index.add(3, 100, date(3000), 3, PlayerSkill.STAMINA);
+        var playerRows = index.getRows(100);
+        Assertions.assertEquals(3, playerRows.size());
+        Assertions.assertEquals(PlayerSkill.STAMINA, playerRows.get(0)[4]);
+        Assertions.assertEquals(7, playerRows.get(1)[3]);
+        Assertions.assertTrue(index.getRows(400).isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package core.db.backup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGzipTest {
+
+    private static byte[] roundTrip(byte[] data) throws IOException {
+        var compressed = new ByteArrayOutputStream();
+        ParallelGzip.compress(new ByteArrayInputStream(data), compressed);
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testMultipleBlocks() throws IOException {
+        // more than two blocks, the last one is incomplete
+        var data = new byte[9 * 1024 * 1024 + 17];
+        var random = new Random(42);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(16) + 'a');
+        }
+        Assertions.assertArrayEquals(data, roundTrip(data));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        // empty gzip member, not an empty file
+        var compressed = new ByteArrayOutputStream();
+        ParallelGzip.compress(new ByteArrayInputStream(new byte[0]), compressed);
+        Assertions.assertTrue(compressed.size() > 0);
+        Assertions.assertArrayEquals(new byte[0], roundTrip(new byte[0]));
+    }
+}
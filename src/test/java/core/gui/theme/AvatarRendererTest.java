@@ -0,0 +1,68 @@
+package core.gui.theme;
+
+import core.model.player.Layer;
+import core.model.player.PlayerAvatar;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AvatarRendererTest {
+
+    @TempDir
+    Path avatarPath;
+
+    private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+    private byte[] fetch(String url) throws IOException {
+        fetches.computeIfAbsent(url, u -> new AtomicInteger()).incrementAndGet();
+        var image = new BufferedImage(url.contains("card") ? 92 : 20, url.contains("card") ? 123 : 20, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, url.hashCode() | 0xFF000000);
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(image, "PNG", out);
+        return out.toByteArray();
+    }
+
+    private static PlayerAvatar avatar(int playerId, String face) {
+        return new PlayerAvatar(playerId, "http://ht/card.png", List.of(
+                new Layer(0, 0, "http://ht/card.png"),
+                new Layer(9, 10, "http://ht/body.png"),
+                new Layer(9, 10, "http://ht/" + face + ".png")));
+    }
+
+    @Test
+    public void testSharedLayersAndUnchangedAvatars() throws IOException {
+        var avatars = List.of(avatar(1, "f1"), avatar(2, "f2"), avatar(3, "f1"));
+
+        var renderer = new AvatarRenderer(avatarPath, this::fetch, 3);
+        Assertions.assertEquals(3, renderer.render(avatars, (i, n) -> {}));
+        for (int id = 1; id <= 3; id++) {
+            var image = ImageIO.read(avatarPath.resolve(id + ".png").toFile());
+            Assertions.assertEquals(92, image.getWidth());
+            Assertions.assertEquals(123, image.getHeight());
+        }
+        // shared layers are fetched once
+        Assertions.assertEquals(4, fetches.size());
+        fetches.values().forEach(count -> Assertions.assertEquals(1, count.get()));
+
+        // unchanged layers are not rendered again
+        Assertions.assertEquals(0, new AvatarRenderer(avatarPath, this::fetch, 3).render(avatars, (i, n) -> {}));
+
+        // changed avatar is rendered, the layers are taken from the cache folder
+        fetches.clear();
+        var changed = List.of(avatar(1, "f1"), avatar(2, "f1"), avatar(3, "f1"));
+        Assertions.assertEquals(1, new AvatarRenderer(avatarPath, this::fetch, 3).render(changed, (i, n) -> {}));
+        Assertions.assertTrue(fetches.isEmpty());
+        Assertions.assertTrue(Files.exists(avatarPath.resolve("2.png")));
+    }
+}
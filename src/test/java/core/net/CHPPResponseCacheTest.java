@@ -0,0 +1,74 @@
+package core.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CHPPResponseCacheTest {
+
+    private static final String URL = "https://chpp.hattrick.org/chppxml.ashx?file=teamdetails&version=3.5&teamID=42";
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"utf-8\"?><HattrickData><FileName>teamdetails.xml</FileName></HattrickData>";
+
+    @TempDir
+    Path cachePath;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private boolean recording;
+
+    @Test
+    public void testKey() {
+        Assertions.assertEquals("teamdetails;3.5;teamid=42", CHPPResponseCache.getKey(URL));
+        Assertions.assertEquals(CHPPResponseCache.getKey(URL),
+                CHPPResponseCache.getKey("https://chpp.hattrick.org/chppxml.ashx?teamId=42&version=3.5&file=teamdetails"));
+        Assertions.assertEquals(CHPPResponseCache.getKey("https://chpp.hattrick.org/chppxml.ashx?file=matches&version=2.8&teamID=1"),
+                CHPPResponseCache.getKey("https://chpp.hattrick.org/chppxml.ashx?file=matches&version=2.8&teamID=1&actionType=refreshCache"));
+        Assertions.assertNotEquals(CHPPResponseCache.getKey(URL),
+                CHPPResponseCache.getKey("https://chpp.hattrick.org/chppxml.ashx?file=teamdetails&version=3.6&teamID=42"));
+        Assertions.assertNull(CHPPResponseCache.getKey("https://chpp.hattrick.org/chppxml.ashx"));
+    }
+
+    @Test
+    public void testTimeToLive() {
+        var cache = new CHPPResponseCache(cachePath, now::get, () -> recording);
+        Assertions.assertNull(cache.get(URL, false));
+        cache.put(URL, XML);
+        Assertions.assertEquals(XML, cache.get(URL, false));
+
+        now.addAndGet(Duration.ofMinutes(59).toMillis());
+        Assertions.assertEquals(XML, new CHPPResponseCache(cachePath, now::get, () -> recording).get(URL, false));
+
+        // expired responses are returned when the age is ignored
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        Assertions.assertNull(cache.get(URL, false));
+        Assertions.assertEquals(XML, new CHPPResponseCache(cachePath, now::get, () -> recording).get(URL, true));
+
+        // an unchanged response is fresh again
+        cache.put(URL, XML);
+        Assertions.assertEquals(XML, new CHPPResponseCache(cachePath, now::get, () -> recording).get(URL, false));
+    }
+
+    @Test
+    public void testFilesWithoutTimeToLive() {
+        var url = "https://chpp.hattrick.org/chppxml.ashx?file=players&version=2.5&teamID=42";
+        var cache = new CHPPResponseCache(cachePath, now::get, () -> recording);
+        cache.put(url, XML);
+        Assertions.assertNull(cache.get(url, true));
+        Assertions.assertNull(new CHPPResponseCache(cachePath, now::get, () -> recording).get(url, true));
+
+        // stored for offline use while recording
+        recording = true;
+        cache.put(url, XML);
+        Assertions.assertNull(cache.get(url, false));
+        Assertions.assertEquals(XML, cache.get(url, true));
+        recording = false;
+        Assertions.assertEquals(XML, new CHPPResponseCache(cachePath, now::get, () -> recording).get(url, true));
+
+        // old responses are deleted
+        now.addAndGet(Duration.ofDays(31).toMillis());
+        Assertions.assertNull(new CHPPResponseCache(cachePath, now::get, () -> recording).get(url, true));
+    }
+}
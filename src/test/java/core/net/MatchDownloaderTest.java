@@ -0,0 +1,176 @@
+package core.net;
+
+import com.sun.net.httpserver.HttpServer;
+import core.model.enums.MatchType;
+import core.model.match.MatchKurzInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the downloader against a local http server, which replays CHPP files
+ */
+public class MatchDownloaderTest {
+
+    private static final String MATCHDETAILS = "<?xml version=\"1.0\" encoding=\"utf-8\"?><HattrickData><FileName>matchdetails.xml</FileName><Match><MatchID>%s</MatchID></Match></HattrickData>";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @TempDir
+    File tempDir;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            var query = exchange.getRequestURI().getQuery();
+            var matchId = query.replaceAll(".*matchID=(\\d+).*", "$1");
+            var body = String.format(MATCHDETAILS, matchId).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private String fetch(String url) {
+        try {
+            var stub = "http://localhost:" + server.getAddress().getPort() + "/chppxml.ashx?" + URI.create(url).getRawQuery();
+            var response = client.send(HttpRequest.newBuilder(URI.create(stub)).build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : "";
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static List<MatchKurzInfo> createMatches(int count) {
+        var ret = new ArrayList<MatchKurzInfo>();
+        for (int i = 1; i <= count; i++) {
+            var match = new MatchKurzInfo();
+            match.setMatchID(i);
+            match.setMatchType(MatchType.LEAGUE);
+            ret.add(match);
+        }
+        return ret;
+    }
+
+    @Test
+    public void testDownload() {
+        var queueFile = new File(tempDir, "queue");
+        var stored = new ArrayList<Integer>();
+        var downloader = new MatchDownloader(3, 1000, this::fetch, (match, refresh) -> {
+            // the store step finds the prefetched match details
+            var xml = MatchDownloader.getPrefetched(MyConnector.getMatchdetailsUrl(match.getMatchID(), match.getMatchType()));
+            Assertions.assertNotNull(xml);
+            Assertions.assertTrue(xml.contains("<MatchID>" + match.getMatchID() + "</MatchID>"));
+            stored.add(match.getMatchID());
+            return true;
+        }, queueFile);
+
+        Assertions.assertEquals(10, downloader.download(createMatches(10), false));
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), stored);
+        Assertions.assertEquals(10, requests.get());
+        Assertions.assertFalse(queueFile.exists());
+        // prefetched files are released
+        Assertions.assertNull(MatchDownloader.getPrefetched(MyConnector.getMatchdetailsUrl(1, MatchType.LEAGUE)));
+    }
+
+    @Test
+    public void testResume() {
+        var queueFile = new File(tempDir, "queue");
+        var holder = new MatchDownloader[1];
+        holder[0] = new MatchDownloader(2, 1000, this::fetch, (match, refresh) -> {
+            if (match.getMatchID() == 4) {
+                holder[0].cancel();
+            }
+            return true;
+        }, queueFile);
+
+        Assertions.assertEquals(4, holder[0].download(createMatches(10), false));
+        Assertions.assertTrue(queueFile.exists());
+
+        var pending = new MatchDownloader(2, 1000, this::fetch, (match, refresh) -> true, queueFile).readQueue();
+        Assertions.assertEquals(6, pending.size());
+        Assertions.assertEquals(5, pending.get(0).getMatchID());
+        Assertions.assertEquals(MatchType.LEAGUE, pending.get(0).getMatchType());
+    }
+
+    @Test
+    public void testStopAfterErrors() {
+        var queueFile = new File(tempDir, "queue");
+        var downloader = new MatchDownloader(2, 1000, url -> "", (match, refresh) -> false, queueFile);
+
+        Assertions.assertEquals(0, downloader.download(createMatches(10), false, true));
+        // failed matches and the matches after the third error stay in the queue
+        Assertions.assertEquals(10, downloader.readQueue().size());
+    }
+
+    @Test
+    public void testSelectedMatchesContinueAfterErrors() {
+        var queueFile = new File(tempDir, "queue");
+        var tried = new ArrayList<Integer>();
+        var downloader = new MatchDownloader(2, 1000, url -> "", (match, refresh) -> {
+            tried.add(match.getMatchID());
+            return false;
+        }, queueFile);
+
+        Assertions.assertEquals(0, downloader.download(createMatches(10), true));
+        Assertions.assertEquals(10, tried.size());
+        Assertions.assertEquals(10, downloader.readQueue().size());
+    }
+
+    @Test
+    public void testPrefetchedOnlyForStoreStep() {
+        var queueFile = new File(tempDir, "queue");
+        var url = MyConnector.getMatchdetailsUrl(1, MatchType.LEAGUE);
+        var other = new String[1];
+        var downloader = new MatchDownloader(2, 1000, this::fetch, (match, refresh) -> {
+            // another thread requesting the same file does not get the prefetched file
+            var thread = new Thread(() -> other[0] = MatchDownloader.getPrefetched(url));
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return MatchDownloader.getPrefetched(url) != null;
+        }, queueFile);
+
+        Assertions.assertEquals(1, downloader.download(createMatches(1), false));
+        Assertions.assertNull(other[0]);
+    }
+
+    @Test
+    public void testFailedMatchesStayInQueue() {
+        var queueFile = new File(tempDir, "queue");
+        var downloader = new MatchDownloader(2, 1000, this::fetch, (match, refresh) -> match.getMatchID() % 4 != 0, queueFile);
+
+        Assertions.assertEquals(8, downloader.download(createMatches(10), false));
+        var pending = downloader.readQueue();
+        Assertions.assertEquals(2, pending.size());
+        Assertions.assertEquals(4, pending.get(0).getMatchID());
+        Assertions.assertEquals(8, pending.get(1).getMatchID());
+    }
+}
@@ -0,0 +1,82 @@
+package core.prediction.engine;
+
+import core.model.match.IMatchDetails;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the flat match engine with the minute by minute simulation of the action generator
+ */
+public class FlatMatchEngineTest {
+
+    /**
+     * Simulates the matches like MatchData does, one action generator per match
+     */
+    private static MatchResult simulateActions(TeamData home, TeamData away, SplittableRandom random, int matches) {
+        var result = new MatchResult();
+        for (int i = 0; i < matches; i++) {
+            var generator = new ActionGenerator(home, away);
+            generator.setRandom(random);
+            var actions = new ArrayList<Action>();
+            for (int minute = 0; minute < 91; minute++) {
+                actions.addAll(Arrays.asList(generator.predict(minute)));
+            }
+            result.addActions(actions.toArray(new Action[0]));
+        }
+        return result;
+    }
+
+    private static MatchResult simulateFlat(TeamData home, TeamData away, SplittableRandom random, int matches) {
+        var engine = new FlatMatchEngine(home, away);
+        engine.setRandom(random);
+        var result = new MatchResult();
+        for (int i = 0; i < matches; i++) {
+            engine.simulate(result);
+        }
+        return result;
+    }
+
+    @Test
+    public void testSameResultWithSameRandom() {
+        int[][] tactics = {
+                {IMatchDetails.TAKTIK_NORMAL, 1, IMatchDetails.TAKTIK_NORMAL, 1},
+                {IMatchDetails.TAKTIK_PRESSING, 12, IMatchDetails.TAKTIK_MIDDLE, 8},
+                {IMatchDetails.TAKTIK_WINGS, 15, IMatchDetails.TAKTIK_PRESSING, 6}};
+        for (var tactic : tactics) {
+            var home = TestTeams.home(tactic[0], tactic[1]);
+            var away = TestTeams.away(tactic[2], tactic[3]);
+            var expected = simulateActions(home, away, new SplittableRandom(42), 2000);
+            var actual = simulateFlat(home, away, new SplittableRandom(42), 2000);
+
+            Assertions.assertEquals(expected.getMatchNumber(), actual.getMatchNumber());
+            Assertions.assertEquals(expected.getHomeChances(), actual.getHomeChances());
+            Assertions.assertEquals(expected.getGuestChances(), actual.getGuestChances());
+            Assertions.assertEquals(expected.getHomeGoals(), actual.getHomeGoals());
+            Assertions.assertEquals(expected.getGuestGoals(), actual.getGuestGoals());
+            Assertions.assertArrayEquals(expected.getHomeSuccess(), actual.getHomeSuccess());
+            Assertions.assertArrayEquals(expected.getGuestFailed(), actual.getGuestFailed());
+            Assertions.assertArrayEquals(expected.getResultDetail(), actual.getResultDetail());
+            Assertions.assertArrayEquals(expected.getGoalDifference(), actual.getGoalDifference());
+        }
+    }
+
+    @Test
+    public void testSameStatisticsWithCounterAttacks() {
+        var home = TestTeams.home(IMatchDetails.TAKTIK_KONTER, 18);
+        var away = TestTeams.away(IMatchDetails.TAKTIK_NORMAL, 1);
+        int matches = 20000;
+        var expected = simulateActions(home, away, new SplittableRandom(1), matches);
+        var actual = new MatchSimulator(2).simulateMinutes(home, away, matches);
+
+        Assertions.assertEquals(matches, actual.getMatchNumber());
+        // goals per match differ by less than 4 standard errors
+        Assertions.assertEquals(expected.getHomeGoals() / (double) matches, actual.getHomeGoals() / (double) matches, 0.05);
+        Assertions.assertEquals(expected.getGuestGoals() / (double) matches, actual.getGuestGoals() / (double) matches, 0.05);
+        Assertions.assertEquals(expected.getHomeWin() / (double) matches, actual.getHomeWin() / (double) matches, 0.02);
+        Assertions.assertEquals(expected.getAwayWin() / (double) matches, actual.getAwayWin() / (double) matches, 0.02);
+    }
+}
@@ -0,0 +1,96 @@
+package core.prediction.engine;
+
+import core.model.match.IMatchDetails;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class MatchSimulatorTest {
+
+    /**
+     * Result of matches, in which the home team scores one goal with the given probability
+     */
+    private static MatchResult bernoulli(SplittableRandom random, int matches, double probability) {
+        var result = new MatchResult();
+        for (int i = 0; i < matches; i++) {
+            result.startMatch();
+            result.addChance(true, 0, random.nextDouble() < probability);
+            result.endMatch();
+        }
+        return result;
+    }
+
+    private static void assertSameCounts(MatchResult expected, MatchResult actual) {
+        Assertions.assertEquals(expected.getMatchNumber(), actual.getMatchNumber());
+        Assertions.assertEquals(expected.getHomeWin(), actual.getHomeWin());
+        Assertions.assertEquals(expected.getDraw(), actual.getDraw());
+        Assertions.assertEquals(expected.getAwayWin(), actual.getAwayWin());
+        Assertions.assertEquals(expected.getHomeGoals(), actual.getHomeGoals());
+        Assertions.assertEquals(expected.getGuestGoals(), actual.getGuestGoals());
+        Assertions.assertEquals(expected.getHomeChances(), actual.getHomeChances());
+        Assertions.assertEquals(expected.getGuestChances(), actual.getGuestChances());
+        Assertions.assertArrayEquals(expected.getHomeSuccess(), actual.getHomeSuccess());
+        Assertions.assertArrayEquals(expected.getHomeFailed(), actual.getHomeFailed());
+        Assertions.assertArrayEquals(expected.getGuestSuccess(), actual.getGuestSuccess());
+        Assertions.assertArrayEquals(expected.getGuestFailed(), actual.getGuestFailed());
+        Assertions.assertArrayEquals(expected.getResultDetail(), actual.getResultDetail());
+        Assertions.assertArrayEquals(expected.getGoalDifference(), actual.getGoalDifference());
+    }
+
+    @Test
+    public void testMergeAddsCounts() {
+        // the same random sequence counted in one result and split into two results
+        var expected = bernoulli(new SplittableRandom(7), 300, 0.4);
+        var random = new SplittableRandom(7);
+        var first = bernoulli(random, 100, 0.4);
+        var second = bernoulli(random, 200, 0.4);
+
+        Assertions.assertSame(first, first.merge(second));
+        assertSameCounts(expected, first);
+        Assertions.assertEquals(300, first.getMatchNumber());
+        Assertions.assertEquals(first.getMatchNumber(), first.getHomeWin() + first.getDraw() + first.getAwayWin());
+    }
+
+    @Test
+    public void testSimulatorIsReproducible() {
+        var home = TestTeams.home(IMatchDetails.TAKTIK_NORMAL, 1);
+        var away = TestTeams.away(IMatchDetails.TAKTIK_PRESSING, 8);
+        int matches = 2500; // last chunk is not full
+        var expected = new MatchSimulator(3).simulate(home, away, matches);
+        var actual = new MatchSimulator(3).simulate(home, away, matches);
+
+        Assertions.assertEquals(matches, actual.getMatchNumber());
+        Assertions.assertEquals(matches, actual.getHomeWin() + actual.getDraw() + actual.getAwayWin());
+        assertSameCounts(expected, actual);
+
+        Assertions.assertEquals(0, new MatchSimulator(3).simulate(home, away, 0).getMatchNumber());
+    }
+
+    @Test
+    public void testConfidenceInterval() {
+        var empty = new MatchResult();
+        Assertions.assertArrayEquals(new double[]{0, 1}, empty.getConfidenceInterval(0));
+
+        var half = bernoulli(new SplittableRandom(1), 100, 0);
+        var interval = half.getConfidenceInterval(50);
+        Assertions.assertEquals(0.40383153, interval[0], 1e-8);
+        Assertions.assertEquals(0.59616847, interval[1], 1e-8);
+
+        // all draws, the interval of the home wins starts at 0
+        interval = half.getConfidenceInterval(half.getHomeWin());
+        Assertions.assertEquals(0, interval[0], 1e-12);
+        Assertions.assertTrue(interval[1] > 0 && interval[1] < 0.05);
+
+        // the interval contains the probability and shrinks with the number of matches
+        var random = new SplittableRandom(42);
+        double width = 1;
+        for (int matches : new int[]{100, 1000, 10000}) {
+            var result = bernoulli(random, matches, 0.3);
+            interval = result.getConfidenceInterval(result.getHomeWin());
+            Assertions.assertTrue(interval[0] < 0.3 && 0.3 < interval[1]);
+            Assertions.assertTrue(interval[1] - interval[0] < width);
+            width = interval[1] - interval[0];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package core.prediction.engine;
+
+/**
+ * Teams of the match engine tests, the away team is slightly stronger in midfield
+ */
+final class TestTeams {
+
+    private TestTeams() {
+    }
+
+    static TeamData home(int tactic, int level) {
+        return new TeamData("Home", new TeamRatings(8.5, 10.25, 12.5, 10, 7.75, 9, 7.5), tactic, level);
+    }
+
+    static TeamData away(int tactic, int level) {
+        return new TeamData("Away", new TeamRatings(9.25, 9.5, 11, 9.75, 8.5, 8, 8.25), tactic, level);
+    }
+}
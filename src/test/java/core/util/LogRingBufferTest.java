@@ -0,0 +1,50 @@
+package core.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LogRingBufferTest {
+
+    @Test
+    public void testOrderOfProducers() throws InterruptedException {
+        final int producers = 4;
+        final int count = 20000;
+        var buffer = new LogRingBuffer<int[]>(64);
+
+        var threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            var thread = new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    buffer.put(new int[]{producer, i});
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // messages of each producer are taken in the order they were put
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int total = 0;
+        List<int[]> batch = new ArrayList<>();
+        while (total < producers * count) {
+            batch.clear();
+            buffer.drainTo(batch);
+            for (var element : batch) {
+                Assertions.assertEquals(last[element[0]] + 1, element[1]);
+                last[element[0]] = element[1];
+                total++;
+            }
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+        Assertions.assertTrue(buffer.isEmpty());
+    }
+}
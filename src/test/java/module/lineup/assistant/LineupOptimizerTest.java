@@ -0,0 +1,68 @@
+package module.lineup.assistant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class LineupOptimizerTest {
+
+    @Test
+    public void testGreedyIsNotOptimal() {
+        // greedy would give player 0 to position 0 (sum 10 + 1)
+        double[][] values = {
+                {10, 9},
+                {8, 1}
+        };
+        Assertions.assertArrayEquals(new int[]{1, 0}, LineupOptimizer.assign(values));
+    }
+
+    @Test
+    public void testMissingPlayers() {
+        double[][] values = {
+                {1},
+                {5},
+                {3}
+        };
+        Assertions.assertArrayEquals(new int[]{-1, 0, -1}, LineupOptimizer.assign(values));
+    }
+
+    @Test
+    public void testBruteForce() {
+        var random = new Random(4711);
+        for (int run = 0; run < 50; run++) {
+            int positions = 1 + random.nextInt(5);
+            int players = positions + random.nextInt(4);
+            double[][] values = new double[positions][players];
+            for (var row : values) {
+                for (int j = 0; j < players; j++) {
+                    row[j] = random.nextDouble() * 20;
+                }
+            }
+            int[] assignment = LineupOptimizer.assign(values);
+            double sum = 0;
+            boolean[] used = new boolean[players];
+            for (int i = 0; i < positions; i++) {
+                Assertions.assertFalse(used[assignment[i]]);
+                used[assignment[i]] = true;
+                sum += values[i][assignment[i]];
+            }
+            Assertions.assertEquals(bestSum(values, 0, new boolean[players]), sum, 1e-9);
+        }
+    }
+
+    private static double bestSum(double[][] values, int position, boolean[] used) {
+        if (position == values.length) {
+            return 0;
+        }
+        double best = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < used.length; j++) {
+            if (!used[j]) {
+                used[j] = true;
+                best = Math.max(best, values[position][j] + bestSum(values, position + 1, used));
+                used[j] = false;
+            }
+        }
+        return best;
+    }
+}